@@ -148,6 +148,13 @@ val testJava8 = sourceSets.create("testJava8") {
     runtimeClasspath += sourceSets["main"].output
 }
 
+val jmh = sourceSets.create("jmh") {
+    java.srcDir("src/jmh/java")
+    resources.srcDir("src/jmh/resources")
+    compileClasspath += sourceSets["main"].output
+    runtimeClasspath += sourceSets["main"].output
+}
+
 java {
     toolchain {
         languageVersion.set(exampleJavaVersion)
@@ -182,6 +189,10 @@ val examplesImplementation = configurations.getByName("examplesImplementation")
     extendsFrom(configurations.implementation.get())
 }
 
+val jmhImplementation = configurations.getByName("jmhImplementation") {
+    extendsFrom(configurations.implementation.get())
+}
+
 repositories {
     mavenCentral()
 }
@@ -211,6 +222,9 @@ dependencies {
     // since jna is a transitive runtime dependency of opus-java we don't include it explicitly as dependency
     compileOnly(libs.jna)
 
+    //Optional zstd-stream transport compression, users have to add this themselves to use Compression.ZSTD
+    compileOnly(libs.zstd)
+
     /* Internal dependencies */
 
     //General Utility
@@ -229,10 +243,16 @@ dependencies {
     testImplementation(libs.commons.lang3)
     testImplementation(libs.logback.classic)
     testImplementation(libs.archunit)
+    testImplementation(libs.zstd)
 
     testJava8Implementation(libs.bundles.junit.java8)
     testJava8Implementation(libs.assertj)
 
+    jmhImplementation(libs.jmh.core)
+    jmhImplementation(libs.zstd)
+    jmhImplementation(libs.logback.classic)
+    "jmhAnnotationProcessor"(libs.jmh.generator)
+
     mockitoAgent(libs.mockito) {
         isTransitive = false
     }
@@ -553,6 +573,12 @@ tasks.named<JavaCompile>("compileExamplesJava") {
     }
 }
 
+tasks.named<JavaCompile>("compileJmhJava") {
+    options.errorprone {
+        disableAllChecks.set(true)
+    }
+}
+
 tasks.build.configure {
     dependsOn(jar)
     dependsOn(javadocJar)
@@ -630,6 +656,28 @@ tasks.named("check").configure {
     dependsOn(testJava8Compatibility)
 }
 
+// Run with ./gradlew jmh -Pjmh.includes=<regex> to select specific benchmarks
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH benchmarks with the gc profiler"
+
+    dependsOn(tasks.named(jmh.classesTaskName))
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+
+    val resultFile = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+    doFirst {
+        resultFile.parentFile.mkdirs()
+    }
+
+    args(
+            project.findProperty("jmh.includes")?.toString() ?: ".*",
+            "-prof", "gc",
+            "-rf", "json",
+            "-rff", resultFile.absolutePath,
+    )
+}
+
 val verifyBytecodeVersion = tasks.register<VerifyBytecodeVersion>("verifyBytecodeVersion") {
     group = "verification"
 
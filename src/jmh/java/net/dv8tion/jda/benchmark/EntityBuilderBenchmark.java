@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.benchmark;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.EntityBuilder;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures entity construction from synthetic gateway payloads, without any network access.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityBuilderBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int memberCount;
+
+    private JDAImpl api;
+    private EntityBuilder builder;
+    private GuildImpl guild;
+    private DataObject guildJson;
+    private TLongObjectMap<DataObject> members;
+    private DataArray chunk;
+    private DataObject message;
+
+    @Setup
+    public void setup() {
+        api = new JDAImpl(new AuthorizationConfig("Bot benchmark"));
+        builder = api.getEntityBuilder();
+
+        guildJson = Fixtures.withMemberCount(Fixtures.loadPayload("guild_create"), memberCount)
+                .getObject("d");
+        members = new TLongObjectHashMap<>();
+        DataArray memberArray = guildJson.getArray("members");
+        for (int i = 0; i < memberArray.length(); i++) {
+            DataObject member = memberArray.getObject(i);
+            DataObject user = member.getObject("user");
+            if (user.getUnsignedLong("id") == Fixtures.SELF_USER_ID) {
+                builder.createSelfUser(
+                        DataObject.fromJson(user.toJson()).put("verified", true).put("mfa_enabled", false));
+            }
+            members.put(user.getUnsignedLong("id"), member);
+        }
+
+        guild = builder.createGuild(Fixtures.GUILD_ID, guildJson, members, memberCount);
+        chunk = Fixtures.withMemberCount(Fixtures.loadPayload("guild_members_chunk"), memberCount)
+                .getObject("d")
+                .getArray("members");
+        message = Fixtures.loadPayload("message_create").getObject("d");
+    }
+
+    @Benchmark
+    public Guild createGuild() {
+        return builder.createGuild(Fixtures.GUILD_ID, guildJson, members, memberCount);
+    }
+
+    @Benchmark
+    public Member createMembers() {
+        Member last = null;
+        for (int i = 0; i < chunk.length(); i++) {
+            last = builder.createMember(guild, chunk.getObject(i));
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Message createMessage() {
+        return builder.createMessageWithLookup(message, guild, true);
+    }
+}
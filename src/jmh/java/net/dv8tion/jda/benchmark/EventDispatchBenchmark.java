@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.benchmark;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.GatewayPingEvent;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.StatusChangeEvent;
+import net.dv8tion.jda.api.hooks.InterfacedEventManager;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Measures the cost of dispatching a single event to a number of {@link ListenerAdapter ListenerAdapters}.
+ *
+ * <p>Only one in four listeners handles the dispatched event, which is the common case for bots
+ * that split their handlers across several listener classes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventDispatchBenchmark {
+    @Param({"1", "10", "50"})
+    public int listenerCount;
+
+    private InterfacedEventManager eventManager;
+    private GenericEvent pingEvent;
+    private GenericEvent statusEvent;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        JDAImpl api = new JDAImpl(new AuthorizationConfig("Bot benchmark"));
+        eventManager = new InterfacedEventManager();
+        for (int i = 0; i < listenerCount; i++) {
+            eventManager.register(i % 4 == 0 ? new PingListener(blackhole) : new StatusListener(blackhole));
+        }
+
+        pingEvent = new GatewayPingEvent(api, 42);
+        statusEvent = new StatusChangeEvent(api, JDA.Status.CONNECTED, JDA.Status.LOADING_SUBSYSTEMS);
+    }
+
+    @Benchmark
+    public void dispatchPing() {
+        eventManager.handle(pingEvent);
+    }
+
+    @Benchmark
+    public void dispatchStatus() {
+        eventManager.handle(statusEvent);
+    }
+
+    public static class PingListener extends ListenerAdapter {
+        private final Blackhole blackhole;
+
+        public PingListener(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onGatewayPing(@Nonnull GatewayPingEvent event) {
+            blackhole.consume(event);
+        }
+    }
+
+    public static class StatusListener extends ListenerAdapter {
+        private final Blackhole blackhole;
+
+        public StatusListener(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onStatusChange(@Nonnull StatusChangeEvent event) {
+            blackhole.consume(event);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.benchmark;
+
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.utils.IOUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Loads the synthetic gateway payloads from {@code src/jmh/resources/fixtures}.
+ */
+final class Fixtures {
+    static final long GUILD_ID = 125227483518861312L;
+    static final long SELF_USER_ID = 111761808640978944L;
+
+    private Fixtures() {}
+
+    static byte[] load(String name) {
+        try (InputStream stream = Fixtures.class.getResourceAsStream("/fixtures/" + name + ".json")) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Unknown fixture " + name);
+            }
+            return IOUtil.readFully(stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static DataObject loadPayload(String name) {
+        return DataObject.fromJson(load(name));
+    }
+
+    // Duplicates the members of the fixture with unique ids, to simulate large GUILD_CREATE and GUILD_MEMBERS_CHUNK payloads
+    static DataObject withMemberCount(DataObject payload, int memberCount) {
+        DataObject body = payload.getObject("d");
+        if (!body.hasKey("members")) {
+            return payload;
+        }
+
+        DataArray templates = body.getArray("members");
+        DataArray members = DataArray.empty();
+        for (int i = 0; i < templates.length(); i++) {
+            members.add(templates.getObject(i));
+        }
+
+        long nextId = 200000000000000000L;
+        for (int i = templates.length(); i < memberCount; i++) {
+            DataObject template = templates.getObject(i % templates.length());
+            DataObject member = DataObject.fromJson(template.toJson());
+            DataObject user = member.getObject("user");
+            user.put("id", Long.toUnsignedString(nextId++));
+            user.put("username", "member-" + i);
+            user.put("bot", false);
+            members.add(member);
+        }
+
+        body.put("members", members);
+        body.put("member_count", members.length());
+        return payload;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.benchmark;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import net.dv8tion.jda.api.utils.Compression;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.utils.compress.Decompressor;
+import net.dv8tion.jda.internal.utils.compress.ZlibDecompressor;
+import net.dv8tion.jda.internal.utils.compress.ZstdDecompressor;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+/**
+ * Compares the transport decompressors on a continuous stream of synthetic gateway payloads.
+ *
+ * <p>Since the compression is stateful, each invocation decompresses the next frame of a pre-compressed stream,
+ * the decompressor is reset whenever the stream starts over.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayDecompressBenchmark {
+    private static final int STREAM_LENGTH = 256;
+
+    @Param({"guild_create", "guild_members_chunk", "message_create"})
+    public String fixture;
+
+    @Param({"ZLIB", "ZSTD"})
+    public Compression compression;
+
+    @Param({"1000"})
+    public int memberCount;
+
+    private List<byte[]> frames;
+    private Decompressor decompressor;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        DataObject payload = Fixtures.withMemberCount(Fixtures.loadPayload(fixture), memberCount);
+        List<byte[]> messages = new ArrayList<>(STREAM_LENGTH);
+        for (int i = 0; i < STREAM_LENGTH; i++) {
+            // Vary the sequence number, to avoid repeating byte-identical frames
+            messages.add(payload.put("s", i + 1).toJson());
+        }
+
+        switch (compression) {
+            case ZLIB:
+                frames = compressZlib(messages);
+                decompressor = new ZlibDecompressor(2048);
+                break;
+            case ZSTD:
+                frames = compressZstd(messages);
+                decompressor = new ZstdDecompressor(2048);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported compression " + compression);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        decompressor.shutdown();
+    }
+
+    @Benchmark
+    public ByteBuffer decompress() throws DataFormatException {
+        if (index == frames.size()) {
+            index = 0;
+            decompressor.reset();
+        }
+        return decompressor.decompress(frames.get(index++));
+    }
+
+    private static List<byte[]> compressZlib(List<byte[]> messages) {
+        Deflater deflater = new Deflater();
+        List<byte[]> frames = new ArrayList<>(messages.size());
+        byte[] buffer = new byte[8192];
+        for (byte[] message : messages) {
+            ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            deflater.setInput(message);
+            int length;
+            // Discord ends every message with a Z_SYNC_FLUSH
+            do {
+                length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                frame.write(buffer, 0, length);
+            } while (length == buffer.length);
+            frames.add(frame.toByteArray());
+        }
+        deflater.end();
+        return frames;
+    }
+
+    private static List<byte[]> compressZstd(List<byte[]> messages) throws IOException {
+        List<byte[]> frames = new ArrayList<>(messages.size());
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        try (ZstdOutputStream stream = new ZstdOutputStream(frame)) {
+            for (byte[] message : messages) {
+                stream.write(message);
+                // Discord flushes the stream after every message
+                stream.flush();
+                frames.add(Arrays.copyOf(frame.toByteArray(), frame.size()));
+                frame.reset();
+            }
+        }
+        return frames;
+    }
+}
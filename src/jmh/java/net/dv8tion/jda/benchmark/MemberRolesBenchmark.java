@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.benchmark;
+
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.EntityBuilder;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.entities.MemberImpl;
+import net.dv8tion.jda.internal.entities.RoleImpl;
+import net.dv8tion.jda.internal.utils.UnlockHook;
+import net.dv8tion.jda.internal.utils.cache.SortedSnowflakeCacheViewImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the memory and lookup cost of the roles of a member, comparing the sorted id array of {@link MemberImpl}
+ * with the concurrent role set it replaced.
+ *
+ * <p>Run with the gc profiler, the {@code gc.alloc.rate.norm} of the {@code store*} benchmarks is the heap
+ * retained by the role storage of one member, and the one of {@link #createMember()} is the heap of a whole
+ * member built from a synthetic payload. Running {@link #createMember()} on an older revision gives the baseline
+ * for the complete member.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberRolesBenchmark {
+    private static final long FIRST_ROLE_ID = 300000000000000000L;
+
+    @Param({"1", "5", "20"})
+    public int roleCount;
+
+    private EntityBuilder builder;
+    private GuildImpl guild;
+    private List<Role> roles;
+    private DataObject memberJson;
+    private MemberImpl member;
+    private Set<Role> legacyRoles;
+
+    @Setup
+    public void setup() {
+        JDAImpl api = new JDAImpl(new AuthorizationConfig("Bot benchmark"));
+        builder = api.getEntityBuilder();
+        builder.createSelfUser(DataObject.empty()
+                .put("id", Long.toUnsignedString(Fixtures.SELF_USER_ID))
+                .put("username", "benchmark")
+                .put("discriminator", "0")
+                .put("bot", true)
+                .put("verified", true)
+                .put("mfa_enabled", false));
+        guild = new GuildImpl(api, Fixtures.GUILD_ID);
+
+        roles = new ArrayList<>(roleCount);
+        DataArray roleIds = DataArray.empty();
+        SortedSnowflakeCacheViewImpl<Role> rolesView = guild.getRolesView();
+        try (UnlockHook hook = rolesView.writeLock()) {
+            // Inserted in reverse, the gateway does not send the roles of a member in any particular order
+            for (int i = roleCount - 1; i >= 0; i--) {
+                RoleImpl role = new RoleImpl(FIRST_ROLE_ID + i, guild);
+                role.setRawPosition(i);
+                rolesView.getMap().put(role.getIdLong(), role);
+                roles.add(role);
+                roleIds.add(Long.toUnsignedString(role.getIdLong()));
+            }
+        }
+
+        memberJson = DataObject.empty()
+                .put(
+                        "user",
+                        DataObject.empty()
+                                .put("id", "200000000000000000")
+                                .put("username", "member")
+                                .put("discriminator", "0"))
+                .put("roles", roleIds)
+                .put("joined_at", "2015-10-01T00:00:00.000000+00:00");
+
+        member = builder.createMember(guild, memberJson);
+        legacyRoles = storeRolesLegacy();
+    }
+
+    @Benchmark
+    public Member createMember() {
+        // The member is not added to the cache, so every call builds a new member
+        return builder.createMember(guild, memberJson);
+    }
+
+    @Benchmark
+    public long[] storeRoles() {
+        // Same steps as EntityBuilder#createMember, which keeps the result as the role storage
+        long[] ids = new long[roles.size()];
+        int count = 0;
+        for (Role role : roles) {
+            ids[count++] = role.getIdLong();
+        }
+        Arrays.sort(ids, 0, count);
+        return ids;
+    }
+
+    @Benchmark
+    public Set<Role> storeRolesLegacy() {
+        Set<Role> set = ConcurrentHashMap.newKeySet();
+        set.addAll(roles);
+        return set;
+    }
+
+    @Benchmark
+    public List<Role> getRoles() {
+        return member.getRoles();
+    }
+
+    @Benchmark
+    public List<Role> getRolesLegacy() {
+        List<Role> roleList = new ArrayList<>(legacyRoles);
+        roleList.sort(Comparator.reverseOrder());
+        return Collections.unmodifiableList(roleList);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.benchmark;
+
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.requests.GatewayEnvelope;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding of synthetic gateway payloads into {@link DataObject} instances.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadParseBenchmark {
+    @Param({"guild_create", "guild_members_chunk", "message_create"})
+    public String fixture;
+
+    @Param({"1000"})
+    public int memberCount;
+
+    private byte[] json;
+    private byte[] etf;
+
+    @Setup
+    public void setup() {
+        DataObject payload = Fixtures.withMemberCount(Fixtures.loadPayload(fixture), memberCount);
+        json = payload.toJson();
+        etf = payload.toETF();
+    }
+
+    @Benchmark
+    public DataObject jsonHashMap() {
+        return DataObject.fromJson(json);
+    }
+
+    @Benchmark
+    public DataObject jsonCompact() {
+        return DataObject.fromJson(ByteBuffer.wrap(json));
+    }
+
+    @Benchmark
+    public DataObject etfHashMap() {
+        return DataObject.fromETF(etf);
+    }
+
+    @Benchmark
+    public DataObject etfCompact() {
+        return DataObject.fromETF(ByteBuffer.wrap(etf));
+    }
+
+    @Benchmark
+    public GatewayEnvelope jsonEnvelope() {
+        return GatewayEnvelope.peekJson(ByteBuffer.wrap(json));
+    }
+
+    @Benchmark
+    public GatewayEnvelope etfEnvelope() {
+        return GatewayEnvelope.peekETF(ByteBuffer.wrap(etf));
+    }
+}
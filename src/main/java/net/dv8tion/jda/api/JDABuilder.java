@@ -28,6 +28,7 @@ import net.dv8tion.jda.api.exceptions.InvalidTokenException;
 import net.dv8tion.jda.api.hooks.IEventManager;
 import net.dv8tion.jda.api.hooks.VoiceDispatchInterceptor;
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.requests.GatewayTransport;
 import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.requests.RestConfig;
 import net.dv8tion.jda.api.utils.*;
@@ -36,6 +37,7 @@ import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.managers.PresenceImpl;
 import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.IOUtil;
+import net.dv8tion.jda.internal.utils.compress.ZstdDecompressor;
 import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
 import net.dv8tion.jda.internal.utils.config.MetaConfig;
 import net.dv8tion.jda.internal.utils.config.SessionConfig;
@@ -75,15 +77,20 @@ public class JDABuilder {
     protected boolean shutdownCallbackPool = true;
     protected ExecutorService eventPool = null;
     protected boolean shutdownEventPool = true;
+    protected ExecutorService dispatchPool = null;
+    protected boolean shutdownDispatchPool = true;
     protected ScheduledExecutorService audioPool = null;
     protected boolean shutdownAudioPool = true;
     protected EnumSet<CacheFlag> cacheFlags = EnumSet.allOf(CacheFlag.class);
     protected ConcurrentMap<String, String> contextMap = null;
     protected SessionController controller = null;
+    protected MetricsRecorder metricsRecorder = null;
     protected VoiceDispatchInterceptor voiceDispatchInterceptor = null;
     protected OkHttpClient.Builder httpClientBuilder = null;
     protected OkHttpClient httpClient = null;
     protected WebSocketFactory wsFactory = null;
+    protected GatewayTransport gatewayTransport = null;
+    protected SessionStore sessionStore = null;
     protected String token = null;
     protected IEventManager eventManager = null;
     protected JDA.ShardInfo shardInfo = null;
@@ -530,6 +537,57 @@ public class JDABuilder {
         return setFlag(ConfigFlag.EVENT_PASSTHROUGH, enable);
     }
 
+    /**
+     * Whether events should be handled in parallel, while preserving the order of events for each guild.
+     * <br>Events of the same {@link net.dv8tion.jda.api.entities.Guild Guild}, or the same channel for events outside of guilds,
+     * are always handled one after another in the order they were received.
+     * Events of different guilds are handled in parallel on the {@link #setEventPool(ExecutorService) event pool}.
+     * Events which are not related to a guild or channel, such as user updates, are ordered among themselves.
+     *
+     * <p>If no event pool is configured, this uses a fixed thread-pool with one thread per available processor,
+     * which is shutdown automatically. The event pool may also be an executor which creates a virtual thread per task.
+     *
+     * <p>Without this, events are either handled on the gateway thread, or submitted to the event pool without any ordering guarantees.
+     * <br>Default: {@code false}
+     *
+     * @param  enable
+     *         True, if events should be handled on ordered lanes per guild
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @see    #setEventPool(ExecutorService, boolean)
+     */
+    @Nonnull
+    public JDABuilder setOrderedEventPool(boolean enable) {
+        return setFlag(ConfigFlag.ORDERED_EVENTS, enable);
+    }
+
+    /**
+     * Whether the cache updates of guild scoped events should be handled in parallel, while preserving the order for each guild.
+     * <br>This applies to high volume events, such as message, reaction, typing and presence updates of cached guilds.
+     * These are handled on a thread-pool with one thread per available processor, instead of the gateway thread.
+     * Events of the same {@link net.dv8tion.jda.api.entities.Guild Guild} are always handled one after another in the order they were received.
+     * All other events wait for these events to finish, before they are handled on the gateway thread.
+     *
+     * <p>Since events for different guilds are fired from multiple threads, your listeners must be thread-safe.
+     * If your listeners rely on the order of events across guilds, this should not be enabled.
+     * To keep the event listeners off the dispatch threads, this can be combined with {@link #setOrderedEventPool(boolean)}.
+     *
+     * <p><b>Default: {@code false}</b>
+     *
+     * @param  enable
+     *         True, if guild scoped events should be handled in parallel
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @see    #setOrderedEventPool(boolean)
+     * @see    #setDispatchPool(ExecutorService, boolean)
+     */
+    @Nonnull
+    public JDABuilder setParallelDispatch(boolean enable) {
+        return setFlag(ConfigFlag.PARALLEL_DISPATCH, enable);
+    }
+
     /**
      * Custom {@link RestConfig} to use for this JDA instance.
      * <br>This can be used to customize how rate-limits are handled and configure a custom http proxy.
@@ -739,11 +797,13 @@ public class JDABuilder {
      * <p><b>We recommend to keep this on the default unless you have issues with the decompression.</b>
      * <br>This mode might become obligatory in a future version, do not rely on this switch to stay.
      *
+     * <p>{@link net.dv8tion.jda.api.utils.Compression#ZSTD} requires the optional {@code com.github.luben:zstd-jni} dependency.
+     *
      * @param  compression
      *         The compression algorithm to use with the gateway connection
      *
      * @throws java.lang.IllegalArgumentException
-     *         If provided with null
+     *         If provided with null, or if {@link net.dv8tion.jda.api.utils.Compression#ZSTD} is used without zstd-jni in the classpath
      *
      * @return The JDABuilder instance. Useful for chaining
      *
@@ -752,6 +812,9 @@ public class JDABuilder {
     @Nonnull
     public JDABuilder setCompression(@Nonnull Compression compression) {
         Checks.notNull(compression, "Compression");
+        Checks.check(
+                compression != Compression.ZSTD || ZstdDecompressor.isAvailable(),
+                "Cannot use ZSTD compression without the zstd-jni dependency (com.github.luben:zstd-jni)");
         this.compression = compression;
         return this;
     }
@@ -841,6 +904,48 @@ public class JDABuilder {
         return this;
     }
 
+    /**
+     * Sets the {@link GatewayTransport} that will be used to open the gateway connection, instead of the {@link #setWebsocketFactory(WebSocketFactory) WebSocketFactory}.
+     * <br>A transport such as {@link net.dv8tion.jda.api.requests.NioGatewayTransport NioGatewayTransport} can serve the connections
+     * of many sessions on a few shared threads, while each {@link com.neovisionaries.ws.client.WebSocket WebSocket} uses its own reading and writing thread.
+     *
+     * <p>The transport is not shut down by JDA. Audio connections always use the WebSocketFactory.
+     *
+     * <p>Default: {@code null}, which uses the WebSocketFactory
+     *
+     * @param  transport
+     *         The {@link GatewayTransport} to use, or null to use the WebSocketFactory
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     */
+    @Nonnull
+    public JDABuilder setGatewayTransport(@Nullable GatewayTransport transport) {
+        this.gatewayTransport = transport;
+        return this;
+    }
+
+    /**
+     * Sets the {@link SessionStore} used to resume the gateway sessions after a restart of the process.
+     * <br>When a shard is {@link JDA#shutdown() shut down}, its session is saved instead of being closed.
+     * The next start of the shard restores the cache from the store and resumes the session, instead of identifying again.
+     * This avoids the identify rate-limit and the initial load of all guilds, which can take a long time for large bots.
+     *
+     * <p>The session has to be resumed before Discord drops it, which usually happens within a few minutes.
+     * Events that were received by the previous process are not fired again.
+     *
+     * <p>Default: {@code null}, which identifies a new session on every start
+     *
+     * @param  store
+     *         The {@link SessionStore}, for example a {@link net.dv8tion.jda.api.utils.FileSessionStore FileSessionStore}, or null to disable resuming across restarts
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     */
+    @Nonnull
+    public JDABuilder setSessionStore(@Nullable SessionStore store) {
+        this.sessionStore = store;
+        return this;
+    }
+
     /**
      * Sets the {@link ScheduledExecutorService ScheduledExecutorService} that should be used in
      * the JDA rate-limit handler. Changing this can drastically change the JDA behavior for RestAction execution
@@ -1080,6 +1185,49 @@ public class JDABuilder {
         return this;
     }
 
+    /**
+     * Sets the {@link ExecutorService ExecutorService} that should be used to handle
+     * guild scoped events in parallel, if {@link #setParallelDispatch(boolean) parallel dispatch} is enabled.
+     * By default JDA will create a pool with one thread per available processor.
+     * <br>This can be used to share one pool between multiple JDA instances.
+     *
+     * <p>The executor will not be shutdown automatically when JDA is shutdown.
+     * To shut it down automatically use {@link #setDispatchPool(ExecutorService, boolean)}.
+     *
+     * @param  executor
+     *         The executor for parallel dispatch, or null to use the default pool
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @see    #setParallelDispatch(boolean)
+     */
+    @Nonnull
+    public JDABuilder setDispatchPool(@Nullable ExecutorService executor) {
+        return setDispatchPool(executor, executor == null);
+    }
+
+    /**
+     * Sets the {@link ExecutorService ExecutorService} that should be used to handle
+     * guild scoped events in parallel, if {@link #setParallelDispatch(boolean) parallel dispatch} is enabled.
+     * By default JDA will create a pool with one thread per available processor.
+     * <br>This can be used to share one pool between multiple JDA instances.
+     *
+     * @param  executor
+     *         The executor for parallel dispatch, or null to use the default pool
+     * @param  automaticShutdown
+     *         True, if the executor should be shutdown when JDA shuts down
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     *
+     * @see    #setParallelDispatch(boolean)
+     */
+    @Nonnull
+    public JDABuilder setDispatchPool(@Nullable ExecutorService executor, boolean automaticShutdown) {
+        this.dispatchPool = executor;
+        this.shutdownDispatchPool = automaticShutdown;
+        return this;
+    }
+
     /**
      * Sets the {@link ScheduledExecutorService ScheduledExecutorService} used by
      * the audio WebSocket connection. Used for sending keepalives and closing the connection.
@@ -1420,6 +1568,23 @@ public class JDABuilder {
         return this;
     }
 
+    /**
+     * Sets the {@link MetricsRecorder} which receives measurements of the gateway, REST and cache internals.
+     * <br>This can be used to monitor request latencies, rate-limits, event handling times, and cache sizes.
+     *
+     * <p>Default: {@link MetricsRecorder#NOOP}
+     *
+     * @param  recorder
+     *         The {@link MetricsRecorder} to use, or null to disable metrics
+     *
+     * @return The JDABuilder instance. Useful for chaining.
+     */
+    @Nonnull
+    public JDABuilder setMetricsRecorder(@Nullable MetricsRecorder recorder) {
+        this.metricsRecorder = recorder;
+        return this;
+    }
+
     /**
      * Configures a custom voice dispatch handler which handles audio connections.
      *
@@ -1760,9 +1925,13 @@ public class JDABuilder {
         threadingConfig.setRateLimitScheduler(rateLimitScheduler, shutdownRateLimitScheduler);
         threadingConfig.setRateLimitElastic(rateLimitElastic, shutdownRateLimitElastic);
         threadingConfig.setEventPool(eventPool, shutdownEventPool);
+        threadingConfig.setDispatchPool(dispatchPool, shutdownDispatchPool);
         threadingConfig.setAudioPool(audioPool, shutdownAudioPool);
         SessionConfig sessionConfig = new SessionConfig(
                 controller, httpClient, wsFactory, voiceDispatchInterceptor, flags, maxReconnectDelay, largeThreshold);
+        sessionConfig.setMetricsRecorder(metricsRecorder);
+        sessionConfig.setGatewayTransport(gatewayTransport);
+        sessionConfig.setSessionStore(sessionStore);
         MetaConfig metaConfig = new MetaConfig(maxBufferSize, contextMap, cacheFlags, flags);
 
         JDAImpl jda =
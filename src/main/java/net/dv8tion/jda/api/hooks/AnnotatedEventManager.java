@@ -23,12 +23,18 @@ import net.dv8tion.jda.internal.utils.JDALogger;
 import org.jetbrains.annotations.Unmodifiable;
 import org.slf4j.Logger;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 
@@ -54,8 +60,22 @@ import javax.annotation.Nonnull;
  */
 public class AnnotatedEventManager implements IEventManager {
     private static final Logger LOGGER = JDALogger.getLog(AnnotatedEventManager.class);
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Void.TYPE, Object.class, GenericEvent.class);
+    private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+    // Invokers of the annotated methods of a class, which are shared by all listeners and managers
+    // Creating an invoker defines a new class, so it should only happen once per method
+    private static final ClassValue<ConcurrentMap<Method, EventInvoker>> INVOKERS =
+            new ClassValue<ConcurrentMap<Method, EventInvoker>>() {
+                @Override
+                protected ConcurrentMap<Method, EventInvoker> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
     private final Set<Object> listeners = ConcurrentHashMap.newKeySet();
-    private final Map<Class<?>, Map<Object, List<Method>>> methods = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<Object, List<Subscriber>>> methods = new ConcurrentHashMap<>();
+    // Flattened subscribers for the entire class hierarchy of an event, replaced whenever the listeners change
+    private volatile ConcurrentMap<Class<?>, Subscriber[]> dispatchCache = new ConcurrentHashMap<>();
 
     @Override
     public void register(@Nonnull Object listener) {
@@ -68,6 +88,7 @@ public class AnnotatedEventManager implements IEventManager {
 
         if (listeners.add(listener)) {
             registerListenerMethods(listener);
+            dispatchCache = new ConcurrentHashMap<>();
         }
     }
 
@@ -81,7 +102,11 @@ public class AnnotatedEventManager implements IEventManager {
         }
 
         if (listeners.remove(listener)) {
-            updateMethods();
+            // The subscribers of the other listeners stay as they are
+            for (Map<Object, List<Subscriber>> subscribers : methods.values()) {
+                subscribers.remove(listener);
+            }
+            dispatchCache = new ConcurrentHashMap<>();
         }
     }
 
@@ -94,31 +119,36 @@ public class AnnotatedEventManager implements IEventManager {
 
     @Override
     public void handle(@Nonnull GenericEvent event) {
-        for (Class<?> eventClass : ClassWalker.walk(event.getClass())) {
-            Map<Object, List<Method>> listeners = methods.get(eventClass);
-            if (listeners != null) {
-                listeners.forEach((key, value) -> value.forEach(method -> {
-                    try {
-                        method.setAccessible(true);
-                        method.invoke(key, event);
-                    } catch (IllegalAccessException | InvocationTargetException e1) {
-                        JDAImpl.LOG.error("Couldn't access annotated EventListener method", e1);
-                    } catch (Throwable throwable) {
-                        JDAImpl.LOG.error("One of the EventListeners had an uncaught exception", throwable);
-                        if (throwable instanceof Error) {
-                            throw (Error) throwable;
-                        }
-                    }
-                }));
+        for (Subscriber subscriber : getSubscribers(event.getClass())) {
+            try {
+                subscriber.invoker.invoke(subscriber.listener, event);
+            } catch (Throwable throwable) {
+                JDAImpl.LOG.error("One of the EventListeners had an uncaught exception", throwable);
+                if (throwable instanceof Error) {
+                    throw (Error) throwable;
+                }
             }
         }
     }
 
-    private void updateMethods() {
-        methods.clear();
-        for (Object listener : listeners) {
-            registerListenerMethods(listener);
+    private Subscriber[] getSubscribers(Class<?> eventType) {
+        ConcurrentMap<Class<?>, Subscriber[]> cache = dispatchCache;
+        Subscriber[] subscribers = cache.get(eventType);
+        if (subscribers == null) {
+            subscribers = cache.computeIfAbsent(eventType, this::collectSubscribers);
+        }
+        return subscribers;
+    }
+
+    private Subscriber[] collectSubscribers(Class<?> eventType) {
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (Class<?> eventClass : ClassWalker.walk(eventType)) {
+            Map<Object, List<Subscriber>> listeners = methods.get(eventClass);
+            if (listeners != null) {
+                listeners.values().forEach(subscribers::addAll);
+            }
         }
+        return subscribers.isEmpty() ? NO_SUBSCRIBERS : subscribers.toArray(NO_SUBSCRIBERS);
     }
 
     private void registerListenerMethods(Object listener) {
@@ -143,10 +173,121 @@ public class AnnotatedEventManager implements IEventManager {
                 continue;
             }
 
+            EventInvoker invoker;
+            try {
+                invoker = getInvoker(m);
+            } catch (RuntimeException e) {
+                JDAImpl.LOG.error("Couldn't access annotated EventListener method", e);
+                continue;
+            }
+
             Class<?> eventClass = parameterTypes[0];
             methods.computeIfAbsent(eventClass, k -> new ConcurrentHashMap<>())
                     .computeIfAbsent(listener, k -> new CopyOnWriteArrayList<>())
-                    .add(m);
+                    .add(new Subscriber(listener, invoker));
+        }
+    }
+
+    private static EventInvoker getInvoker(Method method) {
+        ConcurrentMap<Method, EventInvoker> invokers = INVOKERS.get(method.getDeclaringClass());
+        EventInvoker invoker = invokers.get(method);
+        if (invoker == null) {
+            // Failures are not cached, the next registration of the listener tries again
+            invoker = invokers.computeIfAbsent(method, m -> {
+                try {
+                    return createInvoker(m);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        return invoker;
+    }
+
+    private static EventInvoker createInvoker(Method method) throws IllegalAccessException {
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        if (canSpinInvoker(method)) {
+            try {
+                return spinInvoker(lookup.unreflect(method), isStatic);
+            } catch (Throwable e) {
+                LOGGER.debug("Failed to create direct invoker for {}, falling back to MethodHandle", method, e);
+            }
+        }
+
+        // Still avoids the boxing and access checks of Method.invoke
+        method.setAccessible(true);
+        MethodHandle handle = lookup.unreflect(method);
+        MethodHandle invoker =
+                (isStatic ? MethodHandles.dropArguments(handle, 0, Object.class) : handle).asType(INVOKER_TYPE);
+        return (listener, event) -> {
+            try {
+                invoker.invokeExact(listener, event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        };
+    }
+
+    // The generated class is defined next to this class, so it can only link against types which are public
+    // and visible from here, which rules out private listener classes or listeners loaded by child class loaders
+    private static boolean canSpinInvoker(Method method) {
+        try {
+            MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            return false;
+        }
+
+        Class<?> eventType = method.getParameterTypes()[0];
+        return isVisible(method.getDeclaringClass())
+                && Modifier.isPublic(eventType.getModifiers())
+                && isVisible(eventType);
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, AnnotatedEventManager.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static EventInvoker spinInvoker(MethodHandle handle, boolean isStatic) throws Throwable {
+        if (isStatic) {
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "accept",
+                    MethodType.methodType(Consumer.class),
+                    MethodType.methodType(Void.TYPE, Object.class),
+                    handle,
+                    handle.type().changeReturnType(Void.TYPE));
+            @SuppressWarnings("unchecked")
+            Consumer<GenericEvent> consumer = (Consumer<GenericEvent>) site.getTarget().invokeExact();
+            return (listener, event) -> consumer.accept(event);
+        }
+
+        CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "invoke",
+                MethodType.methodType(EventInvoker.class),
+                INVOKER_TYPE,
+                handle,
+                handle.type().changeReturnType(Void.TYPE));
+        return (EventInvoker) site.getTarget().invokeExact();
+    }
+
+    private interface EventInvoker {
+        void invoke(Object listener, GenericEvent event);
+    }
+
+    private static final class Subscriber {
+        private final Object listener;
+        private final EventInvoker invoker;
+
+        private Subscriber(Object listener, EventInvoker invoker) {
+            this.listener = listener;
+            this.invoker = invoker;
         }
     }
 }
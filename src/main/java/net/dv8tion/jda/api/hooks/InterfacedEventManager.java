@@ -24,6 +24,8 @@ import org.jetbrains.annotations.Unmodifiable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.annotation.Nonnull;
@@ -44,6 +46,7 @@ import javax.annotation.Nonnull;
  */
 public class InterfacedEventManager implements IEventManager {
     private final CopyOnWriteArrayList<EventListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile DispatchTable dispatchTable = new DispatchTable(new EventListener[0]);
 
     public InterfacedEventManager() {}
 
@@ -58,7 +61,10 @@ public class InterfacedEventManager implements IEventManager {
         if (!(listener instanceof EventListener)) {
             throw new IllegalArgumentException("Listener must implement EventListener");
         }
-        listeners.add((EventListener) listener);
+        synchronized (listeners) {
+            listeners.add((EventListener) listener);
+            updateDispatchTable();
+        }
     }
 
     @Override
@@ -71,8 +77,12 @@ public class InterfacedEventManager implements IEventManager {
                             listener == null ? "null" : listener.getClass().getName());
         }
 
-        //noinspection SuspiciousMethodCalls
-        listeners.remove(listener);
+        synchronized (listeners) {
+            //noinspection SuspiciousMethodCalls
+            if (listeners.remove(listener)) {
+                updateDispatchTable();
+            }
+        }
     }
 
     @Nonnull
@@ -84,7 +94,7 @@ public class InterfacedEventManager implements IEventManager {
 
     @Override
     public void handle(@Nonnull GenericEvent event) {
-        for (EventListener listener : listeners) {
+        for (EventListener listener : dispatchTable.getListeners(event.getClass())) {
             try {
                 listener.onEvent(event);
             } catch (Throwable throwable) {
@@ -95,4 +105,38 @@ public class InterfacedEventManager implements IEventManager {
             }
         }
     }
+
+    private void updateDispatchTable() {
+        dispatchTable = new DispatchTable(listeners.toArray(new EventListener[0]));
+    }
+
+    // Immutable snapshot of the registered listeners, which lazily filters out listeners that ignore an event type
+    private static final class DispatchTable {
+        private final EventListener[] listeners;
+        private final ConcurrentMap<Class<?>, EventListener[]> byEventType = new ConcurrentHashMap<>();
+
+        private DispatchTable(EventListener[] listeners) {
+            this.listeners = listeners;
+        }
+
+        private EventListener[] getListeners(Class<? extends GenericEvent> eventType) {
+            EventListener[] filtered = byEventType.get(eventType);
+            if (filtered == null) {
+                filtered = byEventType.computeIfAbsent(eventType, this::filter);
+            }
+            return filtered;
+        }
+
+        private EventListener[] filter(Class<?> eventType) {
+            List<EventListener> filtered = new ArrayList<>(listeners.length);
+            for (EventListener listener : listeners) {
+                // Other listener implementations might handle any event
+                if (!(listener instanceof ListenerAdapter)
+                        || ((ListenerAdapter) listener).isListening(eventType)) {
+                    filtered.add(listener);
+                }
+            }
+            return filtered.toArray(new EventListener[0]);
+        }
+    }
 }
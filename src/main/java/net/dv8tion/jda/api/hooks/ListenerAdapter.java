@@ -102,10 +102,15 @@ import net.dv8tion.jda.api.events.user.UserTypingEvent;
 import net.dv8tion.jda.api.events.user.update.*;
 import net.dv8tion.jda.internal.utils.ClassWalker;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -664,8 +669,19 @@ public abstract class ListenerAdapter implements EventListener {
     public void onGenericForumTagUpdate(@Nonnull GenericForumTagUpdateEvent<?> event) {}
 
     private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
-    private static final ConcurrentMap<Class<?>, MethodHandle> methods = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, EventHook> hooks = new ConcurrentHashMap<>();
     private static final Set<Class<?>> unresolved;
+    private static final EventHook[] NO_HOOKS = new EventHook[0];
+    private static final EventHook GENERIC_EVENT_HOOK;
+    private static final EventHook GENERIC_UPDATE_HOOK;
+    // Maps each listener class to the hooks it overrides for a given event class
+    private static final ClassValue<ConcurrentMap<Class<?>, EventHook[]>> dispatchTables =
+            new ClassValue<ConcurrentMap<Class<?>, EventHook[]>>() {
+                @Override
+                protected ConcurrentMap<Class<?>, EventHook[]> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
 
     static {
         unresolved = ConcurrentHashMap.newKeySet();
@@ -676,47 +692,133 @@ public abstract class ListenerAdapter implements EventListener {
                 UpdateEvent.class, // onGenericUpdate has already been called
                 GenericEvent.class // onGenericEvent has already been called
                 );
+
+        try {
+            GENERIC_EVENT_HOOK = new EventHook(
+                    ListenerAdapter.class.getMethod("onGenericEvent", GenericEvent.class),
+                    ListenerAdapter::onGenericEvent);
+            GENERIC_UPDATE_HOOK = new EventHook(
+                    ListenerAdapter.class.getMethod("onGenericUpdate", UpdateEvent.class),
+                    (listener, event) -> listener.onGenericUpdate((UpdateEvent<?, ?>) event));
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
     }
 
     @Override
     public final void onEvent(@Nonnull GenericEvent event) {
-        onGenericEvent(event);
-        if (event instanceof UpdateEvent) {
-            onGenericUpdate((UpdateEvent<?, ?>) event);
+        for (EventHook hook : getDispatchTable(event.getClass())) {
+            hook.invoker.invoke(this, event);
+        }
+    }
+
+    /**
+     * Whether this listener overrides any of the methods that would be called for the provided event type.
+     *
+     * <p>Used by {@link InterfacedEventManager} to skip listeners which do not handle an event.
+     */
+    boolean isListening(@Nonnull Class<?> eventType) {
+        return getDispatchTable(eventType).length > 0;
+    }
+
+    private EventHook[] getDispatchTable(Class<?> eventType) {
+        Class<? extends ListenerAdapter> listenerType = getClass();
+        ConcurrentMap<Class<?>, EventHook[]> table = dispatchTables.get(listenerType);
+        EventHook[] dispatch = table.get(eventType);
+        if (dispatch == null) {
+            dispatch = table.computeIfAbsent(eventType, type -> createDispatchTable(listenerType, type));
         }
+        return dispatch;
+    }
 
-        for (Class<?> clazz : ClassWalker.range(event.getClass(), GenericEvent.class)) {
+    private static EventHook[] createDispatchTable(Class<? extends ListenerAdapter> listenerType, Class<?> eventType) {
+        // The order is the same as for the generic hooks, followed by the class hierarchy of the event
+        List<EventHook> table = new ArrayList<>();
+        if (GENERIC_EVENT_HOOK.isOverriddenBy(listenerType)) {
+            table.add(GENERIC_EVENT_HOOK);
+        }
+        if (UpdateEvent.class.isAssignableFrom(eventType) && GENERIC_UPDATE_HOOK.isOverriddenBy(listenerType)) {
+            table.add(GENERIC_UPDATE_HOOK);
+        }
+
+        for (Class<?> clazz : ClassWalker.range(eventType, GenericEvent.class)) {
             if (unresolved.contains(clazz)) {
                 continue;
             }
-            MethodHandle mh = methods.computeIfAbsent(clazz, ListenerAdapter::findMethod);
-            if (mh == null) {
+            EventHook hook = hooks.computeIfAbsent(clazz, ListenerAdapter::findHook);
+            if (hook == null) {
                 unresolved.add(clazz);
                 continue;
             }
 
-            try {
-                mh.invoke(this, event);
-            } catch (Throwable throwable) {
-                if (throwable instanceof RuntimeException) {
-                    throw (RuntimeException) throwable;
-                }
-                if (throwable instanceof Error) {
-                    throw (Error) throwable;
-                }
-                throw new IllegalStateException(throwable);
+            if (hook.isOverriddenBy(listenerType)) {
+                table.add(hook);
             }
         }
+
+        return table.isEmpty() ? NO_HOOKS : table.toArray(NO_HOOKS);
     }
 
-    private static MethodHandle findMethod(Class<?> clazz) {
+    private static EventHook findHook(Class<?> clazz) {
         String name = clazz.getSimpleName();
         MethodType type = MethodType.methodType(Void.TYPE, clazz);
         try {
             name = "on" + name.substring(0, name.length() - "Event".length());
-            return lookup.findVirtual(ListenerAdapter.class, name, type);
+            MethodHandle handle = lookup.findVirtual(ListenerAdapter.class, name, type);
+            return new EventHook(ListenerAdapter.class.getMethod(name, clazz), createInvoker(handle));
         } catch (NoSuchMethodException | IllegalAccessException ignored) {
         } // this means this is probably a custom event!
         return null;
     }
+
+    private static EventInvoker createInvoker(MethodHandle handle) {
+        try {
+            // Spin a direct implementation of the hook, which the JIT can inline unlike a non-constant MethodHandle
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "invoke",
+                    MethodType.methodType(EventInvoker.class),
+                    MethodType.methodType(Void.TYPE, ListenerAdapter.class, GenericEvent.class),
+                    handle,
+                    handle.type());
+            return (EventInvoker) site.getTarget().invokeExact();
+        } catch (Throwable ignored) {
+            return (listener, event) -> {
+                try {
+                    handle.invoke(listener, event);
+                } catch (Throwable throwable) {
+                    if (throwable instanceof RuntimeException) {
+                        throw (RuntimeException) throwable;
+                    }
+                    if (throwable instanceof Error) {
+                        throw (Error) throwable;
+                    }
+                    throw new IllegalStateException(throwable);
+                }
+            };
+        }
+    }
+
+    private interface EventInvoker {
+        void invoke(ListenerAdapter listener, GenericEvent event);
+    }
+
+    private static final class EventHook {
+        private final Method method;
+        private final EventInvoker invoker;
+
+        private EventHook(Method method, EventInvoker invoker) {
+            this.method = method;
+            this.invoker = invoker;
+        }
+
+        private boolean isOverriddenBy(Class<? extends ListenerAdapter> listenerType) {
+            try {
+                return listenerType.getMethod(method.getName(), method.getParameterTypes()).getDeclaringClass()
+                        != ListenerAdapter.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    }
 }
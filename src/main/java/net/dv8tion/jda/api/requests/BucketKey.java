@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.api.requests;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Identifies a rate-limit bucket by its hash and the major parameters of a route.
+ *
+ * <p>The key compares the major parameters of the compiled route directly,
+ * which avoids building the major parameter string for every request.
+ * The string form is only built for logging.
+ */
+final class BucketKey {
+    // Either the hash string or the base route for uninit buckets
+    private final Object hash;
+    private final Route.CompiledRoute route;
+    private final int hashCode;
+
+    private String string;
+
+    BucketKey(@Nonnull Object hash, @Nonnull Route.CompiledRoute route) {
+        this.hash = hash;
+        this.route = route;
+        this.hashCode = 31 * hash.hashCode() + route.getMajorParametersHash();
+    }
+
+    boolean isUninit() {
+        return hash instanceof Route;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof BucketKey)) {
+            return false;
+        }
+        BucketKey other = (BucketKey) obj;
+        return hashCode == other.hashCode && hash.equals(other.hash) && route.hasSameMajorParameters(other.route);
+    }
+
+    @Override
+    public String toString() {
+        String string = this.string;
+        if (string == null) {
+            this.string = string = (isUninit() ? "uninit+" + hash : hash) + ":" + route.getMajorParameters();
+        }
+        return string;
+    }
+}
@@ -0,0 +1,749 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.api.requests;
+
+import net.dv8tion.jda.internal.utils.JDALogger;
+import okhttp3.Headers;
+import okhttp3.Response;
+import org.slf4j.Logger;
+
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Alternative {@link RestRateLimiter} which handles buckets without a global lock.
+ *
+ * <p>This implements the same bucket semantics as {@link SequentialRestRateLimiter}, requests within one bucket are
+ * executed in sequence and buckets are resolved through the {@link #HASH_HEADER bucket hash} and major parameters of a route.
+ * The difference is how the shared state is managed:
+ * <ul>
+ *     <li>Buckets are stored in a {@link ConcurrentHashMap} keyed by hash and major parameters, without building a string key</li>
+ *     <li>Each bucket tracks its rate-limit state and whether a worker is scheduled on its own</li>
+ *     <li>Requests are handed to the worker through a concurrent queue, the first thread to enqueue into an idle bucket schedules it</li>
+ * </ul>
+ *
+ * <p>This is useful for applications that enqueue many requests from multiple threads at once,
+ * where the single lock of {@link SequentialRestRateLimiter} becomes a point of contention.
+ *
+ * <p>To use this implementation, configure it with {@link RestConfig#setRateLimiterFactory(java.util.function.Function)}:
+ * {@snippet lang="java":
+ * RestConfig config = new RestConfig().setRateLimiterFactory(ConcurrentRestRateLimiter::new);
+ * JDABuilder.createLight(token).setRestConfig(config);
+ * }
+ *
+ * <h2>Shared State</h2>
+ * When multiple processes use the same token, they can share their rate-limit state through a {@link RateLimitStore}.
+ * Bucket hashes, bucket windows, and the global rate-limit are then coordinated through the store.
+ * To avoid a round-trip for every request, tokens are leased from the store in batches of up to {@value #MAX_LEASE}
+ * and consumed locally.
+ * {@snippet lang="java":
+ * RateLimitStore store = new InMemoryRateLimitStore(); // or your own implementation
+ * RestConfig config = new RestConfig().setRateLimiterFactory(c -> new ConcurrentRestRateLimiter(c, store));
+ * }
+ */
+public final class ConcurrentRestRateLimiter implements RestRateLimiter {
+    /** The maximum number of tokens leased from a {@link RateLimitStore} at once */
+    public static final int MAX_LEASE = 10;
+
+    private static final Logger log = JDALogger.getLog(RestRateLimiter.class);
+    // How long to wait before asking the store again for a route without known hash
+    private static final long HASH_MISS_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+    // How long to wait before trying again when the store failed
+    private static final long STORE_FAILURE_BACKOFF = 1000;
+
+    private final CompletableFuture<?> shutdownHandle = new CompletableFuture<>();
+    private final AtomicBoolean isShutdown = new AtomicBoolean(false);
+
+    private final Future<?> cleanupWorker;
+    private final RateLimitConfig config;
+    private final RateLimitStore store;
+
+    private volatile boolean isStopped;
+
+    // Route -> Should we print warning for 429? AKA did we already hit it once before
+    private final Set<Route> hitRatelimit = ConcurrentHashMap.newKeySet(5);
+    // Route -> Hash
+    private final ConcurrentMap<Route, String> hashes = new ConcurrentHashMap<>();
+    // Route -> Next time to ask the store for the hash
+    private final ConcurrentMap<Route, Long> hashMisses = new ConcurrentHashMap<>();
+    // Hash + Major Parameter -> Bucket
+    private final ConcurrentMap<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a rate-limiter which keeps all state in this process.
+     *
+     * @param config
+     *        The {@link RateLimitConfig}
+     */
+    public ConcurrentRestRateLimiter(@Nonnull RateLimitConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * Creates a rate-limiter which shares its state with other processes through the provided {@link RateLimitStore}.
+     *
+     * @param config
+     *        The {@link RateLimitConfig}
+     * @param store
+     *        The shared {@link RateLimitStore}, or null to keep all state in this process
+     */
+    public ConcurrentRestRateLimiter(@Nonnull RateLimitConfig config, @Nullable RateLimitStore store) {
+        this.config = config;
+        this.store = store;
+        this.cleanupWorker = config.getScheduler().scheduleAtFixedRate(this::cleanup, 30, 30, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void enqueue(@Nonnull Work task) {
+        Route.CompiledRoute route = task.getRoute();
+        // The compute function runs under the lock of the map entry,
+        // this prevents the cleanup worker from removing the bucket while we add to it
+        Bucket bucket = buckets.compute(getKey(route), (key, current) -> {
+            if (current == null) {
+                current = new Bucket(key, route.getBaseRoute().isInteractionBucket());
+            }
+            current.requests.addLast(task);
+            return current;
+        });
+        bucket.schedule();
+    }
+
+    @Override
+    public void stop(boolean shutdown, @Nonnull Runnable callback) {
+        boolean doShutdown = shutdown;
+        synchronized (shutdownHandle) {
+            if (!isStopped) {
+                isStopped = true;
+                shutdownHandle.thenRun(callback);
+                if (!doShutdown) {
+                    int count = buckets.values().stream()
+                            .mapToInt(bucket -> bucket.requests.size())
+                            .sum();
+
+                    if (count > 0) {
+                        log.info("Waiting for {} requests to finish.", count);
+                    }
+                    doShutdown = count == 0;
+                }
+            }
+        }
+        if (doShutdown) {
+            shutdown();
+        }
+    }
+
+    @Override
+    public boolean isStopped() {
+        return isStopped;
+    }
+
+    @Override
+    public int cancelRequests() {
+        // Empty buckets will be removed by the cleanup worker,
+        // which also checks for rate limit parameters
+        int cancelled = (int) buckets.values().stream()
+                .flatMap(bucket -> bucket.requests.stream())
+                .filter(request -> !request.isPriority() && !request.isCancelled())
+                .peek(Work::cancel)
+                .count();
+
+        if (cancelled == 1) {
+            log.warn("Cancelled 1 request!");
+        } else if (cancelled > 1) {
+            log.warn("Cancelled {} requests!", cancelled);
+        }
+        return cancelled;
+    }
+
+    private void shutdown() {
+        if (!isShutdown.compareAndSet(false, true)) {
+            return;
+        }
+        cleanupWorker.cancel(false);
+        cleanup();
+        shutdownHandle.complete(null);
+    }
+
+    private void cleanup() {
+        // This will remove buckets that are no longer needed every 30 seconds
+        // to avoid memory leakage
+        // We will keep the hashes in memory since they are very limited
+        // (by the amount of possible routes)
+        boolean shutdown = isShutdown.get();
+        long now = getNow();
+        int size = buckets.size();
+        for (Bucket bucket : buckets.values()) {
+            if (shutdown) {
+                bucket.requests.forEach(Work::cancel); // Cancel all requests
+            }
+            bucket.requests.removeIf(Work::isSkipped); // Remove cancelled requests
+
+            buckets.computeIfPresent(bucket.key, (key, current) -> {
+                // Only remove buckets that are empty and have no worker running
+                if (current != bucket || !current.requests.isEmpty() || current.scheduled.get()) {
+                    return current;
+                }
+                // remove uninit if requests are empty
+                // If the requests of the bucket are drained and the reset is expired the
+                // bucket has no valuable information
+                // Remove empty buckets when the rate limiter is stopped
+                if (current.key.isUninit() || current.reset <= now || isStopped) {
+                    return null;
+                }
+                return current;
+            });
+        }
+
+        // Log how many buckets were removed
+        size -= buckets.size();
+        if (size > 0) {
+            log.debug("Removed {} expired buckets", size);
+        } else if (isStopped && !shutdown && isIdle()) {
+            shutdown();
+        }
+    }
+
+    private boolean isIdle() {
+        for (Bucket bucket : buckets.values()) {
+            if (!bucket.requests.isEmpty() || bucket.scheduled.get()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BucketKey getKey(Route.CompiledRoute route) {
+        Route baseRoute = route.getBaseRoute();
+        // Retrieve the hash via the route, uninit buckets are keyed by the route itself
+        String hash = hashes.get(baseRoute);
+        if (hash == null && store != null) {
+            hash = loadHash(baseRoute);
+        }
+        return new BucketKey(hash != null ? hash : baseRoute, route);
+    }
+
+    private String loadHash(Route route) {
+        long now = getNow();
+        Long nextCheck = hashMisses.get(route);
+        if (nextCheck != null && nextCheck > now) {
+            return null;
+        }
+
+        String hash = null;
+        try {
+            hash = store.getHash(route.toString());
+        } catch (Exception e) {
+            log.error("Failed to load bucket hash for route {} from rate-limit store", route, e);
+        }
+
+        if (hash == null) {
+            hashMisses.put(route, now + HASH_MISS_TIMEOUT);
+            return null;
+        }
+
+        hashMisses.remove(route);
+        String current = hashes.putIfAbsent(route, hash);
+        return current != null ? current : hash;
+    }
+
+    private boolean isShared(Bucket bucket) {
+        return store != null && !bucket.key.isUninit();
+    }
+
+    private void updateStore(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.error("Failed to update rate-limit store", e);
+        }
+    }
+
+    private void mergeGlobalRateLimit() {
+        GlobalRateLimit local = config.getGlobalRateLimit();
+        GlobalRateLimit shared = store.getGlobalRateLimit();
+        long classic = shared.getClassic();
+        if (classic > local.getClassic()) {
+            local.setClassic(classic);
+        }
+        long cloudflare = shared.getCloudflare();
+        if (cloudflare > local.getCloudflare()) {
+            local.setCloudflare(cloudflare);
+        }
+    }
+
+    private Bucket getBucket(Route.CompiledRoute route) {
+        return buckets.computeIfAbsent(
+                getKey(route), key -> new Bucket(key, route.getBaseRoute().isInteractionBucket()));
+    }
+
+    @SuppressWarnings("ReferenceEquality")
+    private void scheduleElastic(Bucket bucket) {
+        if (isShutdown.get()) {
+            bucket.scheduled.set(false);
+            return;
+        }
+
+        ExecutorService elastic = config.getElastic();
+        ScheduledExecutorService scheduler = config.getScheduler();
+
+        try {
+            // Avoid context switch if unnecessary
+            if (elastic == scheduler) {
+                bucket.run();
+            } else {
+                elastic.execute(bucket);
+            }
+        } catch (RejectedExecutionException ex) {
+            bucket.scheduled.set(false);
+            if (!isShutdown.get()) {
+                log.error("Failed to execute bucket worker", ex);
+            }
+        } catch (Throwable t) {
+            log.error("Caught throwable in bucket worker", t);
+            if (t instanceof Error) {
+                throw t;
+            }
+        }
+    }
+
+    private long parseLong(String input) {
+        return input == null ? 0L : Long.parseLong(input);
+    }
+
+    private long parseDouble(String input) {
+        // The header value is using a double to represent milliseconds and seconds:
+        // 5.250 this is 5 seconds and 250 milliseconds (5250 milliseconds)
+        return input == null ? 0L : (long) (Double.parseDouble(input) * 1000);
+    }
+
+    private long getNow() {
+        return System.currentTimeMillis();
+    }
+
+    private void updateBucket(Route.CompiledRoute route, Response response) {
+        Bucket bucket = getBucket(route);
+        try {
+            Headers headers = response.headers();
+
+            boolean global = headers.get(GLOBAL_HEADER) != null;
+            boolean cloudflare = headers.get("via") == null;
+            String hash = headers.get(HASH_HEADER);
+            String scope = headers.get(SCOPE_HEADER);
+            long now = getNow();
+
+            // Create a new bucket for the hash if needed
+            Route baseRoute = route.getBaseRoute();
+            if (hash != null) {
+                if (hashes.putIfAbsent(baseRoute, hash) == null) {
+                    log.debug("Caching bucket hash {} -> {}", baseRoute, hash);
+                    if (store != null) {
+                        updateStore(() -> store.setHash(baseRoute.toString(), hash));
+                    }
+                }
+
+                bucket = getBucket(route);
+            }
+
+            if (response.code() == 429) {
+                String retryAfterHeader = headers.get(RETRY_AFTER_HEADER);
+                long retryAfter = parseLong(retryAfterHeader) * 1000; // seconds precision
+                // Handle global rate limit if necessary
+                if (global) {
+                    config.getGlobalRateLimit().setClassic(now + retryAfter);
+                    if (store != null) {
+                        updateStore(() -> store.getGlobalRateLimit().setClassic(now + retryAfter));
+                    }
+                    log.error("Encountered global rate limit! Retry-After: {} ms Scope: {}", retryAfter, scope);
+                }
+                // Handle cloudflare rate limits,
+                // this applies to all routes and uses seconds for retry-after
+                else if (cloudflare) {
+                    config.getGlobalRateLimit().setCloudflare(now + retryAfter);
+                    if (store != null) {
+                        updateStore(() -> store.getGlobalRateLimit().setCloudflare(now + retryAfter));
+                    }
+                    log.error("Encountered cloudflare rate limit! Retry-After: {} s", retryAfter / 1000);
+                }
+                // Handle hard rate limit, pretty much just log that it happened
+                else {
+                    boolean firstHit = hitRatelimit.add(baseRoute) && retryAfter < 60000;
+                    // Update the bucket to the new information
+                    bucket.update(0, now + retryAfter);
+                    if (isShared(bucket)) {
+                        String bucketId = bucket.key.toString();
+                        updateStore(() -> store.update(bucketId, 0, now + retryAfter));
+                    }
+                    // don't log warning if we hit the rate limit for the first time,
+                    // likely due to initialization of the bucket
+                    // unless its a long retry-after delay (more than a minute)
+                    if (firstHit) {
+                        log.debug(
+                                "Encountered 429 on route {} with bucket {} Retry-After: {} ms Scope: {}",
+                                baseRoute,
+                                bucket,
+                                retryAfter,
+                                scope);
+                    } else {
+                        log.warn(
+                                "Encountered 429 on route {} with bucket {} Retry-After: {} ms Scope: {}",
+                                baseRoute,
+                                bucket,
+                                retryAfter,
+                                scope);
+                    }
+                }
+
+                log.trace("Updated bucket {} to retry after {}", bucket, bucket.reset - now);
+                return;
+            }
+
+            // If hash is null this means we didn't get enough information to update a bucket
+            if (hash == null) {
+                return;
+            }
+
+            // Update the bucket parameters with new information
+            String limitHeader = headers.get(LIMIT_HEADER);
+            String remainingHeader = headers.get(REMAINING_HEADER);
+            String resetAfterHeader = headers.get(RESET_AFTER_HEADER);
+            String resetHeader = headers.get(RESET_HEADER);
+
+            long reset = config.isRelative() ? now + parseDouble(resetAfterHeader) : parseDouble(resetHeader);
+            if (isShared(bucket)) {
+                // Shared buckets only remember the observation, which is sent with the next lease request
+                bucket.observe((int) parseLong(remainingHeader), reset);
+            } else {
+                bucket.update((int) parseLong(remainingHeader), reset);
+            }
+            log.trace("Updated bucket {} to ({}/{}, {})", bucket, bucket.remaining, limitHeader, bucket.reset - now);
+        } catch (Exception e) {
+            log.error(
+                    "Encountered Exception while updating a bucket. Route: {} Bucket: {} Code: {} Headers:\n{}",
+                    route.getBaseRoute(),
+                    bucket,
+                    response.code(),
+                    response.headers(),
+                    e);
+        }
+    }
+
+    private final class Bucket implements Runnable {
+        private final BucketKey key;
+        private final boolean interaction;
+        private final Deque<Work> requests = new ConcurrentLinkedDeque<>();
+        // Whether a worker is currently scheduled or running for this bucket
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private volatile long reset = 0;
+        private volatile int remaining = 1;
+
+        // State for shared buckets, guarded by this
+        private int leased = 0;
+        private int observedRemaining = 0;
+        private long observedReset = 0;
+
+        private Bucket(BucketKey key, boolean interaction) {
+            this.key = key;
+            this.interaction = interaction;
+        }
+
+        private synchronized void update(int remaining, long reset) {
+            this.remaining = remaining;
+            this.reset = reset;
+            this.leased = 0;
+        }
+
+        private synchronized void observe(int remaining, long reset) {
+            this.observedRemaining = remaining;
+            this.observedReset = reset;
+            // The response is authoritative, we can't have more tokens than the remaining requests
+            this.leased = Math.min(leased, remaining);
+            if (remaining < 1) {
+                this.reset = reset;
+            }
+        }
+
+        private synchronized void consume() {
+            if (leased > 0) {
+                leased--;
+            }
+        }
+
+        private long getGlobalRateLimit(long now) {
+            GlobalRateLimit holder = config.getGlobalRateLimit();
+            // Only cloudflare bans apply to interactions
+            if (interaction) {
+                return holder.getCloudflare() - now;
+            }
+            return Math.max(holder.getClassic(), holder.getCloudflare()) - now;
+        }
+
+        private long getRateLimit() {
+            return getRateLimit(false);
+        }
+
+        // Returns the backoff in milliseconds, and acquires a lease from the store if required
+        private long getRateLimit(boolean acquire) {
+            long now = getNow();
+
+            long global = getGlobalRateLimit(now);
+
+            if (isShared(this)) {
+                return Math.max(global, getLeaseBackoff(now, acquire));
+            }
+
+            long reset, remaining;
+            synchronized (this) {
+                // Check if the bucket reset time has expired
+                if (this.reset <= now) {
+                    // Update the remaining uses to the limit (we don't know better)
+                    this.remaining = 1;
+                }
+                reset = this.reset;
+                remaining = this.remaining;
+            }
+
+            // If there are remaining requests we don't need to do anything,
+            // otherwise return backoff in milliseconds
+            return Math.max(global, remaining < 1 ? reset - now : 0L);
+        }
+
+        private long getLeaseBackoff(long now, boolean acquire) {
+            int observedRemaining;
+            long observedReset;
+            synchronized (this) {
+                // Tokens of an unknown window (reset = 0) stay valid until they are used
+                if (leased > 0 && (reset == 0 || reset > now)) {
+                    return 0L;
+                }
+                // The window is exhausted, no need to ask the store until it resets
+                if (reset > now) {
+                    return reset - now;
+                }
+                if (!acquire) {
+                    return 0L;
+                }
+                observedRemaining = this.observedRemaining;
+                observedReset = this.observedReset;
+                this.observedReset = 0;
+            }
+
+            RateLimitStore.Lease lease;
+            try {
+                int tokens = Math.max(1, Math.min(requests.size(), MAX_LEASE));
+                lease = store.acquire(key.toString(), tokens, observedRemaining, observedReset);
+                mergeGlobalRateLimit();
+            } catch (Exception e) {
+                log.error("Failed to acquire lease for bucket {} from rate-limit store", this, e);
+                return STORE_FAILURE_BACKOFF;
+            }
+
+            log.trace("Acquired {} for bucket {}", lease, this);
+            synchronized (this) {
+                leased = lease.getTokens();
+                reset = lease.getReset();
+                if (leased > 0) {
+                    return 0L;
+                }
+                return Math.max(1L, reset - now);
+            }
+        }
+
+        private void schedule() {
+            // Only the thread which moves the bucket from idle to scheduled starts a worker
+            if (scheduled.compareAndSet(false, true)) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            submit(getRateLimit());
+        }
+
+        private void submit(long delay) {
+            if (isShutdown.get()) {
+                scheduled.set(false);
+                return;
+            }
+            try {
+                config.getScheduler().schedule(() -> scheduleElastic(this), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
+                scheduled.set(false);
+                if (!isShutdown.get()) {
+                    log.error("Failed to schedule bucket worker", ex);
+                }
+            }
+        }
+
+        private void retry(Work request) {
+            if (!moveRequest(request)) {
+                requests.addFirst(request);
+            }
+        }
+
+        private boolean moveRequest(Work request) {
+            // Attempt moving request to correct bucket if it has been created
+            Bucket bucket = getBucket(request.getRoute());
+            if (bucket != this) {
+                enqueue(request);
+            }
+            return bucket != this;
+        }
+
+        private void backoff() {
+            if (!requests.isEmpty() && !isShutdown.get()) {
+                // Keep ownership of the bucket and wait for the rate-limit to reset
+                submit();
+                return;
+            }
+
+            scheduled.set(false);
+            // Another thread might have added a request after we observed the empty queue,
+            // but before we released the bucket. It would not have started a worker.
+            if (!requests.isEmpty()) {
+                schedule();
+            } else if (isStopped && isIdle()) {
+                shutdown();
+            }
+        }
+
+        private boolean handleResult(Work request, Response response, Throwable error) {
+            if (error instanceof CompletionException && error.getCause() != null) {
+                error = error.getCause();
+            }
+
+            try {
+                if (error != null) {
+                    throw error;
+                }
+                if (response != null) {
+                    updateBucket(request.getRoute(), response);
+                }
+                if (!request.isDone()) {
+                    retry(request);
+                }
+            } catch (Throwable ex) {
+                log.error("Encountered exception trying to execute request", ex);
+                if (ex instanceof Error) {
+                    throw (Error) ex;
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            log.trace("Bucket {} is running {} requests", this, requests.size());
+            drain();
+        }
+
+        // Executes requests until the bucket is empty or hit the rate-limit.
+        // When a request is still in-flight, the loop is continued by its completion callback instead.
+        private void drain() {
+            while (!requests.isEmpty()) {
+                long rateLimit = getRateLimit(true);
+                if (rateLimit > 0L) {
+                    // We need to backoff since we ran out of remaining uses
+                    // or hit the global rate limit
+                    Work request = requests.peekFirst();
+                    String baseRoute =
+                            request != null ? request.getRoute().getBaseRoute().toString() : "N/A";
+                    if (getGlobalRateLimit(getNow()) <= 0 && rateLimit >= 1000 * 60 * 30) { // 30 minutes
+                        log.warn(
+                                "Encountered long {} minutes Rate-Limit on route {}",
+                                TimeUnit.MILLISECONDS.toMinutes(rateLimit),
+                                baseRoute);
+                    }
+                    log.debug("Backing off {} ms for bucket {} on route {}", rateLimit, this, baseRoute);
+                    // Keep ownership of the bucket, the computed backoff also covers failures of the store,
+                    // which are not remembered by the bucket state
+                    submit(rateLimit);
+                    return;
+                }
+
+                Work request = requests.pollFirst();
+                if (request == null) {
+                    break;
+                }
+                if (request.isSkipped()) {
+                    continue;
+                }
+
+                if (key.isUninit() && moveRequest(request)) {
+                    continue;
+                }
+
+                if (isShared(this)) {
+                    consume();
+                }
+
+                CompletableFuture<Response> future;
+                try {
+                    future = request.executeAsync();
+                } catch (Throwable ex) {
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(ex);
+                }
+
+                // Avoid the callback indirection for requests that completed on this thread
+                if (!future.isDone()) {
+                    future.whenComplete((response, error) -> resume(request, response, error));
+                    return;
+                }
+
+                Response response = null;
+                Throwable error = null;
+                try {
+                    response = future.join();
+                } catch (Throwable ex) {
+                    error = ex;
+                }
+
+                if (handleResult(request, response, error)) {
+                    break;
+                }
+            }
+
+            backoff();
+        }
+
+        private void resume(Work request, Response response, Throwable error) {
+            try {
+                if (handleResult(request, response, error)) {
+                    backoff();
+                } else {
+                    drain();
+                }
+            } catch (Throwable t) {
+                log.error("Caught throwable in bucket worker", t);
+                backoff();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return key.toString();
+        }
+    }
+}
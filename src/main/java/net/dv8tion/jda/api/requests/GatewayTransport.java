@@ -0,0 +1,167 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.requests;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Transport used to open the main gateway connection of a shard.
+ *
+ * <p>By default, each shard uses its own {@link com.neovisionaries.ws.client.WebSocket WebSocket}
+ * from the configured {@link com.neovisionaries.ws.client.WebSocketFactory WebSocketFactory},
+ * which uses a dedicated reading and writing thread for every connection.
+ * A transport can instead serve the connections of many shards with a shared set of threads,
+ * such as the selector based {@link NioGatewayTransport}.
+ *
+ * <p>The callbacks of the {@link Listener} are invoked on the threads of the transport,
+ * they should never block for long and the callbacks of one connection must never run concurrently.
+ *
+ * @see net.dv8tion.jda.api.JDABuilder#setGatewayTransport(GatewayTransport)
+ * @see net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder#setGatewayTransport(GatewayTransport)
+ */
+public interface GatewayTransport {
+    /**
+     * Opens a new websocket connection to the provided gateway url.
+     *
+     * <p>{@link Listener#onOpen(Connection, Map)} is called once the websocket handshake is completed,
+     * before the returned future is completed.
+     * If the connection cannot be established, the future is completed exceptionally and no callbacks are invoked.
+     *
+     * @param  uri
+     *         The gateway url, using either the {@code wss} or {@code ws} scheme
+     * @param  headers
+     *         Additional headers for the upgrade request
+     * @param  listener
+     *         The listener which receives the messages and close of the connection
+     *
+     * @return {@link CompletableFuture} which completes with the open connection
+     */
+    @Nonnull
+    CompletableFuture<Connection> connect(
+            @Nonnull URI uri, @Nonnull Map<String, String> headers, @Nonnull Listener listener);
+
+    /**
+     * An open websocket connection of a {@link GatewayTransport}.
+     *
+     * <p>All methods of this interface can be called from any thread.
+     */
+    interface Connection {
+        /**
+         * Queues a text message.
+         *
+         * @param  message
+         *         The message
+         */
+        void sendText(@Nonnull String message);
+
+        /**
+         * Queues a binary message.
+         *
+         * @param  message
+         *         The message
+         */
+        void sendBinary(@Nonnull byte[] message);
+
+        /**
+         * Starts the closing handshake with the provided close code and reason.
+         * <br>If the server does not respond within 10 seconds, the connection is dropped.
+         *
+         * @param  code
+         *         The close code
+         * @param  reason
+         *         The close reason, or null
+         */
+        void close(int code, @Nullable String reason);
+
+        /**
+         * Configures how long the connection may receive no data until it is considered dead.
+         * <br>A dead connection is dropped and reported with {@link Listener#onError(Connection, Throwable)}
+         * and {@link Listener#onClose(Connection, int, String, boolean)}.
+         *
+         * @param  millis
+         *         The timeout in milliseconds, or 0 to disable the timeout
+         */
+        void setReadTimeout(long millis);
+    }
+
+    /**
+     * Receives the events of a {@link Connection}.
+     */
+    interface Listener {
+        /**
+         * Called once the websocket handshake is completed.
+         *
+         * @param  connection
+         *         The connection
+         * @param  headers
+         *         The headers of the handshake response
+         */
+        void onOpen(@Nonnull Connection connection, @Nonnull Map<String, List<String>> headers);
+
+        /**
+         * Called for every received text message.
+         *
+         * @param  connection
+         *         The connection
+         * @param  message
+         *         The UTF-8 encoded message
+         */
+        void onTextMessage(@Nonnull Connection connection, @Nonnull byte[] message);
+
+        /**
+         * Called for every received binary message.
+         *
+         * @param  connection
+         *         The connection
+         * @param  message
+         *         The message
+         */
+        void onBinaryMessage(@Nonnull Connection connection, @Nonnull byte[] message);
+
+        /**
+         * Called when the connection failed or one of the other callbacks threw an exception.
+         *
+         * @param  connection
+         *         The connection
+         * @param  error
+         *         The error
+         */
+        void onError(@Nonnull Connection connection, @Nonnull Throwable error);
+
+        /**
+         * Called once the connection is closed.
+         * <br>If the connection was lost without a closing handshake,
+         * the code is {@code 1006} and the connection is not considered as closed by the server.
+         *
+         * @param  connection
+         *         The connection
+         * @param  code
+         *         The close code of the side which started the closing handshake
+         * @param  reason
+         *         The close reason of the side which started the closing handshake, or null
+         * @param  closedByServer
+         *         Whether the server started the closing handshake
+         */
+        void onClose(@Nonnull Connection connection, int code, @Nullable String reason, boolean closedByServer);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.api.requests;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Reference implementation of {@link RateLimitStore}, which keeps the state in memory.
+ *
+ * <p>This can be shared by multiple JDA instances in the same process, which do not use the same {@link RestRateLimiter}.
+ * Implementations for other storage systems can use this as a guideline for the expected semantics.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+    // Remove expired windows every n acquire calls
+    private static final int CLEANUP_INTERVAL = 1024;
+
+    private final ConcurrentMap<String, String> hashes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final RestRateLimiter.GlobalRateLimit globalRateLimit = RestRateLimiter.GlobalRateLimit.create();
+    private final AtomicInteger operations = new AtomicInteger();
+
+    @Nullable
+    @Override
+    public String getHash(@Nonnull String route) {
+        return hashes.get(route);
+    }
+
+    @Override
+    public void setHash(@Nonnull String route, @Nonnull String hash) {
+        hashes.put(route, hash);
+    }
+
+    @Nonnull
+    @Override
+    public Lease acquire(@Nonnull String bucket, int tokens, int observedRemaining, long observedReset) {
+        long now = System.currentTimeMillis();
+        if (operations.incrementAndGet() % CLEANUP_INTERVAL == 0) {
+            windows.values().removeIf(window -> window.reset <= now);
+        }
+
+        Lease[] lease = new Lease[1];
+        windows.compute(bucket, (key, window) -> {
+            if (window != null && window.reset <= now) {
+                window = null;
+            }
+
+            if (observedReset > now) {
+                if (window == null) {
+                    window = new Window(observedRemaining, observedReset);
+                } else {
+                    window = new Window(
+                            Math.min(window.remaining, observedRemaining), Math.max(window.reset, observedReset));
+                }
+            }
+
+            if (window == null) {
+                // Unknown window, let one request through to find out
+                lease[0] = new Lease(1, 0);
+                return null;
+            }
+
+            int granted = Math.max(0, Math.min(tokens, window.remaining));
+            lease[0] = new Lease(granted, window.reset);
+            return granted == 0 ? window : new Window(window.remaining - granted, window.reset);
+        });
+        return lease[0];
+    }
+
+    @Override
+    public void update(@Nonnull String bucket, int remaining, long reset) {
+        windows.put(bucket, new Window(remaining, reset));
+    }
+
+    @Nonnull
+    @Override
+    public RestRateLimiter.GlobalRateLimit getGlobalRateLimit() {
+        return globalRateLimit;
+    }
+
+    private static final class Window {
+        private final int remaining;
+        private final long reset;
+
+        private Window(int remaining, long reset) {
+            this.remaining = remaining;
+            this.reset = reset;
+        }
+    }
+}
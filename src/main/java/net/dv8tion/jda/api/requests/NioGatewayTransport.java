@@ -0,0 +1,241 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.requests;
+
+import net.dv8tion.jda.internal.requests.NioEventLoop;
+import net.dv8tion.jda.internal.requests.NioWebSocket;
+import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.concurrent.CountingThreadFactory;
+import net.dv8tion.jda.internal.utils.concurrent.OrderedExecutor;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.net.ssl.SNIHostName;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+
+/**
+ * {@link GatewayTransport} which multiplexes the gateway connections of many shards on a few selector threads.
+ *
+ * <p>Every connection is assigned to the event loop with the fewest connections.
+ * An event loop only reads and writes the frames of its connections without blocking.
+ * The received messages are passed to the shards on a separate handler pool, which decompresses and handles them.
+ * The messages of one connection are always handled one after another, while different connections are handled in parallel.
+ * If a shard falls behind, its connection stops reading until the shard caught up.
+ *
+ * <p>The threads of the event loops are started on demand and stop once they have no connections left.
+ *
+ * {@snippet lang="java":
+ * GatewayTransport transport = new NioGatewayTransport(4);
+ * DefaultShardManagerBuilder.createDefault(token)
+ *     .setShardsTotal(2000)
+ *     .setGatewayTransport(transport)
+ *     .build();
+ * }
+ */
+public final class NioGatewayTransport implements GatewayTransport {
+    private final NioEventLoop[] loops;
+    private final SSLContext sslContext;
+    private final OrderedExecutor handlers;
+    private final AtomicLong connectionIds = new AtomicLong();
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates a new transport with one event loop per two available processors.
+     */
+    public NioGatewayTransport() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * Creates a new transport with the provided number of event loops.
+     *
+     * @param  threads
+     *         The number of event loops
+     *
+     * @throws IllegalArgumentException
+     *         If the number of threads is not positive
+     * @throws IllegalStateException
+     *         If the default {@link SSLContext} is not available
+     */
+    public NioGatewayTransport(int threads) {
+        this(threads, getDefaultContext());
+    }
+
+    /**
+     * Creates a new transport with the provided number of event loops.
+     *
+     * @param  threads
+     *         The number of event loops
+     * @param  sslContext
+     *         The {@link SSLContext} used for {@code wss} connections
+     *
+     * @throws IllegalArgumentException
+     *         If the number of threads is not positive or the context is null
+     */
+    public NioGatewayTransport(int threads, @Nonnull SSLContext sslContext) {
+        this(threads, sslContext, newHandlerPool());
+    }
+
+    /**
+     * Creates a new transport with the provided number of event loops.
+     *
+     * <p>The handler pool decompresses and handles the received messages of the shards.
+     * It is not shutdown by the transport.
+     *
+     * @param  threads
+     *         The number of event loops
+     * @param  sslContext
+     *         The {@link SSLContext} used for {@code wss} connections
+     * @param  handlerPool
+     *         The executor which handles the received messages
+     *
+     * @throws IllegalArgumentException
+     *         If the number of threads is not positive, or the context or executor is null
+     */
+    public NioGatewayTransport(int threads, @Nonnull SSLContext sslContext, @Nonnull Executor handlerPool) {
+        Checks.positive(threads, "Threads");
+        Checks.notNull(sslContext, "SSLContext");
+        Checks.notNull(handlerPool, "Handler Pool");
+        this.sslContext = sslContext;
+        this.handlers = new OrderedExecutor(handlerPool, OrderedExecutor.DEFAULT_LANES);
+        this.loops = new NioEventLoop[threads];
+        for (int i = 0; i < threads; i++) {
+            loops[i] = new NioEventLoop("JDA Gateway-IO " + (i + 1));
+        }
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Connection> connect(
+            @Nonnull URI uri, @Nonnull Map<String, String> headers, @Nonnull Listener listener) {
+        Checks.notNull(uri, "URI");
+        Checks.notNull(headers, "Headers");
+        Checks.notNull(listener, "Listener");
+
+        CompletableFuture<Connection> future = new CompletableFuture<>();
+        if (shutdown) {
+            future.completeExceptionally(new RejectedExecutionException("The transport is shutdown"));
+            return future;
+        }
+
+        String scheme = uri.getScheme();
+        boolean secure = "wss".equalsIgnoreCase(scheme);
+        if (!secure && !"ws".equalsIgnoreCase(scheme)) {
+            future.completeExceptionally(new IllegalArgumentException("Unsupported scheme " + scheme));
+            return future;
+        }
+
+        String host = uri.getHost();
+        int port = uri.getPort() == -1 ? (secure ? 443 : 80) : uri.getPort();
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        if (address.isUnresolved()) {
+            future.completeExceptionally(new UnknownHostException(host));
+            return future;
+        }
+
+        String target = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            target += "?" + uri.getRawQuery();
+        }
+
+        SSLEngine engine = null;
+        if (secure) {
+            engine = sslContext.createSSLEngine(host, port);
+            engine.setUseClientMode(true);
+            SSLParameters parameters = engine.getSSLParameters();
+            parameters.setEndpointIdentificationAlgorithm("HTTPS");
+            parameters.setServerNames(Collections.singletonList(new SNIHostName(host)));
+            engine.setSSLParameters(parameters);
+        }
+
+        String hostHeader = uri.getPort() == -1 ? host : host + ":" + port;
+        // Each connection serves one shard, its callbacks run in order on the handler pool
+        long connectionId = connectionIds.incrementAndGet();
+        Executor callbacks = task -> handlers.execute(connectionId, task);
+        NioWebSocket socket = new NioWebSocket(
+                nextLoop(),
+                address,
+                hostHeader,
+                target,
+                new LinkedHashMap<>(headers),
+                listener,
+                callbacks,
+                engine);
+        return socket.connect();
+    }
+
+    /**
+     * The number of open connections across all event loops.
+     *
+     * @return The number of connections
+     */
+    public int getConnectionCount() {
+        return Arrays.stream(loops).mapToInt(NioEventLoop::getConnectionCount).sum();
+    }
+
+    /**
+     * Rejects new connections and closes all open connections.
+     * <br>The threads stop once the closing handshakes are completed.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (NioEventLoop loop : loops) {
+            loop.shutdown();
+        }
+    }
+
+    private NioEventLoop nextLoop() {
+        NioEventLoop next = loops[0];
+        for (NioEventLoop loop : loops) {
+            if (loop.getConnectionCount() < next.getConnectionCount()) {
+                next = loop;
+            }
+        }
+        return next;
+    }
+
+    private static ExecutorService newHandlerPool() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                1,
+                TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(),
+                new CountingThreadFactory(() -> "JDA", "Gateway-Handler"));
+        // Like the event loops, the handlers do not keep an idle transport alive
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static SSLContext getDefaultContext() {
+        try {
+            return SSLContext.getDefault();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Default SSLContext is not available", e);
+        }
+    }
+}
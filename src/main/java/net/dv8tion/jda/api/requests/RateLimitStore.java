@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.api.requests;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Shared rate-limit state used by {@link ConcurrentRestRateLimiter} to coordinate multiple processes using the same token.
+ *
+ * <p>Implementations can keep this state in any shared system, such as a database or key-value store.
+ * The rate-limiter does not access the store for every request. Instead, it leases a batch of tokens for a bucket
+ * with {@link #acquire(String, int, int, long)} and consumes them locally. It only calls the store again once the lease is used up.
+ * The latest rate-limit headers seen for a bucket are sent along with the next acquire call.
+ *
+ * <p>All timestamps are unix timestamps in milliseconds. Processes sharing a store should have synchronized clocks.
+ *
+ * <p>Implementations must be thread-safe.
+ *
+ * @see InMemoryRateLimitStore
+ * @see ConcurrentRestRateLimiter#ConcurrentRestRateLimiter(RestRateLimiter.RateLimitConfig, RateLimitStore)
+ */
+public interface RateLimitStore {
+    /**
+     * The known bucket hash for the provided route.
+     *
+     * @param  route
+     *         The route, in the format of {@link Route#toString()}
+     *
+     * @return The bucket hash, or null if it is unknown
+     */
+    @Nullable
+    String getHash(@Nonnull String route);
+
+    /**
+     * Stores the bucket hash of a route, received through the {@link RestRateLimiter#HASH_HEADER} header.
+     *
+     * @param route
+     *        The route, in the format of {@link Route#toString()}
+     * @param hash
+     *        The bucket hash
+     */
+    void setHash(@Nonnull String route, @Nonnull String hash);
+
+    /**
+     * Leases up to the requested number of tokens from the bucket.
+     *
+     * <p>The provided observation is the latest {@code remaining} and {@code reset} seen in the response headers of this bucket.
+     * It should be merged into the stored state before tokens are handed out:
+     * <ul>
+     *     <li>If the observed reset has already passed, the observation is outdated and should be ignored</li>
+     *     <li>If the stored window has expired, the observation starts a new window</li>
+     *     <li>Otherwise, both describe the same window and the lower remaining count applies</li>
+     * </ul>
+     *
+     * <p>If the bucket has no active window, the store should grant a single token,
+     * so that the next response can establish the window.
+     *
+     * @param  bucket
+     *         The bucket id
+     * @param  tokens
+     *         The requested number of tokens, at least 1
+     * @param  observedRemaining
+     *         The last seen {@link RestRateLimiter#REMAINING_HEADER remaining} value
+     * @param  observedReset
+     *         The last seen reset timestamp, or {@code 0} if nothing was observed since the last call
+     *
+     * @return The granted {@link Lease}
+     */
+    @Nonnull
+    Lease acquire(@Nonnull String bucket, int tokens, int observedRemaining, long observedReset);
+
+    /**
+     * Replaces the state of a bucket.
+     * <br>This is used when a request hit a rate-limit, to stop other processes from using the bucket until the reset.
+     *
+     * @param bucket
+     *        The bucket id
+     * @param remaining
+     *        The remaining number of requests
+     * @param reset
+     *        The reset timestamp
+     */
+    void update(@Nonnull String bucket, int remaining, long reset);
+
+    /**
+     * The shared global rate-limit.
+     * <br>This is checked whenever a lease is acquired and updated when a global or cloudflare rate-limit is encountered.
+     *
+     * @return The shared {@link RestRateLimiter.GlobalRateLimit}
+     */
+    @Nonnull
+    RestRateLimiter.GlobalRateLimit getGlobalRateLimit();
+
+    /**
+     * Tokens granted by {@link #acquire(String, int, int, long)}.
+     */
+    final class Lease {
+        private final int tokens;
+        private final long reset;
+
+        /**
+         * Creates a new lease.
+         *
+         * @param tokens
+         *        The number of granted tokens, 0 if the bucket is exhausted
+         * @param reset
+         *        The reset timestamp of the window these tokens belong to, or 0 if the window is unknown
+         */
+        public Lease(int tokens, long reset) {
+            this.tokens = tokens;
+            this.reset = reset;
+        }
+
+        /**
+         * The number of granted tokens.
+         * <br>If this is 0, the bucket must not be used until {@link #getReset()}.
+         *
+         * @return The number of tokens
+         */
+        public int getTokens() {
+            return tokens;
+        }
+
+        /**
+         * The reset timestamp of the window, after which the tokens expire.
+         *
+         * @return The reset timestamp, or 0 if the window is unknown
+         */
+        public long getReset() {
+            return reset;
+        }
+
+        @Override
+        public String toString() {
+            return "Lease(" + tokens + ", " + reset + ")";
+        }
+    }
+}
@@ -21,6 +21,10 @@ import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.Helpers;
 import okhttp3.Request;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -47,6 +51,11 @@ public class RestConfig {
     private String userAgent = USER_AGENT;
     private String baseUrl = DEFAULT_BASE_URL;
     private boolean relativeRateLimit = true;
+    private boolean asyncRequests = false;
+    private boolean coalesceRequests = false;
+    private final Map<Route, Duration> responseCacheTTLs = new HashMap<>();
+    private int responseCacheSize = 1000;
+    private Duration deleteCoalescingWindow = Duration.ZERO;
     private Consumer<? super Request.Builder> customBuilder;
     private Function<? super RestRateLimiter.RateLimitConfig, ? extends RestRateLimiter> rateLimiter =
             SequentialRestRateLimiter::new;
@@ -66,9 +75,144 @@ public class RestConfig {
         return this;
     }
 
+    /**
+     * Whether requests handled by the {@link RestRateLimiter} should be executed asynchronously.
+     * <br>When enabled, {@link RestRateLimiter.Work#executeAsync()} enqueues the HTTP call on the OkHttp dispatcher
+     * instead of blocking the rate-limit worker thread until the response arrives.
+     * Retries for server errors are also scheduled on the rate-limit scheduler rather than sleeping on the worker thread.
+     *
+     * <p>This reduces the number of rate-limit worker threads needed when many buckets have requests in-flight at once.
+     *
+     * <p>Default: {@code false}
+     *
+     * @param  asyncRequests
+     *         True, to execute requests asynchronously
+     *
+     * @return The current RestConfig for chaining convenience
+     */
+    @Nonnull
+    public RestConfig setAsyncRequests(boolean asyncRequests) {
+        this.asyncRequests = asyncRequests;
+        return this;
+    }
+
+    /**
+     * Whether identical {@link Method#GET GET} requests should share a single HTTP call.
+     * <br>When enabled, a queued GET request for the same route as a request that is still pending
+     * will not be sent separately. Instead, it receives a copy of the response of the pending request.
+     *
+     * <p>This avoids wasting rate-limits when the same entity is retrieved multiple times at once,
+     * for instance with {@code retrieveMessageById} on a popular message.
+     *
+     * <p>Default: {@code false}
+     *
+     * @param  coalesceRequests
+     *         True, to share responses between identical GET requests
+     *
+     * @return The current RestConfig for chaining convenience
+     */
+    @Nonnull
+    public RestConfig setCoalesceRequests(boolean coalesceRequests) {
+        this.coalesceRequests = coalesceRequests;
+        return this;
+    }
+
+    /**
+     * Enables caching of successful responses for the provided {@link Method#GET GET} route.
+     * <br>Responses are cached per {@link Route.CompiledRoute compiled route}, which means the cache is per entity.
+     * For instance, configuring {@link Route.Guilds#GET_MEMBER} caches the responses of {@link net.dv8tion.jda.api.entities.Guild#retrieveMemberById(long) Guild.retrieveMemberById(id)}
+     * for each member separately.
+     *
+     * <p>Cached responses are invalidated when a related gateway event is received, such as a member update for a cached member.
+     * Routes without related gateway events, like {@link Route.Applications#GET_BOT_APPLICATION}, are only invalidated by the TTL.
+     * Requests which were sent before the event might still cache an outdated response, which then expires with the TTL.
+     *
+     * <p>By default, no responses are cached.
+     *
+     * @param  route
+     *         The GET route to cache
+     * @param  ttl
+     *         How long to keep responses, zero or negative to disable caching for this route
+     *
+     * @throws IllegalArgumentException
+     *         If null is provided or the route is not a GET route
+     *
+     * @return The current RestConfig for chaining convenience
+     *
+     * @see    #setResponseCacheSize(int)
+     */
+    @Nonnull
+    public RestConfig setResponseCacheTTL(@Nonnull Route route, @Nonnull Duration ttl) {
+        Checks.notNull(route, "Route");
+        Checks.notNull(ttl, "TTL");
+        Checks.check(route.getMethod() == Method.GET, "Only GET routes can be cached, provided %s", route);
+        if (ttl.isNegative() || ttl.isZero()) {
+            responseCacheTTLs.remove(route);
+        } else {
+            responseCacheTTLs.put(route, ttl);
+        }
+        return this;
+    }
+
+    /**
+     * The maximum number of responses kept by the response cache.
+     * <br>When the cache is full, the responses closest to expire are removed first.
+     *
+     * <p>Default: {@code 1000}
+     *
+     * @param  size
+     *         The maximum number of cached responses
+     *
+     * @throws IllegalArgumentException
+     *         If the size is not positive
+     *
+     * @return The current RestConfig for chaining convenience
+     *
+     * @see    #setResponseCacheTTL(Route, Duration)
+     */
+    @Nonnull
+    public RestConfig setResponseCacheSize(int size) {
+        Checks.positive(size, "Size");
+        this.responseCacheSize = size;
+        return this;
+    }
+
+    /**
+     * Enables merging of single message deletes into bulk deletes.
+     * <br>When enabled, message deletes in the same guild channel are collected for the provided window,
+     * starting with the first delete, and then sent as one {@link Route.Messages#DELETE_MESSAGES bulk delete} request.
+     * Each {@link RestAction} still completes individually.
+     *
+     * <p>Deletes are only merged if the bot has the {@link net.dv8tion.jda.api.Permission#MESSAGE_MANAGE MESSAGE_MANAGE}
+     * permission in the channel and the message is younger than 2 weeks, otherwise they are sent as usual.
+     * If the bulk delete fails, the messages are deleted individually.
+     *
+     * <p><b>Note:</b> The bulk delete endpoint ignores unknown messages.
+     * A merged delete of a message, which has already been deleted, succeeds instead of failing with
+     * {@link ErrorResponse#UNKNOWN_MESSAGE UNKNOWN_MESSAGE}.
+     *
+     * <p>Default: {@link Duration#ZERO} (disabled)
+     *
+     * @param  window
+     *         How long to collect deletes before sending them, zero to disable merging
+     *
+     * @throws IllegalArgumentException
+     *         If the window is null or negative
+     *
+     * @return The current RestConfig for chaining convenience
+     */
+    @Nonnull
+    public RestConfig setDeleteCoalescingWindow(@Nonnull Duration window) {
+        Checks.notNull(window, "Window");
+        Checks.check(!window.isNegative(), "Window must not be negative");
+        this.deleteCoalescingWindow = window;
+        return this;
+    }
+
     /**
      * Provide a custom implementation of {@link RestRateLimiter}.
      * <br>By default, this will use the {@link SequentialRestRateLimiter}.
+     * Applications which enqueue requests from many threads at once can use {@link ConcurrentRestRateLimiter} instead.
      *
      * @param  rateLimiter
      *         The new implementation
@@ -208,4 +352,59 @@ public class RestConfig {
     public boolean isRelativeRateLimit() {
         return relativeRateLimit;
     }
+
+    /**
+     * Whether requests handled by the {@link RestRateLimiter} are executed asynchronously.
+     *
+     * @return True, if asynchronous requests are enabled
+     *
+     * @see    #setAsyncRequests(boolean)
+     */
+    public boolean isAsyncRequests() {
+        return asyncRequests;
+    }
+
+    /**
+     * Whether identical GET requests share a single HTTP call.
+     *
+     * @return True, if request coalescing is enabled
+     *
+     * @see    #setCoalesceRequests(boolean)
+     */
+    public boolean isCoalesceRequests() {
+        return coalesceRequests;
+    }
+
+    /**
+     * The routes configured for the response cache, with their TTL.
+     *
+     * @return Immutable map of routes to their TTL
+     *
+     * @see    #setResponseCacheTTL(Route, Duration)
+     */
+    @Nonnull
+    public Map<Route, Duration> getResponseCacheTTLs() {
+        return Collections.unmodifiableMap(responseCacheTTLs);
+    }
+
+    /**
+     * The maximum number of responses kept by the response cache.
+     *
+     * @return The maximum number of cached responses
+     */
+    public int getResponseCacheSize() {
+        return responseCacheSize;
+    }
+
+    /**
+     * How long message deletes are collected before they are sent as a bulk delete.
+     *
+     * @return The window, {@link Duration#ZERO} if disabled
+     *
+     * @see    #setDeleteCoalescingWindow(Duration)
+     */
+    @Nonnull
+    public Duration getDeleteCoalescingWindow() {
+        return deleteCoalescingWindow;
+    }
 }
@@ -20,6 +20,7 @@ import net.dv8tion.jda.api.JDA;
 import okhttp3.Response;
 import org.jetbrains.annotations.Blocking;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
@@ -29,7 +30,7 @@ import javax.annotation.Nullable;
 
 /**
  * Interface used to handle requests to the Discord API.
- * <p>Requests are handed to the rate-limiter via {@link #enqueue(Work)} and executed using {@link Work#execute()}.
+ * <p>Requests are handed to the rate-limiter via {@link #enqueue(Work)} and executed using {@link Work#execute()} or {@link Work#executeAsync()}.
  * The rate-limiter is responsible to ensure that requests do not exceed the rate-limit set by Discord.
  */
 public interface RestRateLimiter {
@@ -122,6 +123,30 @@ public interface RestRateLimiter {
         @Blocking
         Response execute();
 
+        /**
+         * Executes the request without blocking the calling thread.
+         * <br>The returned future completes with the same result {@link #execute()} would return,
+         * which might be null when the request has been skipped while executing.
+         * Retries for certain response codes are already handled by this method.
+         *
+         * <p>After completion, it is advised to use {@link #isDone()} to check whether the request should be retried.
+         *
+         * <p>The default implementation delegates to {@link #execute()} on the calling thread
+         * and returns an already completed future.
+         *
+         * @return {@link CompletableFuture} completing with the {@link Response} instance, used to update the rate-limit data
+         */
+        @Nonnull
+        default CompletableFuture<Response> executeAsync() {
+            CompletableFuture<Response> future = new CompletableFuture<>();
+            try {
+                future.complete(execute());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+            return future;
+        }
+
         /**
          * Whether the request should be skipped.
          * <br>This can be caused by user cancellation.
@@ -23,7 +23,6 @@ import net.dv8tion.jda.internal.utils.Helpers;
 import okhttp3.HttpUrl;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
@@ -583,6 +582,15 @@ public class Route {
     private final int paramCount;
     private final String[] template;
     private final boolean isInteraction;
+    private final int hashCode;
+
+    // Precompiled template, to avoid parsing the template on every compile
+    // Template index -> Parameter index, or -1 for constant elements
+    private final int[] paramSlots;
+    // Parameter indices of major parameters, in order of appearance
+    private final int[] majorParams;
+    // Names of the major parameters, with the "=" suffix
+    private final String[] majorPrefixes;
 
     private Route(Method method, String route, boolean isInteraction) {
         this.method = method;
@@ -608,6 +616,29 @@ public class Route {
             }
         }
         this.paramCount = paramCount;
+        this.hashCode = Objects.hash(method, Arrays.hashCode(template));
+
+        this.paramSlots = new int[template.length];
+        List<Integer> majorParams = new ArrayList<>();
+        List<String> majorPrefixes = new ArrayList<>();
+        int paramIndex = 0;
+        for (int i = 0; i < template.length; i++) {
+            String element = template[i];
+            if (element.charAt(0) != '{') {
+                paramSlots[i] = -1;
+                continue;
+            }
+
+            String name = element.substring(1, element.length() - 1);
+            if (MAJOR_PARAMETER_NAMES.contains(name)) {
+                majorParams.add(paramIndex);
+                majorPrefixes.add(name + "=");
+            }
+            paramSlots[i] = paramIndex++;
+        }
+
+        this.majorParams = majorParams.stream().mapToInt(Integer::intValue).toArray();
+        this.majorPrefixes = majorPrefixes.toArray(new String[0]);
     }
 
     private Route(Method method, String route) {
@@ -679,34 +710,12 @@ public class Route {
                 paramCount,
                 params.length);
 
-        StringJoiner major = new StringJoiner(":").setEmptyValue("n/a");
-        List<PathSegment> path = new ArrayList<>();
-
-        int paramIndex = 0;
-        for (String element : template) {
-            if (element.charAt(0) == '{') {
-                String name = element.substring(1, element.length() - 1);
-                String value = params[paramIndex++];
-                if (MAJOR_PARAMETER_NAMES.contains(name)) {
-                    if (value.length() > 30) {
-                        // probably a long interaction_token, hash it to keep logs clean (not useful anyway)
-                        major.add(name + "=" + Integer.toUnsignedString(value.hashCode()));
-                    } else {
-                        major.add(name + "=" + value);
-                    }
-                }
-                path.add(new PathSegment(value, false));
-            } else {
-                path.add(new PathSegment(element, true));
-            }
-        }
-
-        return new CompiledRoute(this, path, major.toString());
+        return new CompiledRoute(this, params.clone());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(method, Arrays.hashCode(template));
+        return hashCode;
     }
 
     @Override
@@ -724,17 +733,6 @@ public class Route {
         return method + "/" + getRoute();
     }
 
-    private static String compileRoute(List<PathSegment> path, List<QueryParameter> query) {
-        String compiledRoute = path.stream().map(PathSegment::toString).collect(Collectors.joining("/"));
-
-        if (query == null) {
-            return compiledRoute;
-        }
-
-        String queryString = query.stream().map(QueryParameter::toString).collect(Collectors.joining("&", "?", ""));
-        return compiledRoute + queryString;
-    }
-
     /**
      * A route compiled with arguments.
      *
@@ -742,25 +740,36 @@ public class Route {
      */
     public class CompiledRoute {
         private final Route baseRoute;
-        private final String major;
-        private final List<PathSegment> path;
+        private final String[] params;
         private final List<QueryParameter> query;
-        private final String compiledRoute;
+        private final int majorHash;
 
-        private CompiledRoute(Route baseRoute, List<PathSegment> path, String major) {
+        // Strings are only built when needed, racy initialization is fine since strings are immutable
+        private String major;
+        private String compiledRoute;
+
+        private CompiledRoute(Route baseRoute, String[] params) {
             this.baseRoute = baseRoute;
-            this.path = path;
-            this.major = major;
+            this.params = params;
             this.query = null;
-            this.compiledRoute = compileRoute(this.path, this.query);
+            this.majorHash = computeMajorHash();
         }
 
         private CompiledRoute(CompiledRoute original, List<QueryParameter> query) {
             this.baseRoute = original.baseRoute;
-            this.path = original.path;
-            this.major = original.major;
+            this.params = original.params;
             this.query = query;
-            this.compiledRoute = compileRoute(this.path, this.query);
+            this.majorHash = original.majorHash;
+            this.major = original.major;
+        }
+
+        private int computeMajorHash() {
+            int hash = 1;
+            for (int i = 0; i < majorParams.length; i++) {
+                hash = 31 * hash + majorPrefixes[i].hashCode();
+                hash = 31 * hash + params[majorParams[i]].hashCode();
+            }
+            return hash;
         }
 
         /**
@@ -829,9 +838,82 @@ public class Route {
          */
         @Nonnull
         public String getMajorParameters() {
+            String major = this.major;
+            if (major == null) {
+                this.major = major = buildMajorParameters();
+            }
             return major;
         }
 
+        /**
+         * Hash of the {@link #getMajorParameters() major parameters}.
+         * <br>Routes with equal major parameters have the same hash.
+         * This can be used to key rate-limit buckets without building the major parameter string.
+         *
+         * @return The hash of the major parameters
+         *
+         * @see    #hasSameMajorParameters(CompiledRoute)
+         */
+        public int getMajorParametersHash() {
+            return majorHash;
+        }
+
+        /**
+         * Whether the provided route has the same {@link #getMajorParameters() major parameters} as this route.
+         * <br>This is equivalent to comparing the major parameter strings, without building them.
+         *
+         * @param  other
+         *         The other route
+         *
+         * @throws IllegalArgumentException
+         *         If null is provided
+         *
+         * @return True, if both routes have the same major parameters
+         */
+        public boolean hasSameMajorParameters(@Nonnull CompiledRoute other) {
+            Checks.notNull(other, "Route");
+            if (other == this) {
+                return true;
+            }
+
+            int[] otherMajor = other.baseRoute.majorParams;
+            if (majorHash != other.majorHash || majorParams.length != otherMajor.length) {
+                return false;
+            }
+
+            String[] otherPrefixes = other.baseRoute.majorPrefixes;
+            for (int i = 0; i < majorParams.length; i++) {
+                if (!majorPrefixes[i].equals(otherPrefixes[i])
+                        || !params[majorParams[i]].equals(other.params[otherMajor[i]])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String buildMajorParameters() {
+            if (majorParams.length == 0) {
+                return "n/a";
+            }
+
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < majorParams.length; i++) {
+                if (i > 0) {
+                    builder.append(':');
+                }
+
+                String value = params[majorParams[i]];
+                builder.append(majorPrefixes[i]);
+                if (value.length() > 30) {
+                    // probably a long interaction_token, hash it to keep logs clean (not useful anyway)
+                    builder.append(Integer.toUnsignedString(value.hashCode()));
+                } else {
+                    builder.append(value);
+                }
+            }
+            return builder.toString();
+        }
+
         /**
          * The compiled route string of the endpoint,
          * including all arguments and query parameters.
@@ -840,9 +922,37 @@ public class Route {
          */
         @Nonnull
         public String getCompiledRoute() {
+            String compiledRoute = this.compiledRoute;
+            if (compiledRoute == null) {
+                this.compiledRoute = compiledRoute = buildCompiledRoute();
+            }
             return compiledRoute;
         }
 
+        private String buildCompiledRoute() {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < template.length; i++) {
+                if (i > 0) {
+                    builder.append('/');
+                }
+
+                int slot = paramSlots[i];
+                if (slot < 0) {
+                    builder.append(template[i]);
+                } else {
+                    builder.append(EncodingUtil.encodeUTF8(params[slot]));
+                }
+            }
+
+            if (query != null) {
+                for (int i = 0; i < query.size(); i++) {
+                    builder.append(i == 0 ? '?' : '&').append(query.get(i));
+                }
+            }
+
+            return builder.toString();
+        }
+
         /**
          * Builds an {@link HttpUrl} for this route using the provided {@code baseUrl}.
          *
@@ -864,11 +974,12 @@ public class Route {
             Checks.notNull(baseUrl, "Base URL");
             HttpUrl.Builder url = baseUrl.newBuilder();
 
-            for (PathSegment segment : path) {
-                if (segment.encoded) {
-                    url.addEncodedPathSegment(segment.value);
+            for (int i = 0; i < template.length; i++) {
+                int slot = paramSlots[i];
+                if (slot < 0) {
+                    url.addEncodedPathSegment(template[i]);
                 } else {
-                    url.addPathSegment(segment.value);
+                    url.addPathSegment(params[slot]);
                 }
             }
 
@@ -903,7 +1014,7 @@ public class Route {
 
         @Override
         public int hashCode() {
-            return Objects.hash(baseRoute, path);
+            return 31 * baseRoute.hashCode() + Arrays.hashCode(params);
         }
 
         @Override
@@ -914,7 +1025,7 @@ public class Route {
 
             CompiledRoute oCompiled = (CompiledRoute) o;
 
-            return baseRoute.equals(oCompiled.getBaseRoute()) && path.equals(oCompiled.path);
+            return baseRoute.equals(oCompiled.getBaseRoute()) && Arrays.equals(params, oCompiled.params);
         }
 
         @Override
@@ -959,35 +1070,4 @@ public class Route {
         }
     }
 
-    private static final class PathSegment {
-        private final String value;
-        private final boolean encoded;
-
-        private PathSegment(String value, boolean encoded) {
-            this.value = value;
-            this.encoded = encoded;
-        }
-
-        @Override
-        public String toString() {
-            return encoded ? value : EncodingUtil.encodeUTF8(value);
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (o == this) {
-                return true;
-            }
-            if (!(o instanceof PathSegment)) {
-                return false;
-            }
-            PathSegment other = (PathSegment) o;
-            return encoded == other.encoded && Objects.equals(value, other.value);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(value, encoded);
-        }
-    }
 }
@@ -64,9 +64,6 @@ import javax.annotation.Nonnull;
  */
 public final class SequentialRestRateLimiter implements RestRateLimiter {
     private static final Logger log = JDALogger.getLog(RestRateLimiter.class);
-    private static final String UNINIT_BUCKET =
-            "uninit"; // we generate an uninit bucket for every major parameter configuration
-
     private final CompletableFuture<?> shutdownHandle = new CompletableFuture<>();
 
     private final Future<?> cleanupWorker;
@@ -80,7 +77,7 @@ public final class SequentialRestRateLimiter implements RestRateLimiter {
     // Route -> Hash
     private final Map<Route, String> hashes = new HashMap<>();
     // Hash + Major Parameter -> Bucket
-    private final Map<String, Bucket> buckets = new HashMap<>();
+    private final Map<BucketKey, Bucket> buckets = new HashMap<>();
     // Bucket -> Rate-Limit Worker
     private final Map<Bucket, Future<?>> rateLimitQueue = new HashMap<>();
 
@@ -162,10 +159,10 @@ public final class SequentialRestRateLimiter implements RestRateLimiter {
         // (by the amount of possible routes)
         MiscUtil.locked(lock, () -> {
             int size = buckets.size();
-            Iterator<Map.Entry<String, Bucket>> entries = buckets.entrySet().iterator();
+            Iterator<Map.Entry<BucketKey, Bucket>> entries = buckets.entrySet().iterator();
 
             while (entries.hasNext()) {
-                Map.Entry<String, Bucket> entry = entries.next();
+                Map.Entry<BucketKey, Bucket> entry = entries.next();
                 Bucket bucket = entry.getValue();
                 if (isShutdown) {
                     bucket.requests.forEach(Work::cancel); // Cancel all requests
@@ -198,17 +195,19 @@ public final class SequentialRestRateLimiter implements RestRateLimiter {
         });
     }
 
-    private String getRouteHash(Route route) {
-        return hashes.getOrDefault(route, UNINIT_BUCKET + "+" + route);
+    private Object getRouteHash(Route route) {
+        // we generate an uninit bucket for every major parameter configuration, keyed by the route itself
+        String hash = hashes.get(route);
+        return hash != null ? hash : route;
     }
 
     private Bucket getBucket(Route.CompiledRoute route) {
         return MiscUtil.locked(lock, () -> {
             // Retrieve the hash via the route
-            String hash = getRouteHash(route.getBaseRoute());
+            Object hash = getRouteHash(route.getBaseRoute());
             // Get or create a bucket for the hash + major parameters
-            String bucketId = hash + ":" + route.getMajorParameters();
-            return this.buckets.computeIfAbsent(bucketId, (id) -> {
+            BucketKey key = new BucketKey(hash, route);
+            return this.buckets.computeIfAbsent(key, (id) -> {
                 if (route.getBaseRoute().isInteractionBucket()) {
                     return new InteractionBucket(id);
                 } else {
@@ -378,18 +377,18 @@ public final class SequentialRestRateLimiter implements RestRateLimiter {
     }
 
     private abstract class Bucket implements Runnable {
-        protected final String bucketId;
+        protected final BucketKey bucketId;
         protected final Deque<Work> requests = new ConcurrentLinkedDeque<>();
 
         protected long reset = 0;
         protected int remaining = 1;
 
-        public Bucket(@Nonnull String bucketId) {
+        public Bucket(@Nonnull BucketKey bucketId) {
             this.bucketId = bucketId;
         }
 
         public boolean isUninit() {
-            return bucketId.startsWith(UNINIT_BUCKET);
+            return bucketId.isUninit();
         }
 
         public void enqueue(@Nonnull Work request) {
@@ -465,9 +464,15 @@ public final class SequentialRestRateLimiter implements RestRateLimiter {
             });
         }
 
-        protected boolean execute(@Nonnull Work request) {
+        protected boolean handleResult(@Nonnull Work request, Response response, Throwable error) {
+            if (error instanceof CompletionException && error.getCause() != null) {
+                error = error.getCause();
+            }
+
             try {
-                Response response = request.execute();
+                if (error != null) {
+                    throw error;
+                }
                 if (response != null) {
                     updateBucket(request.getRoute(), response);
                 }
@@ -487,6 +492,12 @@ public final class SequentialRestRateLimiter implements RestRateLimiter {
         @Override
         public void run() {
             log.trace("Bucket {} is running {} requests", bucketId, requests.size());
+            drain();
+        }
+
+        // Executes requests until the bucket is empty or hit the rate-limit.
+        // When a request is still in-flight, the loop is continued by its completion callback instead.
+        protected void drain() {
             while (!requests.isEmpty()) {
                 long rateLimit = getRateLimit();
                 if (rateLimit > 0L) {
@@ -514,7 +525,29 @@ public final class SequentialRestRateLimiter implements RestRateLimiter {
                     continue;
                 }
 
-                if (execute(request)) {
+                CompletableFuture<Response> future;
+                try {
+                    future = request.executeAsync();
+                } catch (Throwable ex) {
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(ex);
+                }
+
+                // Avoid the callback indirection for requests that completed on this thread
+                if (!future.isDone()) {
+                    future.whenComplete((response, error) -> resume(request, response, error));
+                    return;
+                }
+
+                Response response = null;
+                Throwable error = null;
+                try {
+                    response = future.join();
+                } catch (Throwable ex) {
+                    error = ex;
+                }
+
+                if (handleResult(request, response, error)) {
                     break;
                 }
             }
@@ -522,9 +555,22 @@ public final class SequentialRestRateLimiter implements RestRateLimiter {
             backoff();
         }
 
+        private void resume(Work request, Response response, Throwable error) {
+            try {
+                if (handleResult(request, response, error)) {
+                    backoff();
+                } else {
+                    drain();
+                }
+            } catch (Throwable t) {
+                log.error("Caught throwable in bucket worker", t);
+                backoff();
+            }
+        }
+
         @Override
         public String toString() {
-            return bucketId;
+            return bucketId.toString();
         }
 
         @Override
@@ -545,7 +591,7 @@ public final class SequentialRestRateLimiter implements RestRateLimiter {
     }
 
     private class ClassicBucket extends Bucket {
-        public ClassicBucket(String bucketId) {
+        public ClassicBucket(@Nonnull BucketKey bucketId) {
             super(bucketId);
         }
 
@@ -558,7 +604,7 @@ public final class SequentialRestRateLimiter implements RestRateLimiter {
     }
 
     private class InteractionBucket extends Bucket {
-        public InteractionBucket(@Nonnull String bucketId) {
+        public InteractionBucket(@Nonnull BucketKey bucketId) {
             super(bucketId);
         }
 
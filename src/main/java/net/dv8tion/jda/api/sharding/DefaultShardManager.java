@@ -53,12 +53,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.EnumSet;
-import java.util.Queue;
+import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 
@@ -117,6 +116,21 @@ public class DefaultShardManager implements ShardManager {
      */
     protected String gatewayURL;
 
+    /**
+     * The {@code max_concurrency} of the gateway, which is used to determine the startup parallelism.
+     */
+    protected volatile int gatewayConcurrency = 1;
+
+    /**
+     * The self user, while it is retrieved for the first shard.
+     */
+    protected CompletableFuture<SelfUser> selfUserFuture;
+
+    /**
+     * The startup progress, which is reported to the {@link ShardStartupListener}.
+     */
+    protected final StartupProgress startupProgress = new StartupProgress();
+
     /**
      * {@link PresenceProviderConfig} containing providers for activity and other presence information.
      */
@@ -268,9 +282,8 @@ public class DefaultShardManager implements ShardManager {
         // building the first one in the current thread ensures that InvalidTokenException and
         // IllegalArgumentException can be thrown on login
         JDAImpl jda = null;
+        int shardId = this.queue.isEmpty() ? 0 : this.queue.peek();
         try {
-            int shardId = this.queue.isEmpty() ? 0 : this.queue.peek();
-
             jda = this.buildInstance(shardId);
             try (UnlockHook hook = this.shards.writeLock()) {
                 this.shards.getMap().put(shardId, jda);
@@ -278,7 +291,9 @@ public class DefaultShardManager implements ShardManager {
             synchronized (queue) {
                 this.queue.remove(shardId);
             }
+            startupProgress.onBuilt(shardId, jda);
         } catch (Exception e) {
+            startupProgress.onFailed(shardId, e);
             if (jda != null) {
                 if (shardingConfig.isUseShutdownNow()) {
                     jda.shutdownNow();
@@ -398,10 +413,18 @@ public class DefaultShardManager implements ShardManager {
             return;
         }
         worker = executor.submit(() -> {
-            while (!queue.isEmpty() && !Thread.currentThread().isInterrupted()) {
-                processQueue();
+            int parallelism = getStartupParallelism();
+            if (parallelism > 1) {
+                processQueueConcurrently(parallelism);
+            } else {
+                while (!queue.isEmpty() && !Thread.currentThread().isInterrupted()) {
+                    processQueue();
+                }
+            }
+            synchronized (this) {
+                this.gatewayURL = null;
+                this.selfUserFuture = null;
             }
-            this.gatewayURL = null;
             synchronized (queue) {
                 worker = null;
                 if (!shutdown.get() && !queue.isEmpty()) {
@@ -426,18 +449,69 @@ public class DefaultShardManager implements ShardManager {
             return;
         }
 
+        processShard(shardId);
+    }
+
+    /**
+     * Builds the queued shards concurrently, which keeps every concurrency bucket of the
+     * {@link SessionController SessionController} filled for large bots.
+     *
+     * @param parallelism
+     *        The number of shards to build concurrently
+     */
+    protected void processQueueConcurrently(int parallelism) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "DefaultShardManager Startup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            while (!queue.isEmpty() && !Thread.currentThread().isInterrupted()) {
+                // Shards are only removed from the queue once they were built, failed shards are retried in the next round
+                List<Future<?>> round = new ArrayList<>();
+                for (int shardId : new LinkedHashSet<>(queue)) {
+                    round.add(pool.submit(() -> processShard(shardId)));
+                }
+                for (Future<?> future : round) {
+                    future.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            LOG.debug("The worker thread was interrupted");
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOG.error("Caught an exception in the queue processing thread", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    protected int getStartupParallelism() {
+        int parallelism = shardingConfig.getStartupParallelism();
+        if (parallelism > 0) {
+            return parallelism;
+        }
+        return Math.min(gatewayConcurrency, Runtime.getRuntime().availableProcessors());
+    }
+
+    protected void processShard(int shardId) {
         JDAImpl api;
+        boolean built = false;
         try {
             api = this.shards == null ? null : (JDAImpl) this.shards.getElementById(shardId);
 
             if (api == null) {
                 api = this.buildInstance(shardId);
+                built = true;
             }
         } catch (CompletionException e) {
             if (e.getCause() instanceof InterruptedException) {
                 LOG.debug("The worker thread was interrupted");
             } else {
                 LOG.error("Caught an exception in queue processing thread", e);
+                startupProgress.onFailed(shardId, e);
             }
             return;
         } catch (InvalidTokenException e) {
@@ -445,10 +519,12 @@ public class DefaultShardManager implements ShardManager {
             // in this case the ShardManager will just shutdown itself as there currently is no way
             // of hot-swapping the token on a running JDA instance.
             LOG.warn("The token has been invalidated and the ShardManager will shutdown!", e);
+            startupProgress.onFailed(shardId, e);
             this.shutdown();
             return;
         } catch (Exception e) {
             LOG.error("Caught an exception in the queue processing thread", e);
+            startupProgress.onFailed(shardId, e);
             return;
         }
 
@@ -458,6 +534,9 @@ public class DefaultShardManager implements ShardManager {
         synchronized (queue) {
             this.queue.remove(shardId);
         }
+        if (built) {
+            startupProgress.onBuilt(shardId, api);
+        }
     }
 
     protected JDAImpl buildInstance(int shardId) {
@@ -496,6 +575,11 @@ public class DefaultShardManager implements ShardManager {
         ExecutorService eventPool = eventPair.executor;
         boolean shutdownEventPool = eventPair.automaticShutdown;
 
+        ExecutorPair<ExecutorService> dispatchPair =
+                resolveExecutor(threadingConfig.getDispatchPoolProvider(), shardId);
+        ExecutorService dispatchPool = dispatchPair.executor;
+        boolean shutdownDispatchPool = dispatchPair.automaticShutdown;
+
         ExecutorPair<ScheduledExecutorService> audioPair =
                 resolveExecutor(threadingConfig.getAudioPoolProvider(), shardId);
         ScheduledExecutorService audioPool = audioPair.executor;
@@ -509,6 +593,7 @@ public class DefaultShardManager implements ShardManager {
         threadingConfig.setGatewayPool(gatewayPool, shutdownGatewayPool);
         threadingConfig.setCallbackPool(callbackPool, shutdownCallbackPool);
         threadingConfig.setEventPool(eventPool, shutdownEventPool);
+        threadingConfig.setDispatchPool(dispatchPool, shutdownDispatchPool);
         threadingConfig.setAudioPool(audioPool, shutdownAudioPool);
         MetaConfig metaConfig = new MetaConfig(
                 this.metaConfig.getMaxBufferSize(),
@@ -555,38 +640,31 @@ public class DefaultShardManager implements ShardManager {
             presence.setCacheStatus(presenceConfig.getStatusProvider().apply(shardId));
         }
 
-        if (this.gatewayURL == null) {
-            SessionController.ShardedGateway gateway = jda.getShardedGateway();
-            this.sessionConfig.getSessionController().setConcurrency(gateway.getConcurrency());
-            this.gatewayURL = gateway.getUrl();
-            if (this.gatewayURL == null) {
-                throw new IllegalStateException("Acquired null gateway url from SessionController");
-            } else {
-                LOG.info("Login Successful!");
-            }
-        }
+        // The self user is retrieved while the gateway is fetched, both are only requested for the first shard
+        CompletableFuture<SelfUser> selfUser = resolveSelfUser(jda);
+        String gatewayUrl = resolveGateway(jda);
 
         JDA.ShardInfo shardInfo = new JDA.ShardInfo(shardId, getShardsTotal());
 
         // Initialize SelfUser instance before logging in
-        SelfUser selfUser = getShardCache().applyStream(s -> s.map(JDA::getSelfUser) // this should never throw!
-                .findFirst()
-                .orElse(null));
-
-        // Copy from other JDA instance or do initial fetch
-        if (selfUser == null) {
-            selfUser = retrieveSelfUser(jda);
-        } else {
-            selfUser = SelfUserImpl.copyOf((SelfUserImpl) selfUser, jda);
+        try {
+            jda.setSelfUser(selfUser.join());
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
         }
-
-        jda.setSelfUser(selfUser);
         // This is already set by JDA internally,
         // but this is to make sure the listeners catch it.
         jda.setStatus(JDA.Status.INITIALIZED);
+        startupProgress.track(jda, shardId);
 
         jda.login(
-                this.gatewayURL,
+                gatewayUrl,
                 shardInfo,
                 this.metaConfig.getCompression(),
                 false,
@@ -596,11 +674,42 @@ public class DefaultShardManager implements ShardManager {
         return jda;
     }
 
-    private SelfUser retrieveSelfUser(JDAImpl jda) {
+    private synchronized String resolveGateway(JDAImpl jda) {
+        if (this.gatewayURL == null) {
+            SessionController.ShardedGateway gateway = jda.getShardedGateway();
+            this.sessionConfig.getSessionController().setConcurrency(gateway.getConcurrency());
+            this.gatewayConcurrency = gateway.getConcurrency();
+            this.gatewayURL = gateway.getUrl();
+            if (this.gatewayURL == null) {
+                throw new IllegalStateException("Acquired null gateway url from SessionController");
+            } else {
+                LOG.info("Login Successful!");
+            }
+        }
+        return this.gatewayURL;
+    }
+
+    private synchronized CompletableFuture<SelfUser> resolveSelfUser(JDAImpl jda) {
+        SelfUser selfUser = getShardCache().applyStream(s -> s.map(JDA::getSelfUser) // this should never throw!
+                .findFirst()
+                .orElse(null));
+
+        // Copy from other JDA instance or do initial fetch
+        if (selfUser != null) {
+            return CompletableFuture.completedFuture(SelfUserImpl.copyOf((SelfUserImpl) selfUser, jda));
+        }
+        if (selfUserFuture == null || selfUserFuture.isCompletedExceptionally()) {
+            selfUserFuture = retrieveSelfUser(jda);
+        }
+        return selfUserFuture.thenApply(user ->
+                user.getJDA() == jda ? user : SelfUserImpl.copyOf((SelfUserImpl) user, jda));
+    }
+
+    private CompletableFuture<SelfUser> retrieveSelfUser(JDAImpl jda) {
         Route.CompiledRoute route = Route.Self.GET_SELF.compile();
         return new RestActionImpl<SelfUser>(jda, route, (response, request) -> jda.getEntityBuilder()
                         .createSelfUser(response.getObject()))
-                .complete();
+                .submit();
     }
 
     @Override
@@ -696,6 +805,74 @@ public class DefaultShardManager implements ShardManager {
         return new ExecutorPair<>(executor, automaticShutdown);
     }
 
+    /**
+     * Tracks the startup progress of the shards and reports it to the {@link ShardStartupListener}.
+     *
+     * <p>Shards which could not be built stay in the queue and are retried,
+     * a shard is only reported as failed once until it was built successfully.
+     */
+    protected class StartupProgress {
+        protected final AtomicInteger built = new AtomicInteger();
+        protected final AtomicInteger ready = new AtomicInteger();
+        protected final AtomicInteger failed = new AtomicInteger();
+        // Shards which failed and were not built since
+        protected final Set<Integer> failing = ConcurrentHashMap.newKeySet();
+        protected final long startTime = System.nanoTime();
+
+        public ShardStartupListener.Progress snapshot() {
+            return new ShardStartupListener.Progress(
+                    queue.size(), built.get(), ready.get(), failed.get(), Duration.ofNanos(System.nanoTime() - startTime));
+        }
+
+        public void onBuilt(int shardId, JDA jda) {
+            failing.remove(shardId);
+            built.incrementAndGet();
+            notifyListener(listener -> listener.onShardBuilt(jda, snapshot()));
+        }
+
+        public void onFailed(int shardId, Throwable error) {
+            if (!failing.add(shardId)) {
+                LOG.debug("Shard {} failed again before it was built", shardId);
+                return;
+            }
+            failed.incrementAndGet();
+            notifyListener(listener -> listener.onShardFailed(shardId, error, snapshot()));
+        }
+
+        public void track(JDAImpl jda, int shardId) {
+            if (shardingConfig.getStartupListener() == null) {
+                return;
+            }
+
+            AtomicBoolean done = new AtomicBoolean(false);
+            jda.setStatusListener(status -> {
+                if (status == JDA.Status.CONNECTED && done.compareAndSet(false, true)) {
+                    jda.setStatusListener(null);
+                    ready.incrementAndGet();
+                    notifyListener(listener -> listener.onShardReady(jda, snapshot()));
+                } else if (status == JDA.Status.SHUTDOWN && done.compareAndSet(false, true)) {
+                    jda.setStatusListener(null);
+                    onFailed(shardId, new IllegalStateException("Shard was shut down before it was ready"));
+                }
+            });
+        }
+
+        private void notifyListener(Consumer<ShardStartupListener> action) {
+            ShardStartupListener listener = shardingConfig.getStartupListener();
+            if (listener == null) {
+                return;
+            }
+            try {
+                action.accept(listener);
+            } catch (Throwable t) {
+                LOG.error("The ShardStartupListener threw an exception", t);
+                if (t instanceof Error) {
+                    throw (Error) t;
+                }
+            }
+        }
+    }
+
     protected static class ExecutorPair<E extends ExecutorService> {
         protected final E executor;
         protected final boolean automaticShutdown;
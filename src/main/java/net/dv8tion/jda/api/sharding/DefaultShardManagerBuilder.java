@@ -29,16 +29,21 @@ import net.dv8tion.jda.api.exceptions.InvalidTokenException;
 import net.dv8tion.jda.api.hooks.IEventManager;
 import net.dv8tion.jda.api.hooks.VoiceDispatchInterceptor;
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.requests.GatewayTransport;
 import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.requests.RestConfig;
 import net.dv8tion.jda.api.utils.ChunkingFilter;
 import net.dv8tion.jda.api.utils.Compression;
 import net.dv8tion.jda.api.utils.MemberCachePolicy;
+import net.dv8tion.jda.api.utils.MetricsRecorder;
 import net.dv8tion.jda.api.utils.SessionController;
+import net.dv8tion.jda.api.utils.SessionStore;
 import net.dv8tion.jda.api.utils.cache.CacheFlag;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.compress.ZstdDecompressor;
 import net.dv8tion.jda.internal.utils.concurrent.CountingThreadFactory;
+import net.dv8tion.jda.internal.utils.config.ThreadingConfig;
 import net.dv8tion.jda.internal.utils.config.flags.ConfigFlag;
 import net.dv8tion.jda.internal.utils.config.flags.ShardingConfigFlag;
 import net.dv8tion.jda.internal.utils.config.sharding.*;
@@ -66,6 +71,7 @@ public class DefaultShardManagerBuilder {
     protected final List<IntFunction<Object>> listenerProviders = new ArrayList<>();
     protected final EnumSet<CacheFlag> automaticallyDisabled = EnumSet.noneOf(CacheFlag.class);
     protected SessionController sessionController = null;
+    protected MetricsRecorder metricsRecorder = null;
     protected VoiceDispatchInterceptor voiceDispatchInterceptor = null;
     protected EnumSet<CacheFlag> cacheFlags = EnumSet.allOf(CacheFlag.class);
     protected EnumSet<ConfigFlag> flags = ConfigFlag.getDefault();
@@ -73,6 +79,7 @@ public class DefaultShardManagerBuilder {
     protected Compression compression = Compression.ZLIB;
     protected GatewayEncoding encoding = GatewayEncoding.JSON;
     protected int shardsTotal = -1;
+    protected int startupParallelism = 0;
     protected int maxReconnectDelay = 900;
     protected int largeThreshold = 250;
     protected int maxBufferSize = 2048;
@@ -102,14 +109,18 @@ public class DefaultShardManagerBuilder {
                     Math.max(1, (int) Math.log(total)), new CountingThreadFactory(() -> "JDA", "Gateway")));
     protected ThreadPoolProvider<? extends ExecutorService> callbackPoolProvider = null;
     protected ThreadPoolProvider<? extends ExecutorService> eventPoolProvider = null;
+    protected ThreadPoolProvider<? extends ExecutorService> dispatchPoolProvider = null;
     protected ThreadPoolProvider<? extends ScheduledExecutorService> audioPoolProvider = null;
     protected IntFunction<? extends RestConfig> restConfigProvider = null;
     protected Collection<Integer> shards = null;
     protected OkHttpClient.Builder httpClientBuilder = null;
     protected OkHttpClient httpClient = null;
     protected WebSocketFactory wsFactory = null;
+    protected GatewayTransport gatewayTransport = null;
+    protected SessionStore sessionStore = null;
     protected AudioModuleConfig audioModuleConfig = null;
     protected ThreadFactory threadFactory = null;
+    protected ShardStartupListener startupListener = null;
     protected ChunkingFilter chunkingFilter = ChunkingFilter.ALL;
     protected MemberCachePolicy memberCachePolicy = MemberCachePolicy.ALL;
 
@@ -543,6 +554,58 @@ public class DefaultShardManagerBuilder {
         return setFlag(ConfigFlag.EVENT_PASSTHROUGH, enable);
     }
 
+    /**
+     * Whether events should be handled in parallel, while preserving the order of events for each guild.
+     * <br>Events of the same {@link net.dv8tion.jda.api.entities.Guild Guild}, or the same channel for events outside of guilds,
+     * are always handled one after another in the order they were received.
+     * Events of different guilds are handled in parallel on the {@link #setEventPool(ExecutorService) event pool}.
+     * Events which are not related to a guild or channel, such as user updates, are ordered among themselves.
+     *
+     * <p>If no event pool is configured, this uses a fixed thread-pool with one thread per available processor,
+     * which is shared by all shards and shutdown with the shard manager.
+     * The event pool may also be an executor which creates a virtual thread per task.
+     *
+     * <p>Without this, events are either handled on the gateway thread, or submitted to the event pool without any ordering guarantees.
+     * <br>Default: {@code false}
+     *
+     * @param  enable
+     *         True, if events should be handled on ordered lanes per guild
+     *
+     * @return The DefaultShardManagerBuilder instance. Useful for chaining.
+     *
+     * @see    #setEventPool(ExecutorService, boolean)
+     */
+    @Nonnull
+    public DefaultShardManagerBuilder setOrderedEventPool(boolean enable) {
+        return setFlag(ConfigFlag.ORDERED_EVENTS, enable);
+    }
+
+    /**
+     * Whether the cache updates of guild scoped events should be handled in parallel, while preserving the order for each guild.
+     * <br>This applies to high volume events, such as message, reaction, typing and presence updates of cached guilds.
+     * These are handled on a thread-pool shared by all shards, with one thread per available processor, instead of the gateway threads.
+     * Events of the same {@link net.dv8tion.jda.api.entities.Guild Guild} are always handled one after another in the order they were received.
+     * All other events wait for these events to finish, before they are handled on the gateway thread.
+     *
+     * <p>Since events for different guilds are fired from multiple threads, your listeners must be thread-safe.
+     * If your listeners rely on the order of events across guilds, this should not be enabled.
+     * To keep the event listeners off the dispatch threads, this can be combined with {@link #setOrderedEventPool(boolean)}.
+     *
+     * <p><b>Default: {@code false}</b>
+     *
+     * @param  enable
+     *         True, if guild scoped events should be handled in parallel
+     *
+     * @return The DefaultShardManagerBuilder instance. Useful for chaining.
+     *
+     * @see    #setOrderedEventPool(boolean)
+     * @see    #setDispatchPool(ExecutorService, boolean)
+     */
+    @Nonnull
+    public DefaultShardManagerBuilder setParallelDispatch(boolean enable) {
+        return setFlag(ConfigFlag.PARALLEL_DISPATCH, enable);
+    }
+
     /**
      * Custom {@link RestConfig} to use.
      * <br>This can be used to customize how rate-limits are handled and configure a custom http proxy.
@@ -738,6 +801,24 @@ public class DefaultShardManagerBuilder {
         return this;
     }
 
+    /**
+     * Sets the {@link MetricsRecorder} which receives measurements of the gateway, REST and cache internals.
+     * <br>The recorder is shared by all shards, each measurement provides the JDA instance of its shard.
+     * <br>This can be used to monitor request latencies, rate-limits, event handling times, and cache sizes.
+     *
+     * <p>Default: {@link MetricsRecorder#NOOP}
+     *
+     * @param  recorder
+     *         The {@link MetricsRecorder} to use, or null to disable metrics
+     *
+     * @return The DefaultShardManagerBuilder instance. Useful for chaining.
+     */
+    @Nonnull
+    public DefaultShardManagerBuilder setMetricsRecorder(@Nullable MetricsRecorder recorder) {
+        this.metricsRecorder = recorder;
+        return this;
+    }
+
     /**
      * Configures a custom voice dispatch handler which handles audio connections.
      *
@@ -807,11 +888,13 @@ public class DefaultShardManagerBuilder {
      * <p><b>We recommend to keep this on the default unless you have issues with the decompression</b>
      * <br>This mode might become obligatory in a future version, do not rely on this switch to stay.
      *
+     * <p>{@link net.dv8tion.jda.api.utils.Compression#ZSTD} requires the optional {@code com.github.luben:zstd-jni} dependency.
+     *
      * @param  compression
      *         The compression algorithm to use for the gateway connection
      *
      * @throws java.lang.IllegalArgumentException
-     *         If provided with null
+     *         If provided with null, or if {@link net.dv8tion.jda.api.utils.Compression#ZSTD} is used without zstd-jni in the classpath
      *
      * @return The DefaultShardManagerBuilder instance. Useful for chaining.
      *
@@ -820,6 +903,9 @@ public class DefaultShardManagerBuilder {
     @Nonnull
     public DefaultShardManagerBuilder setCompression(@Nonnull Compression compression) {
         Checks.notNull(compression, "Compression");
+        Checks.check(
+                compression != Compression.ZSTD || ZstdDecompressor.isAvailable(),
+                "Cannot use ZSTD compression without the zstd-jni dependency (com.github.luben:zstd-jni)");
         this.compression = compression;
         return this;
     }
@@ -1625,6 +1711,69 @@ public class DefaultShardManagerBuilder {
         return this;
     }
 
+    /**
+     * Sets the {@link ExecutorService ExecutorService} that should be used to handle
+     * guild scoped events in parallel, if {@link #setParallelDispatch(boolean) parallel dispatch} is enabled.
+     *
+     * <p>The executor will not be shutdown automatically when the shard is shutdown.
+     * To shut it down automatically use {@link #setDispatchPool(ExecutorService, boolean)}.
+     *
+     * <p>Default: One pool shared by all shards, with one thread per available processor
+     *
+     * @param  executor
+     *         The executor for parallel dispatch, or null to use the default pool
+     *
+     * @return The DefaultShardManagerBuilder instance. Useful for chaining.
+     *
+     * @see    #setParallelDispatch(boolean)
+     */
+    @Nonnull
+    public DefaultShardManagerBuilder setDispatchPool(@Nullable ExecutorService executor) {
+        return setDispatchPool(executor, executor == null);
+    }
+
+    /**
+     * Sets the {@link ExecutorService ExecutorService} that should be used to handle
+     * guild scoped events in parallel, if {@link #setParallelDispatch(boolean) parallel dispatch} is enabled.
+     *
+     * <p>Default: One pool shared by all shards, with one thread per available processor
+     *
+     * @param  executor
+     *         The executor for parallel dispatch, or null to use the default pool
+     * @param  automaticShutdown
+     *         True, if the executor should be shutdown when JDA shuts down
+     *
+     * @return The DefaultShardManagerBuilder instance. Useful for chaining.
+     *
+     * @see    #setParallelDispatch(boolean)
+     */
+    @Nonnull
+    public DefaultShardManagerBuilder setDispatchPool(@Nullable ExecutorService executor, boolean automaticShutdown) {
+        return setDispatchPoolProvider(
+                executor == null ? null : new ThreadPoolProviderImpl<>(executor, automaticShutdown));
+    }
+
+    /**
+     * Sets the {@link ExecutorService ExecutorService} that should be used to handle
+     * guild scoped events in parallel, if {@link #setParallelDispatch(boolean) parallel dispatch} is enabled.
+     * The events of each shard are still handled in order for each guild.
+     *
+     * <p>Default: One pool shared by all shards, with one thread per available processor
+     *
+     * @param  provider
+     *         The thread-pool provider to use for parallel dispatch, or null to use the default pool
+     *
+     * @return The DefaultShardManagerBuilder instance. Useful for chaining.
+     *
+     * @see    #setParallelDispatch(boolean)
+     */
+    @Nonnull
+    public DefaultShardManagerBuilder setDispatchPoolProvider(
+            @Nullable ThreadPoolProvider<? extends ExecutorService> provider) {
+        this.dispatchPoolProvider = provider;
+        return this;
+    }
+
     /**
      * Sets the {@link ScheduledExecutorService ScheduledExecutorService} used by
      * the audio WebSocket connection. Used for sending keepalives and closing the connection.
@@ -1825,6 +1974,44 @@ public class DefaultShardManagerBuilder {
         return this;
     }
 
+    /**
+     * Sets the number of shards the {@link DefaultShardManager DefaultShardManager} builds concurrently on startup.
+     * <br>Building a shard creates its JDA instance and queues it for login in the {@link SessionController SessionController},
+     * which logs in up to {@code max_concurrency} shards every 5 seconds.
+     * Building the shards concurrently keeps every concurrency bucket filled, which reduces the startup time of large bots.
+     *
+     * <p>Default: {@code 0}, which uses the {@code max_concurrency} of the bot, limited to the number of available processors
+     *
+     * @param  parallelism
+     *         The number of shards to build concurrently, {@code 1} to build them sequentially, or {@code 0} to determine it automatically
+     *
+     * @throws IllegalArgumentException
+     *         If the provided parallelism is negative
+     *
+     * @return The DefaultShardManagerBuilder instance. Useful for chaining.
+     */
+    @Nonnull
+    public DefaultShardManagerBuilder setStartupParallelism(int parallelism) {
+        Checks.notNegative(parallelism, "Parallelism");
+        this.startupParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the {@link ShardStartupListener} which is notified about the startup progress of the shards.
+     * <br>This reports when each shard was built, became ready or failed, with the progress of all shards.
+     *
+     * @param  listener
+     *         The {@link ShardStartupListener}, or null to disable progress reports
+     *
+     * @return The DefaultShardManagerBuilder instance. Useful for chaining.
+     */
+    @Nonnull
+    public DefaultShardManagerBuilder setShardStartupListener(@Nullable ShardStartupListener listener) {
+        this.startupListener = listener;
+        return this;
+    }
+
     /**
      * Sets the token that will be used by the {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager} instance to log in when
      * {@link net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder#build() build()} is called.
@@ -1887,6 +2074,48 @@ public class DefaultShardManagerBuilder {
         return this;
     }
 
+    /**
+     * Sets the {@link GatewayTransport} that will be used to open the gateway connection, instead of the {@link #setWebsocketFactory(WebSocketFactory) WebSocketFactory}.
+     * <br>A transport such as {@link net.dv8tion.jda.api.requests.NioGatewayTransport NioGatewayTransport} can serve the connections
+     * of many sessions on a few shared threads, while each {@link com.neovisionaries.ws.client.WebSocket WebSocket} uses its own reading and writing thread.
+     *
+     * <p>The transport is not shut down by JDA. Audio connections always use the WebSocketFactory.
+     *
+     * <p>Default: {@code null}, which uses the WebSocketFactory
+     *
+     * @param  transport
+     *         The {@link GatewayTransport} to use, or null to use the WebSocketFactory
+     *
+     * @return The DefaultShardManagerBuilder instance. Useful for chaining.
+     */
+    @Nonnull
+    public DefaultShardManagerBuilder setGatewayTransport(@Nullable GatewayTransport transport) {
+        this.gatewayTransport = transport;
+        return this;
+    }
+
+    /**
+     * Sets the {@link SessionStore} used to resume the gateway sessions after a restart of the process.
+     * <br>When a shard is {@link ShardManager#shutdown() shut down}, its session is saved instead of being closed.
+     * The next start of the shard restores the cache from the store and resumes the session, instead of identifying again.
+     * This avoids the identify rate-limit and the initial load of all guilds, which can take a long time for large bots.
+     *
+     * <p>The session has to be resumed before Discord drops it, which usually happens within a few minutes.
+     * Events that were received by the previous process are not fired again.
+     *
+     * <p>Default: {@code null}, which identifies a new session on every start
+     *
+     * @param  store
+     *         The {@link SessionStore}, for example a {@link net.dv8tion.jda.api.utils.FileSessionStore FileSessionStore}, or null to disable resuming across restarts
+     *
+     * @return The DefaultShardManagerBuilder instance. Useful for chaining.
+     */
+    @Nonnull
+    public DefaultShardManagerBuilder setSessionStore(@Nullable SessionStore store) {
+        this.sessionStore = store;
+        return this;
+    }
+
     /**
      * The {@link ChunkingFilter} to filter which guilds should use member chunking.
      *
@@ -2219,6 +2448,8 @@ public class DefaultShardManagerBuilder {
         checkIntents();
         boolean useShutdownNow = shardingFlags.contains(ShardingConfigFlag.SHUTDOWN_NOW);
         ShardingConfig shardingConfig = new ShardingConfig(shardsTotal, useShutdownNow, intents, memberCachePolicy);
+        shardingConfig.setStartupParallelism(startupParallelism);
+        shardingConfig.setStartupListener(startupListener);
         EventConfig eventConfig = new EventConfig(eventManagerProvider);
         listeners.forEach(eventConfig::addEventListener);
         listenerProviders.forEach(eventConfig::addEventListenerProvider);
@@ -2226,12 +2457,23 @@ public class DefaultShardManagerBuilder {
         presenceConfig.setActivityProvider(activityProvider);
         presenceConfig.setStatusProvider(statusProvider);
         presenceConfig.setIdleProvider(idleProvider);
+        ThreadPoolProvider<? extends ExecutorService> eventPoolProvider = this.eventPoolProvider;
+        if (eventPoolProvider == null && flags.contains(ConfigFlag.ORDERED_EVENTS)) {
+            // One pool for all shards, the lanes of each shard are scheduled onto it
+            eventPoolProvider = ThreadPoolProvider.lazy((total) -> ThreadingConfig.newEventPool(() -> "JDA"));
+        }
+        ThreadPoolProvider<? extends ExecutorService> dispatchPoolProvider = this.dispatchPoolProvider;
+        if (dispatchPoolProvider == null && flags.contains(ConfigFlag.PARALLEL_DISPATCH)) {
+            // One pool for all shards, instead of one thread per processor for every shard
+            dispatchPoolProvider = ThreadPoolProvider.lazy((total) -> ThreadingConfig.newDispatchPool(() -> "JDA"));
+        }
         ThreadingProviderConfig threadingConfig = new ThreadingProviderConfig(
                 rateLimitSchedulerProvider,
                 rateLimitElasticProvider,
                 gatewayPoolProvider,
                 callbackPoolProvider,
                 eventPoolProvider,
+                dispatchPoolProvider,
                 audioPoolProvider,
                 threadFactory);
         ShardingSessionConfig sessionConfig = new ShardingSessionConfig(
@@ -2244,6 +2486,9 @@ public class DefaultShardManagerBuilder {
                 shardingFlags,
                 maxReconnectDelay,
                 largeThreshold);
+        sessionConfig.setMetricsRecorder(metricsRecorder);
+        sessionConfig.setGatewayTransport(gatewayTransport);
+        sessionConfig.setSessionStore(sessionStore);
         ShardingMetaConfig metaConfig =
                 new ShardingMetaConfig(maxBufferSize, contextProvider, cacheFlags, flags, compression, encoding);
         DefaultShardManager manager = new DefaultShardManager(
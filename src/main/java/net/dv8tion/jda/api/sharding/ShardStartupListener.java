@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.sharding;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.internal.utils.EntityString;
+
+import java.time.Duration;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Listener for the startup progress of the shards of a {@link DefaultShardManager}.
+ * <br>This can be configured with {@link DefaultShardManagerBuilder#setShardStartupListener(ShardStartupListener)}.
+ *
+ * <p>Every shard is first built, which creates the JDA instance and queues it for login in the {@link net.dv8tion.jda.api.utils.SessionController SessionController}.
+ * Once the shard has loaded all its guilds, it is ready, which is when the {@link net.dv8tion.jda.api.events.session.ReadyEvent ReadyEvent} is fired.
+ * Shards which are restarted are reported again.
+ *
+ * <p>The methods are called on the threads building and connecting the shards, and can be called concurrently for different shards.
+ * Implementations should not block.
+ */
+public interface ShardStartupListener {
+    /**
+     * Called once a shard was built and queued for login.
+     *
+     * @param  shard
+     *         The shard
+     * @param  progress
+     *         The startup progress, including this shard
+     */
+    default void onShardBuilt(@Nonnull JDA shard, @Nonnull Progress progress) {}
+
+    /**
+     * Called once a shard is ready.
+     *
+     * @param  shard
+     *         The shard
+     * @param  progress
+     *         The startup progress, including this shard
+     */
+    default void onShardReady(@Nonnull JDA shard, @Nonnull Progress progress) {}
+
+    /**
+     * Called if a shard could not be built, or was shut down before it was ready.
+     * <br>Shards which could not be built are retried by the shard manager.
+     * A shard which keeps failing is only reported once, until it was built successfully.
+     *
+     * @param  shardId
+     *         The id of the shard
+     * @param  error
+     *         The cause of the failure
+     * @param  progress
+     *         The startup progress, including this shard
+     */
+    default void onShardFailed(int shardId, @Nonnull Throwable error, @Nonnull Progress progress) {}
+
+    /**
+     * Snapshot of the startup progress of a {@link DefaultShardManager}.
+     */
+    final class Progress {
+        private final int queued;
+        private final int built;
+        private final int ready;
+        private final int failed;
+        private final Duration elapsed;
+
+        public Progress(int queued, int built, int ready, int failed, @Nonnull Duration elapsed) {
+            this.queued = queued;
+            this.built = built;
+            this.ready = ready;
+            this.failed = failed;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * The number of shards which are still queued to be built
+         *
+         * @return The number of queued shards
+         */
+        public int getQueued() {
+            return queued;
+        }
+
+        /**
+         * The number of shards which were built since the shard manager was started
+         *
+         * @return The number of built shards
+         */
+        public int getBuilt() {
+            return built;
+        }
+
+        /**
+         * The number of shards which were ready since the shard manager was started
+         *
+         * @return The number of ready shards
+         */
+        public int getReady() {
+            return ready;
+        }
+
+        /**
+         * The number of failures since the shard manager was started.
+         * <br>Repeated failures of a shard before it was built are counted once.
+         *
+         * @return The number of failures
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * The time since the shard manager was started
+         *
+         * @return The elapsed time
+         */
+        @Nonnull
+        public Duration getElapsed() {
+            return elapsed;
+        }
+
+        @Override
+        public String toString() {
+            return new EntityString(this)
+                    .addMetadata("queued", queued)
+                    .addMetadata("built", built)
+                    .addMetadata("ready", ready)
+                    .addMetadata("failed", failed)
+                    .addMetadata("elapsed", elapsed)
+                    .toString();
+        }
+    }
+}
@@ -28,7 +28,14 @@ public enum Compression {
     /** Don't use any compression */
     NONE(""),
     /** Use ZLIB transport compression */
-    ZLIB("zlib-stream");
+    ZLIB("zlib-stream"),
+    /**
+     * Use Zstandard transport compression.
+     *
+     * <p>This requires the optional <a href="https://github.com/luben/zstd-jni" target="_blank">zstd-jni</a> dependency
+     * ({@code com.github.luben:zstd-jni}), which is not included with JDA.
+     */
+    ZSTD("zstd-stream");
 
     private final String key;
 
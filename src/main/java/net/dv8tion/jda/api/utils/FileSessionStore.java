@@ -0,0 +1,439 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.utils.Checks;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * {@link SessionStore} which keeps the sessions of all shards in a local directory.
+ *
+ * <p>Each shard uses two files:
+ * <ul>
+ *     <li>{@code shard-<id>-<total>.journal} contains the recorded dispatches of the current session,
+ *         as length prefixed records with the key of the entity they update. On startup, this file is memory-mapped
+ *         to replay the dispatches.</li>
+ *     <li>{@code shard-<id>-<total>.state} contains the {@link SessionStore.SessionState SessionState},
+ *         it is written on shutdown and removed once it was loaded.</li>
+ * </ul>
+ *
+ * <p>Dispatches which are {@link #append(JDA.ShardInfo, String, byte[]) appended with a key} supersede the previous
+ * dispatches with the same key. The journal is compacted once the superseded dispatches take up half of it,
+ * and whenever the session is saved, so it only keeps the latest dispatch of every entity.
+ * This keeps the size of the journal, and the time to replay it, close to the size of the cache
+ * instead of growing with the uptime of the session.
+ *
+ * <p>If the journal still exceeds the {@link #DEFAULT_MAX_JOURNAL_SIZE maximum size} after compacting it,
+ * the session is no longer recorded and the shard identifies on the next start, which starts a new journal.
+ *
+ * {@snippet lang="java":
+ * JDABuilder.createDefault(token)
+ *     .setSessionStore(new FileSessionStore(Paths.get("sessions")))
+ *     .build();
+ * }
+ */
+public class FileSessionStore implements SessionStore {
+    /** The default maximum size of a journal in bytes */
+    public static final long DEFAULT_MAX_JOURNAL_SIZE = 256L * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    // Length of the payload and length of the key
+    private static final int HEADER_SIZE = 6;
+    // Superseded records smaller than this are only dropped when the session is saved
+    private static final long MIN_COMPACT_SIZE = 1024 * 1024;
+    private static final byte[] NO_KEY = new byte[0];
+
+    private final ConcurrentMap<String, Journal> journals = new ConcurrentHashMap<>();
+    private final Path directory;
+    private final long maxJournalSize;
+
+    /**
+     * Creates a new store in the provided directory, with the {@link #DEFAULT_MAX_JOURNAL_SIZE default maximum journal size}.
+     *
+     * @param  directory
+     *         The directory, which is created if it does not exist
+     *
+     * @throws IllegalArgumentException
+     *         If the directory is null
+     */
+    public FileSessionStore(@Nonnull Path directory) {
+        this(directory, DEFAULT_MAX_JOURNAL_SIZE);
+    }
+
+    /**
+     * Creates a new store in the provided directory.
+     *
+     * @param  directory
+     *         The directory, which is created if it does not exist
+     * @param  maxJournalSize
+     *         The maximum size of the journal of a shard in bytes
+     *
+     * @throws IllegalArgumentException
+     *         If the directory is null or the size is not positive
+     */
+    public FileSessionStore(@Nonnull Path directory, long maxJournalSize) {
+        Checks.notNull(directory, "Directory");
+        Checks.positive(maxJournalSize, "Max journal size");
+        this.directory = directory;
+        this.maxJournalSize = maxJournalSize;
+    }
+
+    @Nullable
+    @Override
+    public StoredSession load(@Nonnull JDA.ShardInfo shardInfo) throws IOException {
+        Path statePath = getPath(shardInfo, ".state");
+        if (!Files.exists(statePath)) {
+            return null;
+        }
+
+        DataObject json;
+        try {
+            json = DataObject.fromJson(Files.readAllBytes(statePath));
+        } finally {
+            // A session can only be resumed once
+            Files.deleteIfExists(statePath);
+        }
+
+        SessionState state = new SessionState(
+                json.getString("session_id"), json.getString("resume_url", null), json.getLong("sequence"));
+        long length = json.getLong("journal_length");
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(getPath(shardInfo, ".journal"), StandardOpenOption.READ)) {
+            if (channel.size() < length) {
+                throw new IOException("Journal of shard " + shardInfo.getShardString() + " is incomplete");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+        return new StoredSession(state, new RecordIterator(buffer));
+    }
+
+    @Override
+    public void start(@Nonnull JDA.ShardInfo shardInfo, @Nonnull byte[] ready) throws IOException {
+        close(journals.remove(getKey(shardInfo)));
+        Files.createDirectories(directory);
+        Files.deleteIfExists(getPath(shardInfo, ".state"));
+
+        Journal journal = new Journal(shardInfo, openNew(getPath(shardInfo, ".journal")), 0);
+        journals.put(getKey(shardInfo), journal);
+        journal.write(null, ready);
+    }
+
+    @Override
+    public void append(@Nonnull JDA.ShardInfo shardInfo, @Nonnull byte[] dispatch) throws IOException {
+        getJournal(shardInfo).write(null, dispatch);
+    }
+
+    @Override
+    public void append(@Nonnull JDA.ShardInfo shardInfo, @Nonnull String key, @Nonnull byte[] dispatch)
+            throws IOException {
+        getJournal(shardInfo).write(key, dispatch);
+    }
+
+    @Override
+    public void save(@Nonnull JDA.ShardInfo shardInfo, @Nonnull SessionState state) throws IOException {
+        Journal journal = journals.remove(getKey(shardInfo));
+        long length;
+        if (journal != null) {
+            try {
+                // The next process only replays the latest dispatch of every entity
+                if (journal.superseded > 0) {
+                    journal.compact();
+                }
+            } finally {
+                journal.close();
+            }
+            length = journal.size;
+        } else {
+            length = Files.size(getPath(shardInfo, ".journal"));
+        }
+
+        DataObject json = DataObject.empty()
+                .put("session_id", state.getSessionId())
+                .put("resume_url", state.getResumeUrl())
+                .put("sequence", state.getSequence())
+                .put("journal_length", length);
+
+        // Write the state atomically, so a partially written state is never loaded
+        Path statePath = getPath(shardInfo, ".state");
+        Path tempPath = getPath(shardInfo, ".state.tmp");
+        Files.write(tempPath, json.toJson());
+        move(tempPath, statePath);
+    }
+
+    @Override
+    public void remove(@Nonnull JDA.ShardInfo shardInfo) throws IOException {
+        close(journals.remove(getKey(shardInfo)));
+        Files.deleteIfExists(getPath(shardInfo, ".state"));
+        Files.deleteIfExists(getPath(shardInfo, ".journal"));
+    }
+
+    private Journal getJournal(JDA.ShardInfo shardInfo) throws IOException {
+        Journal journal = journals.get(getKey(shardInfo));
+        if (journal == null) {
+            // Continue the journal of a restored session
+            Path path = getPath(shardInfo, ".journal");
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            journal = new Journal(shardInfo, channel, channel.size());
+            channel.position(channel.size());
+            journal.index(path);
+            journals.put(getKey(shardInfo), journal);
+        }
+        return journal;
+    }
+
+    private void close(Journal journal) throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private Path getPath(JDA.ShardInfo shardInfo, String extension) {
+        return directory.resolve(getKey(shardInfo) + extension);
+    }
+
+    private static String getKey(JDA.ShardInfo shardInfo) {
+        return "shard-" + shardInfo.getShardId() + "-" + shardInfo.getShardTotal();
+    }
+
+    private static FileChannel openNew(Path path) throws IOException {
+        return FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static DataInputStream openRecords(Path path) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+    }
+
+    private static void skipFully(DataInputStream input, int length) throws IOException {
+        while (length > 0) {
+            int skipped = input.skipBytes(length);
+            if (skipped <= 0) {
+                throw new EOFException("Journal ended in the middle of a record");
+            }
+            length -= skipped;
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream input, int length) throws IOException {
+        if (length == 0) {
+            return NO_KEY;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    private static String toKey(byte[] keyBytes) {
+        return keyBytes.length == 0 ? null : new String(keyBytes, StandardCharsets.UTF_8);
+    }
+
+    private class Journal {
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final JDA.ShardInfo shardInfo;
+        // Offset and size of the latest record of every key
+        private Map<String, long[]> latest = new HashMap<>();
+        private FileChannel channel;
+        private long size;
+        // Size of the records which are superseded by a later record with the same key
+        private long superseded;
+
+        private Journal(JDA.ShardInfo shardInfo, FileChannel channel, long size) {
+            this.shardInfo = shardInfo;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        private void write(String key, byte[] record) throws IOException {
+            byte[] keyBytes = key == null ? NO_KEY : key.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length > 0xFFFF) {
+                // Such a key is not used by JDA, the record is simply never superseded
+                key = null;
+                keyBytes = NO_KEY;
+            }
+
+            int recordSize = HEADER_SIZE + keyBytes.length + record.length;
+            // Only compact if it frees a good part of the journal, instead of rewriting it for every record
+            if (size + recordSize > maxJournalSize && superseded * 8 >= size) {
+                compact();
+            }
+            if (size + recordSize > maxJournalSize) {
+                throw new IOException("Journal exceeds the maximum size of " + maxJournalSize + " bytes");
+            }
+
+            writeRecord(key, keyBytes, record);
+            if (superseded >= MIN_COMPACT_SIZE && superseded * 2 > size) {
+                compact();
+            }
+        }
+
+        private void writeRecord(String key, byte[] keyBytes, byte[] record) throws IOException {
+            int recordSize = HEADER_SIZE + keyBytes.length + record.length;
+            if (buffer.remaining() < recordSize) {
+                flush();
+            }
+            if (buffer.remaining() < recordSize) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + keyBytes.length);
+                header.putInt(record.length).putShort((short) keyBytes.length).put(keyBytes).flip();
+                ByteBuffer[] buffers = {header, ByteBuffer.wrap(record)};
+                while (buffers[1].hasRemaining()) {
+                    channel.write(buffers);
+                }
+            } else {
+                buffer.putInt(record.length).putShort((short) keyBytes.length).put(keyBytes).put(record);
+            }
+            track(key, size, recordSize);
+            size += recordSize;
+        }
+
+        private void track(String key, long offset, long recordSize) {
+            if (key == null) {
+                return;
+            }
+            long[] previous = latest.put(key, new long[] {offset, recordSize});
+            if (previous != null) {
+                superseded += previous[1];
+            }
+        }
+
+        // Rebuilds the keys of a journal which was written by a previous process
+        private void index(Path path) throws IOException {
+            try (DataInputStream input = openRecords(path)) {
+                long offset = 0;
+                while (offset + HEADER_SIZE <= size) {
+                    int length = input.readInt();
+                    int keyLength = input.readUnsignedShort();
+                    String key = toKey(readBytes(input, keyLength));
+                    skipFully(input, length);
+                    long recordSize = HEADER_SIZE + keyLength + length;
+                    track(key, offset, recordSize);
+                    offset += recordSize;
+                }
+            }
+        }
+
+        // Rewrites the journal without the superseded records, keeping the order of the remaining records
+        private void compact() throws IOException {
+            flush();
+            Path path = getPath(shardInfo, ".journal");
+            Path tempPath = getPath(shardInfo, ".journal.tmp");
+            Journal compacted = new Journal(shardInfo, openNew(tempPath), 0);
+            try (DataInputStream input = openRecords(path)) {
+                long offset = 0;
+                while (offset < size) {
+                    int length = input.readInt();
+                    byte[] keyBytes = readBytes(input, input.readUnsignedShort());
+                    byte[] record = readBytes(input, length);
+                    String key = toKey(keyBytes);
+
+                    long[] current = key == null ? null : latest.get(key);
+                    if (current == null || current[0] == offset) {
+                        compacted.writeRecord(key, keyBytes, record);
+                    }
+                    offset += HEADER_SIZE + keyBytes.length + length;
+                }
+            } finally {
+                compacted.close();
+            }
+
+            channel.close();
+            move(tempPath, path);
+            channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            channel.position(compacted.size);
+            size = compacted.size;
+            latest = compacted.latest;
+            superseded = 0;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static class RecordIterator implements ClosableIterator<DataObject> {
+        private final ByteBuffer buffer;
+
+        private RecordIterator(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return buffer.remaining() >= HEADER_SIZE;
+        }
+
+        @Override
+        public DataObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int length = buffer.getInt();
+            int keyLength = Short.toUnsignedInt(buffer.getShort());
+            buffer.position(buffer.position() + keyLength);
+            ByteBuffer record = buffer.slice();
+            record.limit(length);
+            buffer.position(buffer.position() + length);
+            // The dispatches are stored as received, which is ETF if the record starts with the version byte
+            return record.get(0) == (byte) 131 ? DataObject.fromETF(record) : DataObject.fromJson(record);
+        }
+
+        @Override
+        public void close() {
+            // The mapping is released once the buffer is collected
+            buffer.position(buffer.limit());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.requests.Route;
+
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Receives measurements of the gateway, REST and cache internals of one or multiple {@link JDA} instances.
+ * <br>This can be used to export metrics to a monitoring system, for example for capacity planning.
+ *
+ * <p>All methods have a no-op default implementation, so you only have to implement what you are interested in.
+ * Every measurement is reported with the {@link JDA} instance it belongs to,
+ * which lets you tag metrics with the {@link JDA#getShardInfo() shard}.
+ *
+ * <p>The methods are called on the threads doing the measured work, such as the gateway reading thread
+ * or the rate-limit threads. Implementations must be thread-safe and should not block.
+ *
+ * <p><b>Gauges</b><br>
+ * Sizes that are cheaper to sample than to track are provided as gauges through {@link #registerGauge(JDA, String, LongSupplier)}.
+ * The suppliers are registered once the JDA instance logs in and remain valid until {@link #unregisterGauges(JDA)} is called on shutdown.
+ *
+ * <p><b>Example</b><br>
+ * {@snippet lang="java":
+ * JDABuilder.createDefault(BOT_TOKEN)
+ *     .setMetricsRecorder(new MetricsRecorder() {
+ *         @Override
+ *         public void recordRestResponse(JDA api, Route.CompiledRoute route, String bucket, int code, long latency) {
+ *             registry.timer("discord.rest", "route", route.getBaseRoute().getRoute()).record(latency, TimeUnit.MILLISECONDS);
+ *         }
+ *     })
+ *     .build();
+ * }
+ *
+ * @see net.dv8tion.jda.api.JDABuilder#setMetricsRecorder(MetricsRecorder)
+ * @see net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder#setMetricsRecorder(MetricsRecorder)
+ */
+public interface MetricsRecorder {
+    /**
+     * Recorder that ignores all measurements, this is the default.
+     */
+    MetricsRecorder NOOP = new MetricsRecorder() {};
+
+    /**
+     * Gauge for the number of REST requests waiting in the rate-limiter queues.
+     */
+    String GAUGE_REST_QUEUE_SIZE = "rest.queue.size";
+    /**
+     * Gauge for the number of gateway messages waiting to be sent.
+     */
+    String GAUGE_GATEWAY_SEND_QUEUE_SIZE = "gateway.send.queue.size";
+    /**
+     * Gauge for the number of member chunk requests waiting to be sent.
+     */
+    String GAUGE_GATEWAY_CHUNK_QUEUE_SIZE = "gateway.chunk.queue.size";
+    /**
+     * Gauge for the number of events held back in the event cache, until the entities they refer to are known.
+     */
+    String GAUGE_EVENT_CACHE_SIZE = "event.cache.size";
+    /**
+     * Gauge for the total number of events dropped from the event cache, because it reached its size limit.
+     */
+    String GAUGE_EVENT_CACHE_DROPPED = "event.cache.dropped";
+    /**
+     * Gauge for the size of the {@link JDA#getGuildCache() guild cache}.
+     */
+    String GAUGE_GUILD_CACHE_SIZE = "cache.guilds.size";
+    /**
+     * Gauge for the size of the {@link JDA#getUserCache() user cache}.
+     */
+    String GAUGE_USER_CACHE_SIZE = "cache.users.size";
+    /**
+     * Gauge for the size of the {@link JDA#getChannelCache() channel cache}.
+     */
+    String GAUGE_CHANNEL_CACHE_SIZE = "cache.channels.size";
+
+    /**
+     * Called when a response for a REST request is received.
+     * <br>This includes error responses and rate-limit responses.
+     *
+     * @param api
+     *        The JDA instance
+     * @param route
+     *        The requested route
+     * @param bucket
+     *        The rate-limit bucket hash provided by discord, or null if the response has none
+     * @param code
+     *        The HTTP status code
+     * @param latency
+     *        The time between sending the request and receiving the response headers, in milliseconds
+     */
+    default void recordRestResponse(
+            @Nonnull JDA api, @Nonnull Route.CompiledRoute route, @Nullable String bucket, int code, long latency) {}
+
+    /**
+     * Called when a REST request is rate-limited (HTTP 429).
+     *
+     * @param api
+     *        The JDA instance
+     * @param route
+     *        The requested route
+     * @param global
+     *        Whether this is a global rate-limit
+     * @param retryAfter
+     *        The time to wait before retrying, in milliseconds
+     */
+    default void recordRateLimit(
+            @Nonnull JDA api, @Nonnull Route.CompiledRoute route, boolean global, long retryAfter) {}
+
+    /**
+     * Called after a gateway event has been handled.
+     * <br>With parallel guild dispatch enabled, this is called from the dispatch pool for guild scoped events.
+     *
+     * @param api
+     *        The JDA instance
+     * @param type
+     *        The event type, for example {@code MESSAGE_CREATE}
+     * @param parseTime
+     *        The time spent decompressing and parsing the payload, in nanoseconds
+     * @param handleTime
+     *        The time spent updating the cache and dispatching the event, in nanoseconds
+     */
+    default void recordEvent(@Nonnull JDA api, @Nonnull String type, long parseTime, long handleTime) {}
+
+    /**
+     * Called after a gateway message has been decompressed.
+     *
+     * @param api
+     *        The JDA instance
+     * @param compressed
+     *        The number of compressed bytes received
+     * @param decompressed
+     *        The number of decompressed bytes produced, 0 if the message was incomplete
+     */
+    default void recordDecompression(@Nonnull JDA api, long compressed, long decompressed) {}
+
+    /**
+     * Registers a gauge, which is sampled by the monitoring system.
+     * <br>See the {@code GAUGE_*} constants of this interface for the registered names.
+     *
+     * @param api
+     *        The JDA instance
+     * @param name
+     *        The name of the gauge
+     * @param value
+     *        The supplier for the current value
+     */
+    default void registerGauge(@Nonnull JDA api, @Nonnull String name, @Nonnull LongSupplier value) {}
+
+    /**
+     * Removes all gauges registered for the provided JDA instance.
+     * <br>This is called once the JDA instance has shut down.
+     *
+     * @param api
+     *        The JDA instance
+     */
+    default void unregisterGauges(@Nonnull JDA api) {}
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.api.utils;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.EntityString;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Persists gateway sessions, which allows a new process to resume the session of a shard instead of identifying again.
+ *
+ * <p>Resuming a session only replays the events that were missed, so the cache of the new process has to be restored as well.
+ * To do so, JDA records the {@code READY} payload of a session and every following dispatch which updates the cache,
+ * such as {@code GUILD_CREATE} or {@code GUILD_MEMBER_UPDATE}. Dispatches without cache updates, such as messages and interactions, are not recorded.
+ * When a shard is started and the store contains a saved session, the recorded dispatches are replayed into the cache,
+ * without firing any events, and the shard sends a RESUME instead of an IDENTIFY.
+ * The {@link net.dv8tion.jda.api.events.session.ReadyEvent ReadyEvent} is fired once the session was resumed.
+ * If the session cannot be resumed anymore, the restored cache is dropped and the shard identifies as usual.
+ *
+ * <p>A session is only {@link #save(JDA.ShardInfo, SessionState) saved} when the shard is {@link JDA#shutdown() shut down},
+ * in which case the connection is closed without invalidating the session.
+ * If the process crashes, the shard will identify on the next start.
+ *
+ * <p>The dispatches are provided as received from the gateway, which is JSON or ETF depending on the
+ * {@link net.dv8tion.jda.api.requests.GatewayEncoding GatewayEncoding}. ETF payloads start with the version byte {@code 131}.
+ *
+ * <p>All methods of a shard are called sequentially, but methods for different shards can be called concurrently.
+ * The dispatches are written by a separate thread of the shard, not by the thread reading from the gateway.
+ *
+ * @see FileSessionStore
+ * @see net.dv8tion.jda.api.JDABuilder#setSessionStore(SessionStore)
+ * @see net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder#setSessionStore(SessionStore)
+ */
+public interface SessionStore {
+    /**
+     * Loads and removes the saved session of the shard.
+     *
+     * @param  shardInfo
+     *         The shard
+     *
+     * @throws IOException
+     *         If the session could not be loaded
+     *
+     * @return The {@link StoredSession}, or null if no session was saved
+     */
+    @Nullable
+    StoredSession load(@Nonnull JDA.ShardInfo shardInfo) throws IOException;
+
+    /**
+     * Starts recording a new session, which discards the previous session of the shard.
+     *
+     * @param  shardInfo
+     *         The shard
+     * @param  ready
+     *         The {@code READY} dispatch
+     *
+     * @throws IOException
+     *         If the session could not be recorded
+     */
+    void start(@Nonnull JDA.ShardInfo shardInfo, @Nonnull byte[] ready) throws IOException;
+
+    /**
+     * Appends a dispatch to the recording of the current session.
+     * <br>When the recording becomes too large, this can throw an exception to stop recording the session.
+     *
+     * @param  shardInfo
+     *         The shard
+     * @param  dispatch
+     *         The dispatch payload, including the {@code t} and {@code s} fields
+     *
+     * @throws IOException
+     *         If the dispatch could not be recorded
+     */
+    void append(@Nonnull JDA.ShardInfo shardInfo, @Nonnull byte[] dispatch) throws IOException;
+
+    /**
+     * Appends a dispatch which replaces the whole state of a single entity, such as {@code GUILD_MEMBER_UPDATE}.
+     * <br>The dispatch supersedes all previously appended dispatches with the same key,
+     * which the store can drop to keep the recording from growing with the uptime of the session.
+     * The order of the remaining dispatches must not change.
+     *
+     * <p>The default implementation ignores the key and calls {@link #append(JDA.ShardInfo, byte[])}.
+     *
+     * @param  shardInfo
+     *         The shard
+     * @param  key
+     *         The key of the entity, such as {@code member:<guild id>:<user id>}
+     * @param  dispatch
+     *         The dispatch payload, including the {@code t} and {@code s} fields
+     *
+     * @throws IOException
+     *         If the dispatch could not be recorded
+     */
+    default void append(@Nonnull JDA.ShardInfo shardInfo, @Nonnull String key, @Nonnull byte[] dispatch)
+            throws IOException {
+        append(shardInfo, dispatch);
+    }
+
+    /**
+     * Saves the current session, once no further dispatches are appended.
+     *
+     * @param  shardInfo
+     *         The shard
+     * @param  state
+     *         The state required to resume the session
+     *
+     * @throws IOException
+     *         If the session could not be saved
+     */
+    void save(@Nonnull JDA.ShardInfo shardInfo, @Nonnull SessionState state) throws IOException;
+
+    /**
+     * Discards the recording and saved session of the shard.
+     *
+     * @param  shardInfo
+     *         The shard
+     *
+     * @throws IOException
+     *         If the session could not be removed
+     */
+    void remove(@Nonnull JDA.ShardInfo shardInfo) throws IOException;
+
+    /**
+     * The state required to resume a session.
+     */
+    final class SessionState {
+        private final String sessionId;
+        private final String resumeUrl;
+        private final long sequence;
+
+        public SessionState(@Nonnull String sessionId, @Nullable String resumeUrl, long sequence) {
+            Checks.notNull(sessionId, "Session ID");
+            this.sessionId = sessionId;
+            this.resumeUrl = resumeUrl;
+            this.sequence = sequence;
+        }
+
+        /**
+         * The id of the session
+         *
+         * @return The session id
+         */
+        @Nonnull
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        /**
+         * The gateway url to resume the session on
+         *
+         * @return The resume url, or null to use the default gateway url
+         */
+        @Nullable
+        public String getResumeUrl() {
+            return resumeUrl;
+        }
+
+        /**
+         * The sequence of the last dispatch which was handled
+         *
+         * @return The sequence
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        @Override
+        public String toString() {
+            return new EntityString(this)
+                    .addMetadata("sequence", sequence)
+                    .addMetadata("resumeUrl", resumeUrl)
+                    .toString();
+        }
+    }
+
+    /**
+     * A saved session with the recorded dispatches to restore the cache.
+     */
+    final class StoredSession {
+        private final SessionState state;
+        private final ClosableIterator<DataObject> dispatches;
+
+        public StoredSession(@Nonnull SessionState state, @Nonnull ClosableIterator<DataObject> dispatches) {
+            Checks.notNull(state, "State");
+            Checks.notNull(dispatches, "Dispatches");
+            this.state = state;
+            this.dispatches = dispatches;
+        }
+
+        /**
+         * The state required to resume the session
+         *
+         * @return The {@link SessionState}
+         */
+        @Nonnull
+        public SessionState getState() {
+            return state;
+        }
+
+        /**
+         * The recorded dispatches, starting with the {@code READY} dispatch.
+         * <br>The iterator is closed once the dispatches were replayed.
+         *
+         * @return {@link ClosableIterator} of the dispatch payloads
+         */
+        @Nonnull
+        public ClosableIterator<DataObject> getDispatches() {
+            return dispatches;
+        }
+    }
+}
@@ -16,13 +16,16 @@
 
 package net.dv8tion.jda.api.utils.data;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import net.dv8tion.jda.api.exceptions.DataObjectParsingException;
 import net.dv8tion.jda.api.exceptions.ParsingException;
 import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.data.etf.ExTermDecoder;
 import net.dv8tion.jda.api.utils.data.etf.ExTermEncoder;
+import net.dv8tion.jda.internal.utils.ByteBufferInputStream;
 import net.dv8tion.jda.internal.utils.Checks;
+import net.dv8tion.jda.internal.utils.CompactDataMap;
 import net.dv8tion.jda.internal.utils.Helpers;
 import net.dv8tion.jda.internal.utils.SerializationUtil;
 import org.jetbrains.annotations.Contract;
@@ -72,9 +75,13 @@ public class DataObject implements SerializableData {
     /**
      * Parses a JSON payload into a DataObject instance.
      *
+     * <p>The resulting object uses the same compact representation as {@link #fromJson(ByteBuffer)}.
+     *
      * @param  data
      *         The correctly formatted JSON payload to parse
      *
+     * @throws IllegalArgumentException
+     *         If the provided data is null
      * @throws net.dv8tion.jda.api.exceptions.ParsingException
      *         If the provided json is incorrectly formatted
      *
@@ -82,8 +89,8 @@ public class DataObject implements SerializableData {
      */
     @Nonnull
     public static DataObject fromJson(@Nonnull byte[] data) {
-        Map<String, Object> map = SerializationUtil.fromJson(SerializationUtil.getMapType(), data);
-        return new DataObject(map);
+        Checks.notNull(data, "Data");
+        return fromJson(ByteBuffer.wrap(data));
     }
 
     /**
@@ -137,6 +144,39 @@ public class DataObject implements SerializableData {
         return new DataObject(map);
     }
 
+    /**
+     * Parses a JSON payload into a DataObject instance.
+     * <br>This reads the remaining bytes of the buffer, from its position to its limit, without copying them.
+     *
+     * <p>The resulting object uses a compact representation, which is optimized for reading.
+     * Snowflakes are only parsed once, even when accessed repeatedly through {@link #getLong(String)} or {@link #getUnsignedLong(String)}.
+     *
+     * @param  buffer
+     *         The buffer containing the correctly formatted JSON payload to parse
+     *
+     * @throws IllegalArgumentException
+     *         If the provided buffer is null
+     * @throws net.dv8tion.jda.api.exceptions.ParsingException
+     *         If the provided json is incorrectly formatted
+     *
+     * @return A DataObject instance for the provided payload
+     */
+    @Nonnull
+    public static DataObject fromJson(@Nonnull ByteBuffer buffer) {
+        Checks.notNull(buffer, "Buffer");
+        Map<String, Object> map;
+        try {
+            JsonParser parser = buffer.hasArray()
+                    ? SerializationUtil.createParser(
+                            buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining())
+                    : SerializationUtil.createParser(new ByteBufferInputStream(buffer.duplicate()));
+            map = SerializationUtil.fromJsonCompact(parser);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+        return new DataObject(map);
+    }
+
     /**
      * Parses using {@link ExTermDecoder}.
      * The provided data must start with the correct version header (131).
@@ -163,6 +203,37 @@ public class DataObject implements SerializableData {
         }
     }
 
+    /**
+     * Parses using {@link ExTermDecoder#unpackCompactMap(ByteBuffer)}.
+     * The remaining bytes of the provided buffer must start with the correct version header (131).
+     * <br>This reads from the buffer position to its limit, without copying the data.
+     *
+     * <p>The resulting object uses a compact representation, which is optimized for reading.
+     * Snowflakes are only parsed once, even when accessed repeatedly through {@link #getLong(String)} or {@link #getUnsignedLong(String)}.
+     *
+     * @param  buffer
+     *         The buffer to decode
+     *
+     * @throws IllegalArgumentException
+     *         If the provided buffer is null
+     * @throws net.dv8tion.jda.api.exceptions.ParsingException
+     *         If the provided ETF payload is incorrectly formatted or an I/O error occurred
+     *
+     * @return A DataObject instance for the provided payload
+     */
+    @Nonnull
+    public static DataObject fromETF(@Nonnull ByteBuffer buffer) {
+        Checks.notNull(buffer, "Buffer");
+        ByteBuffer view = buffer.duplicate();
+        try {
+            Map<String, Object> map = ExTermDecoder.unpackCompactMap(view);
+            return new DataObject(map);
+        } catch (Exception ex) {
+            log.error("Failed to parse ETF data of length {}", buffer.remaining(), ex);
+            throw new ParsingException(ex);
+        }
+    }
+
     /**
      * Whether the specified key is present.
      *
@@ -397,6 +468,10 @@ public class DataObject implements SerializableData {
      * @return The long value for the key
      */
     public long getLong(@Nonnull String key) {
+        int index = compactIndex(key);
+        if (index >= 0) {
+            return ((CompactDataMap) data).getLong(index);
+        }
         Long value = get(Long.class, key, MiscUtil::parseLong, Number::longValue);
         if (value == null) {
             throw valueError(key, "long");
@@ -418,6 +493,10 @@ public class DataObject implements SerializableData {
      * @return The long value for the key
      */
     public long getLong(@Nonnull String key, long defaultValue) {
+        int index = compactIndex(key);
+        if (index >= 0) {
+            return ((CompactDataMap) data).getLong(index);
+        }
         Long value = get(Long.class, key, Long::parseLong, Number::longValue);
         return value == null ? defaultValue : value;
     }
@@ -434,6 +513,10 @@ public class DataObject implements SerializableData {
      * @return The unsigned long value for the key
      */
     public long getUnsignedLong(@Nonnull String key) {
+        int index = compactIndex(key);
+        if (index >= 0) {
+            return ((CompactDataMap) data).getLong(index);
+        }
         Long value = get(Long.class, key, Long::parseUnsignedLong, Number::longValue);
         if (value == null) {
             throw valueError(key, "unsigned long");
@@ -455,6 +538,10 @@ public class DataObject implements SerializableData {
      * @return The unsigned long value for the key
      */
     public long getUnsignedLong(@Nonnull String key, long defaultValue) {
+        int index = compactIndex(key);
+        if (index >= 0) {
+            return ((CompactDataMap) data).getLong(index);
+        }
         Long value = get(Long.class, key, Long::parseUnsignedLong, Number::longValue);
         return value == null ? defaultValue : value;
     }
@@ -781,6 +868,16 @@ public class DataObject implements SerializableData {
                 this, "Unable to resolve value with key '" + key + "' to type " + expectedType + ": " + data.get(key));
     }
 
+    // Index of a numeric value in a compact map, which can be read without parsing or boxing
+    private int compactIndex(@Nonnull String key) {
+        if (!(data instanceof CompactDataMap)) {
+            return -1;
+        }
+        CompactDataMap map = (CompactDataMap) data;
+        int index = map.indexOf(key);
+        return index >= 0 && map.isLong(index) ? index : -1;
+    }
+
     @Nullable
     private <T> T get(@Nonnull Class<T> type, @Nonnull String key) {
         return get(type, key, null, null);
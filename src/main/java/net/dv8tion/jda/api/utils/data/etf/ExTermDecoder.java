@@ -16,6 +16,8 @@
 
 package net.dv8tion.jda.api.utils.data.etf;
 
+import net.dv8tion.jda.internal.utils.CompactDataMap;
+
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -65,7 +67,7 @@ public class ExTermDecoder {
             throw new IllegalArgumentException("Failed header check");
         }
 
-        return unpack0(buffer);
+        return unpack0(buffer, false);
     }
 
     /**
@@ -93,13 +95,39 @@ public class ExTermDecoder {
     @Nonnull
     @SuppressWarnings("unchecked")
     public static Map<String, Object> unpackMap(@Nonnull ByteBuffer buffer) {
-        byte tag = buffer.get(1);
+        byte tag = buffer.get(buffer.position() + 1);
         if (tag != MAP) {
             throw new IllegalArgumentException("Cannot unpack map from tag " + tag);
         }
         return (Map<String, Object>) unpack(buffer);
     }
 
+    /**
+     * Unpacks the provided term into a compact java {@link Map}.
+     * <br>This uses the same mapping as {@link #unpackMap(ByteBuffer)}, but all maps use a compact array-based representation,
+     * which caches parsed snowflakes for {@link net.dv8tion.jda.api.utils.data.DataObject DataObject}.
+     *
+     * @param  buffer
+     *         The {@link ByteBuffer} containing the encoded term
+     *
+     * @throws IllegalArgumentException
+     *         If the buffer does not start with a Map term, does not have the right version byte, or the format includes an unsupported tag
+     *
+     * @return The parsed {@link Map} instance
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> unpackCompactMap(@Nonnull ByteBuffer buffer) {
+        byte tag = buffer.get(buffer.position() + 1);
+        if (tag != MAP) {
+            throw new IllegalArgumentException("Cannot unpack map from tag " + tag);
+        }
+        if (buffer.get() != -125) {
+            throw new IllegalArgumentException("Failed header check");
+        }
+        return (Map<String, Object>) unpack0(buffer, true);
+    }
+
     /**
      * Unpacks the provided term into a java {@link List}.
      *
@@ -125,7 +153,7 @@ public class ExTermDecoder {
     @Nonnull
     @SuppressWarnings("unchecked")
     public static List<Object> unpackList(@Nonnull ByteBuffer buffer) {
-        byte tag = buffer.get(1);
+        byte tag = buffer.get(buffer.position() + 1);
         if (tag != LIST) {
             throw new IllegalArgumentException("Cannot unpack list from tag " + tag);
         }
@@ -133,11 +161,11 @@ public class ExTermDecoder {
         return (List<Object>) unpack(buffer);
     }
 
-    private static Object unpack0(@Nonnull ByteBuffer buffer) {
+    private static Object unpack0(@Nonnull ByteBuffer buffer, boolean compact) {
         int tag = buffer.get();
         switch (tag) {
             case COMPRESSED:
-                return unpackCompressed(buffer);
+                return unpackCompressed(buffer, compact);
             case SMALL_INT:
                 return unpackSmallInt(buffer);
             case SMALL_BIGINT:
@@ -160,9 +188,9 @@ public class ExTermDecoder {
                 return unpackAtom(buffer, StandardCharsets.ISO_8859_1);
 
             case MAP:
-                return unpackMap0(buffer);
+                return unpackMap0(buffer, compact);
             case LIST:
-                return unpackList0(buffer);
+                return unpackList0(buffer, compact);
             case NIL:
                 return Collections.emptyList();
 
@@ -175,17 +203,24 @@ public class ExTermDecoder {
         }
     }
 
-    private static Object unpackCompressed(@Nonnull ByteBuffer buffer) {
+    private static Object unpackCompressed(@Nonnull ByteBuffer buffer, boolean compact) {
         int size = buffer.getInt();
         ByteArrayOutputStream decompressed = new ByteArrayOutputStream(size);
         try (InflaterOutputStream inflater = new InflaterOutputStream(decompressed)) {
-            inflater.write(buffer.array(), buffer.position(), buffer.remaining());
+            if (buffer.hasArray()) {
+                inflater.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            } else {
+                // Direct buffers, like the output of the zstd decompressor, have no backing array
+                byte[] compressed = new byte[buffer.remaining()];
+                buffer.duplicate().get(compressed);
+                inflater.write(compressed);
+            }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
 
         buffer = ByteBuffer.wrap(decompressed.toByteArray());
-        return unpack0(buffer);
+        return unpack0(buffer, compact);
     }
 
     private static double unpackOldFloat(@Nonnull ByteBuffer buffer) {
@@ -262,26 +297,26 @@ public class ExTermDecoder {
         return new String(array, charset);
     }
 
-    private static List<Object> unpackList0(@Nonnull ByteBuffer buffer) {
+    private static List<Object> unpackList0(@Nonnull ByteBuffer buffer, boolean compact) {
         int length = buffer.getInt();
         List<Object> list = new ArrayList<>(length);
         while (length-- > 0) {
-            list.add(unpack0(buffer));
+            list.add(unpack0(buffer, compact));
         }
-        Object tail = unpack0(buffer);
+        Object tail = unpack0(buffer, compact);
         if (!Objects.equals(tail, Collections.emptyList())) {
             throw new IllegalArgumentException("Unexpected tail " + tail);
         }
         return list;
     }
 
-    private static Map<String, Object> unpackMap0(@Nonnull ByteBuffer buffer) {
-        Map<String, Object> map = new HashMap<>();
+    private static Map<String, Object> unpackMap0(@Nonnull ByteBuffer buffer, boolean compact) {
         int arity = buffer.getInt();
+        Map<String, Object> map = compact ? new CompactDataMap(arity) : new HashMap<>();
         while (arity-- > 0) {
-            Object rawKey = unpack0(buffer);
+            Object rawKey = unpack0(buffer, compact);
             String key = String.valueOf(rawKey);
-            Object value = unpack0(buffer);
+            Object value = unpack0(buffer, compact);
             map.put(key, value);
         }
         return map;
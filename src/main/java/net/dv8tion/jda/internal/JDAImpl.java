@@ -100,9 +100,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class JDAImpl implements JDA {
     public static final Logger LOG = JDALogger.getLog(JDA.class);
@@ -150,6 +152,8 @@ public class JDAImpl implements JDA {
     protected final AtomicReference<Status> status = new AtomicReference<>(Status.INITIALIZING);
     protected final ReentrantLock statusLock = new ReentrantLock();
     protected final Condition statusCondition = statusLock.newCondition();
+    // Used by the shard manager to track the startup of the shard, without registering an event listener
+    protected volatile Consumer<Status> statusListener = null;
     protected final AtomicBoolean requesterShutdown = new AtomicBoolean(false);
     protected final AtomicReference<ShutdownEvent> shutdownEvent = new AtomicReference<>(null);
 
@@ -176,10 +180,21 @@ public class JDAImpl implements JDA {
         this.guildSetupController = new GuildSetupController(this);
         this.audioController = new DirectAudioControllerImpl(this);
         this.eventCache = new EventCache();
-        this.eventManager = new EventManagerProxy(new InterfacedEventManager(), this.threadConfig.getEventPool());
+        if (this.sessionConfig.isOrderedEvents() && this.threadConfig.getEventPool() == null) {
+            this.threadConfig.setEventPool(ThreadingConfig.newEventPool(this::getIdentifierString), true);
+        }
+        this.eventManager = new EventManagerProxy(
+                new InterfacedEventManager(), this.threadConfig.getEventPool(), this.sessionConfig.isOrderedEvents());
+        if (this.sessionConfig.isParallelDispatch() && this.threadConfig.getDispatchPool() == null) {
+            this.threadConfig.setDispatchPool(ThreadingConfig.newDispatchPool(this::getIdentifierString), true);
+        }
     }
 
     public void handleEvent(@Nonnull GenericEvent event) {
+        // Restoring a stored session only rebuilds the cache, the events were already fired by the previous process
+        if (client != null && client.isReplaying()) {
+            return;
+        }
         eventManager.handle(event);
     }
 
@@ -239,6 +254,11 @@ public class JDAImpl implements JDA {
         return sessionConfig.getSessionController();
     }
 
+    @Nonnull
+    public MetricsRecorder getMetricsRecorder() {
+        return sessionConfig.getMetricsRecorder();
+    }
+
     public GuildSetupController getGuildSetupController() {
         return guildSetupController;
     }
@@ -327,6 +347,8 @@ public class JDAImpl implements JDA {
         }
 
         client = new WebSocketClient(this, compression, intents, encoding);
+        client.restoreStoredSession();
+        registerGauges();
         // remove our MDC metadata when we exit our code
         if (previousContext != null) {
             previousContext.forEach(MDC::put);
@@ -372,10 +394,18 @@ public class JDAImpl implements JDA {
         });
 
         if (event.getOldStatus() != event.getNewStatus()) {
+            Consumer<Status> listener = statusListener;
+            if (listener != null) {
+                listener.accept(status);
+            }
             handleEvent(event);
         }
     }
 
+    public void setStatusListener(@Nullable Consumer<Status> statusListener) {
+        this.statusListener = statusListener;
+    }
+
     public void verifyToken() {
         RestActionImpl<DataObject> login = new RestActionImpl<DataObject>(this, Route.Self.GET_SELF.compile()) {
             @Override
@@ -561,6 +591,11 @@ public class JDAImpl implements JDA {
         return threadConfig.getCallbackPool();
     }
 
+    @Nullable
+    public ExecutorService getDispatchPool() {
+        return threadConfig.getDispatchPool();
+    }
+
     @Nonnull
     @Override
     @SuppressWarnings("ConstantConditions") // this can't really happen unless you pass bad configs
@@ -956,7 +991,24 @@ public class JDAImpl implements JDA {
         }
     }
 
+    private void registerGauges() {
+        MetricsRecorder metrics = getMetricsRecorder();
+        if (metrics == MetricsRecorder.NOOP) {
+            return;
+        }
+
+        metrics.registerGauge(this, MetricsRecorder.GAUGE_REST_QUEUE_SIZE, requester::getQueueSize);
+        metrics.registerGauge(this, MetricsRecorder.GAUGE_GATEWAY_SEND_QUEUE_SIZE, client::getSendQueueSize);
+        metrics.registerGauge(this, MetricsRecorder.GAUGE_GATEWAY_CHUNK_QUEUE_SIZE, client::getChunkQueueSize);
+        metrics.registerGauge(this, MetricsRecorder.GAUGE_EVENT_CACHE_SIZE, eventCache::size);
+        metrics.registerGauge(this, MetricsRecorder.GAUGE_EVENT_CACHE_DROPPED, eventCache::getDroppedCount);
+        metrics.registerGauge(this, MetricsRecorder.GAUGE_GUILD_CACHE_SIZE, guildCache::size);
+        metrics.registerGauge(this, MetricsRecorder.GAUGE_USER_CACHE_SIZE, userCache::size);
+        metrics.registerGauge(this, MetricsRecorder.GAUGE_CHANNEL_CACHE_SIZE, channelCache::size);
+    }
+
     private void signalShutdown() {
+        getMetricsRecorder().unregisterGauges(this);
         setStatus(Status.SHUTDOWN);
         handleEvent(shutdownEvent.get());
     }
@@ -1273,6 +1325,16 @@ public class JDAImpl implements JDA {
         return sessionConfig.getWebSocketFactory();
     }
 
+    @Nullable
+    public GatewayTransport getGatewayTransport() {
+        return sessionConfig.getGatewayTransport();
+    }
+
+    @Nullable
+    public SessionStore getSessionStore() {
+        return sessionConfig.getSessionStore();
+    }
+
     public WebSocketClient getClient() {
         return client;
     }
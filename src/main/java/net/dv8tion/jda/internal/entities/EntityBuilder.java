@@ -566,62 +566,70 @@ public class EntityBuilder extends AbstractEntityBuilder {
     }
 
     public void updateUser(UserImpl userObj, DataObject user) {
-        String oldName = userObj.getName();
         String newName = user.getString("username");
-        String oldGlobalName = userObj.getGlobalName();
         String newGlobalName = user.getString("global_name", null);
-        short oldDiscriminator = userObj.getDiscriminatorInt();
         short newDiscriminator = Short.parseShort(user.getString("discriminator", "0"));
-        String oldAvatar = userObj.getAvatarId();
         String newAvatar = user.getString("avatar", null);
-        int oldFlags = userObj.getFlagsRaw();
         int newFlags = user.getInt("public_flags", 0);
-        User.PrimaryGuild oldPrimaryGuild = userObj.getPrimaryGuild();
         User.PrimaryGuild newPrimaryGuild =
                 user.optObject("primary_guild").map(this::createPrimaryGuild).orElse(null);
 
         JDAImpl jda = getJDA();
         long responseNumber = jda.getResponseTotal();
-        if (!oldName.equals(newName)) {
-            userObj.setName(newName);
-            jda.handleEvent(new UserUpdateNameEvent(
-                    jda, responseNumber,
-                    userObj, oldName));
-        }
+        List<GenericUserUpdateEvent<?>> events = new ArrayList<>();
+
+        // Users are shared between guilds, which might be dispatched in parallel.
+        // The events are fired outside the lock to avoid blocking other guilds on listeners.
+        synchronized (userObj) {
+            String oldName = userObj.getName();
+            if (!oldName.equals(newName)) {
+                userObj.setName(newName);
+                events.add(new UserUpdateNameEvent(
+                        jda, responseNumber,
+                        userObj, oldName));
+            }
 
-        if (!Objects.equals(oldGlobalName, newGlobalName)) {
-            userObj.setGlobalName(newGlobalName);
-            jda.handleEvent(new UserUpdateGlobalNameEvent(
-                    jda, responseNumber,
-                    userObj, oldGlobalName));
-        }
+            String oldGlobalName = userObj.getGlobalName();
+            if (!Objects.equals(oldGlobalName, newGlobalName)) {
+                userObj.setGlobalName(newGlobalName);
+                events.add(new UserUpdateGlobalNameEvent(
+                        jda, responseNumber,
+                        userObj, oldGlobalName));
+            }
 
-        if (oldDiscriminator != newDiscriminator) {
-            String oldDiscrimString = userObj.getDiscriminator();
-            userObj.setDiscriminator(newDiscriminator);
-            jda.handleEvent(new UserUpdateDiscriminatorEvent(
-                    jda, responseNumber,
-                    userObj, oldDiscrimString));
-        }
+            if (userObj.getDiscriminatorInt() != newDiscriminator) {
+                String oldDiscrimString = userObj.getDiscriminator();
+                userObj.setDiscriminator(newDiscriminator);
+                events.add(new UserUpdateDiscriminatorEvent(
+                        jda, responseNumber,
+                        userObj, oldDiscrimString));
+            }
 
-        if (!Objects.equals(oldAvatar, newAvatar)) {
-            userObj.setAvatarId(newAvatar);
-            jda.handleEvent(new UserUpdateAvatarEvent(
-                    jda, responseNumber,
-                    userObj, oldAvatar));
-        }
+            String oldAvatar = userObj.getAvatarId();
+            if (!Objects.equals(oldAvatar, newAvatar)) {
+                userObj.setAvatarId(newAvatar);
+                events.add(new UserUpdateAvatarEvent(
+                        jda, responseNumber,
+                        userObj, oldAvatar));
+            }
 
-        if (oldFlags != newFlags) {
-            userObj.setFlags(newFlags);
-            jda.handleEvent(new UserUpdateFlagsEvent(jda, responseNumber, userObj, User.UserFlag.getFlags(oldFlags)));
-        }
+            int oldFlags = userObj.getFlagsRaw();
+            if (oldFlags != newFlags) {
+                userObj.setFlags(newFlags);
+                events.add(
+                        new UserUpdateFlagsEvent(jda, responseNumber, userObj, User.UserFlag.getFlags(oldFlags)));
+            }
 
-        if (!Objects.equals(oldPrimaryGuild, newPrimaryGuild)) {
-            userObj.setPrimaryGuild(newPrimaryGuild);
-            jda.handleEvent(new UserUpdatePrimaryGuildEvent(
-                    jda, responseNumber,
-                    userObj, oldPrimaryGuild));
+            User.PrimaryGuild oldPrimaryGuild = userObj.getPrimaryGuild();
+            if (!Objects.equals(oldPrimaryGuild, newPrimaryGuild)) {
+                userObj.setPrimaryGuild(newPrimaryGuild);
+                events.add(new UserUpdatePrimaryGuildEvent(
+                        jda, responseNumber,
+                        userObj, oldPrimaryGuild));
+            }
         }
+
+        events.forEach(jda::handleEvent);
     }
 
     public boolean updateMemberCache(MemberImpl member) {
@@ -640,6 +648,10 @@ public class EntityBuilder extends AbstractEntityBuilder {
             if (user.getMutualGuilds().isEmpty()) {
                 // we no longer share any guilds/channels with this user so remove it from cache
                 getJDA().getUsersView().remove(user.getIdLong());
+                // another guild might have loaded a member for this user in the meantime, put it back in that case
+                if (!user.getMutualGuilds().isEmpty()) {
+                    cacheUser(user);
+                }
             }
             return false;
         } else if (guild.getMemberById(member.getIdLong()) != null) {
@@ -649,13 +661,8 @@ public class EntityBuilder extends AbstractEntityBuilder {
 
         LOG.trace("Loading member {}", member);
 
-        if (getJDA().getUserById(user.getIdLong()) == null) {
-            SnowflakeCacheViewImpl<User> usersView = getJDA().getUsersView();
-            try (UnlockHook hook1 = usersView.writeLock()) {
-                usersView.getMap().put(user.getIdLong(), user);
-            }
-        }
-
+        // The member has to be visible before the user is cached,
+        // otherwise a concurrent unload in another guild could evict the user again
         try (UnlockHook hook = membersView.writeLock()) {
             membersView.getMap().put(member.getIdLong(), member);
             if (member.isOwner()) {
@@ -663,12 +670,26 @@ public class EntityBuilder extends AbstractEntityBuilder {
             }
         }
 
+        cacheUser(user);
+
         long hashId = guild.getIdLong() ^ user.getIdLong();
         getJDA().getEventCache().playbackCache(EventCache.Type.USER, member.getIdLong());
         getJDA().getEventCache().playbackCache(EventCache.Type.MEMBER, hashId);
         return true;
     }
 
+    private void cacheUser(UserImpl user) {
+        // Only add the user if no other guild has cached it yet, the member will pick up the cached instance.
+        // The optimistic check avoids taking the global write lock for users which are already cached.
+        if (getJDA().getUserById(user.getIdLong()) != null) {
+            return;
+        }
+        SnowflakeCacheViewImpl<User> usersView = getJDA().getUsersView();
+        try (UnlockHook hook = usersView.writeLock()) {
+            usersView.getMap().putIfAbsent(user.getIdLong(), user);
+        }
+    }
+
     public MemberImpl createMember(GuildImpl guild, DataObject memberJson) {
         return createMember(guild, memberJson, null, null);
     }
@@ -686,14 +707,16 @@ public class EntityBuilder extends AbstractEntityBuilder {
                 member = new MemberImpl(guild, user);
             }
             configureMember(memberJson, member);
-            Set<Role> roles = member.getRoleSet();
+            // Assigned in one step, adding roles one by one would copy the id array for every role
+            long[] roleIds = new long[roleArray.length()];
+            int count = 0;
             for (int i = 0; i < roleArray.length(); i++) {
                 long roleId = roleArray.getUnsignedLong(i);
-                Role role = guild.getRoleById(roleId);
-                if (role != null) {
-                    roles.add(role);
+                if (guild.getRoleById(roleId) != null) {
+                    roleIds[count++] = roleId;
                 }
             }
+            member.setRoleIds(roleIds, count);
         } else {
             // Update cached member and fire events
             List<Role> roles = new ArrayList<>(roleArray.length());
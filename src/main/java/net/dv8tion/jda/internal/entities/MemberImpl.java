@@ -33,20 +33,27 @@ import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.EntityString;
 import net.dv8tion.jda.internal.utils.Helpers;
 import net.dv8tion.jda.internal.utils.PermissionUtil;
+import net.dv8tion.jda.internal.utils.cache.SortedSnowflakeCacheViewImpl;
 
 import java.awt.*;
 import java.time.OffsetDateTime;
 import java.util.*;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public class MemberImpl implements Member, MemberMixin<MemberImpl> {
+    private static final long[] NO_ROLES = new long[0];
+
     private final JDAImpl api;
-    private final Set<Role> roles = ConcurrentHashMap.newKeySet();
+    // Sorted role ids, replaced on every update. This is much smaller than a concurrent set of roles,
+    // which matters when caching every member of very large guilds.
+    // Only the role storage is compact, the other fields are kept as they are and there is no separate member store.
+    private volatile long[] roleIds = NO_ROLES;
+    // The roles of the current ids, only allocated once the roles are read
+    private volatile ResolvedRoles resolvedRoles;
 
     private GuildImpl guild;
     private User user;
@@ -192,7 +199,8 @@ public class MemberImpl implements Member, MemberMixin<MemberImpl> {
     @Nonnull
     @Override
     public List<Role> getRoles() {
-        List<Role> roleList = new ArrayList<>(roles);
+        Role[] roles = resolveRoles().roles;
+        List<Role> roleList = new ArrayList<>(Arrays.asList(roles));
         roleList.sort(Comparator.reverseOrder());
         return Collections.unmodifiableList(roleList);
     }
@@ -200,7 +208,7 @@ public class MemberImpl implements Member, MemberMixin<MemberImpl> {
     @Nonnull
     @Override
     public Set<Role> getUnsortedRoles() {
-        return Collections.unmodifiableSet(roles);
+        return Collections.unmodifiableSet(getRoleSet());
     }
 
     @Override
@@ -396,8 +404,46 @@ public class MemberImpl implements Member, MemberMixin<MemberImpl> {
         return this;
     }
 
+    /**
+     * Modifiable view of the roles of this member.
+     * <br>Roles are stored by id and resolved through the guild cache on access.
+     *
+     * @return The role set view
+     */
     public Set<Role> getRoleSet() {
-        return roles;
+        return new RoleSetView();
+    }
+
+    public long[] getRoleIdsRaw() {
+        return roleIds;
+    }
+
+    /**
+     * Replaces all roles of this member at once.
+     * <br>The ids are sorted in place and the array is only copied if it has to be trimmed.
+     *
+     * @param ids
+     *        The role ids, possibly unsorted and with duplicates
+     * @param count
+     *        The number of valid ids at the start of the array
+     */
+    void setRoleIds(long[] ids, int count) {
+        Arrays.sort(ids, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+
+        long[] updated = distinct == 0 ? NO_ROLES : distinct == ids.length ? ids : Arrays.copyOf(ids, distinct);
+        synchronized (this) {
+            roleIds = updated;
+        }
+    }
+
+    private synchronized void clearRoleIds() {
+        roleIds = NO_ROLES;
     }
 
     public long getBoostDateRaw() {
@@ -434,4 +480,166 @@ public class MemberImpl implements Member, MemberMixin<MemberImpl> {
                 .addMetadata("guild", getGuild())
                 .toString();
     }
+
+    private synchronized boolean addRoleId(long id) {
+        long[] current = roleIds;
+        int index = Arrays.binarySearch(current, id);
+        if (index >= 0) {
+            return false;
+        }
+
+        index = -index - 1;
+        long[] updated = new long[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        updated[index] = id;
+        System.arraycopy(current, index, updated, index + 1, current.length - index);
+        roleIds = updated;
+        return true;
+    }
+
+    private synchronized boolean removeRoleId(long id) {
+        long[] current = roleIds;
+        int index = Arrays.binarySearch(current, id);
+        if (index < 0) {
+            return false;
+        }
+
+        if (current.length == 1) {
+            roleIds = NO_ROLES;
+            return true;
+        }
+
+        long[] updated = new long[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, updated.length - index);
+        roleIds = updated;
+        return true;
+    }
+
+    // Resolves the role ids through the guild cache, reusing the last result until the ids or the role cache change
+    private ResolvedRoles resolveRoles() {
+        long[] ids = roleIds;
+        GuildImpl guild = getGuild();
+        SortedSnowflakeCacheViewImpl<Role> rolesView = guild.getRolesView();
+        ResolvedRoles resolved = resolvedRoles;
+        if (resolved != null
+                && resolved.ids == ids
+                && resolved.guild == guild
+                && rolesView.isUnchangedSince(resolved.stamp)) {
+            return resolved;
+        }
+
+        // Acquired before resolving, a concurrent write invalidates the result
+        long stamp = rolesView.getWriteStamp();
+        Role[] roles = new Role[ids.length];
+        int count = 0;
+        for (long id : ids) {
+            Role role = guild.getRoleById(id);
+            if (role != null) {
+                roles[count++] = role;
+            }
+        }
+
+        resolved = new ResolvedRoles(ids, guild, stamp, count == ids.length ? roles : Arrays.copyOf(roles, count));
+        if (stamp != 0) {
+            resolvedRoles = resolved;
+        }
+        return resolved;
+    }
+
+    private static final class ResolvedRoles {
+        private final long[] ids;
+        private final GuildImpl guild;
+        private final long stamp;
+        // Sorted by id, skips roles which have been removed from the guild cache
+        private final Role[] roles;
+
+        private ResolvedRoles(long[] ids, GuildImpl guild, long stamp, Role[] roles) {
+            this.ids = ids;
+            this.guild = guild;
+            this.stamp = stamp;
+            this.roles = roles;
+        }
+
+        private boolean contains(long id) {
+            int low = 0;
+            int high = roles.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midId = roles[mid].getIdLong();
+                if (midId < id) {
+                    low = mid + 1;
+                } else if (midId > id) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private class RoleSetView extends AbstractSet<Role> {
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Role)) {
+                return false;
+            }
+            return resolveRoles().contains(((Role) o).getIdLong());
+        }
+
+        @Override
+        public boolean add(Role role) {
+            return addRoleId(role.getIdLong());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o instanceof Role && removeRoleId(((Role) o).getIdLong());
+        }
+
+        @Override
+        public void clear() {
+            clearRoleIds();
+        }
+
+        // Counts the same roles as the iterator, which skips roles that have been removed from the guild cache
+        @Override
+        public int size() {
+            return resolveRoles().roles.length;
+        }
+
+        @Nonnull
+        @Override
+        public Iterator<Role> iterator() {
+            Role[] roles = resolveRoles().roles;
+            return new Iterator<Role>() {
+                private int index = 0;
+                private Role last;
+
+                @Override
+                public boolean hasNext() {
+                    return index < roles.length;
+                }
+
+                @Override
+                public Role next() {
+                    if (index >= roles.length) {
+                        throw new NoSuchElementException();
+                    }
+                    last = roles[index++];
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    removeRoleId(last.getIdLong());
+                    last = null;
+                }
+            };
+        }
+    }
 }
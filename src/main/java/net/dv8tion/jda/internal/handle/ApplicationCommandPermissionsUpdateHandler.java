@@ -64,10 +64,10 @@ public class ApplicationCommandPermissionsUpdateHandler extends SocketHandler {
 
         if (id != applicationId) {
             api.handleEvent(new ApplicationCommandUpdatePrivilegesEvent(
-                    api, responseNumber, guild, id, applicationId, privileges));
+                    api, getResponseNumber(), guild, id, applicationId, privileges));
         } else {
             api.handleEvent(
-                    new ApplicationUpdatePrivilegesEvent(api, responseNumber, guild, applicationId, privileges));
+                    new ApplicationUpdatePrivilegesEvent(api, getResponseNumber(), guild, applicationId, privileges));
         }
         return null;
     }
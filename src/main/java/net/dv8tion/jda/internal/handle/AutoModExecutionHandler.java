@@ -35,7 +35,7 @@ public class AutoModExecutionHandler extends SocketHandler {
         }
         Guild guild = api.getGuildById(guildId);
         if (guild == null) {
-            api.getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             EventCache.LOG.debug(
                     "Received a AUTO_MODERATION_ACTION_EXECUTION for a guild that is not yet cached. JSON: {}",
                     content);
@@ -43,7 +43,7 @@ public class AutoModExecutionHandler extends SocketHandler {
         }
 
         AutoModExecutionImpl execution = new AutoModExecutionImpl(guild, content);
-        api.handleEvent(new AutoModExecutionEvent(api, responseNumber, execution));
+        api.handleEvent(new AutoModExecutionEvent(api, getResponseNumber(), execution));
         return null;
     }
 }
@@ -41,7 +41,7 @@ public class AutoModRuleHandler extends SocketHandler {
         }
         Guild guild = api.getGuildById(guildId);
         if (guild == null) {
-            api.getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             EventCache.LOG.debug(
                     "Received a AUTO_MODERATION_RULE_{} for a guild that is not yet cached. JSON: {}", type, content);
             return null;
@@ -50,13 +50,13 @@ public class AutoModRuleHandler extends SocketHandler {
         AutoModRule rule = AutoModRuleImpl.fromData(guild, content);
         switch (type) {
             case "CREATE":
-                api.handleEvent(new AutoModRuleCreateEvent(api, responseNumber, rule));
+                api.handleEvent(new AutoModRuleCreateEvent(api, getResponseNumber(), rule));
                 break;
             case "UPDATE":
-                api.handleEvent(new AutoModRuleUpdateEvent(api, responseNumber, rule));
+                api.handleEvent(new AutoModRuleUpdateEvent(api, getResponseNumber(), rule));
                 break;
             case "DELETE":
-                api.handleEvent(new AutoModRuleDeleteEvent(api, responseNumber, rule));
+                api.handleEvent(new AutoModRuleDeleteEvent(api, getResponseNumber(), rule));
                 break;
         }
         return null;
@@ -49,7 +49,7 @@ public class ChannelCreateHandler extends SocketHandler {
             return null;
         }
 
-        jda.handleEvent(new ChannelCreateEvent(jda, responseNumber, channel));
+        jda.handleEvent(new ChannelCreateEvent(jda, getResponseNumber(), channel));
 
         return null;
     }
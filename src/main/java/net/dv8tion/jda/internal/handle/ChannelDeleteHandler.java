@@ -64,7 +64,7 @@ public class ChannelDeleteHandler extends SocketHandler {
 
         guild.uncacheChannel(channel, false);
 
-        getJDA().handleEvent(new ChannelDeleteEvent(getJDA(), responseNumber, channel));
+        getJDA().handleEvent(new ChannelDeleteEvent(getJDA(), getResponseNumber(), channel));
 
         // Deleting any scheduled events associated to the deleted channel as they are deleted when
         // the channel gets deleted.
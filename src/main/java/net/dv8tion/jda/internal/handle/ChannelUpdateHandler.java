@@ -96,8 +96,7 @@ public class ChannelUpdateHandler extends SocketHandler {
         // CHANNEL_UPDATE for 1:1 DMs, only Groups.
         AbstractGuildChannelImpl<?> channel = (AbstractGuildChannelImpl<?>) getJDA().getGuildChannelById(channelId);
         if (channel == null) {
-            getJDA().getEventCache()
-                    .cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.CHANNEL, channelId);
             EventCache.LOG.debug("CHANNEL_UPDATE attempted to update a channel that does not exist. JSON: {}", content);
             return null;
         }
@@ -114,7 +113,7 @@ public class ChannelUpdateHandler extends SocketHandler {
         String name = content.getString("name", oldName);
         if (!Objects.equals(oldName, name)) {
             channel.setName(name);
-            getJDA().handleEvent(new ChannelUpdateNameEvent(getJDA(), responseNumber, channel, oldName, name));
+            getJDA().handleEvent(new ChannelUpdateNameEvent(getJDA(), getResponseNumber(), channel, oldName, name));
         }
 
         if (channel instanceof ITopicChannelMixin<?>) {
@@ -162,7 +161,7 @@ public class ChannelUpdateHandler extends SocketHandler {
                     forumChannel.setDefaultLayout(layout);
                     getJDA().handleEvent(new ChannelUpdateDefaultLayoutEvent(
                             getJDA(),
-                            responseNumber,
+                            getResponseNumber(),
                             forumChannel,
                             ForumChannel.Layout.fromKey(oldLayout),
                             ForumChannel.Layout.fromKey(layout)));
@@ -238,7 +237,8 @@ public class ChannelUpdateHandler extends SocketHandler {
             ((MessageChannelMixin<?>) channel).setLatestMessageIdLong(latestMessageIdLong);
         }
 
-        getJDA().handleEvent(new ChannelUpdateTypeEvent(getJDA(), responseNumber, newChannel, oldType, newChannelType));
+        getJDA().handleEvent(new ChannelUpdateTypeEvent(
+                getJDA(), getResponseNumber(), newChannel, oldType, newChannelType));
 
         return channel;
     }
@@ -260,7 +260,7 @@ public class ChannelUpdateHandler extends SocketHandler {
             channel.getPermissionOverrideMap().remove(override.getIdLong());
             addPermissionHolder(changed, guild, override.getIdLong());
             api.handleEvent(new PermissionOverrideDeleteEvent(
-                    api, responseNumber,
+                    api, getResponseNumber(),
                     channel, override));
             return true;
         });
@@ -311,7 +311,7 @@ public class ChannelUpdateHandler extends SocketHandler {
                 // also does, otherwise our sync checks don't work!
                 channel.getPermissionOverrideMap().remove(overrideId);
                 api.handleEvent(new PermissionOverrideDeleteEvent(
-                        api, responseNumber,
+                        api, getResponseNumber(),
                         channel, currentOverride));
                 return true;
             }
@@ -319,7 +319,7 @@ public class ChannelUpdateHandler extends SocketHandler {
             impl.setAllow(allow);
             impl.setDeny(deny);
             api.handleEvent(new PermissionOverrideUpdateEvent(
-                    api, responseNumber, channel, currentOverride, oldAllow, oldDeny));
+                    api, getResponseNumber(), channel, currentOverride, oldAllow, oldDeny));
         } else // New override?
         {
             // Empty @everyone overrides should be treated as not existing at all
@@ -332,7 +332,7 @@ public class ChannelUpdateHandler extends SocketHandler {
             impl.setDeny(deny);
             channel.getPermissionOverrideMap().put(overrideId, currentOverride);
             api.handleEvent(new PermissionOverrideCreateEvent(
-                    api, responseNumber,
+                    api, getResponseNumber(),
                     channel, currentOverride));
         }
 
@@ -358,7 +358,7 @@ public class ChannelUpdateHandler extends SocketHandler {
 
         // Fire these events outside the write locks
         for (ThreadChannel thread : threads) {
-            api.handleEvent(new ThreadHiddenEvent(api, responseNumber, thread));
+            api.handleEvent(new ThreadHiddenEvent(api, getResponseNumber(), thread));
         }
     }
 
@@ -393,28 +393,29 @@ public class ChannelUpdateHandler extends SocketHandler {
 
                     impl.setPosition(i);
                     if (!Objects.equals(oldEmoji, impl.getEmoji())) {
-                        api.handleEvent(new ForumTagUpdateEmojiEvent(api, responseNumber, channel, impl, oldEmoji));
+                        api.handleEvent(new ForumTagUpdateEmojiEvent(
+                                api, getResponseNumber(), channel, impl, oldEmoji));
                     }
                     if (!name.equals(oldName)) {
                         impl.setName(name);
-                        api.handleEvent(new ForumTagUpdateNameEvent(api, responseNumber, channel, impl, oldName));
+                        api.handleEvent(new ForumTagUpdateNameEvent(api, getResponseNumber(), channel, impl, oldName));
                     }
                     if (moderated != impl.isModerated()) {
                         impl.setModerated(moderated);
                         api.handleEvent(
-                                new ForumTagUpdateModeratedEvent(api, responseNumber, channel, impl, moderated));
+                                new ForumTagUpdateModeratedEvent(api, getResponseNumber(), channel, impl, moderated));
                     }
                 } else {
                     ForumTag tag = builder.createForumTag(channel, tagJson, i);
                     cache.put(id, tag);
-                    api.handleEvent(new ForumTagAddEvent(api, responseNumber, channel, tag));
+                    api.handleEvent(new ForumTagAddEvent(api, getResponseNumber(), channel, tag));
                 }
             }
 
             removedTags.forEach(id -> {
                 ForumTag tag = cache.remove(id);
                 if (tag != null) {
-                    api.handleEvent(new ForumTagRemoveEvent(api, responseNumber, channel, tag));
+                    api.handleEvent(new ForumTagRemoveEvent(api, getResponseNumber(), channel, tag));
                 }
                 return true;
             });
@@ -428,7 +429,7 @@ public class ChannelUpdateHandler extends SocketHandler {
         }
 
         channel.setTopic(topic);
-        api.handleEvent(new ChannelUpdateTopicEvent(api, responseNumber, channel, oldTopic, topic));
+        api.handleEvent(new ChannelUpdateTopicEvent(api, getResponseNumber(), channel, oldTopic, topic));
     }
 
     private void handleSlowmode(ISlowmodeChannelMixin<?> channel, int slowmode) {
@@ -438,7 +439,7 @@ public class ChannelUpdateHandler extends SocketHandler {
         }
 
         channel.setSlowmode(slowmode);
-        api.handleEvent(new ChannelUpdateSlowmodeEvent(api, responseNumber, channel, oldSlowmode, slowmode));
+        api.handleEvent(new ChannelUpdateSlowmodeEvent(api, getResponseNumber(), channel, oldSlowmode, slowmode));
     }
 
     private void handleNsfw(IAgeRestrictedChannelMixin<?> channel, boolean nsfw) {
@@ -448,7 +449,7 @@ public class ChannelUpdateHandler extends SocketHandler {
         }
 
         channel.setNSFW(nsfw);
-        api.handleEvent(new ChannelUpdateNSFWEvent(api, responseNumber, channel, oldNsfw, nsfw));
+        api.handleEvent(new ChannelUpdateNSFWEvent(api, getResponseNumber(), channel, oldNsfw, nsfw));
     }
 
     private void handleParentCategory(ICategorizableChannelMixin<?> channel, long parentId) {
@@ -461,7 +462,7 @@ public class ChannelUpdateHandler extends SocketHandler {
         channel.setParentCategory(parentId);
         Category newParent = channel.getParentCategory();
 
-        api.handleEvent(new ChannelUpdateParentEvent(api, responseNumber, channel, oldParent, newParent));
+        api.handleEvent(new ChannelUpdateParentEvent(api, getResponseNumber(), channel, oldParent, newParent));
     }
 
     private void handlePosition(IPositionableChannelMixin<?> channel, int position) {
@@ -471,7 +472,7 @@ public class ChannelUpdateHandler extends SocketHandler {
         }
 
         channel.setPosition(position);
-        api.handleEvent(new ChannelUpdatePositionEvent(api, responseNumber, channel, oldPosition, position));
+        api.handleEvent(new ChannelUpdatePositionEvent(api, getResponseNumber(), channel, oldPosition, position));
     }
 
     private void handleThreadContainer(IThreadContainerMixin<?> channel, DataObject content) {
@@ -480,7 +481,7 @@ public class ChannelUpdateHandler extends SocketHandler {
         if (oldDefaultThreadSlowmode != defaultThreadSlowmode) {
             channel.setDefaultThreadSlowmode(defaultThreadSlowmode);
             api.handleEvent(new ChannelUpdateDefaultThreadSlowmodeEvent(
-                    api, responseNumber, channel, oldDefaultThreadSlowmode, defaultThreadSlowmode));
+                    api, getResponseNumber(), channel, oldDefaultThreadSlowmode, defaultThreadSlowmode));
         }
     }
 
@@ -490,7 +491,7 @@ public class ChannelUpdateHandler extends SocketHandler {
 
         if (oldBitrate != bitrate) {
             channel.setBitrate(bitrate);
-            api.handleEvent(new ChannelUpdateBitrateEvent(api, responseNumber, channel, oldBitrate, bitrate));
+            api.handleEvent(new ChannelUpdateBitrateEvent(api, getResponseNumber(), channel, oldBitrate, bitrate));
         }
 
         int userLimit = content.getInt("user_limit");
@@ -498,8 +499,8 @@ public class ChannelUpdateHandler extends SocketHandler {
 
         if (oldLimit != userLimit) {
             channel.setUserLimit(userLimit);
-            getJDA().handleEvent(
-                            new ChannelUpdateUserLimitEvent(getJDA(), responseNumber, channel, oldLimit, userLimit));
+            getJDA().handleEvent(new ChannelUpdateUserLimitEvent(
+                    getJDA(), getResponseNumber(), channel, oldLimit, userLimit));
         }
 
         String oldRegion = channel.getRegionRaw();
@@ -508,7 +509,7 @@ public class ChannelUpdateHandler extends SocketHandler {
         if (!Objects.equals(oldRegion, regionRaw)) {
             channel.setRegion(regionRaw);
             api.handleEvent(new ChannelUpdateRegionEvent(
-                    api, responseNumber, channel, Region.fromKey(oldRegion), Region.fromKey(regionRaw)));
+                    api, getResponseNumber(), channel, Region.fromKey(oldRegion), Region.fromKey(regionRaw)));
         }
     }
 
@@ -524,7 +525,7 @@ public class ChannelUpdateHandler extends SocketHandler {
             channel.setDefaultReaction(
                     content.optObject("default_reaction_emoji").orElse(null));
             getJDA().handleEvent(new ChannelUpdateDefaultReactionEvent(
-                    getJDA(), responseNumber, channel, oldDefaultReaction, defaultReaction));
+                    getJDA(), getResponseNumber(), channel, oldDefaultReaction, defaultReaction));
         }
 
         int sortOrder = content.getInt("default_sort_order", channel.getRawSortOrder());
@@ -533,7 +534,7 @@ public class ChannelUpdateHandler extends SocketHandler {
         if (oldSortOrder != sortOrder) {
             channel.setDefaultSortOrder(sortOrder);
             getJDA().handleEvent(new ChannelUpdateDefaultSortOrderEvent(
-                    getJDA(), responseNumber, channel, IPostContainer.SortOrder.fromKey(oldSortOrder)));
+                    getJDA(), getResponseNumber(), channel, IPostContainer.SortOrder.fromKey(oldSortOrder)));
         }
 
         int newFlags = content.getInt("flags", 0);
@@ -542,7 +543,11 @@ public class ChannelUpdateHandler extends SocketHandler {
         if (oldFlags != newFlags) {
             channel.setFlags(newFlags);
             getJDA().handleEvent(new ChannelUpdateFlagsEvent(
-                    getJDA(), responseNumber, channel, ChannelFlag.fromRaw(oldFlags), ChannelFlag.fromRaw(newFlags)));
+                    getJDA(),
+                    getResponseNumber(),
+                    channel,
+                    ChannelFlag.fromRaw(oldFlags),
+                    ChannelFlag.fromRaw(newFlags)));
         }
     }
 }
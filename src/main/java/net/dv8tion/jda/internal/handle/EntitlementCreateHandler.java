@@ -28,7 +28,7 @@ public class EntitlementCreateHandler extends SocketHandler {
     @Override
     protected Long handleInternally(DataObject content) {
         getJDA().handleEvent(new EntitlementCreateEvent(
-                getJDA(), responseNumber, getJDA().getEntityBuilder().createEntitlement(content)));
+                getJDA(), getResponseNumber(), getJDA().getEntityBuilder().createEntitlement(content)));
         return null;
     }
 }
@@ -28,7 +28,7 @@ public class EntitlementDeleteHandler extends SocketHandler {
     @Override
     protected Long handleInternally(DataObject content) {
         getJDA().handleEvent(new EntitlementDeleteEvent(
-                getJDA(), responseNumber, getJDA().getEntityBuilder().createEntitlement(content)));
+                getJDA(), getResponseNumber(), getJDA().getEntityBuilder().createEntitlement(content)));
         return null;
     }
 }
@@ -28,7 +28,7 @@ public class EntitlementUpdateHandler extends SocketHandler {
     @Override
     protected Long handleInternally(DataObject content) {
         getJDA().handleEvent(new EntitlementUpdateEvent(
-                getJDA(), responseNumber, getJDA().getEntityBuilder().createEntitlement(content)));
+                getJDA(), getResponseNumber(), getJDA().getEntityBuilder().createEntitlement(content)));
         return null;
     }
 }
@@ -16,11 +16,11 @@
 
 package net.dv8tion.jda.internal.handle;
 
-import gnu.trove.iterator.TLongObjectIterator;
 import gnu.trove.map.TLongObjectMap;
 import gnu.trove.map.hash.TLongObjectHashMap;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.utils.CacheConsumer;
+import net.dv8tion.jda.internal.utils.Checks;
 import net.dv8tion.jda.internal.utils.JDALogger;
 import org.slf4j.Logger;
 
@@ -28,103 +28,318 @@ import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Holds back events for entities which are not cached yet, until the entity is created or the event times out.
+ *
+ * <p>The events are striped by their trigger id, so lookups for different entities do not contend on the same lock.
+ * Lookups on an empty cache, which is the common case, do not lock at all.
+ * All cached events are also kept in a ring buffer in the order they were cached, which is used to time out
+ * the oldest events without iterating the entire cache.
+ * The number of cached events is limited to {@link #DEFAULT_MAX_SIZE}, once the limit is reached the oldest event is dropped.
+ */
 public class EventCache {
     public static final Logger LOG = JDALogger.getLog(EventCache.class);
     /** Sequence difference after which events will be removed from cache */
     public static final long TIMEOUT_AMOUNT = 100;
+    /** Maximum number of cached events */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private static final int STRIPES = 16;
+    private static final int INITIAL_CAPACITY = 64;
 
-    private final EnumMap<Type, TLongObjectMap<List<CacheNode>>> eventCache = new EnumMap<>(Type.class);
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final int maxSize;
 
-    public EventCache() {}
+    // Age index of the cached events, in the order they were cached
+    private final ReentrantLock ringLock = new ReentrantLock();
+    private CacheNode[] ring = new CacheNode[INITIAL_CAPACITY];
+    private long head = 0;
+    private long tail = 0;
+
+    public EventCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
 
-    public synchronized void timeout(long responseTotal) {
-        if (eventCache.isEmpty()) {
+    public EventCache(int maxSize) {
+        Checks.positive(maxSize, "Max size");
+        this.maxSize = maxSize;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public void timeout(long responseTotal) {
+        if (size.get() == 0) {
             return;
         }
-        AtomicInteger count = new AtomicInteger();
-        eventCache.forEach((type, map) -> {
-            if (map.isEmpty()) {
-                return;
-            }
-            TLongObjectIterator<List<CacheNode>> iterator = map.iterator();
-            while (iterator.hasNext()) {
-                iterator.advance();
-                long triggerId = iterator.key();
-                List<CacheNode> cache = iterator.value();
-                // Remove when this node is more than 100 events ago
-                cache.removeIf(node -> {
-                    boolean remove = responseTotal - node.responseTotal > TIMEOUT_AMOUNT;
-                    if (remove) {
-                        count.incrementAndGet();
-                        LOG.trace("Removing type {}/{} from event cache with payload {}", type, triggerId, node.event);
-                    }
-                    return remove;
-                });
-                if (cache.isEmpty()) {
-                    iterator.remove();
+
+        int count = 0;
+        ringLock.lock();
+        try {
+            while (head < tail) {
+                int index = getIndex(head);
+                CacheNode node = ring[index];
+                // Events are cached in order, so every following event is more recent
+                if (node != null && !node.removed && responseTotal - node.responseTotal <= TIMEOUT_AMOUNT) {
+                    break;
+                }
+                ring[index] = null;
+                head++;
+                if (node != null && remove(node)) {
+                    count++;
+                    LOG.trace(
+                            "Removing type {}/{} from event cache with payload {}",
+                            node.type,
+                            node.triggerId,
+                            node.event);
                 }
             }
-        });
-        int amount = count.get();
-        if (amount > 0) {
-            LOG.debug("Removed {} events from cache that were too old to be recycled", amount);
+        } finally {
+            ringLock.unlock();
+        }
+
+        if (count > 0) {
+            LOG.debug("Removed {} events from cache that were too old to be recycled", count);
         }
     }
 
-    public synchronized void cache(
-            Type type, long triggerId, long responseTotal, DataObject event, CacheConsumer handler) {
-        TLongObjectMap<List<CacheNode>> triggerCache =
-                eventCache.computeIfAbsent(type, k -> new TLongObjectHashMap<>());
+    public void cache(Type type, long triggerId, long responseTotal, DataObject event, CacheConsumer handler) {
+        CacheNode node = new CacheNode(type, triggerId, responseTotal, event, handler);
+        Stripe stripe = getStripe(type, triggerId);
 
-        List<CacheNode> items = triggerCache.get(triggerId);
-        if (items == null) {
-            items = new ArrayList<>();
-            triggerCache.put(triggerId, items);
-        }
+        ringLock.lock();
+        try {
+            if (size.get() >= maxSize) {
+                dropOldest();
+            }
 
-        items.add(new CacheNode(responseTotal, event, handler));
+            stripe.lock.lock();
+            try {
+                stripe.add(node);
+                size.incrementAndGet();
+            } finally {
+                stripe.lock.unlock();
+            }
+            append(node);
+        } finally {
+            ringLock.unlock();
+        }
     }
 
-    public synchronized void playbackCache(Type type, long triggerId) {
-        TLongObjectMap<List<CacheNode>> typeCache = this.eventCache.get(type);
-        if (typeCache == null) {
+    public void playbackCache(Type type, long triggerId) {
+        // Fast path, this is called for every created member and channel
+        if (size.get() == 0) {
             return;
         }
 
-        List<CacheNode> items = typeCache.remove(triggerId);
+        Stripe stripe = getStripe(type, triggerId);
+        List<CacheNode> items;
+        stripe.lock.lock();
+        try {
+            items = stripe.remove(type, triggerId);
+        } finally {
+            stripe.lock.unlock();
+        }
+
         if (items != null && !items.isEmpty()) {
             EventCache.LOG.debug(
                     "Replaying {} events from the EventCache for type {} with id: {}", items.size(), type, triggerId);
+            // The handlers are called without holding a lock, as they might cache the event again
             for (CacheNode item : items) {
                 item.execute();
             }
         }
     }
 
-    public synchronized int size() {
-        return (int) eventCache.values().stream()
-                .mapToLong(typeMap ->
-                        typeMap.valueCollection().stream().mapToLong(List::size).sum())
-                .sum();
+    public int size() {
+        return size.get();
     }
 
-    public synchronized void clear() {
-        eventCache.clear();
+    /**
+     * The number of events which were dropped, because the cache was full.
+     *
+     * @return The number of dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.get();
     }
 
-    public synchronized void clear(Type type, long id) {
-        TLongObjectMap<List<CacheNode>> typeCache = this.eventCache.get(type);
-        if (typeCache == null) {
+    public void clear() {
+        ringLock.lock();
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    size.addAndGet(-stripe.clear());
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            ring = new CacheNode[INITIAL_CAPACITY];
+            head = tail = 0;
+        } finally {
+            ringLock.unlock();
+        }
+    }
+
+    public void clear(Type type, long id) {
+        if (size.get() == 0) {
             return;
         }
 
-        List<CacheNode> events = typeCache.remove(id);
+        Stripe stripe = getStripe(type, id);
+        List<CacheNode> events;
+        stripe.lock.lock();
+        try {
+            events = stripe.remove(type, id);
+        } finally {
+            stripe.lock.unlock();
+        }
+
         if (events != null) {
             LOG.debug("Clearing cache for type {} with ID {} (Size: {})", type, id, events.size());
         }
     }
 
+    // Requires the ring lock
+    private void dropOldest() {
+        while (head < tail) {
+            int index = getIndex(head);
+            CacheNode node = ring[index];
+            ring[index] = null;
+            head++;
+            if (node != null && remove(node)) {
+                long count = dropped.incrementAndGet();
+                if (count == 1) {
+                    LOG.warn(
+                            "The event cache reached its limit of {} events, the oldest events are dropped. "
+                                    + "This usually means that JDA is missing entities in its cache",
+                            maxSize);
+                }
+                LOG.debug("Dropped type {}/{} from full event cache", node.type, node.triggerId);
+                return;
+            }
+        }
+    }
+
+    // Requires the ring lock
+    private void append(CacheNode node) {
+        if (tail - head == ring.length) {
+            compact();
+        }
+        ring[getIndex(tail)] = node;
+        tail++;
+    }
+
+    // Requires the ring lock, removes events which are no longer cached and grows the ring if it is still full
+    private void compact() {
+        List<CacheNode> nodes = new ArrayList<>(ring.length);
+        for (long i = head; i < tail; i++) {
+            CacheNode node = ring[getIndex(i)];
+            if (node != null && !node.removed) {
+                nodes.add(node);
+            }
+        }
+
+        // This also shrinks the ring once a burst of events was played back
+        int capacity = INITIAL_CAPACITY;
+        while (nodes.size() * 2 > capacity) {
+            capacity *= 2;
+        }
+        CacheNode[] resized = new CacheNode[capacity];
+        for (int i = 0; i < nodes.size(); i++) {
+            resized[i] = nodes.get(i);
+        }
+        ring = resized;
+        head = 0;
+        tail = nodes.size();
+    }
+
+    private int getIndex(long position) {
+        return (int) (position & (ring.length - 1));
+    }
+
+    private boolean remove(CacheNode node) {
+        Stripe stripe = getStripe(node.type, node.triggerId);
+        stripe.lock.lock();
+        try {
+            return stripe.remove(node);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe getStripe(Type type, long triggerId) {
+        long hash = triggerId * 0x9E3779B97F4A7C15L;
+        int index = (int) (hash >>> 32) ^ type.ordinal();
+        return stripes[index & (STRIPES - 1)];
+    }
+
+    private class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final EnumMap<Type, TLongObjectMap<List<CacheNode>>> eventCache = new EnumMap<>(Type.class);
+
+        private void add(CacheNode node) {
+            TLongObjectMap<List<CacheNode>> triggerCache =
+                    eventCache.computeIfAbsent(node.type, k -> new TLongObjectHashMap<>());
+
+            List<CacheNode> items = triggerCache.get(node.triggerId);
+            if (items == null) {
+                items = new ArrayList<>();
+                triggerCache.put(node.triggerId, items);
+            }
+
+            items.add(node);
+        }
+
+        private List<CacheNode> remove(Type type, long triggerId) {
+            TLongObjectMap<List<CacheNode>> typeCache = eventCache.get(type);
+            if (typeCache == null) {
+                return null;
+            }
+
+            List<CacheNode> items = typeCache.remove(triggerId);
+            if (items != null) {
+                items.forEach(node -> node.removed = true);
+                size.addAndGet(-items.size());
+            }
+            return items;
+        }
+
+        private boolean remove(CacheNode node) {
+            if (node.removed) {
+                return false;
+            }
+
+            TLongObjectMap<List<CacheNode>> typeCache = eventCache.get(node.type);
+            List<CacheNode> items = typeCache.get(node.triggerId);
+            items.remove(node);
+            if (items.isEmpty()) {
+                typeCache.remove(node.triggerId);
+            }
+            node.removed = true;
+            size.decrementAndGet();
+            return true;
+        }
+
+        private int clear() {
+            int count = 0;
+            for (TLongObjectMap<List<CacheNode>> typeCache : eventCache.values()) {
+                for (List<CacheNode> items : typeCache.valueCollection()) {
+                    items.forEach(node -> node.removed = true);
+                    count += items.size();
+                }
+            }
+            eventCache.clear();
+            return count;
+        }
+    }
+
     public enum Type {
         USER,
         MEMBER,
@@ -138,11 +353,17 @@ public class EventCache {
     }
 
     private static class CacheNode {
+        private final Type type;
+        private final long triggerId;
         private final long responseTotal;
         private final DataObject event;
         private final CacheConsumer callback;
+        // Written with the lock of the stripe, read without it to skip removed events in the ring
+        private volatile boolean removed = false;
 
-        public CacheNode(long responseTotal, DataObject event, CacheConsumer callback) {
+        public CacheNode(Type type, long triggerId, long responseTotal, DataObject event, CacheConsumer callback) {
+            this.type = type;
+            this.triggerId = triggerId;
             this.responseTotal = responseTotal;
             this.event = event;
             this.callback = callback;
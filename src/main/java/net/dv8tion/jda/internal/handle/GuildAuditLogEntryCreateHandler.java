@@ -36,14 +36,14 @@ public class GuildAuditLogEntryCreateHandler extends SocketHandler {
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(id);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, id, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, id);
             EventCache.LOG.debug("Received Guild Audit Log Create event for a Guild not yet cached. GuildId: {}", id);
             return null;
         }
 
         AuditLogEntry entry = api.getEntityBuilder().createAuditLogEntry(guild, content, null, null);
 
-        api.handleEvent(new GuildAuditLogEntryCreateEvent(api, responseNumber, entry));
+        api.handleEvent(new GuildAuditLogEntryCreateEvent(api, getResponseNumber(), entry));
 
         return null;
     }
@@ -41,7 +41,7 @@ public class GuildBanHandler extends SocketHandler {
         DataObject userJson = content.getObject("user");
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(id);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, id, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, id);
             EventCache.LOG.debug(
                     "Received Guild Member {} event for a Guild not yet cached.", banned ? "Ban" : "Unban");
             return null;
@@ -50,9 +50,9 @@ public class GuildBanHandler extends SocketHandler {
         User user = getJDA().getEntityBuilder().createUser(userJson);
 
         if (banned) {
-            getJDA().handleEvent(new GuildBanEvent(getJDA(), responseNumber, guild, user));
+            getJDA().handleEvent(new GuildBanEvent(getJDA(), getResponseNumber(), guild, user));
         } else {
-            getJDA().handleEvent(new GuildUnbanEvent(getJDA(), responseNumber, guild, user));
+            getJDA().handleEvent(new GuildUnbanEvent(getJDA(), getResponseNumber(), guild, user));
         }
         return null;
     }
@@ -18,6 +18,7 @@ package net.dv8tion.jda.internal.handle;
 
 import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
 import net.dv8tion.jda.api.events.guild.GuildUnavailableEvent;
+import net.dv8tion.jda.api.requests.Route;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.entities.GuildImpl;
@@ -31,6 +32,10 @@ public class GuildDeleteHandler extends SocketHandler {
     @Override
     protected Long handleInternally(DataObject content) {
         long id = content.getLong("id");
+        String guildId = Long.toUnsignedString(id);
+        // The prefix does not match the guild route itself, which has no trailing slash
+        getJDA().getRequester().invalidateResponse(Route.Guilds.GET_GUILD, guildId);
+        getJDA().getRequester().invalidateResponses("guilds/" + guildId + "/");
         GuildSetupController setupController = getJDA().getGuildSetupController();
         boolean wasInit = setupController.onDelete(id, content);
         if (wasInit || setupController.isUnavailable(id)) {
@@ -60,9 +65,9 @@ public class GuildDeleteHandler extends SocketHandler {
 
         if (unavailable) {
             setupController.onUnavailable(id);
-            getJDA().handleEvent(new GuildUnavailableEvent(getJDA(), responseNumber, guild));
+            getJDA().handleEvent(new GuildUnavailableEvent(getJDA(), getResponseNumber(), guild));
         } else {
-            getJDA().handleEvent(new GuildLeaveEvent(getJDA(), responseNumber, guild));
+            getJDA().handleEvent(new GuildLeaveEvent(getJDA(), getResponseNumber(), guild));
         }
         getJDA().getEventCache().clear(EventCache.Type.GUILD, id);
         return null;
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.handle;
+
+import net.dv8tion.jda.internal.utils.concurrent.OrderedExecutor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Handles guild scoped dispatches of a shard in parallel, while keeping the order of dispatches for each guild.
+ *
+ * <p>Dispatches of the same guild always run on the same lane of an {@link OrderedExecutor},
+ * which makes the lane the lock for the cache of that guild. All other dispatches are handled by the gateway thread,
+ * which first has to {@link #awaitIdle() wait} for the parallel dispatches to finish.
+ * This keeps the order between guild scoped dispatches and any dispatch which could touch multiple guilds,
+ * like guild deletes or user updates.
+ */
+public class GuildDispatcher {
+    /**
+     * The high volume dispatch types, which only modify the cache of their guild.
+     */
+    public static final Set<String> PARALLEL_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "MESSAGE_CREATE",
+            "MESSAGE_UPDATE",
+            "MESSAGE_DELETE",
+            "MESSAGE_REACTION_ADD",
+            "MESSAGE_REACTION_REMOVE",
+            "PRESENCE_UPDATE",
+            "TYPING_START")));
+
+    private static final long TERMINATION_POLL_MS = 100;
+
+    private final ExecutorService pool;
+    private final OrderedExecutor executor;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object idleLock = new Object();
+
+    public GuildDispatcher(@Nonnull ExecutorService pool) {
+        this.pool = pool;
+        this.executor = new OrderedExecutor(pool, OrderedExecutor.DEFAULT_LANES);
+    }
+
+    public static boolean isParallel(@Nonnull String type) {
+        return PARALLEL_TYPES.contains(type);
+    }
+
+    /**
+     * Runs the dispatch after all previously submitted dispatches of the same guild.
+     *
+     * @param guildId
+     *        The id of the guild this dispatch belongs to
+     * @param task
+     *        The task handling the dispatch
+     */
+    public void execute(long guildId, @Nonnull Runnable task) {
+        pending.incrementAndGet();
+        executor.execute(guildId, () -> {
+            try {
+                task.run();
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    synchronized (idleLock) {
+                        idleLock.notifyAll();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * The number of dispatches which were submitted, but did not finish yet.
+     *
+     * @return The number of pending dispatches
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Blocks until all submitted dispatches have finished.
+     * <br>Returns early if the thread is interrupted, the interrupt flag is kept,
+     * or if the pool was terminated, in which case the remaining dispatches are never handled.
+     */
+    public void awaitIdle() {
+        if (pending.get() == 0) {
+            return;
+        }
+
+        synchronized (idleLock) {
+            while (pending.get() != 0 && !pool.isTerminated()) {
+                try {
+                    // Dispatches dropped by a forced shutdown never signal, so the pool state is polled
+                    idleLock.wait(TERMINATION_POLL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -42,17 +42,19 @@ public class GuildEmojisUpdateHandler extends SocketHandler {
 
     @Override
     protected Long handleInternally(DataObject content) {
+        long guildId = content.getLong("guild_id");
+        // Covers the emoji list and individual emojis of this guild
+        getJDA().getRequester().invalidateResponses("guilds/" + Long.toUnsignedString(guildId) + "/emojis");
         if (!getJDA().isCacheFlagSet(CacheFlag.EMOJI)) {
             return null;
         }
-        long guildId = content.getLong("guild_id");
         if (getJDA().getGuildSetupController().isLocked(guildId)) {
             return guildId;
         }
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -111,11 +113,11 @@ public class GuildEmojisUpdateHandler extends SocketHandler {
         }
         // cleanup old emojis that don't exist anymore
         for (RichCustomEmoji e : oldEmojis) {
-            getJDA().handleEvent(new EmojiRemovedEvent(getJDA(), responseNumber, e));
+            getJDA().handleEvent(new EmojiRemovedEvent(getJDA(), getResponseNumber(), e));
         }
 
         for (RichCustomEmoji e : newEmojis) {
-            getJDA().handleEvent(new EmojiAddedEvent(getJDA(), responseNumber, e));
+            getJDA().handleEvent(new EmojiAddedEvent(getJDA(), getResponseNumber(), e));
         }
 
         return null;
@@ -127,11 +129,12 @@ public class GuildEmojisUpdateHandler extends SocketHandler {
         }
 
         if (!Objects.equals(oldEmoji.getName(), newEmoji.getName())) {
-            getJDA().handleEvent(new EmojiUpdateNameEvent(getJDA(), responseNumber, newEmoji, oldEmoji.getName()));
+            getJDA().handleEvent(new EmojiUpdateNameEvent(getJDA(), getResponseNumber(), newEmoji, oldEmoji.getName()));
         }
 
         if (!CollectionUtils.isEqualCollection(oldEmoji.getRoles(), newEmoji.getRoles())) {
-            getJDA().handleEvent(new EmojiUpdateRolesEvent(getJDA(), responseNumber, newEmoji, oldEmoji.getRoles()));
+            getJDA().handleEvent(new EmojiUpdateRolesEvent(
+                    getJDA(), getResponseNumber(), newEmoji, oldEmoji.getRoles()));
         }
     }
 }
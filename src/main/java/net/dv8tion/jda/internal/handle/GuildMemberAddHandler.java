@@ -38,7 +38,7 @@ public class GuildMemberAddHandler extends SocketHandler {
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(id);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, id, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, id);
             EventCache.LOG.debug("Caching member for guild that is not yet cached. Guild ID: {} JSON: {}", id, content);
             return null;
         }
@@ -47,7 +47,7 @@ public class GuildMemberAddHandler extends SocketHandler {
         guild.onMemberAdd();
         MemberImpl member = getJDA().getEntityBuilder().createMember(guild, content);
         getJDA().getEntityBuilder().updateMemberCache(member);
-        getJDA().handleEvent(new GuildMemberJoinEvent(getJDA(), responseNumber, member));
+        getJDA().handleEvent(new GuildMemberJoinEvent(getJDA(), getResponseNumber(), member));
         return null;
     }
 }
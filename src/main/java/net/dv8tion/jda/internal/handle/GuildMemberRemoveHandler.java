@@ -20,6 +20,7 @@ import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.entities.channel.middleman.AudioChannel;
 import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
 import net.dv8tion.jda.api.events.guild.voice.GuildVoiceUpdateEvent;
+import net.dv8tion.jda.api.requests.Route;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.entities.GuildImpl;
@@ -37,6 +38,11 @@ public class GuildMemberRemoveHandler extends SocketHandler {
     @Override
     protected Long handleInternally(DataObject content) {
         long id = content.getLong("guild_id");
+        getJDA().getRequester()
+                .invalidateResponse(
+                        Route.Guilds.GET_MEMBER,
+                        Long.toUnsignedString(id),
+                        content.getObject("user").getString("id"));
         boolean setup = getJDA().getGuildSetupController().onRemoveMember(id, content);
         if (setup) {
             return null;
@@ -67,7 +73,7 @@ public class GuildMemberRemoveHandler extends SocketHandler {
                 voiceState.updateConnectedChannel(null);
 
                 getJDA().handleEvent(new GuildVoiceUpdateEvent(
-                        getJDA(), responseNumber,
+                        getJDA(), getResponseNumber(),
                         voiceState.getMember(), channel));
             }
 
@@ -82,7 +88,7 @@ public class GuildMemberRemoveHandler extends SocketHandler {
             }
 
             // Cache independent event
-            getJDA().handleEvent(new GuildMemberRemoveEvent(getJDA(), responseNumber, guild, user, member));
+            getJDA().handleEvent(new GuildMemberRemoveEvent(getJDA(), getResponseNumber(), guild, user, member));
             return null;
         } finally {
             // Reduce member count and remove dependent caches
@@ -18,6 +18,7 @@ package net.dv8tion.jda.internal.handle;
 
 import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.events.guild.member.GuildMemberUpdateEvent;
+import net.dv8tion.jda.api.requests.Route;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
@@ -36,6 +37,9 @@ public class GuildMemberUpdateHandler extends SocketHandler {
     @Override
     protected Long handleInternally(DataObject content) {
         long id = content.getLong("guild_id");
+        String userIdString = content.getObject("user").getString("id");
+        getJDA().getRequester().invalidateResponse(Route.Guilds.GET_MEMBER, Long.toUnsignedString(id), userIdString);
+        getJDA().getRequester().invalidateResponse(Route.Users.GET_USER, userIdString);
         if (getJDA().getGuildSetupController().isLocked(id)) {
             return id;
         }
@@ -62,7 +66,7 @@ public class GuildMemberUpdateHandler extends SocketHandler {
         }
 
         getJDA().getEntityBuilder().updateMemberCache(member);
-        getJDA().handleEvent(new GuildMemberUpdateEvent(getJDA(), responseNumber, member));
+        getJDA().handleEvent(new GuildMemberUpdateEvent(getJDA(), getResponseNumber(), member));
         return null;
     }
 
@@ -74,7 +78,7 @@ public class GuildMemberUpdateHandler extends SocketHandler {
             if (r != null) {
                 roles.add(r);
             } else {
-                getJDA().getEventCache().cache(EventCache.Type.ROLE, id, responseNumber, allContent, this::handle);
+                cacheEvent(EventCache.Type.ROLE, id);
                 EventCache.LOG.debug("Got GuildMember update but one of the Roles for the Member is not yet cached.");
                 return null;
             }
@@ -37,13 +37,13 @@ public class GuildRoleCreateHandler extends SocketHandler {
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             EventCache.LOG.debug("GUILD_ROLE_CREATE was received for a Guild that is not yet cached: {}", content);
             return null;
         }
 
         Role newRole = getJDA().getEntityBuilder().createRole(guild, content.getObject("role"), guild.getIdLong());
-        getJDA().handleEvent(new RoleCreateEvent(getJDA(), responseNumber, newRole));
+        getJDA().handleEvent(new RoleCreateEvent(getJDA(), getResponseNumber(), newRole));
         return null;
     }
 }
@@ -40,7 +40,7 @@ public class GuildRoleDeleteHandler extends SocketHandler {
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             EventCache.LOG.debug("GUILD_ROLE_DELETE was received for a Guild that is not yet cached: {}", content);
             return null;
         }
@@ -69,7 +69,7 @@ public class GuildRoleDeleteHandler extends SocketHandler {
             impl.getRoleSet().remove(removedRole);
         }
 
-        getJDA().handleEvent(new RoleDeleteEvent(getJDA(), responseNumber, removedRole));
+        getJDA().handleEvent(new RoleDeleteEvent(getJDA(), getResponseNumber(), removedRole));
         getJDA().getEventCache().clear(EventCache.Type.ROLE, roleId);
         return null;
     }
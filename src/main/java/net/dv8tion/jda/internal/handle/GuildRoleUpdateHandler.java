@@ -42,7 +42,7 @@ public class GuildRoleUpdateHandler extends SocketHandler {
         DataObject rolejson = content.getObject("role");
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             EventCache.LOG.debug("Received a Role Update for a Guild that is not yet cached: {}", content);
             return null;
         }
@@ -50,7 +50,7 @@ public class GuildRoleUpdateHandler extends SocketHandler {
         long roleId = rolejson.getLong("id");
         RoleImpl role = (RoleImpl) guild.getRolesView().get(roleId);
         if (role == null) {
-            getJDA().getEventCache().cache(EventCache.Type.ROLE, roleId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.ROLE, roleId);
             EventCache.LOG.debug("Received a Role Update for Role that is not yet cached: {}", content);
             return null;
         }
@@ -70,19 +70,19 @@ public class GuildRoleUpdateHandler extends SocketHandler {
         if (!Objects.equals(name, role.getName())) {
             String oldName = role.getName();
             role.setName(name);
-            getJDA().handleEvent(new RoleUpdateNameEvent(getJDA(), responseNumber, role, oldName));
+            getJDA().handleEvent(new RoleUpdateNameEvent(getJDA(), getResponseNumber(), role, oldName));
         }
         if (!colors.equals(role.getColors())) {
             RoleColors oldColors = role.getColors();
             role.setPrimaryColor(colors.getPrimaryRaw());
             role.setSecondaryColor(colors.getSecondaryRaw());
             role.setTertiaryColor(colors.getTertiaryRaw());
-            getJDA().handleEvent(new RoleUpdateColorsEvent(getJDA(), responseNumber, role, oldColors));
+            getJDA().handleEvent(new RoleUpdateColorsEvent(getJDA(), getResponseNumber(), role, oldColors));
 
             if (oldColors.getPrimaryRaw() != colors.getPrimaryRaw()) {
                 @SuppressWarnings("deprecation")
                 RoleUpdateColorEvent event =
-                        new RoleUpdateColorEvent(getJDA(), responseNumber, role, oldColors.getPrimaryRaw());
+                        new RoleUpdateColorEvent(getJDA(), getResponseNumber(), role, oldColors.getPrimaryRaw());
                 getJDA().handleEvent(event);
             }
         }
@@ -90,31 +90,32 @@ public class GuildRoleUpdateHandler extends SocketHandler {
             int oldPosition = role.getPosition();
             int oldPositionRaw = role.getPositionRaw();
             role.setRawPosition(position);
-            getJDA().handleEvent(
-                            new RoleUpdatePositionEvent(getJDA(), responseNumber, role, oldPosition, oldPositionRaw));
+            getJDA().handleEvent(new RoleUpdatePositionEvent(
+                    getJDA(), getResponseNumber(), role, oldPosition, oldPositionRaw));
         }
         if (permissions != role.getPermissionsRaw()) {
             long oldPermissionsRaw = role.getPermissionsRaw();
             role.setRawPermissions(permissions);
-            getJDA().handleEvent(new RoleUpdatePermissionsEvent(getJDA(), responseNumber, role, oldPermissionsRaw));
+            getJDA().handleEvent(new RoleUpdatePermissionsEvent(
+                    getJDA(), getResponseNumber(), role, oldPermissionsRaw));
         }
 
         if (hoisted != role.isHoisted()) {
             boolean wasHoisted = role.isHoisted();
             role.setHoisted(hoisted);
-            getJDA().handleEvent(new RoleUpdateHoistedEvent(getJDA(), responseNumber, role, wasHoisted));
+            getJDA().handleEvent(new RoleUpdateHoistedEvent(getJDA(), getResponseNumber(), role, wasHoisted));
         }
         if (mentionable != role.isMentionable()) {
             boolean wasMentionable = role.isMentionable();
             role.setMentionable(mentionable);
-            getJDA().handleEvent(new RoleUpdateMentionableEvent(getJDA(), responseNumber, role, wasMentionable));
+            getJDA().handleEvent(new RoleUpdateMentionableEvent(getJDA(), getResponseNumber(), role, wasMentionable));
         }
 
         RoleIcon oldIcon = role.getIcon();
         RoleIcon newIcon = iconId == null && emoji == null ? null : new RoleIcon(iconId, emoji, roleId);
         if (!Objects.equals(oldIcon, newIcon)) {
             role.setIcon(newIcon);
-            getJDA().handleEvent(new RoleUpdateIconEvent(getJDA(), responseNumber, role, oldIcon));
+            getJDA().handleEvent(new RoleUpdateIconEvent(getJDA(), getResponseNumber(), role, oldIcon));
         }
         return null;
     }
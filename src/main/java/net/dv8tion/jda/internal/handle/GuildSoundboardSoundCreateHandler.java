@@ -42,7 +42,7 @@ public class GuildSoundboardSoundCreateHandler extends SocketHandler {
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -52,7 +52,7 @@ public class GuildSoundboardSoundCreateHandler extends SocketHandler {
             soundboardSoundsView.getMap().put(soundboardSound.getIdLong(), soundboardSound);
         }
 
-        api.handleEvent(new SoundboardSoundCreateEvent(api, responseNumber, soundboardSound));
+        api.handleEvent(new SoundboardSoundCreateEvent(api, getResponseNumber(), soundboardSound));
 
         return null;
     }
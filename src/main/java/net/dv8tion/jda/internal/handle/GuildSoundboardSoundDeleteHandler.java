@@ -42,7 +42,7 @@ public class GuildSoundboardSoundDeleteHandler extends SocketHandler {
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -53,7 +53,7 @@ public class GuildSoundboardSoundDeleteHandler extends SocketHandler {
         }
 
         if (removedSound != null) {
-            api.handleEvent(new SoundboardSoundDeleteEvent(api, responseNumber, removedSound));
+            api.handleEvent(new SoundboardSoundDeleteEvent(api, getResponseNumber(), removedSound));
         }
 
         return null;
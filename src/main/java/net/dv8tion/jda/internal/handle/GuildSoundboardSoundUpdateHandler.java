@@ -46,7 +46,7 @@ public class GuildSoundboardSoundUpdateHandler extends SocketHandler {
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -54,8 +54,7 @@ public class GuildSoundboardSoundUpdateHandler extends SocketHandler {
         long soundId = content.getLong("sound_id");
         SoundboardSound oldSoundboardSound = soundboardSoundsView.get(soundId);
         if (oldSoundboardSound == null) {
-            getJDA().getEventCache()
-                    .cache(EventCache.Type.SOUNDBOARD_SOUND, soundId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.SOUNDBOARD_SOUND, soundId);
             EventCache.LOG.debug(
                     "Received a Guild Soundboard Sound Update for SoundboardSound that is not yet cached: {}", content);
             return null;
@@ -68,17 +67,17 @@ public class GuildSoundboardSoundUpdateHandler extends SocketHandler {
 
         if (!Objects.equals(oldSoundboardSound.getName(), soundboardSound.getName())) {
             api.handleEvent(new SoundboardSoundUpdateNameEvent(
-                    api, responseNumber, soundboardSound, oldSoundboardSound.getName()));
+                    api, getResponseNumber(), soundboardSound, oldSoundboardSound.getName()));
         }
 
         if (oldSoundboardSound.getVolume() != soundboardSound.getVolume()) {
             api.handleEvent(new SoundboardSoundUpdateVolumeEvent(
-                    api, responseNumber, soundboardSound, oldSoundboardSound.getVolume()));
+                    api, getResponseNumber(), soundboardSound, oldSoundboardSound.getVolume()));
         }
 
         if (!Objects.equals(oldSoundboardSound.getEmoji(), soundboardSound.getEmoji())) {
             api.handleEvent(new SoundboardSoundUpdateEmojiEvent(
-                    api, responseNumber, soundboardSound, oldSoundboardSound.getEmoji()));
+                    api, getResponseNumber(), soundboardSound, oldSoundboardSound.getEmoji()));
         }
 
         return null;
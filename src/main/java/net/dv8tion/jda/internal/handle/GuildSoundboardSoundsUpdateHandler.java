@@ -43,7 +43,7 @@ public class GuildSoundboardSoundsUpdateHandler extends SocketHandler {
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -54,7 +54,7 @@ public class GuildSoundboardSoundsUpdateHandler extends SocketHandler {
             payload.put("guild_id", guildId);
 
             soundboardSoundUpdateHandler.handle(
-                    responseNumber,
+                    getResponseNumber(),
                     DataObject.empty().put("t", "GUILD_SOUNDBOARD_SOUND_UPDATE").put("d", payload));
         }
 
@@ -58,7 +58,7 @@ public class GuildStickersUpdateHandler extends SocketHandler {
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -102,11 +102,11 @@ public class GuildStickersUpdateHandler extends SocketHandler {
         }
         // cleanup old stickers that don't exist anymore
         for (GuildSticker e : oldStickers) {
-            getJDA().handleEvent(new GuildStickerRemovedEvent(getJDA(), responseNumber, guild, e));
+            getJDA().handleEvent(new GuildStickerRemovedEvent(getJDA(), getResponseNumber(), guild, e));
         }
 
         for (GuildSticker e : newStickers) {
-            getJDA().handleEvent(new GuildStickerAddedEvent(getJDA(), responseNumber, guild, e));
+            getJDA().handleEvent(new GuildStickerAddedEvent(getJDA(), getResponseNumber(), guild, e));
         }
 
         return null;
@@ -119,22 +119,22 @@ public class GuildStickersUpdateHandler extends SocketHandler {
 
         if (!Objects.equals(oldSticker.getName(), newSticker.getName())) {
             getJDA().handleEvent(new GuildStickerUpdateNameEvent(
-                    getJDA(), responseNumber, guild, newSticker, oldSticker.getName()));
+                    getJDA(), getResponseNumber(), guild, newSticker, oldSticker.getName()));
         }
 
         if (!Objects.equals(oldSticker.getDescription(), newSticker.getDescription())) {
             getJDA().handleEvent(new GuildStickerUpdateDescriptionEvent(
-                    getJDA(), responseNumber, guild, newSticker, oldSticker.getDescription()));
+                    getJDA(), getResponseNumber(), guild, newSticker, oldSticker.getDescription()));
         }
 
         if (oldSticker.isAvailable() != newSticker.isAvailable()) {
             getJDA().handleEvent(new GuildStickerUpdateAvailableEvent(
-                    getJDA(), responseNumber, guild, newSticker, oldSticker.isAvailable()));
+                    getJDA(), getResponseNumber(), guild, newSticker, oldSticker.isAvailable()));
         }
 
         if (!CollectionUtils.isEqualCollection(oldSticker.getTags(), newSticker.getTags())) {
             getJDA().handleEvent(new GuildStickerUpdateTagsEvent(
-                    getJDA(), responseNumber, guild, newSticker, oldSticker.getTags()));
+                    getJDA(), getResponseNumber(), guild, newSticker, oldSticker.getTags()));
         }
     }
 }
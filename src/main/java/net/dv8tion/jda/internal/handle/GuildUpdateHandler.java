@@ -52,7 +52,7 @@ public class GuildUpdateHandler extends SocketHandler {
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(id);
         if (guild == null) {
             EventCache.LOG.debug("Caching GUILD_UPDATE for guild with id: {}", id);
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, id, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, id);
             return null;
         }
 
@@ -124,14 +124,14 @@ public class GuildUpdateHandler extends SocketHandler {
             if (newOwner == null) {
                 WebSocketClient.LOG.debug(
                         "Received {} with owner not in cache. UserId: {} GuildId: {}",
-                        allContent.get("t"),
+                        getAllContent().get("t"),
                         ownerId,
                         id);
             }
             guild.setOwner(newOwner);
             guild.setOwnerId(ownerId);
-            getJDA().handleEvent(
-                            new GuildUpdateOwnerEvent(getJDA(), responseNumber, guild, oldOwner, oldOwnerId, ownerId));
+            getJDA().handleEvent(new GuildUpdateOwnerEvent(
+                    getJDA(), getResponseNumber(), guild, oldOwner, oldOwnerId, ownerId));
         }
         if (systemChannelFlagBitmask != guild.getSystemChannelFlagsRaw()) {
             Set<SystemChannelFlag> oldSystemChannelFlags = guild.getSystemChannelFlags();
@@ -139,139 +139,141 @@ public class GuildUpdateHandler extends SocketHandler {
                     Collections.unmodifiableSet(SystemChannelFlag.getFlags(systemChannelFlagBitmask));
             guild.setSystemChannelFlags(systemChannelFlagBitmask);
             getJDA().handleEvent(new GuildUpdateSystemChannelFlagsEvent(
-                    getJDA(), responseNumber, guild, oldSystemChannelFlags, systemChannelFlags));
+                    getJDA(), getResponseNumber(), guild, oldSystemChannelFlags, systemChannelFlags));
         }
         if (!Objects.equals(description, guild.getDescription())) {
             String oldDescription = guild.getDescription();
             guild.setDescription(description);
-            getJDA().handleEvent(new GuildUpdateDescriptionEvent(getJDA(), responseNumber, guild, oldDescription));
+            getJDA().handleEvent(new GuildUpdateDescriptionEvent(getJDA(), getResponseNumber(), guild, oldDescription));
         }
         if (!Objects.equals(bannerId, guild.getBannerId())) {
             String oldBanner = guild.getBannerId();
             guild.setBannerId(bannerId);
-            getJDA().handleEvent(new GuildUpdateBannerEvent(getJDA(), responseNumber, guild, oldBanner));
+            getJDA().handleEvent(new GuildUpdateBannerEvent(getJDA(), getResponseNumber(), guild, oldBanner));
         }
         if (!Objects.equals(vanityCode, guild.getVanityCode())) {
             String oldCode = guild.getVanityCode();
             guild.setVanityCode(vanityCode);
-            getJDA().handleEvent(new GuildUpdateVanityCodeEvent(getJDA(), responseNumber, guild, oldCode));
+            getJDA().handleEvent(new GuildUpdateVanityCodeEvent(getJDA(), getResponseNumber(), guild, oldCode));
         }
         if (maxMembers != guild.getMaxMembers()) {
             int oldMax = guild.getMaxMembers();
             guild.setMaxMembers(maxMembers);
-            getJDA().handleEvent(new GuildUpdateMaxMembersEvent(getJDA(), responseNumber, guild, oldMax));
+            getJDA().handleEvent(new GuildUpdateMaxMembersEvent(getJDA(), getResponseNumber(), guild, oldMax));
         }
         if (maxPresences != guild.getMaxPresences()) {
             int oldMax = guild.getMaxPresences();
             guild.setMaxPresences(maxPresences);
-            getJDA().handleEvent(new GuildUpdateMaxPresencesEvent(getJDA(), responseNumber, guild, oldMax));
+            getJDA().handleEvent(new GuildUpdateMaxPresencesEvent(getJDA(), getResponseNumber(), guild, oldMax));
         }
         if (boostCount != guild.getBoostCount()) {
             int oldCount = guild.getBoostCount();
             guild.setBoostCount(boostCount);
-            getJDA().handleEvent(new GuildUpdateBoostCountEvent(getJDA(), responseNumber, guild, oldCount));
+            getJDA().handleEvent(new GuildUpdateBoostCountEvent(getJDA(), getResponseNumber(), guild, oldCount));
         }
         if (Guild.BoostTier.fromKey(boostTier) != guild.getBoostTier()) {
             Guild.BoostTier oldTier = guild.getBoostTier();
             guild.setBoostTier(boostTier);
-            getJDA().handleEvent(new GuildUpdateBoostTierEvent(getJDA(), responseNumber, guild, oldTier));
+            getJDA().handleEvent(new GuildUpdateBoostTierEvent(getJDA(), getResponseNumber(), guild, oldTier));
         }
         if (!Objects.equals(name, guild.getName())) {
             String oldName = guild.getName();
             guild.setName(name);
-            getJDA().handleEvent(new GuildUpdateNameEvent(getJDA(), responseNumber, guild, oldName));
+            getJDA().handleEvent(new GuildUpdateNameEvent(getJDA(), getResponseNumber(), guild, oldName));
         }
         if (!Objects.equals(iconId, guild.getIconId())) {
             String oldIconId = guild.getIconId();
             guild.setIconId(iconId);
-            getJDA().handleEvent(new GuildUpdateIconEvent(getJDA(), responseNumber, guild, oldIconId));
+            getJDA().handleEvent(new GuildUpdateIconEvent(getJDA(), getResponseNumber(), guild, oldIconId));
         }
         if (!features.equals(guild.getFeatures())) {
             Set<String> oldFeatures = guild.getFeatures();
             guild.setFeatures(features);
-            getJDA().handleEvent(new GuildUpdateFeaturesEvent(getJDA(), responseNumber, guild, oldFeatures));
+            getJDA().handleEvent(new GuildUpdateFeaturesEvent(getJDA(), getResponseNumber(), guild, oldFeatures));
         }
         if (!Objects.equals(splashId, guild.getSplashId())) {
             String oldSplashId = guild.getSplashId();
             guild.setSplashId(splashId);
-            getJDA().handleEvent(new GuildUpdateSplashEvent(getJDA(), responseNumber, guild, oldSplashId));
+            getJDA().handleEvent(new GuildUpdateSplashEvent(getJDA(), getResponseNumber(), guild, oldSplashId));
         }
         if (!Objects.equals(verificationLevel, guild.getVerificationLevel())) {
             Guild.VerificationLevel oldVerificationLevel = guild.getVerificationLevel();
             guild.setVerificationLevel(verificationLevel);
             getJDA().handleEvent(new GuildUpdateVerificationLevelEvent(
-                    getJDA(), responseNumber, guild, oldVerificationLevel));
+                    getJDA(), getResponseNumber(), guild, oldVerificationLevel));
         }
         if (!Objects.equals(notificationLevel, guild.getDefaultNotificationLevel())) {
             Guild.NotificationLevel oldNotificationLevel = guild.getDefaultNotificationLevel();
             guild.setDefaultNotificationLevel(notificationLevel);
             getJDA().handleEvent(new GuildUpdateNotificationLevelEvent(
-                    getJDA(), responseNumber, guild, oldNotificationLevel));
+                    getJDA(), getResponseNumber(), guild, oldNotificationLevel));
         }
         if (!Objects.equals(mfaLevel, guild.getRequiredMFALevel())) {
             Guild.MFALevel oldMfaLevel = guild.getRequiredMFALevel();
             guild.setRequiredMFALevel(mfaLevel);
-            getJDA().handleEvent(new GuildUpdateMFALevelEvent(getJDA(), responseNumber, guild, oldMfaLevel));
+            getJDA().handleEvent(new GuildUpdateMFALevelEvent(getJDA(), getResponseNumber(), guild, oldMfaLevel));
         }
         if (!Objects.equals(explicitContentLevel, guild.getExplicitContentLevel())) {
             Guild.ExplicitContentLevel oldExplicitContentLevel = guild.getExplicitContentLevel();
             guild.setExplicitContentLevel(explicitContentLevel);
             getJDA().handleEvent(new GuildUpdateExplicitContentLevelEvent(
-                    getJDA(), responseNumber, guild, oldExplicitContentLevel));
+                    getJDA(), getResponseNumber(), guild, oldExplicitContentLevel));
         }
         if (!Objects.equals(afkTimeout, guild.getAfkTimeout())) {
             Guild.Timeout oldAfkTimeout = guild.getAfkTimeout();
             guild.setAfkTimeout(afkTimeout);
-            getJDA().handleEvent(new GuildUpdateAfkTimeoutEvent(getJDA(), responseNumber, guild, oldAfkTimeout));
+            getJDA().handleEvent(new GuildUpdateAfkTimeoutEvent(getJDA(), getResponseNumber(), guild, oldAfkTimeout));
         }
         if (!Objects.equals(locale, guild.getLocale())) {
             DiscordLocale oldLocale = guild.getLocale();
             guild.setLocale(locale);
-            getJDA().handleEvent(new GuildUpdateLocaleEvent(getJDA(), responseNumber, guild, oldLocale));
+            getJDA().handleEvent(new GuildUpdateLocaleEvent(getJDA(), getResponseNumber(), guild, oldLocale));
         }
         if (!Objects.equals(afkChannel, guild.getAfkChannel())) {
             VoiceChannel oldAfkChannel = guild.getAfkChannel();
             guild.setAfkChannel(afkChannel);
-            getJDA().handleEvent(new GuildUpdateAfkChannelEvent(getJDA(), responseNumber, guild, oldAfkChannel));
+            getJDA().handleEvent(new GuildUpdateAfkChannelEvent(getJDA(), getResponseNumber(), guild, oldAfkChannel));
         }
         if (!Objects.equals(systemChannel, guild.getSystemChannel())) {
             TextChannel oldSystemChannel = guild.getSystemChannel();
             guild.setSystemChannel(systemChannel);
-            getJDA().handleEvent(new GuildUpdateSystemChannelEvent(getJDA(), responseNumber, guild, oldSystemChannel));
+            getJDA().handleEvent(new GuildUpdateSystemChannelEvent(
+                    getJDA(), getResponseNumber(), guild, oldSystemChannel));
         }
         if (!Objects.equals(rulesChannel, guild.getRulesChannel())) {
             TextChannel oldRulesChannel = guild.getRulesChannel();
             guild.setRulesChannel(rulesChannel);
-            getJDA().handleEvent(new GuildUpdateRulesChannelEvent(getJDA(), responseNumber, guild, oldRulesChannel));
+            getJDA().handleEvent(new GuildUpdateRulesChannelEvent(
+                    getJDA(), getResponseNumber(), guild, oldRulesChannel));
         }
         if (!Objects.equals(communityUpdatesChannel, guild.getCommunityUpdatesChannel())) {
             TextChannel oldCommunityUpdatesChannel = guild.getCommunityUpdatesChannel();
             guild.setCommunityUpdatesChannel(communityUpdatesChannel);
             getJDA().handleEvent(new GuildUpdateCommunityUpdatesChannelEvent(
-                    getJDA(), responseNumber, guild, oldCommunityUpdatesChannel));
+                    getJDA(), getResponseNumber(), guild, oldCommunityUpdatesChannel));
         }
         if (!Objects.equals(safetyAlertsChannel, guild.getSafetyAlertsChannel())) {
             TextChannel oldSafetyAlertsChannel = guild.getSafetyAlertsChannel();
             guild.setSafetyAlertsChannel(safetyAlertsChannel);
             getJDA().handleEvent(new GuildUpdateSafetyAlertsChannelEvent(
-                    getJDA(), responseNumber, guild, oldSafetyAlertsChannel));
+                    getJDA(), getResponseNumber(), guild, oldSafetyAlertsChannel));
         }
         if (!Objects.equals(securityIncidentActions, guild.getSecurityIncidentActions())) {
             SecurityIncidentActions oldIncidentActions = guild.getSecurityIncidentActions();
             guild.setSecurityIncidentActions(securityIncidentActions);
-            api.handleEvent(
-                    new GuildUpdateSecurityIncidentActionsEvent(getJDA(), responseNumber, guild, oldIncidentActions));
+            api.handleEvent(new GuildUpdateSecurityIncidentActionsEvent(
+                    getJDA(), getResponseNumber(), guild, oldIncidentActions));
         }
         if (!Objects.equals(securityIncidentDetections, guild.getSecurityIncidentDetections())) {
             SecurityIncidentDetections oldIncidentDetections = guild.getSecurityIncidentDetections();
             guild.setSecurityIncidentDetections(securityIncidentDetections);
             api.handleEvent(new GuildUpdateSecurityIncidentDetectionsEvent(
-                    getJDA(), responseNumber, guild, oldIncidentDetections));
+                    getJDA(), getResponseNumber(), guild, oldIncidentDetections));
         }
         if (content.hasKey("nsfw_level") && nsfwLevel != guild.getNSFWLevel()) {
             Guild.NSFWLevel oldNSFWLevel = guild.getNSFWLevel();
             guild.setNSFWLevel(nsfwLevel);
-            getJDA().handleEvent(new GuildUpdateNSFWLevelEvent(getJDA(), responseNumber, guild, oldNSFWLevel));
+            getJDA().handleEvent(new GuildUpdateNSFWLevelEvent(getJDA(), getResponseNumber(), guild, oldNSFWLevel));
         }
         return null;
     }
@@ -81,14 +81,15 @@ public class InteractionCreateHandler extends SocketHandler {
                 break;
             case COMMAND_AUTOCOMPLETE:
                 api.handleEvent(new CommandAutoCompleteInteractionEvent(
-                        api, responseNumber, new CommandAutoCompleteInteractionImpl(api, content)));
+                        api, getResponseNumber(), new CommandAutoCompleteInteractionImpl(api, content)));
                 break;
             case MODAL_SUBMIT:
-                api.handleEvent(new ModalInteractionEvent(api, responseNumber, new ModalInteractionImpl(api, content)));
+                api.handleEvent(new ModalInteractionEvent(
+                        api, getResponseNumber(), new ModalInteractionImpl(api, content)));
                 break;
             default:
                 api.handleEvent(
-                        new GenericInteractionCreateEvent(api, responseNumber, new InteractionImpl(api, content)));
+                        new GenericInteractionCreateEvent(api, getResponseNumber(), new InteractionImpl(api, content)));
         }
 
         return null;
@@ -99,15 +100,15 @@ public class InteractionCreateHandler extends SocketHandler {
         switch (Command.Type.fromId(type)) {
             case SLASH:
                 api.handleEvent(new SlashCommandInteractionEvent(
-                        api, responseNumber, new SlashCommandInteractionImpl(api, content)));
+                        api, getResponseNumber(), new SlashCommandInteractionImpl(api, content)));
                 break;
             case MESSAGE:
                 api.handleEvent(new MessageContextInteractionEvent(
-                        api, responseNumber, new MessageContextInteractionImpl(api, content)));
+                        api, getResponseNumber(), new MessageContextInteractionImpl(api, content)));
                 break;
             case USER:
                 api.handleEvent(new UserContextInteractionEvent(
-                        api, responseNumber, new UserContextInteractionImpl(api, content)));
+                        api, getResponseNumber(), new UserContextInteractionImpl(api, content)));
                 break;
             case UNKNOWN:
                 WebSocketClient.LOG.debug("Received interaction with unknown command type {}", type);
@@ -120,18 +121,18 @@ public class InteractionCreateHandler extends SocketHandler {
         switch (Component.Type.fromKey(type)) {
             case BUTTON:
                 api.handleEvent(
-                        new ButtonInteractionEvent(api, responseNumber, new ButtonInteractionImpl(api, content)));
+                        new ButtonInteractionEvent(api, getResponseNumber(), new ButtonInteractionImpl(api, content)));
                 break;
             case STRING_SELECT:
                 api.handleEvent(new StringSelectInteractionEvent(
-                        api, responseNumber, new StringSelectInteractionImpl(api, content)));
+                        api, getResponseNumber(), new StringSelectInteractionImpl(api, content)));
                 break;
             case USER_SELECT:
             case ROLE_SELECT:
             case MENTIONABLE_SELECT:
             case CHANNEL_SELECT:
                 api.handleEvent(new EntitySelectInteractionEvent(
-                        api, responseNumber, new EntitySelectInteractionImpl(api, content)));
+                        api, getResponseNumber(), new EntitySelectInteractionImpl(api, content)));
                 break;
             default:
                 WebSocketClient.LOG.debug("Received interaction with unknown component type {}", type);
@@ -21,6 +21,7 @@ import net.dv8tion.jda.api.entities.Invite;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
 import net.dv8tion.jda.api.events.guild.invite.GuildInviteCreateEvent;
+import net.dv8tion.jda.api.requests.Route;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.entities.InviteImpl;
@@ -36,13 +37,16 @@ public class InviteCreateHandler extends SocketHandler {
     @Override
     protected Long handleInternally(DataObject content) {
         long guildId = content.getUnsignedLong("guild_id");
+        getJDA().getRequester().invalidateResponse(Route.Invites.GET_GUILD_INVITES, Long.toUnsignedString(guildId));
+        getJDA().getRequester()
+                .invalidateResponse(Route.Invites.GET_CHANNEL_INVITES, content.getString("channel_id"));
         if (getJDA().getGuildSetupController().isLocked(guildId)) {
             return guildId;
         }
         Guild realGuild = getJDA().getGuildById(guildId);
         if (realGuild == null) {
             EventCache.LOG.debug("Caching INVITE_CREATE for unknown guild with id {}", guildId);
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -51,8 +55,7 @@ public class InviteCreateHandler extends SocketHandler {
         if (realChannel == null) {
             EventCache.LOG.debug(
                     "Caching INVITE_CREATE for unknown channel with id {} in guild with id {}", channelId, guildId);
-            getJDA().getEventCache()
-                    .cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.CHANNEL, channelId);
             return null;
         }
 
@@ -118,7 +121,7 @@ public class InviteCreateHandler extends SocketHandler {
                 null,
                 target,
                 Invite.InviteType.GUILD);
-        getJDA().handleEvent(new GuildInviteCreateEvent(getJDA(), responseNumber, invite, realChannel));
+        getJDA().handleEvent(new GuildInviteCreateEvent(getJDA(), getResponseNumber(), invite, realChannel));
         return null;
     }
 }
@@ -19,6 +19,7 @@ package net.dv8tion.jda.internal.handle;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
 import net.dv8tion.jda.api.events.guild.invite.GuildInviteDeleteEvent;
+import net.dv8tion.jda.api.requests.Route;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
 
@@ -30,26 +31,28 @@ public class InviteDeleteHandler extends SocketHandler {
     @Override
     protected Long handleInternally(DataObject content) {
         long guildId = content.getUnsignedLong("guild_id");
+        getJDA().getRequester().invalidateResponse(Route.Invites.GET_GUILD_INVITES, Long.toUnsignedString(guildId));
+        getJDA().getRequester()
+                .invalidateResponse(Route.Invites.GET_CHANNEL_INVITES, content.getString("channel_id"));
         if (getJDA().getGuildSetupController().isLocked(guildId)) {
             return guildId;
         }
         Guild guild = getJDA().getGuildById(guildId);
         if (guild == null) {
             EventCache.LOG.debug("Caching INVITE_DELETE for unknown guild {}", guildId);
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
         long channelId = content.getUnsignedLong("channel_id");
         GuildChannel channel = guild.getGuildChannelById(channelId);
         if (channel == null) {
             EventCache.LOG.debug("Caching INVITE_DELETE for unknown channel {} in guild {}", channelId, guildId);
-            getJDA().getEventCache()
-                    .cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.CHANNEL, channelId);
             return null;
         }
 
         String code = content.getString("code");
-        getJDA().handleEvent(new GuildInviteDeleteEvent(getJDA(), responseNumber, code, channel));
+        getJDA().handleEvent(new GuildInviteDeleteEvent(getJDA(), getResponseNumber(), code, channel));
         return null;
     }
 }
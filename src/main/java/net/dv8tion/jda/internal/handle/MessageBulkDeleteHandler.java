@@ -46,7 +46,7 @@ public class MessageBulkDeleteHandler extends SocketHandler {
             if (guild == null) {
                 EventCache.LOG.debug(
                         "Caching MESSAGE_DELETE event for guild that is not currently cached. GuildID: {}", guildId);
-                api.getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+                cacheEvent(EventCache.Type.GUILD, guildId);
                 return null;
             }
         }
@@ -56,7 +56,7 @@ public class MessageBulkDeleteHandler extends SocketHandler {
             SocketHandler handler = getJDA().getClient().getHandlers().get("MESSAGE_DELETE");
             content.getArray("ids").forEach(id -> {
                 handler.handle(
-                        responseNumber,
+                        getResponseNumber(),
                         DataObject.empty()
                                 .put("t", "MESSAGE_DELETE")
                                 .put(
@@ -78,8 +78,7 @@ public class MessageBulkDeleteHandler extends SocketHandler {
                     }
                 }
 
-                getJDA().getEventCache()
-                        .cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+                cacheEvent(EventCache.Type.CHANNEL, channelId);
                 EventCache.LOG.debug(
                         "Received a Bulk Message Delete for a GuildMessageChannel that is not yet cached.");
                 return null;
@@ -91,7 +90,7 @@ public class MessageBulkDeleteHandler extends SocketHandler {
 
             DataArray array = content.getArray("ids");
             List<String> messages = array.stream(DataArray::getString).collect(Collectors.toList());
-            getJDA().handleEvent(new MessageBulkDeleteEvent(getJDA(), responseNumber, channel, messages));
+            getJDA().handleEvent(new MessageBulkDeleteEvent(getJDA(), getResponseNumber(), channel, messages));
         }
         return null;
     }
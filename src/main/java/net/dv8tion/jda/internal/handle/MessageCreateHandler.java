@@ -58,7 +58,7 @@ public class MessageCreateHandler extends SocketHandler {
 
             guild = api.getGuildById(guildId);
             if (guild == null) {
-                api.getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+                cacheEvent(EventCache.Type.GUILD, guildId);
                 EventCache.LOG.debug("Received message for a guild that JDA does not currently have cached");
                 return null;
             }
@@ -86,14 +86,13 @@ public class MessageCreateHandler extends SocketHandler {
                         }
                     }
 
-                    jda.getEventCache()
-                            .cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+                    cacheEvent(EventCache.Type.CHANNEL, channelId);
                     EventCache.LOG.debug("Received a message for a channel that JDA does not currently have cached");
                     return null;
                 }
                 case EntityBuilder.MISSING_USER: {
                     long authorId = content.getObject("author").getLong("id");
-                    jda.getEventCache().cache(EventCache.Type.USER, authorId, responseNumber, allContent, this::handle);
+                    cacheEvent(EventCache.Type.USER, authorId);
                     EventCache.LOG.debug("Received a message for a user that JDA does not currently have cached");
                     return null;
                 }
@@ -123,7 +122,7 @@ public class MessageCreateHandler extends SocketHandler {
             api.usedPrivateChannel(channel.getIdLong());
         }
 
-        jda.handleEvent(new MessageReceivedEvent(jda, responseNumber, message));
+        jda.handleEvent(new MessageReceivedEvent(jda, getResponseNumber(), message));
         return null;
     }
 }
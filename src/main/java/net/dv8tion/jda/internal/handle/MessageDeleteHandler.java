@@ -42,8 +42,7 @@ public class MessageDeleteHandler extends SocketHandler {
 
             guild = getJDA().getGuildById(guildId);
             if (guild == null) {
-                getJDA().getEventCache()
-                        .cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+                cacheEvent(EventCache.Type.GUILD, guildId);
                 EventCache.LOG.debug("Got message delete for a guild that is not yet cached. GuildId: {}", guildId);
                 return null;
             }
@@ -65,8 +64,7 @@ public class MessageDeleteHandler extends SocketHandler {
                 }
             }
 
-            getJDA().getEventCache()
-                    .cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.CHANNEL, channelId);
             EventCache.LOG.debug(
                     "Got message delete for a channel/group that is not yet cached. ChannelId: {}", channelId);
             return null;
@@ -79,7 +77,7 @@ public class MessageDeleteHandler extends SocketHandler {
             // Not decrementing totalMessageCount since that should include deleted as well
         }
 
-        getJDA().handleEvent(new MessageDeleteEvent(getJDA(), responseNumber, messageId, channel));
+        getJDA().handleEvent(new MessageDeleteEvent(getJDA(), getResponseNumber(), messageId, channel));
         return null;
     }
 }
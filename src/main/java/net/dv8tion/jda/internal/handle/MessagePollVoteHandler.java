@@ -58,7 +58,7 @@ public class MessagePollVoteHandler extends SocketHandler {
             }
 
             if (guildId != 0) {
-                api.getEventCache().cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+                cacheEvent(EventCache.Type.CHANNEL, channelId);
                 EventCache.LOG.debug("Received a vote for a channel that JDA does not currently have cached");
                 return null;
             }
@@ -68,9 +68,9 @@ public class MessagePollVoteHandler extends SocketHandler {
         }
 
         if (add) {
-            api.handleEvent(new MessagePollVoteAddEvent(channel, responseNumber, messageId, userId, answerId));
+            api.handleEvent(new MessagePollVoteAddEvent(channel, getResponseNumber(), messageId, userId, answerId));
         } else {
-            api.handleEvent(new MessagePollVoteRemoveEvent(channel, responseNumber, messageId, userId, answerId));
+            api.handleEvent(new MessagePollVoteRemoveEvent(channel, getResponseNumber(), messageId, userId, answerId));
         }
 
         return null;
@@ -44,7 +44,7 @@ public class MessageReactionBulkRemoveHandler extends SocketHandler {
 
             guild = getJDA().getGuildById(guildId);
             if (guild == null) {
-                jda.getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+                cacheEvent(EventCache.Type.GUILD, guildId);
                 EventCache.LOG.debug(
                         "Got MESSAGE_REACTION_REMOVE_ALL for a guild that is not yet cached. GuildId: {}", guildId);
                 return null;
@@ -64,7 +64,7 @@ public class MessageReactionBulkRemoveHandler extends SocketHandler {
                 }
             }
 
-            jda.getEventCache().cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.CHANNEL, channelId);
             EventCache.LOG.debug(
                     "Received a reaction for a channel that JDA does not currently have cached channel_id: {} message_id: {}",
                     channelId,
@@ -73,7 +73,7 @@ public class MessageReactionBulkRemoveHandler extends SocketHandler {
         }
 
         jda.handleEvent(new MessageReactionRemoveAllEvent(
-                jda, responseNumber,
+                jda, getResponseNumber(),
                 messageId, channel));
         return null;
     }
@@ -41,7 +41,7 @@ public class MessageReactionClearEmojiHandler extends SocketHandler {
         Guild guild = getJDA().getGuildById(guildId);
         if (guild == null) {
             EventCache.LOG.debug("Caching MESSAGE_REACTION_REMOVE_EMOJI event for unknown guild {}", guildId);
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -58,8 +58,7 @@ public class MessageReactionClearEmojiHandler extends SocketHandler {
             }
 
             EventCache.LOG.debug("Caching MESSAGE_REACTION_REMOVE_EMOJI event for unknown channel {}", channelId);
-            getJDA().getEventCache()
-                    .cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.CHANNEL, channelId);
             return null;
         }
 
@@ -72,8 +71,8 @@ public class MessageReactionClearEmojiHandler extends SocketHandler {
 
         MessageReaction reaction = new MessageReaction(api, channel, reactionEmoji, channelId, messageId, self, null);
 
-        getJDA().handleEvent(
-                        new MessageReactionRemoveEmojiEvent(getJDA(), responseNumber, messageId, channel, reaction));
+        getJDA().handleEvent(new MessageReactionRemoveEmojiEvent(
+                getJDA(), getResponseNumber(), messageId, channel, reaction));
         return null;
     }
 }
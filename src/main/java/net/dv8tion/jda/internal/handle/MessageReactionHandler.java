@@ -113,7 +113,7 @@ public class MessageReactionHandler extends SocketHandler {
             // The only time we can receive a reaction add but not have the user cached would be if
             // we receive the event in an uncached or partially built PrivateChannel.
             if (add && guild != null) {
-                api.getEventCache().cache(EventCache.Type.USER, userId, responseNumber, allContent, this::handle);
+                cacheEvent(EventCache.Type.USER, userId);
                 EventCache.LOG.debug(
                         "Received a reaction for a user that JDA does not currently have cached. "
                                 + "UserID: {} ChannelId: {} MessageId: {}",
@@ -138,7 +138,7 @@ public class MessageReactionHandler extends SocketHandler {
             }
 
             if (guildId != 0) {
-                api.getEventCache().cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+                cacheEvent(EventCache.Type.CHANNEL, channelId);
                 EventCache.LOG.debug("Received a reaction for a channel that JDA does not currently have cached");
                 return null;
             }
@@ -168,14 +168,14 @@ public class MessageReactionHandler extends SocketHandler {
         if (add) {
             api.handleEvent(new MessageReactionAddEvent(
                     api,
-                    responseNumber,
+                    getResponseNumber(),
                     user,
                     member,
                     reaction,
                     userId,
                     content.getUnsignedLong("message_author_id", 0L)));
         } else {
-            api.handleEvent(new MessageReactionRemoveEvent(api, responseNumber, user, member, reaction, userId));
+            api.handleEvent(new MessageReactionRemoveEvent(api, getResponseNumber(), user, member, reaction, userId));
         }
         return null;
     }
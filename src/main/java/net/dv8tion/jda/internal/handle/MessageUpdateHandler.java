@@ -43,7 +43,7 @@ public class MessageUpdateHandler extends SocketHandler {
             }
             guild = api.getGuildById(guildId);
             if (guild == null) {
-                api.getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+                cacheEvent(EventCache.Type.GUILD, guildId);
                 EventCache.LOG.debug("Received message for a guild that JDA does not currently have cached");
                 return null;
             }
@@ -93,16 +93,14 @@ public class MessageUpdateHandler extends SocketHandler {
                         }
                     }
 
-                    getJDA().getEventCache()
-                            .cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+                    cacheEvent(EventCache.Type.CHANNEL, channelId);
                     EventCache.LOG.debug(
                             "Received a message update for a channel that JDA does not currently have cached");
                     return null;
                 }
                 case EntityBuilder.MISSING_USER: {
                     long authorId = content.getObject("author").getLong("id");
-                    getJDA().getEventCache()
-                            .cache(EventCache.Type.USER, authorId, responseNumber, allContent, this::handle);
+                    cacheEvent(EventCache.Type.USER, authorId);
                     EventCache.LOG.debug(
                             "Received a message update for a user that JDA does not currently have cached");
                     return null;
@@ -116,7 +114,7 @@ public class MessageUpdateHandler extends SocketHandler {
             getJDA().usedPrivateChannel(message.getChannel().getIdLong());
         }
 
-        getJDA().handleEvent(new MessageUpdateEvent(getJDA(), responseNumber, message));
+        getJDA().handleEvent(new MessageUpdateEvent(getJDA(), getResponseNumber(), message));
         return null;
     }
 }
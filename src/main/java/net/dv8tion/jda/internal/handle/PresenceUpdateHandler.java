@@ -70,7 +70,7 @@ public class PresenceUpdateHandler extends SocketHandler {
         }
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             EventCache.LOG.debug(
                     "Received a PRESENCE_UPDATE for a guild that is not yet cached! GuildId:{} UserId: {}",
                     guildId,
@@ -125,7 +125,7 @@ public class PresenceUpdateHandler extends SocketHandler {
             presence.setOnlineStatus(status);
             if (member != null) {
                 getJDA().getEntityBuilder().updateMemberCache(member);
-                getJDA().handleEvent(new UserUpdateOnlineStatusEvent(getJDA(), responseNumber, member, oldStatus));
+                getJDA().handleEvent(new UserUpdateOnlineStatusEvent(getJDA(), getResponseNumber(), member, oldStatus));
             }
         }
         return null;
@@ -168,7 +168,8 @@ public class PresenceUpdateHandler extends SocketHandler {
         if (unorderedEquals) {
             boolean deepEquals = Helpers.deepEquals(oldActivities, newActivities);
             if (!deepEquals) {
-                getJDA().handleEvent(new UserUpdateActivityOrderEvent(getJDA(), responseNumber, oldActivities, member));
+                getJDA().handleEvent(new UserUpdateActivityOrderEvent(
+                        getJDA(), getResponseNumber(), oldActivities, member));
             }
         } else {
             getJDA().getEntityBuilder().updateMemberCache(member);
@@ -181,14 +182,14 @@ public class PresenceUpdateHandler extends SocketHandler {
             }
 
             for (Activity activity : startedActivities) {
-                getJDA().handleEvent(new UserActivityStartEvent(getJDA(), responseNumber, member, activity));
+                getJDA().handleEvent(new UserActivityStartEvent(getJDA(), getResponseNumber(), member, activity));
             }
 
             for (Activity activity : stoppedActivities) {
-                getJDA().handleEvent(new UserActivityEndEvent(getJDA(), responseNumber, member, activity));
+                getJDA().handleEvent(new UserActivityEndEvent(getJDA(), getResponseNumber(), member, activity));
             }
 
-            getJDA().handleEvent(new UserUpdateActivitiesEvent(getJDA(), responseNumber, member, oldActivities));
+            getJDA().handleEvent(new UserUpdateActivitiesEvent(getJDA(), getResponseNumber(), member, oldActivities));
         }
     }
 
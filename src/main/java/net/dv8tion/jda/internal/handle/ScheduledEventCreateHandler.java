@@ -41,12 +41,12 @@ public class ScheduledEventCreateHandler extends SocketHandler {
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
             EventCache.LOG.debug("Caching SCHEDULED_EVENT_CREATE for uncached guild with id {}", guildId);
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
         ScheduledEvent event = getJDA().getEntityBuilder().createScheduledEvent(guild, content);
-        getJDA().handleEvent(new ScheduledEventCreateEvent(getJDA(), responseNumber, event));
+        getJDA().handleEvent(new ScheduledEventCreateEvent(getJDA(), getResponseNumber(), event));
         return null;
     }
 }
@@ -47,7 +47,7 @@ public class ScheduledEventDeleteHandler extends SocketHandler {
         long eventId = content.getLong("id");
         ScheduledEvent removedEvent = guild.getScheduledEventsView().remove(eventId);
         if (removedEvent != null) {
-            getJDA().handleEvent(new ScheduledEventDeleteEvent(getJDA(), responseNumber, removedEvent));
+            getJDA().handleEvent(new ScheduledEventDeleteEvent(getJDA(), getResponseNumber(), removedEvent));
         }
         return null;
     }
@@ -49,7 +49,7 @@ public class ScheduledEventUpdateHandler extends SocketHandler {
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
             EventCache.LOG.debug("Caching SCHEDULED_EVENT_UPDATE for uncached guild with id {}", guildId);
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -80,54 +80,59 @@ public class ScheduledEventUpdateHandler extends SocketHandler {
         if (!Objects.equals(name, event.getName())) {
             String oldName = event.getName();
             event.setName(name);
-            getJDA().handleEvent(new ScheduledEventUpdateNameEvent(getJDA(), responseNumber, event, oldName));
+            getJDA().handleEvent(new ScheduledEventUpdateNameEvent(getJDA(), getResponseNumber(), event, oldName));
         }
         if (!Objects.equals(description, event.getDescription())) {
             String oldDescription = event.getDescription();
             event.setDescription(description);
-            getJDA().handleEvent(
-                            new ScheduledEventUpdateDescriptionEvent(getJDA(), responseNumber, event, oldDescription));
+            getJDA().handleEvent(new ScheduledEventUpdateDescriptionEvent(
+                    getJDA(), getResponseNumber(), event, oldDescription));
         }
         if (!Objects.equals(startTime, event.getStartTime())) {
             OffsetDateTime oldStartTime = event.getStartTime();
             event.setStartTime(startTime);
-            getJDA().handleEvent(new ScheduledEventUpdateStartTimeEvent(getJDA(), responseNumber, event, oldStartTime));
+            getJDA().handleEvent(new ScheduledEventUpdateStartTimeEvent(
+                    getJDA(), getResponseNumber(), event, oldStartTime));
         }
         if (!Objects.equals(endTime, event.getEndTime())) {
             OffsetDateTime oldEndTime = event.getEndTime();
             event.setEndTime(endTime);
-            getJDA().handleEvent(new ScheduledEventUpdateEndTimeEvent(getJDA(), responseNumber, event, oldEndTime));
+            getJDA().handleEvent(new ScheduledEventUpdateEndTimeEvent(
+                    getJDA(), getResponseNumber(), event, oldEndTime));
         }
         if (!Objects.equals(status, event.getStatus())) {
             ScheduledEvent.Status oldStatus = event.getStatus();
             event.setStatus(status);
-            getJDA().handleEvent(new ScheduledEventUpdateStatusEvent(getJDA(), responseNumber, event, oldStatus));
+            getJDA().handleEvent(new ScheduledEventUpdateStatusEvent(getJDA(), getResponseNumber(), event, oldStatus));
         }
         if (channel == null && !location.equals(event.getLocation())) {
             event.setLocation(location);
             event.setType(ScheduledEvent.Type.EXTERNAL);
-            getJDA().handleEvent(new ScheduledEventUpdateLocationEvent(getJDA(), responseNumber, event, oldLocation));
+            getJDA().handleEvent(new ScheduledEventUpdateLocationEvent(
+                    getJDA(), getResponseNumber(), event, oldLocation));
         }
         if (channel instanceof StageChannel && !location.equals(event.getLocation())) {
             event.setLocation(channel.getId());
             event.setType(ScheduledEvent.Type.STAGE_INSTANCE);
-            getJDA().handleEvent(new ScheduledEventUpdateLocationEvent(getJDA(), responseNumber, event, oldLocation));
+            getJDA().handleEvent(new ScheduledEventUpdateLocationEvent(
+                    getJDA(), getResponseNumber(), event, oldLocation));
         }
         if (channel instanceof VoiceChannel && !location.equals(event.getLocation())) {
             event.setLocation(channel.getId());
             event.setType(ScheduledEvent.Type.VOICE);
-            getJDA().handleEvent(new ScheduledEventUpdateLocationEvent(getJDA(), responseNumber, event, oldLocation));
+            getJDA().handleEvent(new ScheduledEventUpdateLocationEvent(
+                    getJDA(), getResponseNumber(), event, oldLocation));
         }
         if (!Objects.equals(imageId, event.getCoverImageId())) {
             String oldCoverImageId = event.getCoverImageId();
             String oldImageUrl = event.getImageUrl();
 
             event.setCoverImage(imageId);
-            getJDA().handleEvent(
-                            new ScheduledEventUpdateCoverImageEvent(getJDA(), responseNumber, event, oldCoverImageId));
+            getJDA().handleEvent(new ScheduledEventUpdateCoverImageEvent(
+                    getJDA(), getResponseNumber(), event, oldCoverImageId));
 
             // Legacy
-            getJDA().handleEvent(new ScheduledEventUpdateImageEvent(getJDA(), responseNumber, event, oldImageUrl));
+            getJDA().handleEvent(new ScheduledEventUpdateImageEvent(getJDA(), getResponseNumber(), event, oldImageUrl));
         }
         return null;
     }
@@ -45,7 +45,7 @@ public class ScheduledEventUserHandler extends SocketHandler {
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
             EventCache.LOG.debug("Caching SCHEDULED_EVENT_USER_ADD for uncached guild with id {}", guildId);
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -56,9 +56,9 @@ public class ScheduledEventUserHandler extends SocketHandler {
         }
 
         if (add) {
-            getJDA().handleEvent(new ScheduledEventUserAddEvent(getJDA(), responseNumber, event, userId));
+            getJDA().handleEvent(new ScheduledEventUserAddEvent(getJDA(), getResponseNumber(), event, userId));
         } else {
-            getJDA().handleEvent(new ScheduledEventUserRemoveEvent(getJDA(), responseNumber, event, userId));
+            getJDA().handleEvent(new ScheduledEventUserRemoveEvent(getJDA(), getResponseNumber(), event, userId));
         }
 
         return null;
@@ -21,28 +21,35 @@ import net.dv8tion.jda.internal.JDAImpl;
 
 public abstract class SocketHandler {
     public static final ThreadLocal<DataObject> CURRENT_EVENT = new ThreadLocal<>();
+    // The payload handled by the current thread, as handlers may run for different guilds in parallel
+    private static final ThreadLocal<Payload> CURRENT_PAYLOAD = new ThreadLocal<>();
 
     protected final JDAImpl api;
-    protected long responseNumber;
-    protected DataObject allContent;
 
     public SocketHandler(JDAImpl api) {
         this.api = api;
     }
 
-    public final synchronized void handle(long responseTotal, DataObject o) {
-        this.allContent = o;
-        this.responseNumber = responseTotal;
-        if (getJDA().isEventPassthrough()) {
+    public final void handle(long responseTotal, DataObject o) {
+        // Handling an event can play back cached events, which calls into handlers again on the same thread
+        Payload previous = CURRENT_PAYLOAD.get();
+        DataObject previousEvent = null;
+        CURRENT_PAYLOAD.set(new Payload(responseTotal, o));
+        boolean passthrough = getJDA().isEventPassthrough();
+        if (passthrough) {
+            previousEvent = CURRENT_EVENT.get();
             CURRENT_EVENT.set(o);
         }
-        Long guildId = handleInternally(o.getObject("d"));
-        if (guildId != null) {
-            getJDA().getGuildSetupController().cacheEvent(guildId, o);
-        }
-        this.allContent = null;
-        if (getJDA().isEventPassthrough()) {
-            CURRENT_EVENT.set(null);
+        try {
+            Long guildId = handleInternally(o.getObject("d"));
+            if (guildId != null) {
+                getJDA().getGuildSetupController().cacheEvent(guildId, o);
+            }
+        } finally {
+            restore(CURRENT_PAYLOAD, previous);
+            if (passthrough) {
+                restore(CURRENT_EVENT, previousEvent);
+            }
         }
     }
 
@@ -50,6 +57,38 @@ public abstract class SocketHandler {
         return api;
     }
 
+    /**
+     * The sequence number of the payload currently handled by this thread.
+     *
+     * @return The sequence number
+     */
+    protected long getResponseNumber() {
+        Payload payload = CURRENT_PAYLOAD.get();
+        return payload == null ? getJDA().getResponseTotal() : payload.responseNumber;
+    }
+
+    /**
+     * The full payload currently handled by this thread, including the event type and sequence number.
+     *
+     * @return The payload, or null if no payload is handled by this thread
+     */
+    protected DataObject getAllContent() {
+        Payload payload = CURRENT_PAYLOAD.get();
+        return payload == null ? null : payload.content;
+    }
+
+    /**
+     * Holds back the payload currently handled by this thread, until the entity with the given id is cached.
+     *
+     * @param type
+     *      the type of the missing entity
+     * @param triggerId
+     *      the id of the missing entity
+     */
+    protected void cacheEvent(EventCache.Type type, long triggerId) {
+        getJDA().getEventCache().cache(type, triggerId, getResponseNumber(), getAllContent(), this::handle);
+    }
+
     /**
      * Handles a given data-json of the Event handled by this Handler.
      *
@@ -71,4 +110,22 @@ public abstract class SocketHandler {
             return null;
         }
     }
+
+    private static <T> void restore(ThreadLocal<T> local, T previous) {
+        if (previous == null) {
+            local.remove();
+        } else {
+            local.set(previous);
+        }
+    }
+
+    private static class Payload {
+        private final long responseNumber;
+        private final DataObject content;
+
+        private Payload(long responseNumber, DataObject content) {
+            this.responseNumber = responseNumber;
+            this.content = content;
+        }
+    }
 }
@@ -37,13 +37,13 @@ public class StageInstanceCreateHandler extends SocketHandler {
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
             EventCache.LOG.debug("Caching STAGE_INSTANCE_CREATE for uncached guild with id {}", guildId);
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
         StageInstance instance = getJDA().getEntityBuilder().createStageInstance(guild, content);
         if (instance != null) {
-            getJDA().handleEvent(new StageInstanceCreateEvent(getJDA(), responseNumber, instance));
+            getJDA().handleEvent(new StageInstanceCreateEvent(getJDA(), getResponseNumber(), instance));
             guild.updateRequestToSpeak();
         }
         return null;
@@ -38,7 +38,7 @@ public class StageInstanceDeleteHandler extends SocketHandler {
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
             EventCache.LOG.debug("Caching STAGE_INSTANCE_DELETE for uncached guild with id {}", guildId);
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -50,7 +50,7 @@ public class StageInstanceDeleteHandler extends SocketHandler {
         StageInstance instance = channel.getStageInstance();
         channel.setStageInstance(null);
         if (instance != null) {
-            getJDA().handleEvent(new StageInstanceDeleteEvent(getJDA(), responseNumber, instance));
+            getJDA().handleEvent(new StageInstanceDeleteEvent(getJDA(), getResponseNumber(), instance));
         }
         return null;
     }
@@ -41,7 +41,7 @@ public class StageInstanceUpdateHandler extends SocketHandler {
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
             EventCache.LOG.debug("Caching STAGE_INSTANCE_UPDATE for uncached guild with id {}", guildId);
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
@@ -62,11 +62,12 @@ public class StageInstanceUpdateHandler extends SocketHandler {
         }
 
         if (!Objects.equals(oldTopic, newInstance.getTopic())) {
-            getJDA().handleEvent(new StageInstanceUpdateTopicEvent(getJDA(), responseNumber, newInstance, oldTopic));
+            getJDA().handleEvent(new StageInstanceUpdateTopicEvent(
+                    getJDA(), getResponseNumber(), newInstance, oldTopic));
         }
         if (oldLevel != newInstance.getPrivacyLevel()) {
-            getJDA().handleEvent(
-                            new StageInstanceUpdatePrivacyLevelEvent(getJDA(), responseNumber, newInstance, oldLevel));
+            getJDA().handleEvent(new StageInstanceUpdatePrivacyLevelEvent(
+                    getJDA(), getResponseNumber(), newInstance, oldLevel));
         }
         return null;
     }
@@ -44,9 +44,9 @@ public class ThreadCreateHandler extends SocketHandler {
             ThreadChannel thread = api.getEntityBuilder().createThreadChannel(content, guildId);
 
             if (content.getBoolean("newly_created")) {
-                api.handleEvent(new ChannelCreateEvent(api, responseNumber, thread));
+                api.handleEvent(new ChannelCreateEvent(api, getResponseNumber(), thread));
             } else {
-                api.handleEvent(new ThreadRevealedEvent(api, responseNumber, thread));
+                api.handleEvent(new ThreadRevealedEvent(api, getResponseNumber(), thread));
             }
         } catch (IllegalArgumentException ex) {
             if (!EntityBuilder.MISSING_CHANNEL.equals(ex.getMessage())) {
@@ -56,7 +56,7 @@ public class ThreadCreateHandler extends SocketHandler {
             long parentId = content.getUnsignedLong("parent_id", 0L);
             EventCache.LOG.debug(
                     "Caching THREAD_CREATE_EVENT for channel with uncached parent. Parent ID: {}", parentId);
-            api.getEventCache().cache(EventCache.Type.CHANNEL, parentId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.CHANNEL, parentId);
         }
 
         return null;
@@ -51,7 +51,7 @@ public class ThreadDeleteHandler extends SocketHandler {
         channelsView.remove(thread.getType(), threadId);
         guild.getChannelView().remove(thread);
 
-        getJDA().handleEvent(new ChannelDeleteEvent(getJDA(), responseNumber, thread));
+        getJDA().handleEvent(new ChannelDeleteEvent(getJDA(), getResponseNumber(), thread));
 
         getJDA().getEventCache().clear(EventCache.Type.CHANNEL, threadId);
         return null;
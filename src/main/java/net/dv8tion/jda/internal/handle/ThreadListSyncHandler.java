@@ -41,7 +41,7 @@ public class ThreadListSyncHandler extends SocketHandler {
             DataObject threadJson = threadsArrayJson.getObject(i);
             try {
                 ThreadChannel thread = entityBuilder.createThreadChannel(threadJson, guildId);
-                api.handleEvent(new ThreadRevealedEvent(api, responseNumber, thread));
+                api.handleEvent(new ThreadRevealedEvent(api, getResponseNumber(), thread));
             } catch (IllegalArgumentException ex) {
                 if (!EntityBuilder.MISSING_CHANNEL.equals(ex.getMessage())) {
                     throw ex;
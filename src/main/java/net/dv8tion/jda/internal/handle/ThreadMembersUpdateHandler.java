@@ -49,7 +49,7 @@ public class ThreadMembersUpdateHandler extends SocketHandler {
         long threadId = content.getLong("id");
         ThreadChannelImpl thread = (ThreadChannelImpl) getJDA().getThreadChannelById(threadId);
         if (thread == null) {
-            getJDA().getEventCache().cache(EventCache.Type.CHANNEL, threadId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.CHANNEL, threadId);
             EventCache.LOG.debug(
                     "THREAD_MEMBERS_UPDATE attempted to update a thread that does not exist. JSON: {}", content);
             return null;
@@ -95,7 +95,7 @@ public class ThreadMembersUpdateHandler extends SocketHandler {
         // Emit the events from outside the writeLock
         for (ThreadMember threadMember : addedThreadMembers) {
             api.handleEvent(new ThreadMemberJoinEvent(
-                    api, responseNumber,
+                    api, getResponseNumber(),
                     thread, threadMember));
         }
     }
@@ -115,7 +115,7 @@ public class ThreadMembersUpdateHandler extends SocketHandler {
 
         for (long threadMemberId : removedMemberIds) {
             api.handleEvent(new ThreadMemberLeaveEvent(
-                    api, responseNumber, thread, threadMemberId, removedThreadMembers.remove(threadMemberId)));
+                    api, getResponseNumber(), thread, threadMemberId, removedThreadMembers.remove(threadMemberId)));
         }
     }
 }
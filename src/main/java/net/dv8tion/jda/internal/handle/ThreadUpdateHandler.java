@@ -68,7 +68,7 @@ public class ThreadUpdateHandler extends SocketHandler {
             // Not sure how much that'll matter.
             try {
                 thread = (ThreadChannelImpl) api.getEntityBuilder().createThreadChannel(content, guildId);
-                api.handleEvent(new ChannelUpdateArchivedEvent(api, responseNumber, thread, true, false));
+                api.handleEvent(new ChannelUpdateArchivedEvent(api, getResponseNumber(), thread, true, false));
             } catch (IllegalArgumentException ex) {
                 if (EntityBuilder.MISSING_CHANNEL.equals(ex.getMessage())) {
                     long parentId = content.getUnsignedLong("parent_id", 0L);
@@ -76,8 +76,7 @@ public class ThreadUpdateHandler extends SocketHandler {
                             "Caching THREAD_UPDATE for a thread with uncached parent. Parent ID: {} JSON: {}",
                             parentId,
                             content);
-                    api.getEventCache()
-                            .cache(EventCache.Type.CHANNEL, parentId, responseNumber, allContent, this::handle);
+                    cacheEvent(EventCache.Type.CHANNEL, parentId);
                     return null;
                 }
 
@@ -109,38 +108,38 @@ public class ThreadUpdateHandler extends SocketHandler {
 
         if (!Objects.equals(oldName, name)) {
             thread.setName(name);
-            api.handleEvent(new ChannelUpdateNameEvent(getJDA(), responseNumber, thread, oldName, name));
+            api.handleEvent(new ChannelUpdateNameEvent(getJDA(), getResponseNumber(), thread, oldName, name));
         }
         if (oldFlags != flags) {
             thread.setFlags(flags);
             api.handleEvent(new ChannelUpdateFlagsEvent(
-                    getJDA(), responseNumber, thread, ChannelFlag.fromRaw(oldFlags), ChannelFlag.fromRaw(flags)));
+                    getJDA(), getResponseNumber(), thread, ChannelFlag.fromRaw(oldFlags), ChannelFlag.fromRaw(flags)));
         }
         if (oldSlowmode != slowmode) {
             thread.setSlowmode(slowmode);
-            api.handleEvent(new ChannelUpdateSlowmodeEvent(api, responseNumber, thread, oldSlowmode, slowmode));
+            api.handleEvent(new ChannelUpdateSlowmodeEvent(api, getResponseNumber(), thread, oldSlowmode, slowmode));
         }
         if (oldAutoArchiveDuration != autoArchiveDuration) {
             thread.setAutoArchiveDuration(autoArchiveDuration);
             api.handleEvent(new ChannelUpdateAutoArchiveDurationEvent(
-                    api, responseNumber, thread, oldAutoArchiveDuration, autoArchiveDuration));
+                    api, getResponseNumber(), thread, oldAutoArchiveDuration, autoArchiveDuration));
         }
         if (oldLocked != locked) {
             thread.setLocked(locked);
-            api.handleEvent(new ChannelUpdateLockedEvent(api, responseNumber, thread, oldLocked, locked));
+            api.handleEvent(new ChannelUpdateLockedEvent(api, getResponseNumber(), thread, oldLocked, locked));
         }
         if (oldArchived != archived) {
             thread.setArchived(archived);
-            api.handleEvent(new ChannelUpdateArchivedEvent(api, responseNumber, thread, oldArchived, archived));
+            api.handleEvent(new ChannelUpdateArchivedEvent(api, getResponseNumber(), thread, oldArchived, archived));
         }
         if (oldArchiveTimestamp != archiveTimestamp) {
             thread.setArchiveTimestamp(archiveTimestamp);
             api.handleEvent(new ChannelUpdateArchiveTimestampEvent(
-                    api, responseNumber, thread, oldArchiveTimestamp, archiveTimestamp));
+                    api, getResponseNumber(), thread, oldArchiveTimestamp, archiveTimestamp));
         }
         if (oldInvitable != invitable) {
             thread.setInvitable(invitable);
-            api.handleEvent(new ChannelUpdateInvitableEvent(api, responseNumber, thread, oldInvitable, invitable));
+            api.handleEvent(new ChannelUpdateInvitableEvent(api, getResponseNumber(), thread, oldInvitable, invitable));
         }
 
         if (api.isCacheFlagSet(CacheFlag.FORUM_TAGS) && !content.isNull("applied_tags")) {
@@ -152,7 +151,8 @@ public class ThreadUpdateHandler extends SocketHandler {
             if (!oldTags.equals(tags)) {
                 List<Long> oldTagList = LongStream.of(oldTags.toArray()).boxed().collect(Helpers.toUnmodifiableList());
                 List<Long> newTagList = LongStream.of(tags.toArray()).boxed().collect(Helpers.toUnmodifiableList());
-                api.handleEvent(new ChannelUpdateAppliedTagsEvent(api, responseNumber, thread, oldTagList, newTagList));
+                api.handleEvent(new ChannelUpdateAppliedTagsEvent(
+                        api, getResponseNumber(), thread, oldTagList, newTagList));
             }
         }
 
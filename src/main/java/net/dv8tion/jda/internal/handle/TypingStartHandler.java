@@ -84,7 +84,7 @@ public class TypingStartHandler extends SocketHandler {
         }
         OffsetDateTime timestamp =
                 Instant.ofEpochSecond(content.getInt("timestamp")).atOffset(ZoneOffset.UTC);
-        getJDA().handleEvent(new UserTypingEvent(getJDA(), responseNumber, user, channel, timestamp, member));
+        getJDA().handleEvent(new UserTypingEvent(getJDA(), getResponseNumber(), user, channel, timestamp, member));
         return null;
     }
 }
@@ -17,6 +17,7 @@
 package net.dv8tion.jda.internal.handle;
 
 import net.dv8tion.jda.api.events.self.*;
+import net.dv8tion.jda.api.requests.Route;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.entities.SelfUserImpl;
@@ -31,6 +32,7 @@ public class UserUpdateHandler extends SocketHandler {
     @Override
     protected Long handleInternally(DataObject content) {
         SelfUserImpl self = (SelfUserImpl) getJDA().getSelfUser();
+        getJDA().getRequester().invalidateResponse(Route.Users.GET_USER, self.getId());
 
         String name = content.getString("username");
         String discriminator = content.getString("discriminator");
@@ -42,37 +44,37 @@ public class UserUpdateHandler extends SocketHandler {
         if (!Objects.equals(name, self.getName())) {
             String oldName = self.getName();
             self.setName(name);
-            getJDA().handleEvent(new SelfUpdateNameEvent(getJDA(), responseNumber, oldName));
+            getJDA().handleEvent(new SelfUpdateNameEvent(getJDA(), getResponseNumber(), oldName));
         }
 
         if (!Objects.equals(discriminator, self.getDiscriminator())) {
             String oldDiscriminator = self.getDiscriminator();
             self.setDiscriminator(Short.parseShort(discriminator));
-            getJDA().handleEvent(new SelfUpdateDiscriminatorEvent(getJDA(), responseNumber, oldDiscriminator));
+            getJDA().handleEvent(new SelfUpdateDiscriminatorEvent(getJDA(), getResponseNumber(), oldDiscriminator));
         }
 
         if (!Objects.equals(globalName, self.getGlobalName())) {
             String oldGlobalName = self.getGlobalName();
             self.setGlobalName(globalName);
-            getJDA().handleEvent(new SelfUpdateGlobalNameEvent(getJDA(), responseNumber, oldGlobalName));
+            getJDA().handleEvent(new SelfUpdateGlobalNameEvent(getJDA(), getResponseNumber(), oldGlobalName));
         }
 
         if (!Objects.equals(avatarId, self.getAvatarId())) {
             String oldAvatarId = self.getAvatarId();
             self.setAvatarId(avatarId);
-            getJDA().handleEvent(new SelfUpdateAvatarEvent(getJDA(), responseNumber, oldAvatarId));
+            getJDA().handleEvent(new SelfUpdateAvatarEvent(getJDA(), getResponseNumber(), oldAvatarId));
         }
 
         if (verified != null && verified != self.isVerified()) {
             boolean wasVerified = self.isVerified();
             self.setVerified(verified);
-            getJDA().handleEvent(new SelfUpdateVerifiedEvent(getJDA(), responseNumber, wasVerified));
+            getJDA().handleEvent(new SelfUpdateVerifiedEvent(getJDA(), getResponseNumber(), wasVerified));
         }
 
         if (mfaEnabled != null && mfaEnabled != self.isMfaEnabled()) {
             boolean wasMfaEnabled = self.isMfaEnabled();
             self.setMfaEnabled(mfaEnabled);
-            getJDA().handleEvent(new SelfUpdateMFAEvent(getJDA(), responseNumber, wasMfaEnabled));
+            getJDA().handleEvent(new SelfUpdateMFAEvent(getJDA(), getResponseNumber(), wasMfaEnabled));
         }
         return null;
     }
@@ -39,15 +39,14 @@ public class VoiceChannelEffectSendHandler extends SocketHandler {
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             return null;
         }
 
         long channelId = content.getUnsignedLong("channel_id");
         VoiceChannel channel = guild.getVoiceChannelById(channelId);
         if (channel == null) {
-            getJDA().getEventCache()
-                    .cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.CHANNEL, channelId);
             return null;
         }
 
@@ -69,7 +68,7 @@ public class VoiceChannelEffectSendHandler extends SocketHandler {
         VoiceChannelEffect effect =
                 new VoiceChannelEffect(channel, userId, emoji, animation, soundboardSoundId, soundVolume);
 
-        api.handleEvent(new VoiceChannelEffectSendEvent(api, responseNumber, effect));
+        api.handleEvent(new VoiceChannelEffectSendEvent(api, getResponseNumber(), effect));
 
         return null;
     }
@@ -38,7 +38,7 @@ public class VoiceChannelStatusUpdateHandler extends SocketHandler {
 
         if (channel == null) {
             EventCache.LOG.debug("Caching VOICE_CHANNEL_STATUS_UPDATE for uncached channel. ID: {}", id);
-            getJDA().getEventCache().cache(EventCache.Type.CHANNEL, id, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.CHANNEL, id);
             return null;
         }
 
@@ -46,7 +46,7 @@ public class VoiceChannelStatusUpdateHandler extends SocketHandler {
         if (!newStatus.equals(channel.getStatus())) {
             String oldStatus = channel.getStatus();
             channel.setStatus(newStatus);
-            api.handleEvent(new ChannelUpdateVoiceStatusEvent(api, responseNumber, channel, oldStatus, newStatus));
+            api.handleEvent(new ChannelUpdateVoiceStatusEvent(api, getResponseNumber(), channel, oldStatus, newStatus));
         }
         return null;
     }
@@ -64,7 +64,7 @@ public class VoiceServerUpdateHandler extends SocketHandler {
         VoiceDispatchInterceptor voiceInterceptor = getJDA().getVoiceInterceptor();
         if (voiceInterceptor != null) {
             voiceInterceptor.onVoiceServerUpdate(
-                    new VoiceDispatchInterceptor.VoiceServerUpdate(guild, endpoint, token, sessionId, allContent));
+                    new VoiceDispatchInterceptor.VoiceServerUpdate(guild, endpoint, token, sessionId, getAllContent()));
             return null;
         }
 
@@ -76,7 +76,7 @@ public class VoiceStateUpdateHandler extends SocketHandler {
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null) {
-            getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.GUILD, guildId);
             EventCache.LOG.debug(
                     "Received a VOICE_STATE_UPDATE for a Guild that has yet to be cached. JSON: {}", content);
             return;
@@ -88,8 +88,7 @@ public class VoiceStateUpdateHandler extends SocketHandler {
         }
 
         if (channel == null && (channelId != null)) {
-            getJDA().getEventCache()
-                    .cache(EventCache.Type.CHANNEL, channelId, responseNumber, allContent, this::handle);
+            cacheEvent(EventCache.Type.CHANNEL, channelId);
             EventCache.LOG.debug(
                     "Received VOICE_STATE_UPDATE for an AudioChannel that has yet to be cached. JSON: {}", content);
             return;
@@ -117,49 +116,49 @@ public class VoiceStateUpdateHandler extends SocketHandler {
         if (selfMuted != vState.isSelfMuted()) {
             vState.setSelfMuted(selfMuted);
             getJDA().getEntityBuilder().updateMemberCache(member);
-            getJDA().handleEvent(new GuildVoiceSelfMuteEvent(getJDA(), responseNumber, member, selfMuted));
+            getJDA().handleEvent(new GuildVoiceSelfMuteEvent(getJDA(), getResponseNumber(), member, selfMuted));
         }
         if (selfDeafened != vState.isSelfDeafened()) {
             vState.setSelfDeafened(selfDeafened);
             getJDA().getEntityBuilder().updateMemberCache(member);
-            getJDA().handleEvent(new GuildVoiceSelfDeafenEvent(getJDA(), responseNumber, member, selfDeafened));
+            getJDA().handleEvent(new GuildVoiceSelfDeafenEvent(getJDA(), getResponseNumber(), member, selfDeafened));
         }
         if (guildMuted != vState.isGuildMuted()) {
             vState.setGuildMuted(guildMuted);
             getJDA().getEntityBuilder().updateMemberCache(member);
-            getJDA().handleEvent(new GuildVoiceGuildMuteEvent(getJDA(), responseNumber, member, guildMuted));
+            getJDA().handleEvent(new GuildVoiceGuildMuteEvent(getJDA(), getResponseNumber(), member, guildMuted));
         }
         if (guildDeafened != vState.isGuildDeafened()) {
             vState.setGuildDeafened(guildDeafened);
             getJDA().getEntityBuilder().updateMemberCache(member);
-            getJDA().handleEvent(new GuildVoiceGuildDeafenEvent(getJDA(), responseNumber, member, guildDeafened));
+            getJDA().handleEvent(new GuildVoiceGuildDeafenEvent(getJDA(), getResponseNumber(), member, guildDeafened));
         }
         if (suppressed != vState.isSuppressed()) {
             vState.setSuppressed(suppressed);
             getJDA().getEntityBuilder().updateMemberCache(member);
-            getJDA().handleEvent(new GuildVoiceSuppressEvent(getJDA(), responseNumber, member, suppressed));
+            getJDA().handleEvent(new GuildVoiceSuppressEvent(getJDA(), getResponseNumber(), member, suppressed));
         }
         if (stream != vState.isStream()) {
             vState.setStream(stream);
             getJDA().getEntityBuilder().updateMemberCache(member);
-            getJDA().handleEvent(new GuildVoiceStreamEvent(getJDA(), responseNumber, member, stream));
+            getJDA().handleEvent(new GuildVoiceStreamEvent(getJDA(), getResponseNumber(), member, stream));
         }
         if (video != vState.isSendingVideo()) {
             vState.setVideo(video);
             getJDA().getEntityBuilder().updateMemberCache(member);
-            getJDA().handleEvent(new GuildVoiceVideoEvent(getJDA(), responseNumber, member, video));
+            getJDA().handleEvent(new GuildVoiceVideoEvent(getJDA(), getResponseNumber(), member, video));
         }
         if (wasMute != vState.isMuted()) {
-            getJDA().handleEvent(new GuildVoiceMuteEvent(getJDA(), responseNumber, member, vState.isMuted()));
+            getJDA().handleEvent(new GuildVoiceMuteEvent(getJDA(), getResponseNumber(), member, vState.isMuted()));
         }
         if (wasDeaf != vState.isDeafened()) {
-            getJDA().handleEvent(new GuildVoiceDeafenEvent(getJDA(), responseNumber, member, vState.isDeafened()));
+            getJDA().handleEvent(new GuildVoiceDeafenEvent(getJDA(), getResponseNumber(), member, vState.isDeafened()));
         }
         if (requestToSpeakTimestamp != vState.getRequestToSpeak()) {
             OffsetDateTime oldRequestToSpeak = vState.getRequestToSpeakTimestamp();
             vState.setRequestToSpeak(requestToSpeakTime);
             getJDA().handleEvent(new GuildVoiceRequestToSpeakEvent(
-                    getJDA(), responseNumber, member, oldRequestToSpeak, requestToSpeakTime));
+                    getJDA(), getResponseNumber(), member, oldRequestToSpeak, requestToSpeakTime));
         }
 
         if (!Objects.equals(channel, vState.getChannel())) {
@@ -198,12 +197,12 @@ public class VoiceStateUpdateHandler extends SocketHandler {
                 getJDA().getEntityBuilder().updateMemberCache(member);
             }
 
-            getJDA().handleEvent(new GuildVoiceUpdateEvent(getJDA(), responseNumber, member, oldChannel));
+            getJDA().handleEvent(new GuildVoiceUpdateEvent(getJDA(), getResponseNumber(), member, oldChannel));
         }
 
         if (isSelf && voiceInterceptor != null) {
             if (voiceInterceptor.onVoiceStateUpdate(
-                    new VoiceDispatchInterceptor.VoiceStateUpdate(channel, vState, allContent))) {
+                    new VoiceDispatchInterceptor.VoiceStateUpdate(channel, vState, getAllContent()))) {
                 getJDA().getDirectAudioController().update(guild, channel);
             }
         }
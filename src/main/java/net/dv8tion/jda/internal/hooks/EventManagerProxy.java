@@ -16,10 +16,23 @@
 
 package net.dv8tion.jda.internal.hooks;
 
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.automod.AutoModExecutionEvent;
+import net.dv8tion.jda.api.events.channel.GenericChannelEvent;
+import net.dv8tion.jda.api.events.emoji.GenericEmojiEvent;
+import net.dv8tion.jda.api.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.message.GenericMessageEvent;
+import net.dv8tion.jda.api.events.role.GenericRoleEvent;
+import net.dv8tion.jda.api.events.soundboard.GenericSoundboardSoundEvent;
+import net.dv8tion.jda.api.events.sticker.GenericGuildStickerEvent;
+import net.dv8tion.jda.api.events.thread.GenericThreadEvent;
+import net.dv8tion.jda.api.events.user.update.GenericUserPresenceEvent;
 import net.dv8tion.jda.api.hooks.IEventManager;
 import net.dv8tion.jda.api.hooks.InterfacedEventManager;
 import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.utils.concurrent.OrderedExecutor;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -29,11 +42,18 @@ import javax.annotation.Nonnull;
 
 public class EventManagerProxy implements IEventManager {
     private final ExecutorService executor;
+    private final OrderedExecutor orderedExecutor;
     private IEventManager subject;
 
     public EventManagerProxy(IEventManager subject, ExecutorService executor) {
+        this(subject, executor, false);
+    }
+
+    public EventManagerProxy(IEventManager subject, ExecutorService executor, boolean ordered) {
         this.subject = subject;
         this.executor = executor;
+        this.orderedExecutor =
+                ordered && executor != null ? new OrderedExecutor(executor, OrderedExecutor.DEFAULT_LANES) : null;
     }
 
     public void setSubject(IEventManager subject) {
@@ -58,7 +78,11 @@ public class EventManagerProxy implements IEventManager {
     public void handle(@Nonnull GenericEvent event) {
         try {
             if (executor != null && !executor.isShutdown()) {
-                executor.execute(() -> handleInternally(event));
+                if (orderedExecutor != null) {
+                    orderedExecutor.execute(getOrderingKey(event), () -> handleInternally(event));
+                } else {
+                    executor.execute(() -> handleInternally(event));
+                }
             } else {
                 handleInternally(event);
             }
@@ -70,6 +94,54 @@ public class EventManagerProxy implements IEventManager {
         }
     }
 
+    // Events of the same guild, or the same channel outside of guilds, share a key and are handled in order.
+    // Other events, like user updates, all share the same key.
+    static long getOrderingKey(GenericEvent event) {
+        if (event instanceof GenericGuildEvent) {
+            return ((GenericGuildEvent) event).getGuild().getIdLong();
+        }
+        if (event instanceof GenericMessageEvent) {
+            GenericMessageEvent messageEvent = (GenericMessageEvent) event;
+            return messageEvent.isFromGuild()
+                    ? messageEvent.getGuild().getIdLong()
+                    : messageEvent.getChannel().getIdLong();
+        }
+        if (event instanceof GenericChannelEvent) {
+            GenericChannelEvent channelEvent = (GenericChannelEvent) event;
+            return channelEvent.isFromGuild()
+                    ? channelEvent.getGuild().getIdLong()
+                    : channelEvent.getChannel().getIdLong();
+        }
+        if (event instanceof GenericInteractionCreateEvent) {
+            GenericInteractionCreateEvent interactionEvent = (GenericInteractionCreateEvent) event;
+            Guild guild = interactionEvent.getGuild();
+            return guild != null ? guild.getIdLong() : interactionEvent.getChannelIdLong();
+        }
+        if (event instanceof GenericRoleEvent) {
+            return ((GenericRoleEvent) event).getGuild().getIdLong();
+        }
+        if (event instanceof GenericEmojiEvent) {
+            return ((GenericEmojiEvent) event).getGuild().getIdLong();
+        }
+        if (event instanceof GenericGuildStickerEvent) {
+            return ((GenericGuildStickerEvent) event).getGuild().getIdLong();
+        }
+        if (event instanceof GenericSoundboardSoundEvent) {
+            return ((GenericSoundboardSoundEvent) event).getGuild().getIdLong();
+        }
+        if (event instanceof GenericThreadEvent) {
+            return ((GenericThreadEvent) event).getGuild().getIdLong();
+        }
+        if (event instanceof AutoModExecutionEvent) {
+            return ((AutoModExecutionEvent) event).getGuild().getIdLong();
+        }
+        if (event instanceof GenericUserPresenceEvent) {
+            // Presence updates are sent per guild, even though the events are user events
+            return ((GenericUserPresenceEvent) event).getGuild().getIdLong();
+        }
+        return 0L;
+    }
+
     private void handleInternally(@Nonnull GenericEvent event) {
         // don't allow mere exceptions to obstruct the socket handler
         try {
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.internal.requests;
+
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildMessageChannel;
+import net.dv8tion.jda.api.requests.Request;
+import net.dv8tion.jda.api.requests.Route;
+import net.dv8tion.jda.api.utils.TimeUtil;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import org.apache.commons.collections4.map.CaseInsensitiveMap;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges single message deletes in the same channel into bulk delete requests.
+ *
+ * <p>Deletes are collected for a short window, starting with the first delete of a channel.
+ * Once the window ends or the batch reaches the limit of the bulk delete endpoint, the batch is sent as one request.
+ * If the bulk delete fails, every message of the batch is deleted individually instead.
+ */
+public class DeleteCoalescer {
+    private static final String REASON_HEADER = "X-Audit-Log-Reason";
+    private static final int MAX_BATCH = 100;
+    // Bulk delete rejects messages older than 2 weeks, leave some margin for the batch window and rate-limits
+    private static final long MAX_AGE = TimeUnit.DAYS.toMillis(14) - TimeUnit.MINUTES.toMillis(5);
+
+    private final JDAImpl api;
+    private final Requester requester;
+    private final long window;
+    // Channel + Reason -> Pending batch
+    private final ConcurrentMap<String, Batch> batches = new ConcurrentHashMap<>();
+
+    public DeleteCoalescer(JDAImpl api, Requester requester, long window) {
+        this.api = api;
+        this.requester = requester;
+        this.window = window;
+    }
+
+    /**
+     * Adds the request to a pending batch, if it is a message delete which can be bulk deleted.
+     *
+     * @param  request
+     *         The request
+     *
+     * @return True, if the request was taken by this coalescer
+     */
+    public boolean offer(Request<?> request) {
+        Route.CompiledRoute route = request.getRoute();
+        if (!Route.Messages.DELETE_MESSAGE.equals(route.getBaseRoute())) {
+            return false;
+        }
+
+        String reason = getReason(request.getHeaders());
+        if (reason == null && request.getHeaders() != null && !request.getHeaders().isEmpty()) {
+            return false;
+        }
+
+        // channels/{channel_id}/messages/{message_id}
+        String[] path = route.getCompiledRoute().split("/");
+        String channelId = path[1];
+        String messageId = path[3];
+        if (!isBulkDeletable(channelId, messageId)) {
+            return false;
+        }
+
+        String key = reason == null ? channelId : channelId + ":" + reason;
+        while (true) {
+            Batch batch = batches.computeIfAbsent(key, k -> schedule(new Batch(k, channelId, reason)));
+            int size = batch.add(messageId, request);
+            if (size < 0) {
+                batches.remove(key, batch);
+                if (batch.rejected) {
+                    return false;
+                }
+                // This batch is already being sent, try again with a new one
+                continue;
+            }
+
+            if (size >= MAX_BATCH) {
+                flush(batch);
+            }
+            return true;
+        }
+    }
+
+    private String getReason(CaseInsensitiveMap<String, String> headers) {
+        if (headers == null || headers.size() != 1) {
+            return null;
+        }
+        return headers.get(REASON_HEADER);
+    }
+
+    private boolean isBulkDeletable(String channelId, String messageId) {
+        long created = (Long.parseUnsignedLong(messageId) >>> TimeUtil.TIMESTAMP_OFFSET) + TimeUtil.DISCORD_EPOCH;
+        if (System.currentTimeMillis() - created > MAX_AGE) {
+            return false;
+        }
+
+        // Bulk delete requires permission to delete messages of other users, even for our own messages
+        GuildMessageChannel channel = api.getChannelById(GuildMessageChannel.class, channelId);
+        return channel != null && channel.getGuild().getSelfMember().hasPermission(channel, Permission.MESSAGE_MANAGE);
+    }
+
+    private Batch schedule(Batch batch) {
+        try {
+            api.getRateLimitPool().schedule(() -> flush(batch), window, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // Nothing would flush this batch, so don't accept any requests
+            batch.rejected = true;
+            batch.close();
+        }
+        return batch;
+    }
+
+    private void flush(Batch batch) {
+        batches.remove(batch.key, batch);
+        Map<String, List<Request<?>>> requests = batch.close();
+        if (requests == null) {
+            return;
+        }
+
+        // Requests which were cancelled or timed out in the meantime already failed
+        requests.values().forEach(list -> list.removeIf(Request::isSkipped));
+        requests.values().removeIf(List::isEmpty);
+
+        if (requests.size() < 2) {
+            requests.values().forEach(this::sendIndividually);
+            return;
+        }
+
+        DataObject body = DataObject.empty().put("messages", new ArrayList<>(requests.keySet()));
+        Route.CompiledRoute route = Route.Messages.DELETE_MESSAGES.compile(batch.channelId);
+        RestActionImpl<Void> action = new RestActionImpl<Void>(api, route, body) {
+            @Override
+            protected CaseInsensitiveMap<String, String> finalizeHeaders() {
+                if (batch.reason == null) {
+                    return null;
+                }
+                CaseInsensitiveMap<String, String> headers = new CaseInsensitiveMap<>();
+                headers.put(REASON_HEADER, batch.reason);
+                return headers;
+            }
+        };
+
+        Requester.LOG.debug("Merged {} message deletes in channel {}", requests.size(), batch.channelId);
+        try {
+            action.queue(
+                    v -> requests.values().forEach(list -> list.forEach(request -> request.onSuccess(null))),
+                    error -> {
+                        Requester.LOG.debug(
+                                "Bulk delete in channel {} failed, deleting messages individually",
+                                batch.channelId,
+                                error);
+                        requests.values().forEach(this::sendIndividually);
+                    });
+        } catch (RejectedExecutionException ex) {
+            requests.values().forEach(list -> list.forEach(request -> request.onFailure(ex)));
+        }
+    }
+
+    private void sendIndividually(List<Request<?>> requests) {
+        for (Request<?> request : requests) {
+            try {
+                requester.enqueue(request);
+            } catch (RejectedExecutionException ex) {
+                request.onFailure(ex);
+            }
+        }
+    }
+
+    private static final class Batch {
+        private final String key;
+        private final String channelId;
+        private final String reason;
+        // Message ID -> Requests deleting this message
+        private Map<String, List<Request<?>>> requests = new LinkedHashMap<>();
+        private volatile boolean rejected = false;
+
+        private Batch(String key, String channelId, String reason) {
+            this.key = key;
+            this.channelId = channelId;
+            this.reason = reason;
+        }
+
+        // Returns the number of messages in the batch, or -1 if the batch is closed
+        private synchronized int add(String messageId, Request<?> request) {
+            if (requests == null || requests.size() >= MAX_BATCH) {
+                return -1;
+            }
+            requests.computeIfAbsent(messageId, k -> new ArrayList<>(1)).add(request);
+            return requests.size();
+        }
+
+        private synchronized Map<String, List<Request<?>>> close() {
+            Map<String, List<Request<?>>> result = requests;
+            requests = null;
+            return result;
+        }
+    }
+}
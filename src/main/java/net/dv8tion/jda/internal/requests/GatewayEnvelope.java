@@ -0,0 +1,283 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.requests;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import net.dv8tion.jda.internal.utils.ByteBufferInputStream;
+import net.dv8tion.jda.internal.utils.SerializationUtil;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.Nullable;
+
+import static net.dv8tion.jda.api.utils.data.etf.ExTermTag.*;
+
+/**
+ * The envelope fields ({@code op}, {@code s}, and {@code t}) of a gateway payload.
+ *
+ * <p>This is read with a streaming parser before the payload is materialized into a {@link net.dv8tion.jda.api.utils.data.DataObject},
+ * which allows to drop ignored dispatches without building the tree for their {@code d} field.
+ */
+public final class GatewayEnvelope {
+    private static final int FIELD_OP = 1;
+    private static final int FIELD_SEQUENCE = 1 << 1;
+    private static final int FIELD_TYPE = 1 << 2;
+    private static final int ALL_FIELDS = FIELD_OP | FIELD_SEQUENCE | FIELD_TYPE;
+
+    private final int op;
+    private final long sequence;
+    private final String type;
+
+    private GatewayEnvelope(int op, long sequence, String type) {
+        this.op = op;
+        this.sequence = sequence;
+        this.type = type;
+    }
+
+    public int getOp() {
+        return op;
+    }
+
+    // -1 if the payload has no sequence
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Nullable
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Reads the envelope of a JSON payload, without consuming the provided buffer.
+     *
+     * @param  data
+     *         The JSON payload
+     *
+     * @return The envelope, or null if it could not be determined
+     */
+    @Nullable
+    public static GatewayEnvelope peekJson(ByteBuffer data) {
+        ByteBuffer view = data.duplicate();
+        try (JsonParser parser = view.hasArray()
+                ? SerializationUtil.createParser(
+                        view.array(), view.arrayOffset() + view.position(), view.remaining())
+                : SerializationUtil.createParser(new ByteBufferInputStream(view))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            int op = -1;
+            long sequence = -1;
+            String type = null;
+            int found = 0;
+            // Discord sends the envelope fields before "d", so we can usually stop before reaching the body
+            while (found != ALL_FIELDS && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "op":
+                        op = parser.getIntValue();
+                        found |= FIELD_OP;
+                        break;
+                    case "s":
+                        sequence = value == JsonToken.VALUE_NULL ? -1 : parser.getLongValue();
+                        found |= FIELD_SEQUENCE;
+                        break;
+                    case "t":
+                        type = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                        found |= FIELD_TYPE;
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+
+            return (found & FIELD_OP) == 0 ? null : new GatewayEnvelope(op, sequence, type);
+        } catch (IOException | RuntimeException e) {
+            // Let the full parser deal with malformed payloads
+            return null;
+        }
+    }
+
+    /**
+     * Reads the envelope of an ETF payload, without consuming the provided buffer.
+     *
+     * @param  data
+     *         The ETF payload, starting with the version header (131)
+     *
+     * @return The envelope, or null if it could not be determined
+     */
+    @Nullable
+    public static GatewayEnvelope peekETF(ByteBuffer data) {
+        ByteBuffer buffer = data.duplicate();
+        try {
+            if (buffer.get() != -125 || buffer.get() != MAP) {
+                return null;
+            }
+
+            int op = -1;
+            long sequence = -1;
+            String type = null;
+            int found = 0;
+            int arity = buffer.getInt();
+            while (found != ALL_FIELDS && arity-- > 0) {
+                String key = readString(buffer);
+                if (key == null) {
+                    return null;
+                }
+
+                switch (key) {
+                    case "op":
+                        long value = readInteger(buffer);
+                        if (value < 0) {
+                            return null;
+                        }
+                        op = (int) value;
+                        found |= FIELD_OP;
+                        break;
+                    case "s":
+                        sequence = readInteger(buffer);
+                        found |= FIELD_SEQUENCE;
+                        break;
+                    case "t":
+                        type = readString(buffer);
+                        found |= FIELD_TYPE;
+                        break;
+                    default:
+                        if (!skip(buffer)) {
+                            return null;
+                        }
+                }
+            }
+
+            return (found & FIELD_OP) == 0 ? null : new GatewayEnvelope(op, sequence, type);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Reads an atom or binary, returns null for nil or other terms
+    private static String readString(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case SMALL_ATOM_UTF8:
+                return readAtom(buffer, Byte.toUnsignedInt(buffer.get()), StandardCharsets.UTF_8);
+            case SMALL_ATOM:
+                return readAtom(buffer, Byte.toUnsignedInt(buffer.get()), StandardCharsets.ISO_8859_1);
+            case ATOM_UTF8:
+                return readAtom(buffer, Short.toUnsignedInt(buffer.getShort()), StandardCharsets.UTF_8);
+            case ATOM:
+                return readAtom(buffer, Short.toUnsignedInt(buffer.getShort()), StandardCharsets.ISO_8859_1);
+            case BINARY:
+                return readString(buffer, buffer.getInt(), StandardCharsets.UTF_8);
+            default:
+                return null;
+        }
+    }
+
+    private static String readAtom(ByteBuffer buffer, int length, Charset charset) {
+        String value = readString(buffer, length, charset);
+        return "nil".equals(value) ? null : value;
+    }
+
+    private static String readString(ByteBuffer buffer, int length, Charset charset) {
+        byte[] array = new byte[length];
+        buffer.get(array);
+        return new String(array, charset);
+    }
+
+    // Reads a non-negative integer, returns -1 for nil or other terms
+    private static long readInteger(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case SMALL_INT:
+                return Byte.toUnsignedInt(buffer.get());
+            case INT:
+                return buffer.getInt();
+            case SMALL_BIGINT:
+                int arity = Byte.toUnsignedInt(buffer.get());
+                int sign = Byte.toUnsignedInt(buffer.get());
+                long sum = 0;
+                for (int offset = 0; arity-- > 0; offset += 8) {
+                    sum += Byte.toUnsignedLong(buffer.get()) << offset;
+                }
+                return sign == 0 ? sum : -1;
+            default:
+                buffer.position(buffer.position() - 1);
+                skip(buffer);
+                return -1;
+        }
+    }
+
+    private static boolean skip(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case SMALL_INT:
+                return skipBytes(buffer, 1);
+            case INT:
+                return skipBytes(buffer, 4);
+            case SMALL_BIGINT:
+                return skipBytes(buffer, 1 + Byte.toUnsignedInt(buffer.get()));
+            case NEW_FLOAT:
+                return skipBytes(buffer, 8);
+            case FLOAT:
+                return skipBytes(buffer, 31);
+            case SMALL_ATOM_UTF8:
+            case SMALL_ATOM:
+                return skipBytes(buffer, Byte.toUnsignedInt(buffer.get()));
+            case ATOM_UTF8:
+            case ATOM:
+            case STRING:
+                return skipBytes(buffer, Short.toUnsignedInt(buffer.getShort()));
+            case BINARY:
+                return skipBytes(buffer, buffer.getInt());
+            case NIL:
+                return true;
+            case LIST:
+                // Lists have an additional tail element
+                return skipTerms(buffer, (long) buffer.getInt() + 1);
+            case MAP:
+                return skipTerms(buffer, 2L * buffer.getInt());
+            default:
+                // Compressed or unknown terms are left to the full decoder
+                return false;
+        }
+    }
+
+    private static boolean skipTerms(ByteBuffer buffer, long count) {
+        while (count-- > 0) {
+            if (!skip(buffer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean skipBytes(ByteBuffer buffer, int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            return false;
+        }
+        buffer.position(buffer.position() + length);
+        return true;
+    }
+}
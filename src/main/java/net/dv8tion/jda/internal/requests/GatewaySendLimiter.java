@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.internal.requests;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the gateway send rate-limit of {@value #LIMIT} messages per {@value #WINDOW} milliseconds.
+ *
+ * <p>The send times of the last {@value #LIMIT} messages are kept, which allows to compute
+ * exactly when the next message can be sent without exceeding the limit in any window.
+ * Queued messages leave {@value #RESERVED} messages of every window to priority messages,
+ * such as heartbeats or the identify and resume payloads.
+ */
+public final class GatewaySendLimiter {
+    public static final int LIMIT = 120;
+    public static final long WINDOW = 60000;
+    public static final int RESERVED = 4;
+
+    // Ring buffer of send times, head is the slot of the oldest send
+    private final long[] sent = new long[LIMIT];
+    private int head = 0;
+    private int count = 0;
+
+    public static long getNow() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    /**
+     * Acquires a permit to send a message, if one is available.
+     *
+     * @param  now
+     *         The current time in milliseconds, see {@link #getNow()}
+     * @param  priority
+     *         Whether the message can use the reserved permits
+     *
+     * @return True, if the message can be sent
+     */
+    public synchronized boolean tryAcquire(long now, boolean priority) {
+        if (getDelay(now, priority) > 0) {
+            return false;
+        }
+
+        sent[head] = now;
+        head = (head + 1) % LIMIT;
+        count = Math.min(count + 1, LIMIT);
+        return true;
+    }
+
+    /**
+     * The time until a permit becomes available.
+     *
+     * @param  now
+     *         The current time in milliseconds, see {@link #getNow()}
+     * @param  priority
+     *         Whether the message can use the reserved permits
+     *
+     * @return The delay in milliseconds, or 0 if a permit is available
+     */
+    public synchronized long getDelay(long now, boolean priority) {
+        int limit = priority ? LIMIT : LIMIT - RESERVED;
+        if (count < limit) {
+            return 0;
+        }
+
+        // This message has to leave the window before we can send another one
+        long oldest = sent[Math.floorMod(head - limit, LIMIT)];
+        return Math.max(0, oldest + WINDOW - now);
+    }
+
+    /**
+     * Resets the limit, a new connection starts with a fresh window.
+     */
+    public synchronized void reset() {
+        count = 0;
+    }
+}
@@ -28,6 +28,8 @@ import net.dv8tion.jda.internal.entities.MemberImpl;
 import net.dv8tion.jda.internal.utils.Helpers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.ReentrantLock;
@@ -35,9 +37,13 @@ import java.util.function.BiConsumer;
 
 public class MemberChunkManager {
     private static final long MAX_CHUNK_AGE = 10 * 1000; // 10 seconds
+    private static final int MAX_USER_IDS = 100;
     private final WebSocketClient client;
     private final ReentrantLock lock = new ReentrantLock();
     private final TLongObjectMap<ChunkRequest> requests = new TLongObjectHashMap<>();
+    // Guild ID -> Batch of user id requests which has not been sent yet
+    // Modified while holding the queue lock of the client, since the sending thread serializes the queued batches
+    private final ConcurrentMap<Long, MemberBatch> openBatches = new ConcurrentHashMap<>();
     private Future<?> timeoutHandle;
 
     public MemberChunkManager(WebSocketClient client) {
@@ -49,7 +55,10 @@ public class MemberChunkManager {
     }
 
     public void clear() {
-        MiscUtil.locked(lock, requests::clear);
+        MiscUtil.locked(lock, () -> {
+            requests.clear();
+            openBatches.clear();
+        });
     }
 
     private void init() {
@@ -90,21 +99,37 @@ public class MemberChunkManager {
                 .put("query", query);
 
         ChunkRequest chunkRequest = new ChunkRequest(handler, guild, request);
-        makeRequest(chunkRequest);
+        makeRequest(chunkRequest, true);
         return chunkRequest;
     }
 
     public ChunkRequest chunkGuild(
             GuildImpl guild, boolean presence, long[] userIds, BiConsumer<Boolean, List<Member>> handler) {
         init();
-        DataObject request = DataObject.empty()
-                .put("guild_id", guild.getId())
-                .put("presences", presence)
-                .put("user_ids", userIds);
+        MemberRequest request = new MemberRequest(handler, guild, userIds);
+        MiscUtil.locked(lock, () -> client.locked("Interrupted while trying to add chunk request", () -> {
+            // Merge with the queued request of this guild, if it has not been sent yet
+            MemberBatch batch = openBatches.get(guild.getIdLong());
+            if (batch != null && batch.presence == presence && batch.add(request)) {
+                return;
+            }
 
-        ChunkRequest chunkRequest = new ChunkRequest(handler, guild, request);
-        makeRequest(chunkRequest);
-        return chunkRequest;
+            batch = new MemberBatch(guild, presence);
+            batch.add(request);
+            openBatches.put(guild.getIdLong(), batch);
+            makeRequest(batch, true);
+        }));
+        return request;
+    }
+
+    // Called by the sending thread while holding the queue lock
+    void markSent(DataObject request) {
+        if (openBatches.isEmpty()) {
+            return;
+        }
+
+        String nonce = request.getString("nonce", "");
+        openBatches.values().removeIf(batch -> batch.getNonce().equals(nonce));
     }
 
     public boolean handleChunk(long guildId, DataObject response) {
@@ -136,20 +161,24 @@ public class MemberChunkManager {
     }
 
     private void makeRequest(ChunkRequest request) {
+        makeRequest(request, false);
+    }
+
+    private void makeRequest(ChunkRequest request, boolean priority) {
         MiscUtil.locked(lock, () -> {
             requests.put(request.nonce, request);
-            sendChunkRequest(request.getRequest());
+            sendChunkRequest(request.getRequest(), priority);
         });
     }
 
-    private void sendChunkRequest(DataObject request) {
-        client.sendChunkRequest(request);
+    private void sendChunkRequest(DataObject request, boolean priority) {
+        client.sendChunkRequest(request, priority);
     }
 
     public class ChunkRequest extends CompletableFuture<Void> {
-        private final BiConsumer<Boolean, List<Member>> handler;
-        private final GuildImpl guild;
-        private final DataObject request;
+        protected final BiConsumer<Boolean, List<Member>> handler;
+        protected final GuildImpl guild;
+        protected final DataObject request;
         private final long nonce;
         private long startTime;
         private long timeout = MAX_CHUNK_AGE;
@@ -158,7 +187,7 @@ public class MemberChunkManager {
             this.handler = handler;
             this.guild = guild;
             this.nonce = ThreadLocalRandom.current().nextLong() & ~1;
-            this.request = request.put("nonce", getNonce());
+            this.request = request == null ? null : request.put("nonce", getNonce());
         }
 
         public ChunkRequest setTimeout(long timeout) {
@@ -183,11 +212,15 @@ public class MemberChunkManager {
         }
 
         public DataObject getRequest() {
-            startTime = System.currentTimeMillis();
+            start();
             return request;
         }
 
-        private List<Member> toMembers(DataObject chunk) {
+        protected void start() {
+            startTime = System.currentTimeMillis();
+        }
+
+        protected List<Member> toMembers(DataObject chunk) {
             EntityBuilder builder = guild.getJDA().getEntityBuilder();
             DataArray memberArray = chunk.getArray("members");
             TLongObjectMap<DataObject> presences = chunk.optArray("presences")
@@ -218,22 +251,182 @@ public class MemberChunkManager {
             }
         }
 
+        protected void checkTimeout() {
+            if (isExpired()) {
+                completeExceptionally(new TimeoutException());
+            }
+        }
+
         @Override
         public boolean cancel(boolean mayInterruptIfRunning) {
+            onCancel();
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        protected void onCancel() {
             client.cancelChunkRequest(getNonce());
             cancelRequest(this);
-            return super.cancel(mayInterruptIfRunning);
         }
     }
 
+    // A request for specific members, which is sent as part of a batch
+    private class MemberRequest extends ChunkRequest {
+        private final long[] userIds;
+        private MemberBatch batch;
+
+        private MemberRequest(BiConsumer<Boolean, List<Member>> handler, GuildImpl guild, long[] userIds) {
+            super(handler, guild, null);
+            this.userIds = userIds.clone();
+            Arrays.sort(this.userIds);
+            // Not sent by itself, the age starts when joining a batch
+            start();
+        }
+
+        @Override
+        public ChunkRequest setTimeout(long timeout) {
+            super.setTimeout(timeout);
+            batch.extendTimeout(timeout);
+            return this;
+        }
+
+        private void handleMembers(boolean last, List<Member> members) {
+            if (isDone()) {
+                return;
+            }
+
+            List<Member> requested = new ArrayList<>(Math.min(members.size(), userIds.length));
+            for (Member member : members) {
+                if (Arrays.binarySearch(userIds, member.getIdLong()) >= 0) {
+                    requested.add(member);
+                }
+            }
+            handler.accept(last, requested);
+        }
+
+        @Override
+        protected void onCancel() {
+            batch.remove(this);
+        }
+    }
+
+    // Combines the member requests for one guild into a single gateway request
+    private class MemberBatch extends ChunkRequest {
+        private final boolean presence;
+        private final List<MemberRequest> members = new CopyOnWriteArrayList<>();
+        private long[] userIds = new long[0];
+        private long maxTimeout = MAX_CHUNK_AGE;
+
+        private MemberBatch(GuildImpl guild, boolean presence) {
+            super(
+                    null,
+                    guild,
+                    DataObject.empty()
+                            .put("guild_id", guild.getId())
+                            .put("presences", presence)
+                            .put("user_ids", new long[0]));
+            this.presence = presence;
+            whenComplete((ignored, error) -> {
+                openBatches.remove(guild.getIdLong(), this);
+                for (MemberRequest member : members) {
+                    if (error == null) {
+                        member.complete(null);
+                    } else {
+                        member.completeExceptionally(error);
+                    }
+                }
+            });
+        }
+
+        // Requires the queue lock, returns false if the request does not fit into this batch
+        private boolean add(MemberRequest request) {
+            if (isDone()) {
+                return false;
+            }
+
+            long[] merged = merge(userIds, request.userIds);
+            if (merged.length > MAX_USER_IDS) {
+                return false;
+            }
+
+            userIds = merged;
+            request.batch = this;
+            members.add(request);
+            // Update the queued payload, this is safe since the sending thread holds the queue lock while sending
+            this.request.put("user_ids", merged);
+            return true;
+        }
+
+        private void remove(MemberRequest request) {
+            members.remove(request);
+            if (members.isEmpty()) {
+                cancel(false);
+            }
+        }
+
+        private synchronized void extendTimeout(long timeout) {
+            maxTimeout = Math.max(maxTimeout, timeout);
+            setTimeout(maxTimeout);
+        }
+
+        @Override
+        public void handleChunk(boolean last, DataObject chunk) {
+            try {
+                List<Member> chunkMembers = isDone() ? Collections.emptyList() : toMembers(chunk);
+                for (MemberRequest member : members) {
+                    member.handleMembers(last, chunkMembers);
+                }
+            } catch (Throwable ex) {
+                completeExceptionally(ex);
+                if (ex instanceof Error) {
+                    throw (Error) ex;
+                }
+            }
+        }
+
+        @Override
+        protected void checkTimeout() {
+            for (MemberRequest member : members) {
+                member.checkTimeout();
+            }
+            super.checkTimeout();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return super.isExpired() || members.stream().allMatch(ChunkRequest::isDone);
+        }
+
+        @Override
+        protected void onCancel() {
+            openBatches.remove(guild.getIdLong(), this);
+            super.onCancel();
+        }
+    }
+
+    // Union of two sorted arrays of ids
+    private static long[] merge(long[] a, long[] b) {
+        long[] merged = new long[a.length + b.length];
+        int i = 0, j = 0, size = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+                next = a[i++];
+            } else {
+                next = b[j++];
+            }
+            if (size == 0 || merged[size - 1] != next) {
+                merged[size++] = next;
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
     private class TimeoutHandler implements Runnable {
         @Override
         public void run() {
             MiscUtil.locked(lock, () -> {
                 requests.forEachValue(request -> {
-                    if (request.isExpired()) {
-                        request.completeExceptionally(new TimeoutException());
-                    }
+                    request.checkTimeout();
                     return true;
                 });
                 requests.valueCollection().removeIf(ChunkRequest::isDone);
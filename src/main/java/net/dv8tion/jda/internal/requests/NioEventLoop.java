@@ -0,0 +1,189 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.requests;
+
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single thread which serves the I/O of many {@link NioWebSocket NioWebSockets} through one {@link Selector}.
+ *
+ * <p>The thread is started once a task is submitted and stops when it has no connections left,
+ * so an idle transport does not keep the JVM alive.
+ */
+public final class NioEventLoop implements Runnable {
+    private static final Logger LOG = JDALogger.getLog(NioEventLoop.class);
+    // Interval in which the timeouts of the connections are checked
+    private static final long TIMEOUT_INTERVAL = 1000;
+
+    private final String name;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    // Only accessed by the event loop thread
+    private final Set<NioWebSocket> connections = new HashSet<>();
+
+    private Selector selector;
+    private volatile Thread thread;
+
+    public NioEventLoop(String name) {
+        this.name = name;
+    }
+
+    public static long getNow() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    public void execute(Runnable task) {
+        Selector selector;
+        synchronized (this) {
+            tasks.add(task);
+            if (thread == null) {
+                start();
+                return;
+            }
+            selector = this.selector;
+        }
+        selector.wakeup();
+    }
+
+    public void shutdown() {
+        execute(() -> new ArrayList<>(connections).forEach(socket -> socket.startClose(1000, "Shutting down")));
+    }
+
+    public void connect(NioWebSocket socket) {
+        // Count the connection right away, so concurrent connects are spread across the loops
+        connectionCount.incrementAndGet();
+        try {
+            execute(() -> {
+                connections.add(socket);
+                socket.start();
+            });
+        } catch (RuntimeException e) {
+            connectionCount.decrementAndGet();
+            throw e;
+        }
+    }
+
+    protected SelectionKey register(SocketChannel channel, NioWebSocket socket) throws IOException {
+        return channel.register(selector, SelectionKey.OP_CONNECT, socket);
+    }
+
+    protected void unregister(NioWebSocket socket) {
+        if (connections.remove(socket)) {
+            connectionCount.decrementAndGet();
+        }
+    }
+
+    private void start() {
+        try {
+            selector = Selector.open();
+        } catch (IOException e) {
+            tasks.clear();
+            throw new UncheckedIOException("Failed to open selector", e);
+        }
+        thread = new Thread(this, name);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        long nextTimeoutCheck = 0;
+        try {
+            while (true) {
+                runTasks();
+                if (connections.isEmpty()) {
+                    synchronized (this) {
+                        if (tasks.isEmpty()) {
+                            stop();
+                            return;
+                        }
+                    }
+                    continue;
+                }
+
+                selector.select(TIMEOUT_INTERVAL);
+                Set<SelectionKey> keys = selector.selectedKeys();
+                for (SelectionKey key : keys) {
+                    ((NioWebSocket) key.attachment()).handleReady(key);
+                }
+                keys.clear();
+
+                long now = getNow();
+                if (now - nextTimeoutCheck >= 0) {
+                    nextTimeoutCheck = now + TIMEOUT_INTERVAL;
+                    for (NioWebSocket socket : new ArrayList<>(connections)) {
+                        socket.checkTimeout(now);
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            LOG.error("Gateway event loop {} encountered an unexpected error", name, t);
+            for (NioWebSocket socket : new ArrayList<>(connections)) {
+                socket.fail(t);
+            }
+            synchronized (this) {
+                stop();
+                // Restart for tasks which were submitted in the meantime
+                if (!tasks.isEmpty()) {
+                    start();
+                }
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOG.error("Gateway event loop task threw an exception", t);
+            }
+        }
+    }
+
+    private void stop() {
+        try {
+            selector.close();
+        } catch (IOException e) {
+            LOG.debug("Failed to close selector", e);
+        }
+        selector = null;
+        thread = null;
+    }
+}
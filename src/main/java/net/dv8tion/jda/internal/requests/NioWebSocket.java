@@ -0,0 +1,860 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.requests;
+
+import net.dv8tion.jda.api.requests.GatewayTransport;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+
+/**
+ * Non-blocking websocket client connection, which is driven by a {@link NioEventLoop}.
+ *
+ * <p>Apart from the methods of {@link GatewayTransport.Connection}, all methods must be called on the thread of the event loop.
+ * Outgoing messages are queued and written by the event loop.
+ *
+ * <p>The event loop only does the I/O and framing, the listener is called on a serial executor of this connection.
+ * If the listener falls behind, the connection stops reading until the backlog of received messages is handled.
+ */
+public final class NioWebSocket implements GatewayTransport.Connection {
+    private static final Logger LOG = JDALogger.getLog(NioWebSocket.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private static final int OP_CONTINUATION = 0x0;
+    private static final int OP_TEXT = 0x1;
+    private static final int OP_BINARY = 0x2;
+    private static final int OP_CLOSE = 0x8;
+    private static final int OP_PING = 0x9;
+    private static final int OP_PONG = 0xA;
+
+    private static final int CLOSE_NO_STATUS = 1005;
+    private static final int CLOSE_ABNORMAL = 1006;
+
+    private static final long CONNECT_TIMEOUT = 10000;
+    private static final long CLOSE_TIMEOUT = 10000;
+    private static final int MAX_HEADER_SIZE = 16 * 1024;
+    private static final int MAX_MESSAGE_SIZE = 128 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 16 * 1024;
+    // Buffers which grew for a large message are released again once they are empty
+    private static final int SHRINK_THRESHOLD = 1024 * 1024;
+    // Messages which can be queued for the listener, before the connection stops reading
+    private static final int MAX_QUEUED_MESSAGES = 1024;
+    private static final int RESUME_QUEUED_MESSAGES = MAX_QUEUED_MESSAGES / 2;
+
+    private enum State {
+        CONNECTING,
+        UPGRADING,
+        OPEN,
+        CLOSING,
+        CLOSED
+    }
+
+    private final NioEventLoop loop;
+    private final InetSocketAddress address;
+    private final String host;
+    private final String requestTarget;
+    private final Map<String, String> headers;
+    private final GatewayTransport.Listener listener;
+    private final Executor callbacks;
+    private final SSLEngine engine;
+    private final String key = createKey();
+    private final CompletableFuture<GatewayTransport.Connection> future = new CompletableFuture<>();
+
+    private final Queue<ByteBuffer> outgoing = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final AtomicInteger queuedMessages = new AtomicInteger();
+    private volatile long readTimeout = 0;
+    private volatile State state = State.CONNECTING;
+
+    private SocketChannel channel;
+    private SelectionKey selectionKey;
+    private ByteBuffer netIn, appIn, netOut, appOut;
+    private boolean eof, paused;
+    private long deadline, lastRead;
+
+    private ByteArrayOutputStream fragments;
+    private int fragmentsOpcode;
+
+    private boolean closeSent, closeReceived, closedByServer;
+    private int closeCode = CLOSE_ABNORMAL;
+    private String closeReason;
+
+    public NioWebSocket(
+            @Nonnull NioEventLoop loop,
+            @Nonnull InetSocketAddress address,
+            @Nonnull String host,
+            @Nonnull String requestTarget,
+            @Nonnull Map<String, String> headers,
+            @Nonnull GatewayTransport.Listener listener,
+            @Nonnull Executor callbacks,
+            @Nullable SSLEngine engine) {
+        this.loop = loop;
+        this.address = address;
+        this.host = host;
+        this.requestTarget = requestTarget;
+        this.headers = headers;
+        this.listener = listener;
+        this.callbacks = callbacks;
+        this.engine = engine;
+    }
+
+    @Nonnull
+    public CompletableFuture<GatewayTransport.Connection> connect() {
+        try {
+            loop.connect(this);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public void sendText(@Nonnull String message) {
+        enqueue(createFrame(OP_TEXT, message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public void sendBinary(@Nonnull byte[] message) {
+        enqueue(createFrame(OP_BINARY, message));
+    }
+
+    @Override
+    public void close(int code, @Nullable String reason) {
+        loop.execute(() -> startClose(code, reason));
+    }
+
+    @Override
+    public void setReadTimeout(long millis) {
+        this.readTimeout = millis;
+    }
+
+    private void enqueue(ByteBuffer frame) {
+        if (state.compareTo(State.OPEN) > 0) {
+            return;
+        }
+        outgoing.add(frame);
+        if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(this::flushOutgoing);
+        }
+    }
+
+    /* Event loop */
+
+    protected void start() {
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            selectionKey = loop.register(channel, this);
+            deadline = NioEventLoop.getNow() + CONNECT_TIMEOUT;
+            if (channel.connect(address)) {
+                onConnected();
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    protected void handleReady(SelectionKey key) {
+        try {
+            if (key.isValid() && key.isConnectable() && channel.finishConnect()) {
+                onConnected();
+            }
+            if (key.isValid() && key.isReadable()) {
+                read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush();
+            }
+        } catch (CancelledKeyException ignored) {
+            // Connection was closed while handling the ready operations
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    protected void checkTimeout(long now) {
+        switch (state) {
+            case CONNECTING:
+            case UPGRADING:
+                if (now - deadline >= 0) {
+                    fail(new SocketTimeoutException("Timed out while connecting to " + host));
+                }
+                break;
+            case OPEN:
+                long timeout = readTimeout;
+                // Nothing is read while the listener catches up, which says nothing about the connection
+                if (timeout > 0 && !paused && now - lastRead >= timeout) {
+                    fail(new SocketTimeoutException("Read timed out"));
+                }
+                break;
+            case CLOSING:
+                if (now - deadline >= 0) {
+                    finish();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    protected void startClose(int code, String reason) {
+        switch (state) {
+            case CONNECTING:
+            case UPGRADING:
+                fail(new IOException("Connection was closed during the handshake"));
+                break;
+            case OPEN:
+                state = State.CLOSING;
+                deadline = NioEventLoop.getNow() + CLOSE_TIMEOUT;
+                closeCode = code;
+                closeReason = reason;
+                sendCloseFrame(code, reason);
+                break;
+            default:
+                break;
+        }
+    }
+
+    protected void fail(Throwable cause) {
+        State previous = state;
+        if (previous == State.CLOSED) {
+            return;
+        }
+        terminate();
+        if (previous == State.CONNECTING || previous == State.UPGRADING) {
+            future.completeExceptionally(cause);
+            return;
+        }
+
+        if (previous == State.OPEN) {
+            closeCode = CLOSE_ABNORMAL;
+            closeReason = null;
+        }
+        notifyError(cause);
+        notifyClose();
+    }
+
+    private void finish() {
+        if (state == State.CLOSED) {
+            return;
+        }
+        terminate();
+        notifyClose();
+    }
+
+    private void terminate() {
+        state = State.CLOSED;
+        outgoing.clear();
+        loop.unregister(this);
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.debug("Failed to close socket channel", e);
+        }
+    }
+
+    private void onConnected() throws IOException {
+        state = State.UPGRADING;
+        updateInterest(false);
+        int appSize = BUFFER_SIZE;
+        int netSize = BUFFER_SIZE;
+        if (engine != null) {
+            appSize = Math.max(appSize, engine.getSession().getApplicationBufferSize());
+            netSize = Math.max(netSize, engine.getSession().getPacketBufferSize());
+            engine.beginHandshake();
+        }
+        netIn = ByteBuffer.allocate(netSize);
+        netOut = ByteBuffer.allocate(netSize);
+        appIn = ByteBuffer.allocate(appSize);
+        appOut = ByteBuffer.allocate(appSize);
+
+        StringBuilder request = new StringBuilder();
+        request.append("GET ").append(requestTarget).append(" HTTP/1.1\r\n");
+        request.append("Host: ").append(host).append("\r\n");
+        request.append("Upgrade: websocket\r\n");
+        request.append("Connection: Upgrade\r\n");
+        request.append("Sec-WebSocket-Key: ").append(key).append("\r\n");
+        request.append("Sec-WebSocket-Version: 13\r\n");
+        headers.forEach((name, value) ->
+                request.append(name).append(": ").append(value).append("\r\n"));
+        request.append("\r\n");
+        appOut.put(request.toString().getBytes(StandardCharsets.ISO_8859_1));
+        flush();
+    }
+
+    private void flushOutgoing() {
+        flushScheduled.set(false);
+        if (state != State.OPEN) {
+            return;
+        }
+
+        ByteBuffer frame;
+        while ((frame = outgoing.poll()) != null) {
+            appOut = append(appOut, frame);
+        }
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private void sendCloseFrame(int code, String reason) {
+        byte[] payload;
+        if (code == CLOSE_NO_STATUS) {
+            payload = new byte[0];
+        } else {
+            byte[] encodedReason = reason == null ? new byte[0] : reason.getBytes(StandardCharsets.UTF_8);
+            // Control frames are limited to 125 bytes
+            payload = new byte[2 + Math.min(encodedReason.length, 123)];
+            payload[0] = (byte) (code >> 8);
+            payload[1] = (byte) code;
+            System.arraycopy(encodedReason, 0, payload, 2, payload.length - 2);
+        }
+
+        closeSent = true;
+        outgoing.clear();
+        appOut = append(appOut, createFrame(OP_CLOSE, payload));
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private void read() throws IOException {
+        ByteBuffer target = engine == null ? appIn : netIn;
+        if (!target.hasRemaining()) {
+            target = grow(target, BUFFER_SIZE);
+            if (engine == null) {
+                appIn = target;
+            } else {
+                netIn = target;
+            }
+        }
+
+        if (channel.read(target) < 0) {
+            eof = true;
+        } else {
+            lastRead = NioEventLoop.getNow();
+        }
+
+        if (engine != null) {
+            unwrapInput();
+        }
+        processInput();
+        flush();
+
+        if (eof && state != State.CLOSED) {
+            if (state == State.CLOSING) {
+                finish();
+            } else {
+                fail(new EOFException("Connection was closed by the server"));
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        if (state == State.CLOSED) {
+            return;
+        }
+        if (engine != null) {
+            wrapOutput();
+        } else if (appOut.position() > 0) {
+            appOut.flip();
+            netOut = append(netOut, appOut);
+            appOut.clear();
+        }
+
+        netOut.flip();
+        while (netOut.hasRemaining() && channel.write(netOut) > 0) {}
+        boolean pending = netOut.hasRemaining();
+        netOut.compact();
+        if (!pending) {
+            netOut = shrink(netOut);
+            appOut = shrink(appOut);
+        }
+
+        updateInterest(pending);
+        if (!pending && closeSent && closeReceived) {
+            finish();
+        }
+    }
+
+    private void updateInterest(boolean writePending) {
+        // The close handshake is always read, even if the listener is behind
+        int ops = paused && state == State.OPEN ? 0 : SelectionKey.OP_READ;
+        selectionKey.interestOps(writePending ? ops | SelectionKey.OP_WRITE : ops);
+    }
+
+    private void resumeReading() {
+        if (!paused || state == State.CLOSED || queuedMessages.get() > RESUME_QUEUED_MESSAGES) {
+            return;
+        }
+        paused = false;
+        lastRead = NioEventLoop.getNow();
+        try {
+            updateInterest((selectionKey.interestOps() & SelectionKey.OP_WRITE) != 0);
+        } catch (CancelledKeyException ignored) {
+            // Connection was closed in the meantime
+        }
+    }
+
+    /* TLS */
+
+    // Decrypts the received data into appIn, handshake messages are written to netOut
+    private void unwrapInput() throws IOException {
+        boolean progress = true;
+        while (progress) {
+            switch (engine.getHandshakeStatus()) {
+                case NEED_TASK:
+                    runDelegatedTasks();
+                    break;
+                case NEED_WRAP:
+                    progress = wrap();
+                    break;
+                default:
+                    progress = unwrap();
+            }
+        }
+    }
+
+    // Encrypts appOut into netOut, this never touches appIn which might currently be read from
+    private void wrapOutput() throws IOException {
+        boolean progress = true;
+        while (progress) {
+            switch (engine.getHandshakeStatus()) {
+                case NEED_TASK:
+                    runDelegatedTasks();
+                    break;
+                case NEED_WRAP:
+                    progress = wrap();
+                    break;
+                case NEED_UNWRAP:
+                    progress = false;
+                    break;
+                default:
+                    progress = appOut.position() > 0 && wrap();
+            }
+        }
+    }
+
+    private void runDelegatedTasks() {
+        Runnable task;
+        while ((task = engine.getDelegatedTask()) != null) {
+            task.run();
+        }
+    }
+
+    private boolean wrap() throws IOException {
+        appOut.flip();
+        SSLEngineResult result;
+        try {
+            result = engine.wrap(appOut, netOut);
+        } finally {
+            appOut.compact();
+        }
+
+        switch (result.getStatus()) {
+            case BUFFER_OVERFLOW:
+                netOut = grow(netOut, engine.getSession().getPacketBufferSize());
+                return true;
+            case CLOSED:
+                return false;
+            default:
+                return result.bytesConsumed() > 0 || result.bytesProduced() > 0;
+        }
+    }
+
+    private boolean unwrap() throws IOException {
+        netIn.flip();
+        SSLEngineResult result;
+        try {
+            result = engine.unwrap(netIn, appIn);
+        } finally {
+            netIn.compact();
+        }
+
+        switch (result.getStatus()) {
+            case BUFFER_OVERFLOW:
+                appIn = grow(appIn, engine.getSession().getApplicationBufferSize());
+                return true;
+            case BUFFER_UNDERFLOW:
+                if (netIn.remaining() < engine.getSession().getPacketBufferSize()) {
+                    netIn = grow(netIn, engine.getSession().getPacketBufferSize());
+                }
+                return false;
+            case CLOSED:
+                eof = true;
+                return false;
+            default:
+                return result.bytesConsumed() > 0 || result.bytesProduced() > 0;
+        }
+    }
+
+    /* WebSocket protocol */
+
+    private void processInput() throws IOException {
+        int required = 0;
+        appIn.flip();
+        try {
+            if (state == State.UPGRADING && !readHandshake()) {
+                return;
+            }
+            while (state == State.OPEN || state == State.CLOSING) {
+                required = readFrame();
+                if (required > 0) {
+                    break;
+                }
+            }
+        } finally {
+            appIn.compact();
+        }
+
+        if (required > appIn.capacity()) {
+            appIn = grow(appIn, required - appIn.position());
+        } else if (appIn.position() == 0) {
+            appIn = shrink(appIn);
+        }
+    }
+
+    private boolean readHandshake() throws IOException {
+        int start = appIn.position();
+        int end = -1;
+        for (int i = start; i + 3 < appIn.limit(); i++) {
+            if (appIn.get(i) == '\r' && appIn.get(i + 1) == '\n' && appIn.get(i + 2) == '\r' && appIn.get(i + 3) == '\n') {
+                end = i;
+                break;
+            }
+        }
+
+        if (end < 0) {
+            if (appIn.remaining() > MAX_HEADER_SIZE) {
+                throw new ProtocolException("Handshake response exceeds " + MAX_HEADER_SIZE + " bytes");
+            }
+            return false;
+        }
+
+        byte[] head = new byte[end - start];
+        appIn.get(head);
+        appIn.position(end + 4);
+
+        String[] lines = new String(head, StandardCharsets.ISO_8859_1).split("\r\n");
+        String[] status = lines[0].split(" ", 3);
+        if (status.length < 2 || !status[1].equals("101")) {
+            throw new ProtocolException("Unexpected handshake response: " + lines[0]);
+        }
+
+        Map<String, List<String>> responseHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 1; i < lines.length; i++) {
+            int separator = lines[i].indexOf(':');
+            if (separator > 0) {
+                responseHeaders
+                        .computeIfAbsent(lines[i].substring(0, separator).trim(), k -> new ArrayList<>())
+                        .add(lines[i].substring(separator + 1).trim());
+            }
+        }
+
+        List<String> accept = responseHeaders.get("Sec-WebSocket-Accept");
+        if (accept == null || !accept.contains(getAccept(key))) {
+            throw new ProtocolException("Handshake response has an invalid Sec-WebSocket-Accept header");
+        }
+
+        state = State.OPEN;
+        lastRead = NioEventLoop.getNow();
+        Map<String, List<String>> openHeaders = Collections.unmodifiableMap(responseHeaders);
+        callbacks.execute(() -> {
+            try {
+                listener.onOpen(this, openHeaders);
+            } catch (Throwable t) {
+                onListenerError(t);
+            }
+            future.complete(this);
+        });
+        return true;
+    }
+
+    // Returns the number of bytes required to read the next frame, or 0 if a frame was read
+    private int readFrame() throws IOException {
+        int start = appIn.position();
+        int available = appIn.remaining();
+        if (available < 2) {
+            return 2;
+        }
+
+        int head = appIn.get(start) & 0xFF;
+        int lengthByte = appIn.get(start + 1) & 0xFF;
+        boolean fin = (head & 0x80) != 0;
+        int opcode = head & 0x0F;
+        boolean masked = (lengthByte & 0x80) != 0;
+
+        long length = lengthByte & 0x7F;
+        int headerSize = 2;
+        if (length == 126) {
+            if (available < 4) {
+                return 4;
+            }
+            length = appIn.getShort(start + 2) & 0xFFFF;
+            headerSize = 4;
+        } else if (length == 127) {
+            if (available < 10) {
+                return 10;
+            }
+            length = appIn.getLong(start + 2);
+            headerSize = 10;
+        }
+        if (masked) {
+            headerSize += 4;
+        }
+
+        if (length < 0 || length > MAX_MESSAGE_SIZE) {
+            throw new ProtocolException("Frame exceeds the maximum message size of " + MAX_MESSAGE_SIZE + " bytes");
+        }
+        int frameSize = headerSize + (int) length;
+        if (available < frameSize) {
+            return frameSize;
+        }
+
+        byte[] payload = new byte[(int) length];
+        appIn.position(start + headerSize);
+        appIn.get(payload);
+        if (masked) {
+            int mask = start + headerSize - 4;
+            for (int i = 0; i < payload.length; i++) {
+                payload[i] ^= appIn.get(mask + (i & 3));
+            }
+        }
+
+        handleFrame(fin, opcode, payload);
+        return 0;
+    }
+
+    private void handleFrame(boolean fin, int opcode, byte[] payload) throws IOException {
+        switch (opcode) {
+            case OP_TEXT:
+            case OP_BINARY:
+                if (fragments != null) {
+                    throw new ProtocolException("Expected continuation frame, got opcode " + opcode);
+                }
+                if (fin) {
+                    deliver(opcode, payload);
+                } else {
+                    fragments = new ByteArrayOutputStream(payload.length * 2);
+                    fragments.write(payload, 0, payload.length);
+                    fragmentsOpcode = opcode;
+                }
+                break;
+            case OP_CONTINUATION:
+                if (fragments == null) {
+                    throw new ProtocolException("Unexpected continuation frame");
+                }
+                if (fragments.size() + payload.length > MAX_MESSAGE_SIZE) {
+                    throw new ProtocolException(
+                            "Message exceeds the maximum message size of " + MAX_MESSAGE_SIZE + " bytes");
+                }
+                fragments.write(payload, 0, payload.length);
+                if (fin) {
+                    byte[] message = fragments.toByteArray();
+                    fragments = null;
+                    deliver(fragmentsOpcode, message);
+                }
+                break;
+            case OP_PING:
+                if (!closeSent) {
+                    appOut = append(appOut, createFrame(OP_PONG, payload));
+                    flush();
+                }
+                break;
+            case OP_PONG:
+                break;
+            case OP_CLOSE:
+                handleCloseFrame(payload);
+                break;
+            default:
+                throw new ProtocolException("Unknown opcode " + opcode);
+        }
+    }
+
+    private void handleCloseFrame(byte[] payload) throws IOException {
+        closeReceived = true;
+        if (state == State.OPEN) {
+            int code = CLOSE_NO_STATUS;
+            String reason = null;
+            if (payload.length >= 2) {
+                code = ((payload[0] & 0xFF) << 8) | (payload[1] & 0xFF);
+                reason = new String(payload, 2, payload.length - 2, StandardCharsets.UTF_8);
+            }
+
+            state = State.CLOSING;
+            deadline = NioEventLoop.getNow() + CLOSE_TIMEOUT;
+            closeCode = code;
+            closeReason = reason;
+            closedByServer = true;
+            sendCloseFrame(code, null);
+        } else {
+            flush();
+        }
+    }
+
+    private void deliver(int opcode, byte[] message) {
+        if (queuedMessages.incrementAndGet() >= MAX_QUEUED_MESSAGES && !paused) {
+            LOG.debug("Listener of {} is behind by {} messages, pausing reads", host, MAX_QUEUED_MESSAGES);
+            paused = true;
+            updateInterest((selectionKey.interestOps() & SelectionKey.OP_WRITE) != 0);
+        }
+
+        callbacks.execute(() -> {
+            try {
+                if (opcode == OP_TEXT) {
+                    listener.onTextMessage(this, message);
+                } else {
+                    listener.onBinaryMessage(this, message);
+                }
+            } catch (Throwable t) {
+                onListenerError(t);
+            }
+
+            if (queuedMessages.decrementAndGet() == RESUME_QUEUED_MESSAGES) {
+                loop.execute(this::resumeReading);
+            }
+        });
+    }
+
+    private void notifyError(Throwable cause) {
+        callbacks.execute(() -> onListenerError(cause));
+    }
+
+    private void notifyClose() {
+        int code = closeCode;
+        String reason = closeReason;
+        boolean byServer = closedByServer;
+        callbacks.execute(() -> {
+            try {
+                listener.onClose(this, code, reason, byServer);
+            } catch (Throwable t) {
+                LOG.error("Websocket listener threw an exception while handling the close", t);
+            }
+        });
+    }
+
+    // Must only be called by the callback executor
+    private void onListenerError(Throwable cause) {
+        try {
+            listener.onError(this, cause);
+        } catch (Throwable t) {
+            LOG.error("Websocket listener threw an exception while handling an error", t);
+        }
+    }
+
+    /* Utility */
+
+    private static ByteBuffer createFrame(int opcode, byte[] payload) {
+        int length = payload.length;
+        int lengthSize = length > 0xFFFF ? 8 : length > 125 ? 2 : 0;
+        ByteBuffer frame = ByteBuffer.allocate(2 + lengthSize + 4 + length);
+        frame.put((byte) (0x80 | opcode));
+        if (lengthSize == 0) {
+            frame.put((byte) (0x80 | length));
+        } else if (lengthSize == 2) {
+            frame.put((byte) (0x80 | 126));
+            frame.putShort((short) length);
+        } else {
+            frame.put((byte) (0x80 | 127));
+            frame.putLong(length);
+        }
+
+        // Client frames are always masked
+        byte[] mask = new byte[4];
+        RANDOM.nextBytes(mask);
+        frame.put(mask);
+        for (int i = 0; i < length; i++) {
+            frame.put((byte) (payload[i] ^ mask[i & 3]));
+        }
+        frame.flip();
+        return frame;
+    }
+
+    // Appends the remaining bytes of source to the buffer, which is in write mode
+    private static ByteBuffer append(ByteBuffer buffer, ByteBuffer source) {
+        if (buffer.remaining() < source.remaining()) {
+            buffer = grow(buffer, source.remaining());
+        }
+        return buffer.put(source);
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int minRemaining) {
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + minRemaining);
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    private static ByteBuffer shrink(ByteBuffer buffer) {
+        if (buffer.position() == 0 && buffer.capacity() > SHRINK_THRESHOLD) {
+            return ByteBuffer.allocate(BUFFER_SIZE);
+        }
+        return buffer;
+    }
+
+    private static String createKey() {
+        byte[] nonce = new byte[16];
+        RANDOM.nextBytes(nonce);
+        return Base64.getEncoder().encodeToString(nonce);
+    }
+
+    public static String getAccept(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest((key + ACCEPT_GUID).getBytes(StandardCharsets.ISO_8859_1));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not supported", e);
+        }
+    }
+}
@@ -21,10 +21,12 @@ import net.dv8tion.jda.api.requests.*;
 import net.dv8tion.jda.api.requests.Request;
 import net.dv8tion.jda.api.requests.Response;
 import net.dv8tion.jda.api.requests.Route;
+import net.dv8tion.jda.api.utils.MetricsRecorder;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.utils.IOUtil;
 import net.dv8tion.jda.internal.utils.JDALogger;
+import net.dv8tion.jda.internal.utils.concurrent.CountingThreadFactory;
 import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
 import okhttp3.*;
 import org.slf4j.Logger;
@@ -35,12 +37,12 @@ import java.io.InputStream;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
-import java.util.LinkedHashSet;
-import java.util.Locale;
+import java.time.Duration;
+import java.util.*;
 import java.util.Map.Entry;
-import java.util.Set;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
@@ -60,6 +62,9 @@ public class Requester {
         529, // The service is overloaded
     };
 
+    // Upper bound for concurrent calls on the async dispatcher, each bucket only has one call in-flight at a time
+    private static final int ASYNC_MAX_REQUESTS = 256;
+
     public static final Logger LOG = JDALogger.getLog(Requester.class);
 
     @SuppressWarnings("deprecation")
@@ -78,6 +83,8 @@ public class Requester {
     private final Consumer<? super okhttp3.Request.Builder> customBuilder;
 
     private final OkHttpClient httpClient;
+    private final OkHttpClient asyncClient;
+    private final ExecutorService asyncExecutor;
 
     // when we actually set the shard info we can also set the mdc context map,
     // before it makes no sense
@@ -86,6 +93,16 @@ public class Requester {
 
     private volatile boolean retryOnTimeout = false;
 
+    // Compiled GET route -> Pending requests waiting for the response of an identical in-flight request
+    private final ConcurrentMap<String, CoalescedRequests> inflight = new ConcurrentHashMap<>();
+    private final boolean coalesceRequests;
+    private final ResponseCache responseCache;
+    private final DeleteCoalescer deleteCoalescer;
+
+    private final MetricsRecorder metrics;
+    // Number of queued requests which have not been completed or cancelled yet
+    private final AtomicInteger queueSize = new AtomicInteger();
+
     public Requester(JDA api, AuthorizationConfig authConfig, RestConfig config, RestRateLimiter rateLimiter) {
         if (authConfig == null) {
             throw new NullPointerException("Provided config was null!");
@@ -98,6 +115,39 @@ public class Requester {
         this.userAgent = config.getUserAgent();
         this.customBuilder = config.getCustomBuilder();
         this.httpClient = this.api.getHttpClient();
+        this.coalesceRequests = config.isCoalesceRequests();
+        this.metrics = this.api.getMetricsRecorder();
+
+        long deleteWindow = config.getDeleteCoalescingWindow().toMillis();
+        this.deleteCoalescer = deleteWindow > 0 ? new DeleteCoalescer(this.api, this, deleteWindow) : null;
+
+        Map<Route, Duration> cacheTTLs = config.getResponseCacheTTLs();
+        if (cacheTTLs.isEmpty()) {
+            this.responseCache = null;
+        } else {
+            Map<Route, Long> ttls = new HashMap<>();
+            cacheTTLs.forEach((route, ttl) -> ttls.put(route, ttl.toMillis()));
+            this.responseCache = new ResponseCache(ttls, config.getResponseCacheSize());
+        }
+
+        if (config.isAsyncRequests()) {
+            // Derive a client with our own dispatcher, to avoid changing the limits of a user-provided client.
+            // The dispatcher only holds a thread while a call is in-flight, retries are scheduled on the rate-limit pool.
+            this.asyncExecutor = new ThreadPoolExecutor(
+                    0,
+                    Integer.MAX_VALUE,
+                    60,
+                    TimeUnit.SECONDS,
+                    new SynchronousQueue<>(),
+                    new CountingThreadFactory(this.api::getIdentifierString, "RequestDispatcher"));
+            Dispatcher dispatcher = new Dispatcher(asyncExecutor);
+            dispatcher.setMaxRequests(ASYNC_MAX_REQUESTS);
+            dispatcher.setMaxRequestsPerHost(ASYNC_MAX_REQUESTS);
+            this.asyncClient = httpClient.newBuilder().dispatcher(dispatcher).build();
+        } else {
+            this.asyncExecutor = null;
+            this.asyncClient = null;
+        }
     }
 
     public void setContextReady(boolean ready) {
@@ -123,10 +173,97 @@ public class Requester {
             throw new RejectedExecutionException("The Requester has been stopped! No new requests can be requested!");
         }
 
-        if (apiRequest.shouldQueue()) {
-            rateLimiter.enqueue(new WorkTask(apiRequest));
-        } else {
+        if (!apiRequest.shouldQueue()) {
             execute(new WorkTask(apiRequest), true);
+        } else if (deleteCoalescer != null && deleteCoalescer.offer(apiRequest)) {
+            LOG.trace("Added delete request {} to bulk delete batch", apiRequest.getRoute().getCompiledRoute());
+        } else if (!isCoalescable(apiRequest)) {
+            enqueueWork(new WorkTask(apiRequest));
+        } else if (handleCached(apiRequest)) {
+            LOG.trace("Used cached response for GET {}", apiRequest.getRoute().getCompiledRoute());
+        } else if (coalesceRequests) {
+            enqueueCoalesced(apiRequest);
+        } else {
+            enqueueWork(new WorkTask(apiRequest));
+        }
+    }
+
+    /**
+     * Invalidates the cached responses for the provided route, if the route is cached.
+     * <br>This includes responses which were fetched with query parameters.
+     *
+     * @param route
+     *        The GET route
+     * @param params
+     *        The parameters to compile the route
+     */
+    public void invalidateResponse(Route route, String... params) {
+        if (responseCache != null) {
+            responseCache.invalidate(route, params);
+        }
+    }
+
+    /**
+     * Invalidates all cached responses for compiled routes starting with the provided prefix.
+     *
+     * @param prefix
+     *        The prefix of the compiled routes, such as {@code "guilds/123/"}
+     */
+    public void invalidateResponses(String prefix) {
+        if (responseCache != null) {
+            responseCache.invalidatePrefix(prefix);
+        }
+    }
+
+    private boolean handleCached(Request<?> apiRequest) {
+        Route.CompiledRoute route = apiRequest.getRoute();
+        if (responseCache == null || !responseCache.isCached(route.getBaseRoute())) {
+            return false;
+        }
+
+        ResponseCache.Entry entry = responseCache.get(route);
+        if (entry == null) {
+            return false;
+        }
+
+        if (!apiRequest.isSkipped()) {
+            okhttp3.Response response = copyResponse(entry.getResponse(), entry.getBody());
+            apiRequest.handleResponse(new Response(response, -1, new LinkedHashSet<>()));
+        }
+        return true;
+    }
+
+    // Enqueues the request on the rate-limiter, without coalescing or caching
+    void enqueue(Request<?> apiRequest) {
+        if (rateLimiter.isStopped()) {
+            throw new RejectedExecutionException("The Requester has been stopped! No new requests can be requested!");
+        }
+        enqueueWork(new WorkTask(apiRequest));
+    }
+
+    private void enqueueWork(WorkTask task) {
+        task.queued.set(true);
+        queueSize.incrementAndGet();
+        rateLimiter.enqueue(task);
+    }
+
+    private static boolean isCoalescable(Request<?> apiRequest) {
+        return apiRequest.getRoute().getMethod() == Method.GET
+                && apiRequest.getBody() == null
+                && (apiRequest.getHeaders() == null || apiRequest.getHeaders().isEmpty());
+    }
+
+    private void enqueueCoalesced(Request<?> apiRequest) {
+        String key = apiRequest.getRoute().getCompiledRoute();
+        CoalescedRequests group = new CoalescedRequests(key);
+        CoalescedRequests current = inflight.putIfAbsent(key, group);
+        if (current == null) {
+            enqueueWork(new WorkTask(apiRequest, group));
+        } else if (current.join(apiRequest)) {
+            LOG.trace("Coalesced request GET {} with in-flight request", key);
+        } else {
+            // The in-flight request is already completing, send this one separately
+            enqueueWork(new WorkTask(apiRequest));
         }
     }
 
@@ -145,35 +282,16 @@ public class Requester {
     }
 
     private okhttp3.Response execute(WorkTask task, boolean retried, boolean handleOnRatelimit) {
-        Route.CompiledRoute route = task.getRoute();
-
-        okhttp3.Request.Builder builder = new okhttp3.Request.Builder();
-
-        HttpUrl url = route.toHttpUrl(baseUrl);
-        builder.url(url);
-
+        okhttp3.Request request = buildRequest(task);
         Request<?> apiRequest = task.request;
 
-        applyBody(apiRequest, builder);
-        applyHeaders(apiRequest, builder);
-        if (customBuilder != null) {
-            try {
-                customBuilder.accept(builder);
-            } catch (Exception e) {
-                LOG.error("Custom request builder caused exception", e);
-            }
-        }
-
-        okhttp3.Request request = builder.build();
-
         Set<String> rays = new LinkedHashSet<>();
         okhttp3.Response[] responses = new okhttp3.Response[4];
         // we have an array of all responses to later close them all at once
         // the response below this comment is used as the first successful response from the server
         okhttp3.Response lastResponse = null;
         try {
-            LOG.trace("Executing request {} {}", task.getRoute().getMethod(), url);
-            int code = 0;
+            LOG.trace("Executing request {} {}", task.getRoute().getMethod(), request.url());
             for (int attempt = 0; attempt < responses.length; attempt++) {
                 if (apiRequest.isSkipped()) {
                     return null;
@@ -181,24 +299,16 @@ public class Requester {
 
                 Call call = httpClient.newCall(request);
                 lastResponse = call.execute();
-                code = lastResponse.code();
                 responses[attempt] = lastResponse;
-                String cfRay = lastResponse.header("CF-RAY");
-                if (cfRay != null) {
-                    rays.add(cfRay);
-                }
+                collectRay(lastResponse, rays);
+                recordResponse(task, lastResponse);
 
                 // Retry a few specific server errors that are related to server issues
-                if (!shouldRetry(code)) {
+                if (!shouldRetry(lastResponse.code())) {
                     break;
                 }
 
-                LOG.debug(
-                        "Requesting {} -> {} returned status {}... retrying (attempt {})",
-                        apiRequest.getRoute().getMethod(),
-                        url,
-                        code,
-                        attempt + 1);
+                logRetry(task, lastResponse, attempt);
                 try {
                     Thread.sleep(500 << attempt);
                 } catch (InterruptedException ignored) {
@@ -206,70 +316,133 @@ public class Requester {
                 }
             }
 
-            LOG.trace(
-                    "Finished Request {} {} with code {}",
-                    route.getMethod(),
-                    lastResponse.request().url(),
-                    code);
-
-            if (shouldRetry(code)) {
-                // Epic failure from other end. Attempted 4 times.
-                task.handleResponse(lastResponse, -1, rays);
-                return null;
+            return handleResponse(task, lastResponse, rays, handleOnRatelimit);
+        } catch (Exception e) {
+            if (retryOnTimeout && !retried && isRetry(e)) {
+                return execute(task, true, handleOnRatelimit);
             }
+            handleFailure(task, e, rays);
+            return null;
+        } finally {
+            closeAll(responses);
+        }
+    }
 
-            if (!rays.isEmpty()) {
-                LOG.debug("Received response with following cf-rays: {}", rays);
-            }
+    private CompletableFuture<okhttp3.Response> executeAsync(WorkTask task) {
+        CompletableFuture<okhttp3.Response> future = new CompletableFuture<>();
+        new AsyncCall(task, false, future).start();
+        return future;
+    }
 
-            if (handleOnRatelimit && code == 429) {
-                long retryAfter = parseRetry(lastResponse);
-                task.handleResponse(lastResponse, retryAfter, rays);
-            } else if (code != 429) {
-                task.handleResponse(lastResponse, rays);
-            } else if (getContentType(lastResponse)
-                    .startsWith("application/json")) // potentially not json when cloudflare does 429
-            {
-                // On 429, replace the retry-after header if its wrong (discord moment)
-                // We just pick whichever is bigger between body and header
-                try (InputStream body = IOUtil.getBody(lastResponse)) {
-                    long retryAfterBody =
-                            (long) Math.ceil(DataObject.fromJson(body).getDouble("retry_after", 0));
-                    long retryAfterHeader = Long.parseLong(lastResponse.header(RestRateLimiter.RETRY_AFTER_HEADER));
-                    lastResponse = lastResponse
-                            .newBuilder()
-                            .header(
-                                    RestRateLimiter.RETRY_AFTER_HEADER,
-                                    Long.toString(Math.max(retryAfterHeader, retryAfterBody)))
-                            .build();
-                } catch (Exception e) {
-                    LOG.warn("Failed to parse retry-after response body", e);
-                }
+    private okhttp3.Request buildRequest(WorkTask task) {
+        okhttp3.Request.Builder builder = new okhttp3.Request.Builder();
+        builder.url(task.getRoute().toHttpUrl(baseUrl));
+
+        Request<?> apiRequest = task.request;
+
+        applyBody(apiRequest, builder);
+        applyHeaders(apiRequest, builder);
+        if (customBuilder != null) {
+            try {
+                customBuilder.accept(builder);
+            } catch (Exception e) {
+                LOG.error("Custom request builder caused exception", e);
             }
+        }
 
-            return lastResponse;
-        } catch (UnknownHostException e) {
-            LOG.error("DNS resolution failed: {}", e.getMessage());
-            task.handleResponse(e, rays);
+        return builder.build();
+    }
+
+    private okhttp3.Response handleResponse(
+            WorkTask task, okhttp3.Response lastResponse, Set<String> rays, boolean handleOnRatelimit) {
+        int code = lastResponse.code();
+        LOG.trace(
+                "Finished Request {} {} with code {}",
+                task.getRoute().getMethod(),
+                lastResponse.request().url(),
+                code);
+
+        if (shouldRetry(code)) {
+            // Epic failure from other end. Attempted 4 times.
+            task.handleResponse(lastResponse, -1, rays);
             return null;
-        } catch (IOException e) {
-            if (retryOnTimeout && !retried && isRetry(e)) {
-                return execute(task, true, handleOnRatelimit);
+        }
+
+        if (!rays.isEmpty()) {
+            LOG.debug("Received response with following cf-rays: {}", rays);
+        }
+
+        if (handleOnRatelimit && code == 429) {
+            long retryAfter = parseRetry(lastResponse);
+            task.handleResponse(lastResponse, retryAfter, rays);
+        } else if (code != 429) {
+            task.handleResponse(lastResponse, rays);
+        } else if (getContentType(lastResponse)
+                .startsWith("application/json")) // potentially not json when cloudflare does 429
+        {
+            // On 429, replace the retry-after header if its wrong (discord moment)
+            // We just pick whichever is bigger between body and header
+            try (InputStream body = IOUtil.getBody(lastResponse)) {
+                long retryAfterBody = (long) Math.ceil(DataObject.fromJson(body).getDouble("retry_after", 0));
+                long retryAfterHeader = Long.parseLong(lastResponse.header(RestRateLimiter.RETRY_AFTER_HEADER));
+                lastResponse = lastResponse
+                        .newBuilder()
+                        .header(
+                                RestRateLimiter.RETRY_AFTER_HEADER,
+                                Long.toString(Math.max(retryAfterHeader, retryAfterBody)))
+                        .build();
+            } catch (Exception e) {
+                LOG.warn("Failed to parse retry-after response body", e);
             }
+        }
+
+        return lastResponse;
+    }
+
+    private void handleFailure(WorkTask task, Exception e, Set<String> rays) {
+        if (e instanceof UnknownHostException) {
+            LOG.error("DNS resolution failed: {}", e.getMessage());
+        } else if (e instanceof IOException) {
             LOG.error("There was an I/O error while executing a REST request: {}", e.getMessage());
-            task.handleResponse(e, rays);
-            return null;
-        } catch (Exception e) {
+        } else {
             LOG.error("There was an unexpected error while executing a REST request", e);
-            task.handleResponse(e, rays);
-            return null;
-        } finally {
-            for (okhttp3.Response r : responses) {
-                if (r == null) {
-                    break;
-                }
-                r.close();
+        }
+        task.handleResponse(e, rays);
+    }
+
+    private void logRetry(WorkTask task, okhttp3.Response response, int attempt) {
+        LOG.debug(
+                "Requesting {} -> {} returned status {}... retrying (attempt {})",
+                task.getRoute().getMethod(),
+                response.request().url(),
+                response.code(),
+                attempt + 1);
+    }
+
+    private void recordResponse(WorkTask task, okhttp3.Response response) {
+        Route.CompiledRoute route = task.getRoute();
+        int code = response.code();
+        long latency = response.receivedResponseAtMillis() - response.sentRequestAtMillis();
+        metrics.recordRestResponse(api, route, response.header(RestRateLimiter.HASH_HEADER), code, latency);
+        if (code == 429) {
+            boolean global = Boolean.parseBoolean(response.header(RestRateLimiter.GLOBAL_HEADER));
+            metrics.recordRateLimit(api, route, global, parseRetry(response));
+        }
+    }
+
+    private static void collectRay(okhttp3.Response response, Set<String> rays) {
+        String cfRay = response.header("CF-RAY");
+        if (cfRay != null) {
+            rays.add(cfRay);
+        }
+    }
+
+    private static void closeAll(okhttp3.Response[] responses) {
+        for (okhttp3.Response r : responses) {
+            if (r == null) {
+                break;
             }
+            r.close();
         }
     }
 
@@ -311,6 +484,10 @@ public class Requester {
         return this.httpClient;
     }
 
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
     public RestRateLimiter getRateLimiter() {
         return rateLimiter;
     }
@@ -320,7 +497,15 @@ public class Requester {
     }
 
     public void stop(boolean shutdown, Runnable callback) {
-        rateLimiter.stop(shutdown, callback);
+        if (asyncExecutor == null) {
+            rateLimiter.stop(shutdown, callback);
+            return;
+        }
+
+        rateLimiter.stop(shutdown, () -> {
+            asyncExecutor.shutdown();
+            callback.run();
+        });
     }
 
     private static boolean shouldRetry(int code) {
@@ -347,10 +532,17 @@ public class Requester {
 
     private class WorkTask implements RestRateLimiter.Work {
         private final Request<?> request;
+        private final CoalescedRequests coalesced;
+        private final AtomicBoolean queued = new AtomicBoolean();
         private boolean done;
 
         private WorkTask(Request<?> request) {
+            this(request, null);
+        }
+
+        private WorkTask(Request<?> request, CoalescedRequests coalesced) {
             this.request = request;
+            this.coalesced = coalesced;
         }
 
         @Nonnull
@@ -371,9 +563,24 @@ public class Requester {
             return Requester.this.execute(this);
         }
 
+        @Nonnull
+        @Override
+        public CompletableFuture<okhttp3.Response> executeAsync() {
+            if (asyncClient == null) {
+                return RestRateLimiter.Work.super.executeAsync();
+            }
+            return Requester.this.executeAsync(this);
+        }
+
         @Override
         public boolean isSkipped() {
-            return request.isSkipped();
+            boolean skipped = request.isSkipped();
+            if (skipped) {
+                dequeue();
+                // Nobody is going to send this request, the followers have to try on their own
+                resubmit(detachFollowers(), false);
+            }
+            return skipped;
         }
 
         @Override
@@ -394,21 +601,246 @@ public class Requester {
         @Override
         public void cancel() {
             request.cancel();
+            dequeue();
+            resubmit(detachFollowers(), true);
+        }
+
+        private void dequeue() {
+            if (queued.compareAndSet(true, false)) {
+                queueSize.decrementAndGet();
+            }
         }
 
         private void handleResponse(okhttp3.Response response, Set<String> rays) {
-            done = true;
-            request.handleResponse(new Response(response, -1, rays));
+            handleResponse(response, -1, rays);
         }
 
         private void handleResponse(Exception error, Set<String> rays) {
             done = true;
+            dequeue();
             request.handleResponse(new Response(error, rays));
+            for (Request<?> follower : detachFollowers()) {
+                handleFollowerResponse(follower, new Response(error, rays));
+            }
         }
 
         private void handleResponse(okhttp3.Response response, long retryAfter, Set<String> cfRays) {
             done = true;
-            request.handleResponse(new Response(response, retryAfter, cfRays));
+            dequeue();
+            List<Request<?>> followers = detachFollowers();
+            boolean cacheable = isCacheable(response);
+            if (followers.isEmpty() && !cacheable) {
+                request.handleResponse(new Response(response, retryAfter, cfRays));
+                return;
+            }
+
+            // Buffer the raw body, so every request can read its own copy of the response
+            byte[] body;
+            try {
+                body = response.body().bytes();
+            } catch (IOException e) {
+                LOG.error("There was an I/O error while reading a shared REST response: {}", e.getMessage());
+                request.handleResponse(new Response(e, cfRays));
+                for (Request<?> follower : followers) {
+                    handleFollowerResponse(follower, new Response(e, cfRays));
+                }
+                return;
+            }
+
+            if (cacheable) {
+                responseCache.put(getRoute(), response, body);
+            }
+
+            request.handleResponse(new Response(copyResponse(response, body), retryAfter, cfRays));
+            for (Request<?> follower : followers) {
+                handleFollowerResponse(follower, new Response(copyResponse(response, body), retryAfter, cfRays));
+            }
+        }
+
+        private boolean isCacheable(okhttp3.Response response) {
+            return responseCache != null
+                    && response.isSuccessful()
+                    && isCoalescable(request)
+                    && responseCache.isCached(getRoute().getBaseRoute());
+        }
+
+        private List<Request<?>> detachFollowers() {
+            return coalesced == null ? Collections.emptyList() : coalesced.complete();
+        }
+    }
+
+    private void handleFollowerResponse(Request<?> follower, Response response) {
+        try {
+            if (!follower.isSkipped()) {
+                follower.handleResponse(response);
+            }
+        } catch (Exception e) {
+            LOG.error("Encountered exception while handling a coalesced response", e);
+        }
+    }
+
+    private void resubmit(List<Request<?>> followers, boolean cancel) {
+        if (followers.isEmpty()) {
+            return;
+        }
+
+        Runnable task = () -> {
+            for (Request<?> follower : followers) {
+                if (cancel && !follower.isPriority()) {
+                    follower.cancel();
+                    continue;
+                }
+                try {
+                    request(follower);
+                } catch (RejectedExecutionException e) {
+                    follower.onFailure(e);
+                }
+            }
+        };
+
+        // This is called by the rate-limiter, possibly while it holds locks, so we can't enqueue here directly
+        try {
+            api.getRateLimitPool().execute(task);
+        } catch (RejectedExecutionException e) {
+            followers.forEach(follower -> follower.onFailure(e));
+        }
+    }
+
+    private static okhttp3.Response copyResponse(okhttp3.Response response, byte[] body) {
+        return response.newBuilder()
+                .body(ResponseBody.create(body, response.body().contentType()))
+                .build();
+    }
+
+    private final class CoalescedRequests {
+        private final String key;
+        private List<Request<?>> followers = new ArrayList<>();
+
+        private CoalescedRequests(String key) {
+            this.key = key;
+        }
+
+        private synchronized boolean join(Request<?> request) {
+            if (followers == null) {
+                return false;
+            }
+            followers.add(request);
+            return true;
+        }
+
+        // Removes this group from the in-flight requests, no more requests can join afterward
+        private List<Request<?>> complete() {
+            inflight.remove(key, this);
+            synchronized (this) {
+                List<Request<?>> result = followers;
+                followers = null;
+                return result == null ? Collections.<Request<?>>emptyList() : result;
+            }
+        }
+    }
+
+    private class AsyncCall implements Callback {
+        private final WorkTask task;
+        private final boolean retried;
+        private final CompletableFuture<okhttp3.Response> future;
+        private final okhttp3.Request request;
+        private final Set<String> rays = new LinkedHashSet<>();
+        // we have an array of all responses to later close them all at once
+        private final okhttp3.Response[] responses = new okhttp3.Response[4];
+        private int attempt = 0;
+
+        private AsyncCall(WorkTask task, boolean retried, CompletableFuture<okhttp3.Response> future) {
+            this.task = task;
+            this.retried = retried;
+            this.future = future;
+            this.request = buildRequest(task);
+        }
+
+        private void start() {
+            LOG.trace("Executing request {} {} asynchronously", task.getRoute().getMethod(), request.url());
+            enqueue();
+        }
+
+        private void enqueue() {
+            if (task.isSkipped()) {
+                finish(null);
+                return;
+            }
+
+            asyncClient.newCall(request).enqueue(this);
+        }
+
+        @Override
+        public void onResponse(@Nonnull Call call, @Nonnull okhttp3.Response response) {
+            okhttp3.Response result = null;
+            try {
+                responses[attempt] = response;
+                collectRay(response, rays);
+                recordResponse(task, response);
+
+                // Retry a few specific server errors that are related to server issues
+                if (shouldRetry(response.code()) && attempt + 1 < responses.length) {
+                    logRetry(task, response, attempt);
+                    if (scheduleRetry(500L << attempt++)) {
+                        return;
+                    }
+                }
+
+                result = handleResponse(task, response, rays, false);
+            } catch (Exception e) {
+                handleFailure(task, e, rays);
+            } catch (Throwable t) {
+                closeAll(responses);
+                future.completeExceptionally(t);
+                return;
+            }
+
+            finish(result);
+        }
+
+        @Override
+        public void onFailure(@Nonnull Call call, @Nonnull IOException e) {
+            closeAll(responses);
+            if (retryOnTimeout && !retried && isRetry(e)) {
+                try {
+                    new AsyncCall(task, true, future).start();
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+                return;
+            }
+
+            try {
+                handleFailure(task, e, rays);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+                return;
+            }
+            future.complete(null);
+        }
+
+        private boolean scheduleRetry(long delay) {
+            try {
+                api.getRateLimitPool().schedule(this::resume, delay, TimeUnit.MILLISECONDS);
+                return true;
+            } catch (RejectedExecutionException ex) {
+                // The pool is shutting down, give up and handle the last response
+                return false;
+            }
+        }
+
+        private void resume() {
+            try {
+                enqueue();
+            } catch (Throwable t) {
+                closeAll(responses);
+                future.completeExceptionally(t);
+            }
+        }
+
+        private void finish(okhttp3.Response result) {
+            closeAll(responses);
+            future.complete(result);
         }
     }
 }
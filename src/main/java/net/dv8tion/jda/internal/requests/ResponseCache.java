@@ -0,0 +1,170 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.internal.requests;
+
+import net.dv8tion.jda.api.requests.Route;
+import net.dv8tion.jda.api.utils.MiscUtil;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size and TTL bounded cache for successful GET responses, keyed by the compiled route.
+ *
+ * <p>Only routes with a configured TTL are cached.
+ * Entries are removed when they expire, when they are invalidated by a gateway event,
+ * or when the cache is full and the entry is the least recently used one.
+ */
+public class ResponseCache {
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Entry> entries;
+    // Keys with query parameters by their path, invalidating the path also removes these
+    private final Map<String, Set<String>> queries = new HashMap<>();
+    private final Map<Route, Long> ttls;
+
+    public ResponseCache(Map<Route, Long> ttls, int maxSize) {
+        this.ttls = ttls;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                unlinkQuery(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    public boolean isCached(Route route) {
+        return ttls.containsKey(route);
+    }
+
+    public Entry get(Route.CompiledRoute route) {
+        String key = route.getCompiledRoute();
+        return MiscUtil.locked(lock, () -> {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(System.currentTimeMillis())) {
+                remove(key);
+                return null;
+            }
+            return entry;
+        });
+    }
+
+    public void put(Route.CompiledRoute route, okhttp3.Response response, byte[] body) {
+        Long ttl = ttls.get(route.getBaseRoute());
+        if (ttl == null) {
+            return;
+        }
+
+        String key = route.getCompiledRoute();
+        int query = key.indexOf('?');
+        String path = query < 0 ? null : key.substring(0, query);
+        Entry entry = new Entry(response, body, System.currentTimeMillis() + ttl, path);
+        MiscUtil.locked(lock, () -> {
+            Entry old = entries.put(key, entry);
+            if (old != null) {
+                unlinkQuery(key, old);
+            }
+            if (path != null) {
+                queries.computeIfAbsent(path, k -> new HashSet<>()).add(key);
+            }
+        });
+    }
+
+    /**
+     * Invalidates the cached responses of the compiled route, with or without query parameters.
+     *
+     * @param route
+     *        The GET route
+     * @param params
+     *        The parameters to compile the route
+     */
+    public void invalidate(Route route, String... params) {
+        if (!isCached(route)) {
+            return;
+        }
+
+        String path = route.compile(params).getCompiledRoute();
+        MiscUtil.locked(lock, () -> {
+            remove(path);
+            Set<String> keys = queries.remove(path);
+            if (keys != null) {
+                for (String key : keys) {
+                    entries.remove(key);
+                }
+            }
+        });
+    }
+
+    public void invalidatePrefix(String prefix) {
+        MiscUtil.locked(lock, () -> {
+            entries.keySet().removeIf(key -> key.startsWith(prefix));
+            queries.keySet().removeIf(path -> path.startsWith(prefix));
+        });
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            unlinkQuery(key, entry);
+        }
+    }
+
+    private void unlinkQuery(String key, Entry entry) {
+        if (entry.path == null) {
+            return;
+        }
+        Set<String> keys = queries.get(entry.path);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            queries.remove(entry.path);
+        }
+    }
+
+    public static final class Entry {
+        private final okhttp3.Response response;
+        private final byte[] body;
+        private final long expiresAt;
+        // Path of a compiled route with query parameters, or null
+        private final String path;
+
+        private Entry(okhttp3.Response response, byte[] body, long expiresAt, String path) {
+            this.response = response;
+            this.body = body;
+            this.expiresAt = expiresAt;
+            this.path = path;
+        }
+
+        public okhttp3.Response getResponse() {
+            return response;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
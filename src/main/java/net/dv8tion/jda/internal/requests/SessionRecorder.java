@@ -0,0 +1,389 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.requests;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.utils.SessionStore;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.utils.JDALogger;
+import net.dv8tion.jda.internal.utils.concurrent.CountingThreadFactory;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Records the dispatches of a gateway session into a {@link SessionStore}, which allows to restore the cache
+ * and resume the session in a new process.
+ *
+ * <p>Only the {@code READY} dispatch and dispatches which update the cache are recorded.
+ * The sequence is tracked for every dispatch, so the saved session resumes right after the last handled dispatch.
+ * Dispatches which replace the whole state of an entity, such as {@code PRESENCE_UPDATE}, are appended with
+ * the key of that entity, which allows the store to drop the previous dispatches of the entity.
+ *
+ * <p>The dispatches are recorded as received from the gateway, and written to the store by a separate thread,
+ * so slow storage does not delay the handling of the gateway. If the store cannot keep up, and too many dispatches
+ * are pending, the session is discarded instead of recording an incomplete session.
+ * Failures of the store are logged and stop the recording until the next session starts.
+ */
+public final class SessionRecorder {
+    private static final Logger LOG = JDALogger.getLog(SessionRecorder.class);
+
+    // Dispatches which are required to rebuild the cache, events for messages or interactions are not recorded
+    private static final Set<String> RECORDED_TYPES = new HashSet<>(Arrays.asList(
+            "GUILD_CREATE",
+            "GUILD_DELETE",
+            "GUILD_UPDATE",
+            "GUILD_SYNC",
+            "GUILD_EMOJIS_UPDATE",
+            "GUILD_STICKERS_UPDATE",
+            "GUILD_SOUNDBOARD_SOUND_CREATE",
+            "GUILD_SOUNDBOARD_SOUND_UPDATE",
+            "GUILD_SOUNDBOARD_SOUNDS_UPDATE",
+            "GUILD_SOUNDBOARD_SOUND_DELETE",
+            "GUILD_MEMBER_ADD",
+            "GUILD_MEMBER_REMOVE",
+            "GUILD_MEMBER_UPDATE",
+            "GUILD_MEMBERS_CHUNK",
+            "GUILD_ROLE_CREATE",
+            "GUILD_ROLE_UPDATE",
+            "GUILD_ROLE_DELETE",
+            "GUILD_SCHEDULED_EVENT_CREATE",
+            "GUILD_SCHEDULED_EVENT_UPDATE",
+            "GUILD_SCHEDULED_EVENT_DELETE",
+            "GUILD_SCHEDULED_EVENT_USER_ADD",
+            "GUILD_SCHEDULED_EVENT_USER_REMOVE",
+            "CHANNEL_CREATE",
+            "CHANNEL_UPDATE",
+            "CHANNEL_DELETE",
+            "THREAD_CREATE",
+            "THREAD_UPDATE",
+            "THREAD_DELETE",
+            "THREAD_LIST_SYNC",
+            "THREAD_MEMBER_UPDATE",
+            "THREAD_MEMBERS_UPDATE",
+            "STAGE_INSTANCE_CREATE",
+            "STAGE_INSTANCE_UPDATE",
+            "STAGE_INSTANCE_DELETE",
+            "PRESENCE_UPDATE",
+            "USER_UPDATE",
+            "VOICE_STATE_UPDATE",
+            "VOICE_CHANNEL_STATUS_UPDATE"));
+
+    // Dispatches which are pending to be written, more than this discards the session
+    private static final int MAX_PENDING_WRITES = 10000;
+
+    private final SessionStore store;
+    private final JDA.ShardInfo shardInfo;
+    // Writes to the store are done in order on this executor, the gateway thread only copies the dispatches
+    private final ThreadPoolExecutor writer;
+    private boolean recording = false;
+    private long sequence = -1;
+    // Set when a dispatch could not be queued, the writer discards the session instead of writing it
+    private volatile boolean overflowed = false;
+    // Only accessed by the writer, set when a write failed until the next session starts
+    private boolean failed = false;
+
+    public SessionRecorder(SessionStore store, JDA.ShardInfo shardInfo, Supplier<String> identifier) {
+        this.store = store;
+        this.shardInfo = shardInfo;
+        this.writer = new ThreadPoolExecutor(
+                1,
+                1,
+                1,
+                TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(MAX_PENDING_WRITES),
+                new CountingThreadFactory(identifier, "SessionWriter"));
+        this.writer.allowCoreThreadTimeOut(true);
+    }
+
+    public static boolean isRecorded(String type) {
+        return RECORDED_TYPES.contains(type);
+    }
+
+    /**
+     * The key of the entity whose state is replaced by the provided dispatch.
+     * <br>A recorded dispatch with a key is superseded by a later dispatch with the same key.
+     *
+     * @param  type
+     *         The type of the dispatch
+     * @param  dispatch
+     *         The dispatch payload
+     *
+     * @return The key, or null if the dispatch does not replace the state of a single entity
+     */
+    public static String getEntityKey(String type, DataObject dispatch) {
+        DataObject content = dispatch.optObject("d").orElse(null);
+        if (content == null) {
+            return null;
+        }
+
+        switch (type) {
+            case "GUILD_MEMBER_UPDATE":
+                return getMemberKey("member", content, content.optObject("user").orElse(null));
+            case "PRESENCE_UPDATE": {
+                DataObject user = content.optObject("user").orElse(null);
+                // Presences with user fields also update the user, which the next presence does not replace
+                if (user == null || user.keys().size() != 1) {
+                    return null;
+                }
+                return getMemberKey("presence", content, user);
+            }
+            case "VOICE_STATE_UPDATE":
+                if (content.isNull("guild_id") || content.isNull("user_id")) {
+                    return null;
+                }
+                return "voice:" + content.getString("guild_id") + ":" + content.getString("user_id");
+            case "GUILD_UPDATE":
+                return content.isNull("id") ? null : "guild:" + content.getString("id");
+            case "GUILD_ROLE_UPDATE": {
+                DataObject role = content.optObject("role").orElse(null);
+                if (role == null || content.isNull("guild_id") || role.isNull("id")) {
+                    return null;
+                }
+                return "role:" + content.getString("guild_id") + ":" + role.getString("id");
+            }
+            case "CHANNEL_UPDATE":
+                return content.isNull("id") ? null : "channel:" + content.getString("id");
+            case "USER_UPDATE":
+                return "self";
+            default:
+                return null;
+        }
+    }
+
+    private static String getMemberKey(String prefix, DataObject content, DataObject user) {
+        if (user == null || content.isNull("guild_id") || user.isNull("id")) {
+            return null;
+        }
+        return prefix + ":" + content.getString("guild_id") + ":" + user.getString("id");
+    }
+
+    /**
+     * Loads the stored session of the shard.
+     *
+     * @return The stored session, or null if there is none
+     */
+    public SessionStore.StoredSession load() {
+        try {
+            return store.load(shardInfo);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to load the stored session of shard {}", shardInfo.getShardString(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Starts recording a new session.
+     *
+     * @param  sequence
+     *         The sequence of the ready dispatch
+     * @param  ready
+     *         The ready dispatch
+     * @param  raw
+     *         The ready dispatch as received from the gateway, or null to serialize the parsed dispatch
+     */
+    public synchronized void start(long sequence, DataObject ready, ByteBuffer raw) {
+        this.sequence = sequence;
+        this.recording = true;
+        // Dispatches of the previous session which are still pending are replaced by the new session
+        this.overflowed = false;
+        byte[] payload = getPayload(ready, raw);
+        if (!write(() -> {
+            failed = false;
+            try {
+                store.start(shardInfo, payload);
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Failed to record the session of shard {}", shardInfo.getShardString(), e);
+                failed = true;
+            }
+        })) {
+            overflow();
+        }
+    }
+
+    /**
+     * Continues the recording of a restored session, with the dispatches following the provided sequence.
+     *
+     * @param  sequence
+     *         The sequence of the restored session
+     */
+    public synchronized void resume(long sequence) {
+        this.sequence = sequence;
+        this.recording = true;
+        this.overflowed = false;
+        if (!write(() -> failed = false)) {
+            overflow();
+        }
+    }
+
+    /**
+     * Records a dispatch.
+     *
+     * @param  sequence
+     *         The sequence of the dispatch
+     * @param  type
+     *         The type of the dispatch
+     * @param  dispatch
+     *         The dispatch payload, or null if it was skipped without parsing
+     * @param  raw
+     *         The dispatch as received from the gateway, or null to serialize the parsed dispatch
+     */
+    public synchronized void record(long sequence, String type, DataObject dispatch, ByteBuffer raw) {
+        if (!recording) {
+            return;
+        }
+
+        if (dispatch != null && isRecorded(type)) {
+            // Copy here, since the raw buffer is reused for the next message
+            byte[] payload = getPayload(dispatch, raw);
+            String key = getEntityKey(type, dispatch);
+            if (!write(() -> append(type, key, payload))) {
+                overflow();
+                return;
+            }
+        }
+        this.sequence = sequence;
+    }
+
+    /**
+     * Saves the recorded session and stops recording.
+     * <br>This waits for the pending dispatches to be written.
+     *
+     * @param  sessionId
+     *         The session id
+     * @param  resumeUrl
+     *         The resume url
+     *
+     * @return True, if the session was saved and should not be invalidated
+     */
+    public synchronized boolean save(String sessionId, String resumeUrl) {
+        if (!recording || sessionId == null) {
+            return false;
+        }
+
+        recording = false;
+        SessionStore.SessionState state = new SessionStore.SessionState(sessionId, resumeUrl, sequence);
+        try {
+            return writer.submit(() -> saveState(state)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while saving the session of shard {}", shardInfo.getShardString());
+            return false;
+        } catch (ExecutionException | RejectedExecutionException e) {
+            LOG.warn("Failed to save the session of shard {}", shardInfo.getShardString(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Stops recording and removes the recorded session.
+     */
+    public synchronized void discard() {
+        recording = false;
+        if (!write(() -> {
+            failed = true;
+            remove();
+        })) {
+            // The pending writes remove the session instead
+            overflowed = true;
+        }
+    }
+
+    private static byte[] getPayload(DataObject dispatch, ByteBuffer raw) {
+        if (raw == null) {
+            return dispatch.toJson();
+        }
+        byte[] payload = new byte[raw.remaining()];
+        raw.duplicate().get(payload);
+        return payload;
+    }
+
+    private boolean write(Runnable task) {
+        try {
+            writer.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // The writer is never shut down, so the queue is full
+            return false;
+        }
+    }
+
+    private void overflow() {
+        LOG.warn(
+                "Discarding the recorded session of shard {}, the session store cannot keep up with the gateway",
+                shardInfo.getShardString());
+        // The pending writes see the flag and discard the session, since the queue is full no new write is possible
+        recording = false;
+        overflowed = true;
+    }
+
+    private void append(String type, String key, byte[] dispatch) {
+        if (failed) {
+            return;
+        }
+        if (overflowed) {
+            failed = true;
+            remove();
+            return;
+        }
+
+        try {
+            if (key == null) {
+                store.append(shardInfo, dispatch);
+            } else {
+                store.append(shardInfo, key, dispatch);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn(
+                    "Failed to record {} for shard {}, the session cannot be stored anymore",
+                    type,
+                    shardInfo.getShardString(),
+                    e);
+            failed = true;
+            remove();
+        }
+    }
+
+    private boolean saveState(SessionStore.SessionState state) {
+        if (failed) {
+            return false;
+        }
+
+        try {
+            store.save(shardInfo, state);
+            LOG.debug("Saved session of shard {} at sequence {}", shardInfo.getShardString(), state.getSequence());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to save the session of shard {}", shardInfo.getShardString(), e);
+            return false;
+        }
+    }
+
+    private void remove() {
+        try {
+            store.remove(shardInfo);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to remove the session of shard {}", shardInfo.getShardString(), e);
+        }
+    }
+}
@@ -33,9 +33,14 @@ import net.dv8tion.jda.api.events.session.*;
 import net.dv8tion.jda.api.exceptions.ParsingException;
 import net.dv8tion.jda.api.managers.AudioManager;
 import net.dv8tion.jda.api.requests.CloseCode;
+import net.dv8tion.jda.api.requests.GatewayTransport;
+import net.dv8tion.jda.api.utils.ClosableIterator;
 import net.dv8tion.jda.api.utils.Compression;
+import net.dv8tion.jda.api.utils.MetricsRecorder;
 import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.SessionController;
+import net.dv8tion.jda.api.utils.SessionStore;
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.api.utils.data.DataObject;
 import net.dv8tion.jda.api.utils.data.DataType;
@@ -53,6 +58,7 @@ import net.dv8tion.jda.internal.utils.UnlockHook;
 import net.dv8tion.jda.internal.utils.cache.AbstractCacheView;
 import net.dv8tion.jda.internal.utils.compress.Decompressor;
 import net.dv8tion.jda.internal.utils.compress.ZlibDecompressor;
+import net.dv8tion.jda.internal.utils.compress.ZstdDecompressor;
 import org.slf4j.Logger;
 import org.slf4j.MDC;
 
@@ -62,11 +68,12 @@ import java.lang.ref.SoftReference;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -90,8 +97,16 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     protected final int gatewayIntents;
     protected final MemberChunkManager chunkManager;
     protected final GatewayEncoding encoding;
+    protected final boolean presenceCacheEnabled;
+    protected final MetricsRecorder metrics;
+    protected final GatewayTransport transport;
+    protected final SessionRecorder recorder;
+    // Handles guild scoped dispatches in parallel, if enabled
+    protected final GuildDispatcher dispatcher;
 
     public WebSocket socket;
+    // Connection of the configured transport, in which case the socket is not used
+    protected volatile GatewayTransport.Connection connection;
     protected String traceMetadata = null;
     protected volatile String sessionId = null;
     protected final Object readLock = new Object();
@@ -100,7 +115,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 
     protected final ReentrantLock queueLock = new ReentrantLock();
     protected final ScheduledExecutorService executor;
-    protected WebSocketSendingThread ratelimitThread;
+    protected volatile WebSocketSendingThread ratelimitThread;
     protected volatile Future<?> keepAliveThread;
 
     protected final ReentrantLock reconnectLock = new ReentrantLock();
@@ -115,10 +130,11 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 
     protected final TLongObjectMap<ConnectionRequest> queuedAudioConnections = MiscUtil.newLongMap();
     protected final Queue<DataObject> chunkSyncQueue = new ConcurrentLinkedQueue<>();
+    // Small member requests, which are sent before the requests for entire guilds
+    protected final Queue<DataObject> priorityChunkQueue = new ConcurrentLinkedQueue<>();
     protected final Queue<DataObject> ratelimitQueue = new ConcurrentLinkedQueue<>();
 
-    protected volatile long ratelimitResetTime;
-    protected final AtomicInteger messagesSent = new AtomicInteger(0);
+    protected final GatewaySendLimiter sendLimiter = new GatewaySendLimiter();
 
     protected volatile boolean shutdown = false;
     protected boolean shouldReconnect;
@@ -129,6 +145,16 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     protected volatile boolean sentAuthInfo = false;
     protected boolean firstInit = true;
     protected boolean processingReady = true;
+    // Whether the cache is currently restored from a stored session
+    protected volatile boolean replaying = false;
+    // Whether the restored session has to fire the ready event once it was resumed
+    protected boolean restoringSession = false;
+    protected SessionStore.StoredSession storedSession;
+    // Time spent decompressing and parsing the message that is currently handled
+    protected long parseTime = 0;
+    // Payload of the message that is currently handled, as received from the gateway
+    // The session recorder copies it, instead of serializing the parsed message again
+    protected ByteBuffer rawMessage = null;
 
     protected volatile ConnectNode connectNode;
 
@@ -140,9 +166,30 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         this.gatewayIntents = gatewayIntents;
         this.chunkManager = new MemberChunkManager(this);
         this.encoding = encoding;
+        this.presenceCacheEnabled = api.getCacheFlags().stream().anyMatch(CacheFlag::isPresence);
+        this.metrics = api.getMetricsRecorder();
+        this.transport = api.getGatewayTransport();
+        ExecutorService dispatchPool = api.getDispatchPool();
+        this.dispatcher = dispatchPool == null ? null : new GuildDispatcher(dispatchPool);
+        SessionStore sessionStore = api.getSessionStore();
+        this.recorder =
+                sessionStore == null ? null : new SessionRecorder(sessionStore, shardInfo, api::getIdentifierString);
         this.shouldReconnect = api.isAutoReconnect();
         this.connectNode = new StartingNode();
         setupHandlers();
+
+        this.storedSession = recorder == null ? null : recorder.load();
+        if (storedSession != null) {
+            // Resuming does not require an identify, so the session controller is skipped
+            // The session is restored once the client was assigned, see restoreStoredSession()
+            this.replaying = true;
+            return;
+        }
+
+        appendSession();
+    }
+
+    protected void appendSession() {
         try {
             api.getSessionController().appendSession(connectNode);
         } catch (RuntimeException | Error e) {
@@ -178,6 +225,11 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     }
 
     public void ready() {
+        if (replaying) {
+            // The ready event is fired once the restored session was resumed
+            processingReady = false;
+            return;
+        }
         if (initiating) {
             initiating = false;
             processingReady = false;
@@ -217,22 +269,43 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         return sessionId != null;
     }
 
+    public boolean isReplaying() {
+        return replaying;
+    }
+
     public void handle(List<DataObject> events) {
         events.forEach(this::onDispatch);
     }
 
     public void send(DataObject message) {
         locked("Interrupted while trying to add request to queue", () -> ratelimitQueue.add(message));
+        wakeupSender();
     }
 
     public void cancelChunkRequest(String nonce) {
         locked(
                 "Interrupted while trying to cancel chunk request",
-                () -> chunkSyncQueue.removeIf(it -> it.getString("nonce", "").equals(nonce)));
+                () -> {
+                    priorityChunkQueue.removeIf(it -> it.getString("nonce", "").equals(nonce));
+                    chunkSyncQueue.removeIf(it -> it.getString("nonce", "").equals(nonce));
+                });
     }
 
     public void sendChunkRequest(DataObject request) {
-        locked("Interrupted while trying to add chunk request", () -> chunkSyncQueue.add(request));
+        sendChunkRequest(request, false);
+    }
+
+    public void sendChunkRequest(DataObject request, boolean priority) {
+        Queue<DataObject> queue = priority ? priorityChunkQueue : chunkSyncQueue;
+        locked("Interrupted while trying to add chunk request", () -> queue.add(request));
+        wakeupSender();
+    }
+
+    protected void wakeupSender() {
+        WebSocketSendingThread thread = ratelimitThread;
+        if (thread != null) {
+            thread.wakeup();
+        }
     }
 
     protected boolean send(DataObject message, boolean skipQueue) {
@@ -240,26 +313,27 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             return false;
         }
 
-        long now = System.currentTimeMillis();
-
-        if (this.ratelimitResetTime <= now) {
-            this.messagesSent.set(0);
-            this.ratelimitResetTime = now + 60000; // 60 seconds
-            this.printedRateLimitMessage = false;
-        }
-
-        // Allows 115 messages to be sent before limiting.
-        if (this.messagesSent.get() <= 115 || (skipQueue && this.messagesSent.get() <= 119)) {
+        // Queued messages leave a few messages of the limit for heartbeats and authentication
+        if (sendLimiter.tryAcquire(GatewaySendLimiter.getNow(), skipQueue)) {
             if (LOG.isTraceEnabled()) {
                 String redactedMessage = message.toString().replace(getToken(), "<REDACTED>");
                 LOG.trace("<- {}", redactedMessage);
             }
-            if (encoding == GatewayEncoding.ETF) {
+            GatewayTransport.Connection connection = this.connection;
+            if (connection != null) {
+                if (encoding == GatewayEncoding.ETF) {
+                    connection.sendBinary(message.toETF());
+                } else {
+                    connection.sendText(message.toString());
+                }
+            } else if (encoding == GatewayEncoding.ETF) {
                 socket.sendBinary(message.toETF());
             } else {
                 socket.sendText(message.toString());
             }
-            this.messagesSent.getAndIncrement();
+            if (!skipQueue) {
+                printedRateLimitMessage = false;
+            }
             return true;
         } else {
             if (!printedRateLimitMessage) {
@@ -268,7 +342,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                                 + "Regular: {} Voice: {} Chunking: {}",
                         ratelimitQueue.size(),
                         queuedAudioConnections.size(),
-                        chunkSyncQueue.size());
+                        getChunkQueueSize());
                 printedRateLimitMessage = true;
             }
             return false;
@@ -282,34 +356,39 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 
     private void prepareClose() {
         try {
-            if (socket != null) {
-                Socket rawSocket = this.socket.getSocket();
-                if (rawSocket != null) { // attempt to set a 10 second timeout for the close frame
-                    // this has no affect if the socket is already stuck in a read call
-                    rawSocket.setSoTimeout(10000);
-                }
-            }
+            // attempt to set a 10 second timeout for the close frame
+            // this has no affect if the socket is already stuck in a read call
+            setReadTimeout(10000);
         } catch (SocketException ignored) {
         }
     }
 
-    public void close() {
-        prepareClose();
-        if (socket != null) {
-            socket.sendClose(1000);
+    protected void setReadTimeout(int timeout) throws SocketException {
+        GatewayTransport.Connection connection = this.connection;
+        if (connection != null) {
+            connection.setReadTimeout(timeout);
+        } else if (socket != null) {
+            Socket rawSocket = this.socket.getSocket();
+            if (rawSocket != null) {
+                rawSocket.setSoTimeout(timeout);
+            }
         }
     }
 
+    public void close() {
+        close(1000, null);
+    }
+
     public void close(int code) {
-        prepareClose();
-        if (socket != null) {
-            socket.sendClose(code);
-        }
+        close(code, null);
     }
 
     public void close(int code, String reason) {
         prepareClose();
-        if (socket != null) {
+        GatewayTransport.Connection connection = this.connection;
+        if (connection != null) {
+            connection.close(code, reason);
+        } else if (socket != null) {
             socket.sendClose(code, reason);
         }
     }
@@ -325,7 +404,9 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                 api.getSessionController().removeSession(connectNode);
             }
             boolean wasConnected = connected;
-            close(1000, "Shutting down");
+            // Closing with 1000 invalidates the session, which has to stay valid to be resumed by the next process
+            boolean saved = recorder != null && recorder.save(sessionId, resumeUrl);
+            close(saved ? 1012 : 1000, "Shutting down");
             reconnectCondvar.signalAll(); // signal reconnect attempts to stop
             return !wasConnected;
         });
@@ -368,11 +449,21 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                             decompressor = new ZlibDecompressor(api.getMaxBufferSize());
                         }
                         break;
+                    case ZSTD:
+                        if (decompressor == null || decompressor.getType() != Compression.ZSTD) {
+                            decompressor = new ZstdDecompressor(api.getMaxBufferSize());
+                        }
+                        break;
                     default:
                         throw new IllegalStateException("Unknown compression");
                 }
             }
 
+            if (transport != null) {
+                connectTransport(gatewayUrl);
+                return;
+            }
+
             WebSocketFactory socketFactory = new WebSocketFactory(api.getWebSocketFactory());
             IOUtil.setServerName(socketFactory, gatewayUrl);
             if (socketFactory.getSocketTimeout() > 0) {
@@ -392,6 +483,24 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         }
     }
 
+    private void connectTransport(String gatewayUrl) {
+        connection = null;
+        try {
+            // Like the blocking connect of the WebSocket, this waits for the handshake
+            // The transport calls onOpen before completing, so the connection is already set when this returns
+            transport
+                    .connect(
+                            URI.create(gatewayUrl),
+                            Collections.singletonMap("Accept-Encoding", "gzip"),
+                            new TransportListener())
+                    .join();
+        } catch (CompletionException e) {
+            resumeUrl = null;
+            api.resetGatewayUrl();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     @Override
     public void onThreadStarted(WebSocket websocket, ThreadType threadType, Thread thread) throws Exception {
         api.setContext();
@@ -399,6 +508,10 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 
     @Override
     public void onConnected(WebSocket websocket, Map<String, List<String>> headers) {
+        handleConnected();
+    }
+
+    protected void handleConnected() {
         prepareClose(); // set 10s timeout in-case discord never sends us a HELLO payload
         api.setStatus(JDA.Status.IDENTIFYING_SESSION);
         if (sessionId == null) {
@@ -413,8 +526,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         connected = true;
         // reconnectTimeoutS = 2; We will reset this when the session was started successfully
         // (ready/resume)
-        messagesSent.set(0);
-        ratelimitResetTime = System.currentTimeMillis() + 60000;
+        sendLimiter.reset();
         if (sessionId == null) {
             sendIdentify();
         } else {
@@ -432,14 +544,22 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         connected = false;
         // Use a new thread to avoid issues with sleep interruption
         if (Thread.currentThread().isInterrupted()) {
-            Thread thread = new Thread(() -> handleDisconnect(serverCloseFrame, clientCloseFrame, closedByServer));
-            thread.setName(api.getIdentifierString() + " MainWS-ReconnectThread");
-            thread.start();
+            startDisconnectThread(serverCloseFrame, clientCloseFrame, closedByServer);
         } else {
             handleDisconnect(serverCloseFrame, clientCloseFrame, closedByServer);
         }
     }
 
+    private void startDisconnectThread(
+            WebSocketFrame serverCloseFrame, WebSocketFrame clientCloseFrame, boolean closedByServer) {
+        Thread thread = new Thread(() -> {
+            api.setContext();
+            handleDisconnect(serverCloseFrame, clientCloseFrame, closedByServer);
+        });
+        thread.setName(api.getIdentifierString() + " MainWS-ReconnectThread");
+        thread.start();
+    }
+
     private void handleDisconnect(
             WebSocketFrame serverCloseFrame, WebSocketFrame clientCloseFrame, boolean closedByServer) {
         api.setStatus(JDA.Status.DISCONNECTED);
@@ -662,10 +782,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 
     protected void setupKeepAlive(int timeout) {
         try {
-            Socket rawSocket = this.socket.getSocket();
-            if (rawSocket != null) {
-                rawSocket.setSoTimeout(timeout + 10000); // setup a timeout when we miss heartbeats
-            }
+            setReadTimeout(timeout + 10000); // setup a timeout when we miss heartbeats
         } catch (SocketException ex) {
             LOG.warn("Failed to setup timeout for socket", ex);
         }
@@ -690,7 +807,12 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             missedHeartbeats = 0;
             LOG.warn("Missed 2 heartbeats! Trying to reconnect...");
             prepareClose();
-            socket.disconnect(4900, "ZOMBIE CONNECTION");
+            GatewayTransport.Connection connection = this.connection;
+            if (connection != null) {
+                connection.close(4900, "ZOMBIE CONNECTION");
+            } else {
+                socket.disconnect(4900, "ZOMBIE CONNECTION");
+            }
         } else {
             missedHeartbeats += 1;
             send(keepAlivePacket, true);
@@ -722,6 +844,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         identifyTime = System.currentTimeMillis();
         sentAuthInfo = true;
         api.setStatus(JDA.Status.AWAITING_LOGIN_CONFIRMATION);
+        wakeupSender();
     }
 
     protected void sendResume() {
@@ -740,11 +863,20 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     }
 
     protected void invalidate() {
+        // Parallel dispatches could otherwise repopulate the cache after it was cleared
+        awaitDispatcher();
         resumeUrl = null;
         sessionId = null;
         sentAuthInfo = false;
+        restoringSession = false;
+        if (recorder != null) {
+            recorder.discard();
+        }
 
-        locked("Interrupted while trying to invalidate chunk/sync queue", chunkSyncQueue::clear);
+        locked("Interrupted while trying to invalidate chunk/sync queue", () -> {
+            priorityChunkQueue.clear();
+            chunkSyncQueue.clear();
+        });
 
         api.getChannelsView().clear();
 
@@ -823,6 +955,9 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 
         switch (opCode) {
             case WebSocketCode.DISPATCH:
+                if (recorder != null && !content.isNull("s")) {
+                    recordDispatch(content);
+                }
                 onDispatch(content);
                 break;
             case WebSocketCode.HEARTBEAT:
@@ -866,11 +1001,100 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         }
     }
 
+    protected void recordDispatch(DataObject content) {
+        long sequence = content.getLong("s");
+        String type = content.getString("t", "");
+        if (type.equals("READY")) {
+            recorder.start(sequence, content, rawMessage);
+        } else {
+            recorder.record(sequence, type, content, rawMessage);
+        }
+    }
+
+    /**
+     * Starts restoring the session which was loaded from the {@link SessionStore}, if there is one.
+     * <br>This has to be called once the client is accessible through {@link JDAImpl#getClient()},
+     * as the replayed dispatches are handled like dispatches of the gateway.
+     */
+    public void restoreStoredSession() {
+        SessionStore.StoredSession storedSession = this.storedSession;
+        if (storedSession == null) {
+            return;
+        }
+        this.storedSession = null;
+
+        Thread thread = new Thread(() -> {
+            api.setContext();
+            restoreSession(storedSession);
+        });
+        thread.setName(api.getIdentifierString() + " MainWS-RestoreThread");
+        thread.start();
+    }
+
+    protected void restoreSession(SessionStore.StoredSession storedSession) {
+        SessionStore.SessionState state = storedSession.getState();
+        LOG.info("Restoring stored session at sequence {}", state.getSequence());
+        try (ClosableIterator<DataObject> dispatches = storedSession.getDispatches()) {
+            initiating = true;
+            while (dispatches.hasNext()) {
+                DataObject raw = dispatches.next();
+                if (!raw.isNull("s")) {
+                    api.setResponseTotal(raw.getInt("s"));
+                }
+                onDispatch(raw);
+            }
+            awaitDispatcher();
+
+            // Requests of the replayed dispatches were already sent by the previous process
+            locked("Interrupted while restoring the session", () -> {
+                priorityChunkQueue.clear();
+                chunkSyncQueue.clear();
+                ratelimitQueue.clear();
+            });
+            chunkManager.clear();
+
+            sessionId = state.getSessionId();
+            resumeUrl = state.getResumeUrl();
+            api.setResponseTotal((int) state.getSequence());
+            restoringSession = true;
+            recorder.resume(state.getSequence());
+            LOG.debug("Restored the cache of {} guilds", api.getGuildsView().size());
+        } catch (Exception e) {
+            LOG.error("Failed to restore the stored session, identifying a new session instead", e);
+            invalidate();
+        } finally {
+            replaying = false;
+        }
+
+        if (sessionId == null) {
+            appendSession();
+            return;
+        }
+
+        try {
+            setupSendingThread();
+            connect();
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Shutdown while trying to resume the stored session");
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to connect to resume the stored session", e);
+            try {
+                reconnect();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     protected void onDispatch(DataObject raw) {
         String type = raw.getString("t");
         long responseTotal = api.getResponseTotal();
+        // The parse time belongs to this payload, the field is overwritten by the next one
+        long parseTime = this.parseTime;
 
         if (!raw.isType("d", DataType.OBJECT)) {
+            awaitDispatcher();
+            long start = System.nanoTime();
             // Needs special handling due to content of "d" being an array
             if (type.equals("PRESENCES_REPLACE")) {
                 DataArray payload = raw.getArray("d");
@@ -887,12 +1111,35 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             } else {
                 LOG.debug("Received event with unhandled body type JSON: {}", raw);
             }
+            metrics.recordEvent(api, type, parseTime, System.nanoTime() - start);
             return;
         }
 
         DataObject content = raw.getObject("d");
         LOG.trace("{} -> {}", type, content);
 
+        long parallelGuildId = getParallelGuildId(type, content);
+        if (parallelGuildId != 0L) {
+            // The handle time is measured on the lane, the gateway thread only enqueues the dispatch
+            dispatcher.execute(parallelGuildId, () -> {
+                long start = System.nanoTime();
+                handleDispatch(type, responseTotal, raw, content);
+                metrics.recordEvent(api, type, parseTime, System.nanoTime() - start);
+            });
+        } else {
+            // Anything else could depend on the cache updates of the parallel dispatches
+            awaitDispatcher();
+            long start = System.nanoTime();
+            handleDispatch(type, responseTotal, raw, content);
+            metrics.recordEvent(api, type, parseTime, System.nanoTime() - start);
+        }
+
+        if (responseTotal % EventCache.TIMEOUT_AMOUNT == 0) {
+            api.getEventCache().timeout(responseTotal);
+        }
+    }
+
+    protected void handleDispatch(String type, long responseTotal, DataObject raw, DataObject content) {
         JDAImpl jda = (JDAImpl) getJDA();
         try {
             switch (type) {
@@ -912,18 +1159,23 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                     resumeUrl = content.getString("resume_gateway_url", null);
                     traceMetadata = content.opt("_trace").map(String::valueOf).orElse(null);
                     LOG.debug("Received READY with _trace {}", traceMetadata);
+                    // Audio connections can be requested once we have a session
+                    wakeupSender();
                     break;
                 case "RESUMED":
                     reconnectTimeoutS = 2;
                     sentAuthInfo = true;
                     traceMetadata = content.opt("_trace").map(String::valueOf).orElse(traceMetadata);
+                    wakeupSender();
                     if (!processingReady) {
-                        initiating = false;
+                        // A restored session fires the ready event, as the cache was loaded without events
+                        initiating = restoringSession;
                         ready();
                     } else {
                         LOG.debug("Resumed while still processing initial ready");
                         jda.setStatus(JDA.Status.LOADING_SUBSYSTEMS);
                     }
+                    restoringSession = false;
                     break;
                 default:
                     long guildId = content.getLong("guild_id", 0L);
@@ -958,41 +1210,126 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                     content,
                     ex);
         }
+    }
+
+    // Only guild scoped dispatches of cached guilds are handled in parallel
+    protected long getParallelGuildId(String type, DataObject content) {
+        if (dispatcher == null || !GuildDispatcher.isParallel(type)) {
+            return 0L;
+        }
+        long guildId = content.getUnsignedLong("guild_id", 0L);
+        return guildId != 0L && api.getGuildById(guildId) != null ? guildId : 0L;
+    }
+
+    protected void awaitDispatcher() {
+        if (dispatcher != null) {
+            dispatcher.awaitIdle();
+        }
+    }
+
+    protected boolean isIgnoredDispatch(String type) {
+        switch (type) {
+            case "RESUMED":
+                return false;
+            case "PRESENCE_UPDATE":
+            case "PRESENCES_REPLACE":
+                // The presence handler does nothing without the presence cache
+                return !presenceCacheEnabled;
+            default:
+                SocketHandler handler = handlers.get(type);
+                return handler == null || handler instanceof SocketHandler.NOPHandler;
+        }
+    }
+
+    protected boolean skipIgnoredDispatch(ByteBuffer data) {
+        // Raw events have to be fired for every dispatch
+        if (api.isRawEvents()) {
+            return false;
+        }
+
+        GatewayEnvelope envelope =
+                encoding == GatewayEncoding.ETF ? GatewayEnvelope.peekETF(data) : GatewayEnvelope.peekJson(data);
+        if (envelope == null
+                || envelope.getOp() != WebSocketCode.DISPATCH
+                || envelope.getType() == null
+                || !isIgnoredDispatch(envelope.getType())) {
+            return false;
+        }
 
+        // We still have to keep track of the sequence for heartbeats and resuming
+        if (envelope.getSequence() >= 0) {
+            api.setResponseTotal((int) envelope.getSequence());
+        }
+
+        long responseTotal = api.getResponseTotal();
+        LOG.trace("Skipped ignored {} event without parsing it", envelope.getType());
         if (responseTotal % EventCache.TIMEOUT_AMOUNT == 0) {
-            jda.getEventCache().timeout(responseTotal);
+            api.getEventCache().timeout(responseTotal);
         }
+        return true;
     }
 
     @Override
     public void onTextMessage(WebSocket websocket, byte[] data) {
-        handleEvent(DataObject.fromJson(data));
+        handleTextMessage(data);
+    }
+
+    protected void handleTextMessage(byte[] data) {
+        long start = System.nanoTime();
+        ByteBuffer raw = ByteBuffer.wrap(data);
+        if (!skipIgnoredDispatch(raw)) {
+            DataObject message = DataObject.fromJson(data);
+            parseTime = System.nanoTime() - start;
+            rawMessage = raw;
+            try {
+                handleEvent(message);
+            } finally {
+                rawMessage = null;
+            }
+        }
     }
 
     @Override
     public void onBinaryMessage(WebSocket websocket, byte[] binary) throws DataFormatException {
+        handleBinaryMessage(binary);
+    }
+
+    protected void handleBinaryMessage(byte[] binary) throws DataFormatException {
         DataObject message;
         // Only acquire lock for decompression and unlock for event handling
         synchronized (readLock) {
+            long start = System.nanoTime();
             message = handleBinary(binary);
+            parseTime = System.nanoTime() - start;
         }
         if (message != null) {
-            handleEvent(message);
+            try {
+                handleEvent(message);
+            } finally {
+                rawMessage = null;
+            }
         }
     }
 
     protected DataObject handleBinary(byte[] binary) throws DataFormatException {
         if (decompressor == null) {
             if (encoding == GatewayEncoding.ETF) {
+                ByteBuffer raw = ByteBuffer.wrap(binary);
+                if (skipIgnoredDispatch(raw)) {
+                    return null;
+                }
+                rawMessage = raw;
                 return DataObject.fromETF(binary);
             }
             throw new IllegalStateException(
                     "Cannot decompress binary message due to unknown compression algorithm: " + compression);
         }
         // Scoping allows us to print the json that possibly failed parsing
-        byte[] data;
+        // The decompressed data is a view of the decompressor buffer, which we parse without copying
+        ByteBuffer data;
         try {
             data = decompressor.decompress(binary);
+            metrics.recordDecompression(api, binary.length, data == null ? 0 : data.remaining());
             if (data == null) {
                 return null;
             }
@@ -1001,16 +1338,18 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             throw e;
         }
 
+        if (skipIgnoredDispatch(data)) {
+            return null;
+        }
+
         try {
-            if (encoding == GatewayEncoding.ETF) {
-                return DataObject.fromETF(data);
-            } else {
-                return DataObject.fromJson(data);
-            }
+            DataObject message = encoding == GatewayEncoding.ETF ? DataObject.fromETF(data) : DataObject.fromJson(data);
+            rawMessage = data;
+            return message;
         } catch (ParsingException e) {
             String jsonString = "malformed";
             try {
-                jsonString = new String(data, StandardCharsets.UTF_8);
+                jsonString = StandardCharsets.UTF_8.decode(data.duplicate()).toString();
             } catch (Exception ignored) {
             }
             // Print the string that could not be parsed and re-throw the exception
@@ -1030,9 +1369,11 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     }
 
     private void handleError(Throwable cause) {
-        if (cause.getCause() instanceof SocketTimeoutException) {
+        // Errors of the WebSocket wrap the I/O error, while a transport reports it directly
+        Throwable ioCause = cause instanceof IOException ? cause : cause.getCause();
+        if (ioCause instanceof SocketTimeoutException) {
             LOG.debug("Socket timed out");
-        } else if (cause.getCause() instanceof IOException) {
+        } else if (ioCause instanceof IOException) {
             LOG.debug("Encountered I/O error", cause);
         } else {
             LOG.error("There was an error in the WebSocket connection. Trace: {}", traceMetadata, cause);
@@ -1094,6 +1435,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             // in all cases, update to this channel
             request.setChannel(channel);
         });
+        wakeupSender();
     }
 
     public void queueAudioConnect(AudioChannel channel) {
@@ -1113,6 +1455,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             // in all cases, update to this channel
             request.setChannel(channel);
         });
+        wakeupSender();
     }
 
     public void queueAudioDisconnect(Guild guild) {
@@ -1128,6 +1471,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                 request.setStage(ConnectionStage.DISCONNECT);
             }
         });
+        wakeupSender();
     }
 
     public ConnectionRequest removeAudioConnection(long guildId) {
@@ -1139,9 +1483,12 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     }
 
     public ConnectionRequest updateAudioConnection(long guildId, AudioChannel connectedChannel) {
-        return locked(
+        ConnectionRequest request = locked(
                 "There was an error updating the audio connection",
                 () -> updateAudioConnection0(guildId, connectedChannel));
+        // A reconnect might be ready for the next stage now
+        wakeupSender();
+        return request;
     }
 
     @SuppressWarnings("fallthrough")
@@ -1240,6 +1587,14 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         return request.get();
     }
 
+    public int getSendQueueSize() {
+        return ratelimitQueue.size();
+    }
+
+    public int getChunkQueueSize() {
+        return priorityChunkQueue.size() + chunkSyncQueue.size();
+    }
+
     public Map<String, SocketHandler> getHandlers() {
         return handlers;
     }
@@ -1333,6 +1688,53 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         handlers.put("WEBHOOKS_UPDATE", nopHandler);
     }
 
+    protected class TransportListener implements GatewayTransport.Listener {
+        @Override
+        public void onOpen(@Nonnull GatewayTransport.Connection connection, @Nonnull Map<String, List<String>> headers) {
+            // The threads of the transport are shared by many shards, so the context has to be set for every callback
+            api.setContext();
+            WebSocketClient.this.connection = connection;
+            handleConnected();
+        }
+
+        @Override
+        public void onTextMessage(@Nonnull GatewayTransport.Connection connection, @Nonnull byte[] message) {
+            api.setContext();
+            try {
+                handleTextMessage(message);
+            } catch (Exception e) {
+                handleError(e);
+            }
+        }
+
+        @Override
+        public void onBinaryMessage(@Nonnull GatewayTransport.Connection connection, @Nonnull byte[] message) {
+            api.setContext();
+            try {
+                handleBinaryMessage(message);
+            } catch (Exception e) {
+                handleError(e);
+            }
+        }
+
+        @Override
+        public void onError(@Nonnull GatewayTransport.Connection connection, @Nonnull Throwable error) {
+            api.setContext();
+            handleError(error);
+        }
+
+        @Override
+        public void onClose(
+                @Nonnull GatewayTransport.Connection connection, int code, String reason, boolean closedByServer) {
+            sentAuthInfo = false;
+            connected = false;
+            WebSocketFrame closeFrame = code == 1006 ? null : WebSocketFrame.createCloseFrame(code, reason);
+            // Reconnecting blocks, which would stall the other connections sharing the handler thread
+            startDisconnectThread(
+                    closedByServer ? closeFrame : null, closedByServer ? null : closeFrame, closedByServer);
+        }
+    }
+
     protected abstract class ConnectNode implements SessionController.SessionConnectNode {
         @Nonnull
         @Override
@@ -1364,7 +1766,8 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                 return;
             }
             try {
-                api.awaitStatus(JDA.Status.LOADING_SUBSYSTEMS, JDA.Status.RECONNECT_QUEUED);
+                // The identify window starts once the payload was sent, waiting for READY would leave the bucket idle
+                api.awaitStatus(JDA.Status.AWAITING_LOGIN_CONFIRMATION, JDA.Status.RECONNECT_QUEUED);
             } catch (IllegalStateException ex) {
                 close();
                 LOG.debug("Shutdown while trying to connect");
@@ -1405,7 +1808,8 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                 return;
             }
             try {
-                api.awaitStatus(JDA.Status.LOADING_SUBSYSTEMS, JDA.Status.RECONNECT_QUEUED);
+                // The identify window starts once the payload was sent, waiting for READY would leave the bucket idle
+                api.awaitStatus(JDA.Status.AWAITING_LOGIN_CONFIRMATION, JDA.Status.RECONNECT_QUEUED);
             } catch (IllegalStateException ex) {
                 close();
                 LOG.debug("Shutdown while trying to reconnect");
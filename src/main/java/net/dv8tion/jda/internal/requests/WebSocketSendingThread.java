@@ -32,30 +32,39 @@ import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 // Helper class delegated to WebSocketClient
+// Sends queued messages as soon as they are added, until the queues are empty or the gateway rate-limit is hit.
 class WebSocketSendingThread implements Runnable {
     private static final Logger LOG = WebSocketClient.LOG;
+    // Audio requests are retried after a timeout and might wait for their guild, which requires polling
+    private static final long RETRY_INTERVAL = 500;
 
     private final WebSocketClient client;
     private final JDAImpl api;
     private final ReentrantLock queueLock;
     private final Queue<DataObject> chunkQueue;
+    private final Queue<DataObject> priorityChunkQueue;
     private final Queue<DataObject> ratelimitQueue;
     private final TLongObjectMap<ConnectionRequest> queuedAudioConnections;
     private final ScheduledExecutorService executor;
-    private Future<?> handle;
+    // Number of wakeups since the current run started, a run is only submitted when this leaves 0
+    private final AtomicInteger wakeups = new AtomicInteger();
+    private Future<?> delayed;
+    private long delayedUntil;
 
     private boolean needRateLimit = false;
     private boolean attemptedToSend = false;
-    private boolean shutdown = false;
+    private volatile boolean shutdown = false;
 
     WebSocketSendingThread(WebSocketClient client) {
         this.client = client;
         this.api = client.api;
         this.queueLock = client.queueLock;
         this.chunkQueue = client.chunkSyncQueue;
+        this.priorityChunkQueue = client.priorityChunkQueue;
         this.ratelimitQueue = client.ratelimitQueue;
         this.queuedAudioConnections = client.queuedAudioConnections;
         this.executor = client.executor;
@@ -63,52 +72,113 @@ class WebSocketSendingThread implements Runnable {
 
     public void shutdown() {
         shutdown = true;
-        if (handle != null) {
-            handle.cancel(false);
+        synchronized (this) {
+            if (delayed != null) {
+                delayed.cancel(false);
+                delayed = null;
+            }
         }
     }
 
     public void start() {
         shutdown = false;
-        handle = executor.submit(this);
+        wakeup();
     }
 
-    private void scheduleIdle() {
+    public void wakeup() {
         if (shutdown) {
             return;
         }
-        handle = executor.schedule(this, 500, TimeUnit.MILLISECONDS);
+        if (wakeups.getAndIncrement() == 0) {
+            submit();
+        }
     }
 
-    private void scheduleSentMessage() {
-        if (shutdown) {
-            return;
+    private void submit() {
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException ex) {
+            wakeups.set(0);
+            handleRejected(ex);
         }
-        handle = executor.schedule(this, 10, TimeUnit.MILLISECONDS);
     }
 
-    private void scheduleRateLimit() {
+    private synchronized void wakeupAfter(long delay) {
         if (shutdown) {
             return;
         }
-        handle = executor.schedule(this, 1, TimeUnit.MINUTES);
+
+        // Keep the earlier wakeup if one is already scheduled
+        long time = GatewaySendLimiter.getNow() + delay;
+        if (delayed != null && !delayed.isDone()) {
+            if (delayedUntil <= time) {
+                return;
+            }
+            delayed.cancel(false);
+        }
+
+        try {
+            delayedUntil = time;
+            delayed = executor.schedule(this::wakeup, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            handleRejected(ex);
+        }
+    }
+
+    private void handleRejected(RejectedExecutionException ex) {
+        if (api.getStatus() == JDA.Status.SHUTTING_DOWN || api.getStatus() == JDA.Status.SHUTDOWN) {
+            LOG.debug("Rejected task after shutdown", ex);
+        } else {
+            LOG.error("Was unable to schedule next packet due to rejected execution by threadpool", ex);
+        }
     }
 
     @Override
     public void run() {
+        int handled = wakeups.get();
+        try {
+            drain();
+        } finally {
+            // Run again if we were woken up while sending
+            if (wakeups.addAndGet(-handled) != 0 && !shutdown) {
+                submit();
+            }
+        }
+    }
+
+    private void drain() {
         // Make sure that we don't send any packets before sending auth info.
+        // We are woken up again once the identify or resume has been sent.
         if (!client.sentAuthInfo) {
-            scheduleIdle();
             return;
         }
 
+        api.setContext();
+        while (!shutdown) {
+            long delay = sendNext();
+            if (delay < 0) {
+                break;
+            } else if (delay > 0) {
+                wakeupAfter(delay);
+                break;
+            }
+        }
+
+        if (!queuedAudioConnections.isEmpty()) {
+            wakeupAfter(RETRY_INTERVAL);
+        }
+    }
+
+    // Returns 0 if the next request was handled, the delay in milliseconds to retry,
+    // or -1 if there is nothing to send right now
+    private long sendNext() {
         ConnectionRequest audioRequest = null;
         DataObject chunkRequest = null;
+        Queue<DataObject> queue = priorityChunkQueue;
 
         boolean hasLock = false;
 
         try {
-            api.setContext();
             attemptedToSend = false;
             needRateLimit = false;
             // We do this outside of the lock because otherwise we could potentially deadlock here
@@ -116,21 +186,27 @@ class WebSocketSendingThread implements Runnable {
 
             hasLock = queueLock.tryLock() || queueLock.tryLock(10, TimeUnit.SECONDS);
             if (!hasLock) {
-                scheduleNext();
-                return;
+                return RETRY_INTERVAL;
+            }
+
+            chunkRequest = queue.peek();
+            if (chunkRequest == null) {
+                queue = chunkQueue;
+                chunkRequest = queue.peek();
             }
 
-            chunkRequest = chunkQueue.peek();
             if (chunkRequest != null) {
-                handleChunkSync(chunkRequest);
+                handleChunkSync(queue, chunkRequest);
             } else if (audioRequest != null) {
                 handleAudioRequest(audioRequest);
-            } else {
+            } else if (!ratelimitQueue.isEmpty()) {
                 handleNormalRequest();
+            } else {
+                return -1;
             }
         } catch (InterruptedException ignored) {
             LOG.debug("Main WS send thread interrupted. Most likely JDA is disconnecting the websocket.");
-            return;
+            return -1;
         } catch (Throwable ex) {
             // Log error
             LOG.error("Encountered error in gateway worker", ex);
@@ -138,7 +214,7 @@ class WebSocketSendingThread implements Runnable {
             if (!attemptedToSend) {
                 // Try to remove the failed request
                 if (chunkRequest != null) {
-                    client.chunkSyncQueue.remove(chunkRequest);
+                    queue.remove(chunkRequest);
                 } else if (audioRequest != null) {
                     client.removeAudioConnection(audioRequest.getGuildIdLong());
                 }
@@ -148,40 +224,30 @@ class WebSocketSendingThread implements Runnable {
             if (ex instanceof Error) {
                 throw (Error) ex;
             }
+            return RETRY_INTERVAL;
         } finally {
             if (hasLock) {
                 queueLock.unlock();
             }
         }
 
-        scheduleNext();
-    }
-
-    private void scheduleNext() {
-        try {
-            if (needRateLimit) {
-                scheduleRateLimit();
-            } else if (!attemptedToSend) {
-                scheduleIdle();
-            } else {
-                scheduleSentMessage();
-            }
-        } catch (RejectedExecutionException ex) {
-            if (api.getStatus() == JDA.Status.SHUTTING_DOWN || api.getStatus() == JDA.Status.SHUTDOWN) {
-                LOG.debug("Rejected task after shutdown", ex);
-            } else {
-                LOG.error("Was unable to schedule next packet due to rejected execution by threadpool", ex);
-            }
+        if (needRateLimit) {
+            // Without a delay we are disconnected, and will be woken up once the session is authenticated again
+            long delay = client.sendLimiter.getDelay(GatewaySendLimiter.getNow(), false);
+            return delay > 0 ? delay : -1;
         }
+        return 0;
     }
 
-    private void handleChunkSync(DataObject chunkOrSyncRequest) {
+    private void handleChunkSync(Queue<DataObject> queue, DataObject chunkOrSyncRequest) {
         LOG.debug("Sending chunk/sync request {}", chunkOrSyncRequest);
         boolean success = send(
                 DataObject.empty().put("op", WebSocketCode.MEMBER_CHUNK_REQUEST).put("d", chunkOrSyncRequest));
 
         if (success) {
-            chunkQueue.remove();
+            queue.remove();
+            // Batched member requests can no longer be extended
+            client.getChunkManager().markSent(chunkOrSyncRequest);
         }
     }
 
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils;
+
+import java.util.*;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Compact map used for parsed payloads.
+ *
+ * <p>This stores entries in parallel arrays, without entry nodes, and looks up keys by identity first.
+ * The keys produced by the JSON and ETF decoders are canonical instances, which makes most lookups a reference comparison.
+ *
+ * <p>Values are stored as the decoders produced them, numbers stay boxed.
+ * Integer strings, like snowflakes, are parsed once on the first numeric access and the result is cached per entry.
+ * The original string value is retained, so serialization is unaffected.
+ */
+public class CompactDataMap extends AbstractMap<String, Object> {
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+    // Cached for values which are not integer strings, so they are only checked once
+    private static final Object NOT_LONG = new Object();
+
+    private String[] keys;
+    private Object[] values;
+    private int size;
+
+    // Parsed integer strings by index, allocated on the first numeric access.
+    // Reads may happen concurrently: racing readers store equal immutable values,
+    // and a store that is not visible to another reader only means the string is parsed again.
+    private Object[] parsed;
+
+    private transient EntrySet entrySet;
+
+    public CompactDataMap() {
+        this(0);
+    }
+
+    public CompactDataMap(int expectedSize) {
+        this.keys = expectedSize == 0 ? EMPTY_KEYS : new String[expectedSize];
+        this.values = expectedSize == 0 ? EMPTY_VALUES : new Object[expectedSize];
+    }
+
+    public int indexOf(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        String[] keys = this.keys;
+        // String hashes are cached, so comparing them first is as cheap as the reference comparison
+        int hash = key.hashCode();
+        for (int i = 0; i < size; i++) {
+            String k = keys[i];
+            if (k == key || (k.hashCode() == hash && k.equals(key))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Whether the value at the index is an integral number or a string of a non-negative integer.
+     * <br>For integer strings, the parsed value is cached and can be accessed with {@link #getLong(int)}.
+     *
+     * @param  index
+     *         The index of the entry
+     *
+     * @return True, if {@link #getLong(int)} can be used for the entry
+     */
+    public boolean isLong(int index) {
+        Object value = values[index];
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return true;
+        }
+        if (!(value instanceof String)) {
+            return false;
+        }
+
+        Object[] cache = parsed;
+        if (cache == null || cache.length <= index) {
+            cache = parsed = new Object[values.length];
+        }
+        Object cached = cache[index];
+        if (cached != null) {
+            return cached != NOT_LONG;
+        }
+
+        String string = (String) value;
+        Object result = NOT_LONG;
+        if (!string.isEmpty() && string.charAt(0) != '-' && string.charAt(0) != '+') {
+            try {
+                result = Long.parseLong(string);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        cache[index] = result;
+        return result != NOT_LONG;
+    }
+
+    /**
+     * The numeric value at the index, only valid if {@link #isLong(int)} returned true.
+     *
+     * @param  index
+     *         The index of the entry
+     *
+     * @return The long value
+     */
+    public long getLong(int index) {
+        Object value = values[index];
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        Object[] cache = parsed;
+        Object cached = cache != null && index < cache.length ? cache[index] : null;
+        if (cached instanceof Long) {
+            return (Long) cached;
+        }
+        return Long.parseLong((String) value);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= keys.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, keys.length < 4 ? 8 : keys.length + (keys.length >> 1));
+        keys = Arrays.copyOf(keys, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+        if (parsed != null) {
+            parsed = Arrays.copyOf(parsed, newCapacity);
+        }
+    }
+
+    private void removeAt(int index) {
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+
+        Object[] cache = parsed;
+        if (cache != null) {
+            // The cached values move with their entries
+            if (moved > 0) {
+                System.arraycopy(cache, index + 1, cache, index, moved);
+            }
+            cache[size] = null;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public Object put(@Nonnull String key, Object value) {
+        Checks.notNull(key, "Key");
+        int index = indexOf(key);
+        if (index >= 0) {
+            Object old = values[index];
+            values[index] = value;
+            if (parsed != null) {
+                parsed[index] = null;
+            }
+            return old;
+        }
+
+        ensureCapacity(size + 1);
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        Object old = values[index];
+        removeAt(index);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        parsed = null;
+    }
+
+    @Nonnull
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<String, Object>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CompactDataMap.this.clear();
+        }
+
+        @Nonnull
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new Iterator<Entry<String, Object>>() {
+                private int next = 0;
+                private int last = -1;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public Entry<String, Object> next() {
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    last = next++;
+                    return new CompactEntry(last);
+                }
+
+                @Override
+                public void remove() {
+                    if (last < 0) {
+                        throw new IllegalStateException();
+                    }
+                    removeAt(last);
+                    next = last;
+                    last = -1;
+                }
+            };
+        }
+    }
+
+    private class CompactEntry extends SimpleEntry<String, Object> {
+        private CompactEntry(int index) {
+            super(keys[index], values[index]);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
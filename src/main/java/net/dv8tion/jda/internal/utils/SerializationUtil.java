@@ -16,7 +16,9 @@
 
 package net.dv8tion.jda.internal.utils;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -114,6 +116,18 @@ public class SerializationUtil {
         }
     }
 
+    @Nonnull
+    public static <T> T fromJson(@Nonnull JavaType type, @Nonnull byte[] data, int offset, int length) {
+        Checks.notNull(type, "Type");
+        Checks.notNull(data, "Data");
+
+        try {
+            return mapper.readValue(data, offset, length, type);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
     @Nonnull
     public static <T> T fromJson(@Nonnull JavaType type, @Nonnull InputStream data) {
         Checks.notNull(type, "Type");
@@ -150,6 +164,82 @@ public class SerializationUtil {
         }
     }
 
+    /**
+     * Parses a JSON object into a {@link CompactDataMap}, nested objects are also compact maps.
+     * <br>This uses the same value types as the default deserialization.
+     */
+    @Nonnull
+    public static Map<String, Object> fromJsonCompact(@Nonnull JsonParser parser) {
+        Checks.notNull(parser, "Parser");
+
+        try (JsonParser p = parser) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new ParsingException("Expected JSON object but got " + p.currentToken());
+            }
+            return readCompactObject(p);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    private static CompactDataMap readCompactObject(JsonParser parser) throws IOException {
+        CompactDataMap map = new CompactDataMap();
+        String key;
+        // Field names are canonicalized by the parser, so equal keys share the same instance
+        while ((key = parser.nextFieldName()) != null) {
+            map.put(key, readCompactValue(parser, parser.nextToken()));
+        }
+        return map;
+    }
+
+    private static List<Object> readCompactArray(JsonParser parser) throws IOException {
+        List<Object> list = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            list.add(readCompactValue(parser, token));
+        }
+        return list;
+    }
+
+    private static Object readCompactValue(JsonParser parser, JsonToken token) throws IOException {
+        if (token == null) {
+            throw new ParsingException("Unexpected end of JSON input");
+        }
+
+        switch (token) {
+            case START_OBJECT:
+                return readCompactObject(parser);
+            case START_ARRAY:
+                return readCompactArray(parser);
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new ParsingException("Unexpected JSON token " + token);
+        }
+    }
+
+    @Nonnull
+    public static JsonParser createParser(@Nonnull byte[] data, int offset, int length) throws IOException {
+        Checks.notNull(data, "Data");
+        return mapper.getFactory().createParser(data, offset, length);
+    }
+
+    @Nonnull
+    public static JsonParser createParser(@Nonnull InputStream data) throws IOException {
+        Checks.notNull(data, "Data");
+        return mapper.getFactory().createParser(data);
+    }
+
     @Nonnull
     public static String toShallowJsonString(@Nonnull Object object) throws JsonProcessingException {
         JsonNode root = mapper.valueToTree(object);
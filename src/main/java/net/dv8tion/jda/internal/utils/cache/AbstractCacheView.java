@@ -64,6 +64,18 @@ public abstract class AbstractCacheView<T> extends ReadWriteLockCache<T> impleme
     }
 
     public T get(long id) {
+        long stamp = tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T element = elements.get(id);
+                if (validate(stamp)) {
+                    return element;
+                }
+            } catch (RuntimeException ignored) {
+                // A concurrent rehash can make the lookup fail, retry with the read lock
+            }
+        }
+
         try (UnlockHook hook = readLock()) {
             return elements.get(id);
         }
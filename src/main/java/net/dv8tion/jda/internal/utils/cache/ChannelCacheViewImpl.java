@@ -186,23 +186,55 @@ public class ChannelCacheViewImpl<T extends Channel> extends ReadWriteLockCache<
     @Nullable
     @Override
     public T getElementById(long id) {
-        try (UnlockHook hook = readLock()) {
-            for (TLongObjectMap<? extends T> cache : caches.values()) {
-                T element = cache.get(id);
-                if (element != null) {
+        long stamp = tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T element = find(id);
+                if (validate(stamp)) {
                     return element;
                 }
+            } catch (RuntimeException ignored) {
+                // A concurrent rehash can make the lookup fail, retry with the read lock
+            }
+        }
+
+        try (UnlockHook hook = readLock()) {
+            return find(id);
+        }
+    }
+
+    private T find(long id) {
+        for (TLongObjectMap<? extends T> cache : caches.values()) {
+            T element = cache.get(id);
+            if (element != null) {
+                return element;
             }
-            return null;
         }
+        return null;
     }
 
     @Override
     public T getElementById(@Nonnull ChannelType type, long id) {
         Checks.notNull(type, "ChannelType");
+        TLongObjectMap<T> map = getMap(type);
+        if (map == null) {
+            return null;
+        }
+
+        long stamp = tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T element = map.get(id);
+                if (validate(stamp)) {
+                    return element;
+                }
+            } catch (RuntimeException ignored) {
+                // A concurrent rehash can make the lookup fail, retry with the read lock
+            }
+        }
+
         try (UnlockHook hook = readLock()) {
-            TLongObjectMap<T> map = getMap(type);
-            return map == null ? null : map.get(id);
+            return map.get(id);
         }
     }
 
@@ -25,9 +25,12 @@ import java.util.List;
 import java.util.NavigableSet;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 
 public abstract class ReadWriteLockCache<T> {
     protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Only write-locked while also holding the write lock above, used to validate optimistic reads
+    protected final StampedLock sequence = new StampedLock();
     protected WeakReference<List<T>> cachedList;
     protected WeakReference<Set<T>> cachedSet;
 
@@ -37,9 +40,17 @@ public abstract class ReadWriteLockCache<T> {
         }
         ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
         MiscUtil.tryLock(writeLock);
+        if (lock.getWriteHoldCount() > 1) {
+            // Reentrant write, the outermost hook releases the sequence
+            onAcquireWriteLock();
+            clearCachedLists();
+            return new UnlockHook(writeLock);
+        }
+
+        long stamp = sequence.writeLock();
         onAcquireWriteLock();
         clearCachedLists();
-        return new UnlockHook(writeLock);
+        return new SequenceUnlockHook(writeLock, stamp);
     }
 
     public UnlockHook readLock() {
@@ -49,6 +60,46 @@ public abstract class ReadWriteLockCache<T> {
         return new UnlockHook(readLock);
     }
 
+    /**
+     * Starts an optimistic read, which does not block writers or other readers.
+     *
+     * <p>Reads under an optimistic stamp can observe a map in the middle of an update,
+     * the result must be discarded unless {@link #validate(long)} succeeds.
+     *
+     * @return The stamp to validate, or {@code 0} if a write is in progress
+     */
+    protected long tryOptimisticRead() {
+        return sequence.tryOptimisticRead();
+    }
+
+    protected boolean validate(long stamp) {
+        return sequence.validate(stamp);
+    }
+
+    /**
+     * Returns a stamp which stays valid until the next write to this cache.
+     * <br>Used to invalidate values which are derived from the cached elements, without holding a lock.
+     *
+     * @return The stamp, or {@code 0} if a write is in progress
+     *
+     * @see    #isUnchangedSince(long)
+     */
+    public long getWriteStamp() {
+        return sequence.tryOptimisticRead();
+    }
+
+    /**
+     * Whether this cache has not been written to since the stamp was acquired.
+     *
+     * @param  stamp
+     *         The stamp returned by {@link #getWriteStamp()}
+     *
+     * @return True, if no write happened since then
+     */
+    public boolean isUnchangedSince(long stamp) {
+        return sequence.validate(stamp);
+    }
+
     public void clearCachedLists() {
         cachedList = null;
         cachedSet = null;
@@ -83,4 +134,19 @@ public abstract class ReadWriteLockCache<T> {
         cachedSet = new WeakReference<>(set);
         return set;
     }
+
+    private class SequenceUnlockHook extends UnlockHook {
+        private final long stamp;
+
+        private SequenceUnlockHook(ReentrantReadWriteLock.WriteLock writeLock, long stamp) {
+            super(writeLock);
+            this.stamp = stamp;
+        }
+
+        @Override
+        public void close() {
+            sequence.unlockWrite(stamp);
+            super.close();
+        }
+    }
 }
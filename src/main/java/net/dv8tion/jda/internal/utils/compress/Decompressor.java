@@ -20,6 +20,7 @@ import net.dv8tion.jda.api.utils.Compression;
 import net.dv8tion.jda.internal.utils.JDALogger;
 import org.slf4j.Logger;
 
+import java.nio.ByteBuffer;
 import java.util.zip.DataFormatException;
 
 import javax.annotation.Nullable;
@@ -35,6 +36,7 @@ public interface Decompressor {
 
     // returns null when the decompression isn't done,
     // for example when no Z_SYNC_FLUSH was present
+    // the returned buffer is a view of an internal buffer and only valid until the next call
     @Nullable
-    byte[] decompress(byte[] data) throws DataFormatException;
+    ByteBuffer decompress(byte[] data) throws DataFormatException;
 }
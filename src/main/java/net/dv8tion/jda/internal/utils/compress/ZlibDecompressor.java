@@ -20,40 +20,33 @@ import net.dv8tion.jda.api.utils.Compression;
 import net.dv8tion.jda.internal.utils.IOUtil;
 import net.dv8tion.jda.internal.utils.JDALogger;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
-import java.util.zip.InflaterOutputStream;
 
 public class ZlibDecompressor implements Decompressor {
     private static final int Z_SYNC_FLUSH = 0x0000FFFF;
 
     private final int maxBufferSize;
     private final Inflater inflater = new Inflater();
-    private ByteBuffer flushBuffer = null;
-    private SoftReference<ByteArrayOutputStream> decompressBuffer = null;
+    // The buffer that is retained between messages, can be collected by the GC under memory pressure
+    private SoftReference<byte[]> decompressBuffer = null;
+    // The buffer used by the message currently being inflated
+    private byte[] buffer = null;
+    private int position = 0;
 
     public ZlibDecompressor(int maxBufferSize) {
         this.maxBufferSize = maxBufferSize;
     }
 
-    private SoftReference<ByteArrayOutputStream> newDecompressBuffer() {
-        return new SoftReference<>(new ByteArrayOutputStream(Math.min(1024, maxBufferSize)));
-    }
-
-    private ByteArrayOutputStream getDecompressBuffer() {
-        // If no buffer has been allocated yet we do that here (lazy init)
-        if (decompressBuffer == null) {
-            decompressBuffer = newDecompressBuffer();
-        }
-        // Check if the buffer has been collected by the GC or not
-        ByteArrayOutputStream buffer = decompressBuffer.get();
-        if (buffer == null) { // create a ne buffer because the GC got it
-            decompressBuffer = new SoftReference<>(buffer = new ByteArrayOutputStream(Math.min(1024, maxBufferSize)));
+    private byte[] getDecompressBuffer() {
+        // Check if the buffer has been collected by the GC or not (lazy init)
+        byte[] buffer = decompressBuffer == null ? null : decompressBuffer.get();
+        if (buffer == null) {
+            buffer = new byte[Math.max(64, Math.min(1024, maxBufferSize))];
+            decompressBuffer = new SoftReference<>(buffer);
         }
         return buffer;
     }
@@ -66,20 +59,26 @@ public class ZlibDecompressor implements Decompressor {
         return suffix == Z_SYNC_FLUSH;
     }
 
-    private void buffer(byte[] data) {
-        if (flushBuffer == null) {
-            flushBuffer = ByteBuffer.allocate(data.length * 2);
+    private void grow() {
+        int newLength = buffer.length * 2;
+        if (newLength < 0) {
+            throw new OutOfMemoryError("Decompressed payload exceeds maximum array size");
         }
+        buffer = Arrays.copyOf(buffer, newLength);
+    }
 
-        // Ensure the capacity can hold the new data, ByteBuffer doesn't grow automatically
-        if (flushBuffer.capacity() < data.length + flushBuffer.position()) {
-            // Flip to make it a read buffer
-            flushBuffer.flip();
-            // Reallocate for the new capacity
-            flushBuffer = IOUtil.reallocate(flushBuffer, (flushBuffer.capacity() + data.length) * 2);
+    private void release() {
+        // When done with decompression we want to keep the buffer so it can be used again later
+        if (buffer != null) {
+            if (buffer.length > maxBufferSize) {
+                // Only drop buffers which grew beyond the maximum size, the next message starts small again
+                decompressBuffer = null;
+            } else if (decompressBuffer == null || decompressBuffer.get() != buffer) {
+                decompressBuffer = new SoftReference<>(buffer);
+            }
         }
-
-        flushBuffer.put(data);
+        buffer = null;
+        position = 0;
     }
 
     private Object lazy(byte[] data) {
@@ -94,6 +93,7 @@ public class ZlibDecompressor implements Decompressor {
     @Override
     public void reset() {
         inflater.reset();
+        release();
     }
 
     @Override
@@ -102,44 +102,44 @@ public class ZlibDecompressor implements Decompressor {
     }
 
     @Override
-    public byte[] decompress(byte[] data) throws DataFormatException {
+    public ByteBuffer decompress(byte[] data) throws DataFormatException {
+        if (position == 0) {
+            // Start of a new message, the previously returned view is no longer in use
+            release();
+            buffer = getDecompressBuffer();
+        }
+
+        LOG.trace("Decompressing data {}", lazy(data));
+        // The zlib-stream is continuous, so we can inflate split messages as they arrive
+        // instead of buffering the compressed fragments first
+        inflater.setInput(data);
+        while (true) {
+            if (position == buffer.length) {
+                grow();
+            }
+
+            int inflated = inflater.inflate(buffer, position, buffer.length - position);
+            position += inflated;
+            if (inflated == 0) {
+                if (inflater.needsInput() || inflater.finished()) {
+                    break;
+                }
+                if (inflater.needsDictionary()) {
+                    throw new DataFormatException("Malformed, inflater requested preset dictionary");
+                }
+            }
+        }
+
         // Handle split messages
         if (!isFlush(data)) {
             // There is no flush suffix so this is not the end of the message
-            LOG.debug("Received incomplete data, writing to buffer. Length: {}", data.length);
-            buffer(data);
+            LOG.debug("Received incomplete data, inflated {} bytes so far. Length: {}", position, data.length);
             return null; // signal failure to decompress
-        } else if (flushBuffer != null) {
-            // This has a flush suffix and we have an incomplete package buffered
-            // concatenate the package with the new data and decompress it below
-            LOG.debug("Received final part of incomplete data");
-            buffer(data);
-            byte[] arr = flushBuffer.array();
-            data = new byte[flushBuffer.position()];
-            System.arraycopy(arr, 0, data, 0, data.length);
-            flushBuffer = null;
-        }
-        LOG.trace("Decompressing data {}", lazy(data));
-        // Get the compressed message and inflate it
-        // We use the same buffer here to optimize gc use
-        ByteArrayOutputStream buffer = getDecompressBuffer();
-        try (InflaterOutputStream decompressor = new InflaterOutputStream(buffer, inflater)) {
-            // This decompressor writes the received data and inflates it
-            decompressor.write(data);
-            // Once decompressed we re-interpret the data as a String which can be used for JSON
-            // parsing
-            return buffer.toByteArray();
-        } catch (IOException e) {
-            // Some issue appeared during decompression that caused a failure
-            throw (DataFormatException) new DataFormatException("Malformed").initCause(e);
-        } finally {
-            // When done with decompression we want to reset the buffer so it can be used again
-            // later
-            if (buffer.size() > maxBufferSize) {
-                decompressBuffer = newDecompressBuffer();
-            } else {
-                buffer.reset();
-            }
         }
+
+        // Wrap the inflated bytes without copying, the view is valid until the next call
+        ByteBuffer result = ByteBuffer.wrap(buffer, 0, position);
+        position = 0;
+        return result;
     }
 }
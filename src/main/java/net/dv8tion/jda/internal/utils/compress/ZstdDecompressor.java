@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.compress;
+
+import com.github.luben.zstd.ZstdDecompressCtx;
+import net.dv8tion.jda.api.utils.Compression;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+
+/**
+ * Decompressor for the {@code zstd-stream} transport compression.
+ *
+ * <p>This requires the optional <a href="https://github.com/luben/zstd-jni" target="_blank">zstd-jni</a> dependency,
+ * which is not included with JDA. Use {@link #isAvailable()} to check whether it is present.
+ */
+public class ZstdDecompressor implements Decompressor {
+    private static final boolean AVAILABLE;
+
+    static {
+        boolean available;
+        try {
+            Class.forName("com.github.luben.zstd.ZstdDecompressCtx");
+            available = true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            available = false;
+        }
+        AVAILABLE = available;
+    }
+
+    // Direct buffers are only freed by the GC, so we keep them between messages instead of allocating new ones.
+    // Buffers that grew beyond this size are released right after the message which needed them.
+    private static final int MAX_RETAINED_SIZE = 4 * 1024 * 1024;
+    // Buffers that grew beyond the base size are released after this many messages which fit the base size
+    private static final int IDLE_MESSAGES = 256;
+
+    private final int maxBufferSize;
+    private ZstdDecompressCtx context;
+    private ByteBuffer input = null;
+    private ByteBuffer output = null;
+    private int idleMessages = 0;
+
+    public ZstdDecompressor(int maxBufferSize) {
+        this.maxBufferSize = maxBufferSize;
+        this.context = new ZstdDecompressCtx();
+    }
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    // zstd-jni only supports streaming between direct buffers
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(Math.max(64, capacity));
+    }
+
+    private int getBaseSize() {
+        return Math.max(1024, maxBufferSize);
+    }
+
+    private boolean shouldRelease(ByteBuffer buffer) {
+        return buffer.capacity() > MAX_RETAINED_SIZE
+                || (buffer.capacity() > getBaseSize() && idleMessages >= IDLE_MESSAGES);
+    }
+
+    private ByteBuffer prepareInput(byte[] data) {
+        if (input != null && shouldRelease(input)) {
+            input = null;
+        }
+        if (input == null || input.capacity() < data.length) {
+            // Grow at least by a factor of two, to avoid a new allocation for every slightly larger message
+            int capacity = input == null ? getBaseSize() : input.capacity() * 2;
+            input = allocate(Math.max(capacity, data.length));
+        }
+        input.clear();
+        input.put(data).flip();
+        return input;
+    }
+
+    private ByteBuffer prepareOutput() {
+        if (output == null || shouldRelease(output)) {
+            output = allocate(getBaseSize());
+        }
+        output.clear();
+        return output;
+    }
+
+    private void grow() {
+        ByteBuffer newBuffer = allocate(output.capacity() * 2);
+        output.flip();
+        newBuffer.put(output);
+        output = newBuffer;
+    }
+
+    private void trackUsage(int compressed, int decompressed) {
+        int baseSize = getBaseSize();
+        if (compressed > baseSize || decompressed > baseSize) {
+            idleMessages = 0;
+        } else if (idleMessages < IDLE_MESSAGES) {
+            idleMessages++;
+        }
+    }
+
+    @Override
+    public Compression getType() {
+        return Compression.ZSTD;
+    }
+
+    @Override
+    public void reset() {
+        // Discord starts a new stream for every connection
+        context.close();
+        context = new ZstdDecompressCtx();
+    }
+
+    @Override
+    public void shutdown() {
+        context.close();
+        input = null;
+        output = null;
+        idleMessages = 0;
+    }
+
+    @Override
+    public ByteBuffer decompress(byte[] data) throws DataFormatException {
+        ByteBuffer source = prepareInput(data);
+        prepareOutput();
+
+        try {
+            while (true) {
+                context.decompressDirectByteBufferStream(output, source);
+                // Once the input is consumed, and the output is not full, everything was flushed
+                if (!source.hasRemaining() && output.hasRemaining()) {
+                    break;
+                }
+                if (!output.hasRemaining()) {
+                    grow();
+                }
+            }
+        } catch (RuntimeException e) {
+            throw (DataFormatException) new DataFormatException("Malformed").initCause(e);
+        }
+
+        LOG.trace("Decompressed {} bytes into {} bytes", data.length, output.position());
+        trackUsage(data.length, output.position());
+        // Each websocket message contains a complete flush of the stream, so there is nothing to buffer here
+        output.flip();
+        return output;
+    }
+}
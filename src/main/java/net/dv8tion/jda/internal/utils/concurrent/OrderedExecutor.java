@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.internal.utils.concurrent;
+
+import net.dv8tion.jda.internal.utils.JDALogger;
+import org.slf4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Runs tasks on a delegate executor, while preserving the submission order of tasks with the same key.
+ *
+ * <p>Keys are striped onto a fixed number of lanes. Each lane runs at most one task at a time,
+ * but different lanes run in parallel on the delegate executor.
+ */
+public class OrderedExecutor implements Executor {
+    public static final int DEFAULT_LANES = 256;
+
+    private static final Logger LOG = JDALogger.getLog(OrderedExecutor.class);
+    // Limits how long a busy lane can occupy a thread of the delegate, before yielding to other lanes
+    private static final int MAX_BATCH = 64;
+
+    private final Executor executor;
+    private final Lane[] lanes;
+    private final int mask;
+
+    public OrderedExecutor(@Nonnull Executor executor, int lanes) {
+        if (lanes <= 0 || Integer.bitCount(lanes) != 1) {
+            throw new IllegalArgumentException("Lane count must be a positive power of two");
+        }
+        this.executor = executor;
+        this.lanes = new Lane[lanes];
+        this.mask = lanes - 1;
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new Lane();
+        }
+    }
+
+    @Nonnull
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Runs the task after all previously submitted tasks with the same key.
+     *
+     * @param key
+     *        The ordering key, such as a guild id
+     * @param task
+     *        The task to run
+     */
+    public void execute(long key, @Nonnull Runnable task) {
+        lanes[index(key)].submit(task);
+    }
+
+    @Override
+    public void execute(@Nonnull Runnable task) {
+        execute(0L, task);
+    }
+
+    private int index(long key) {
+        // Snowflakes share most of their low bits for ids created at the same time, spread them out
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private class Lane implements Runnable {
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private void submit(Runnable task) {
+            queue.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException ex) {
+                LOG.warn("Event-Pool rejected event execution! Running on handling thread instead...");
+                run();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < MAX_BATCH; i++) {
+                    Runnable task = queue.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    task.run();
+                }
+            } finally {
+                scheduled.set(false);
+                // Tasks submitted while we were finishing up could not schedule the lane themselves
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -18,8 +18,11 @@ package net.dv8tion.jda.internal.utils.config;
 
 import com.neovisionaries.ws.client.WebSocketFactory;
 import net.dv8tion.jda.api.hooks.VoiceDispatchInterceptor;
+import net.dv8tion.jda.api.requests.GatewayTransport;
 import net.dv8tion.jda.api.utils.ConcurrentSessionController;
+import net.dv8tion.jda.api.utils.MetricsRecorder;
 import net.dv8tion.jda.api.utils.SessionController;
+import net.dv8tion.jda.api.utils.SessionStore;
 import net.dv8tion.jda.internal.utils.config.flags.ConfigFlag;
 import okhttp3.OkHttpClient;
 
@@ -36,6 +39,9 @@ public class SessionConfig {
     private final int largeThreshold;
     private EnumSet<ConfigFlag> flags;
     private int maxReconnectDelay;
+    private MetricsRecorder metricsRecorder = MetricsRecorder.NOOP;
+    private GatewayTransport gatewayTransport;
+    private SessionStore sessionStore;
 
     public SessionConfig(
             @Nullable SessionController sessionController,
@@ -66,6 +72,18 @@ public class SessionConfig {
         }
     }
 
+    public void setMetricsRecorder(@Nullable MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder == null ? MetricsRecorder.NOOP : metricsRecorder;
+    }
+
+    public void setGatewayTransport(@Nullable GatewayTransport gatewayTransport) {
+        this.gatewayTransport = gatewayTransport;
+    }
+
+    public void setSessionStore(@Nullable SessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+    }
+
     @Nonnull
     public SessionController getSessionController() {
         return sessionController;
@@ -81,11 +99,26 @@ public class SessionConfig {
         return webSocketFactory;
     }
 
+    @Nullable
+    public GatewayTransport getGatewayTransport() {
+        return gatewayTransport;
+    }
+
+    @Nullable
+    public SessionStore getSessionStore() {
+        return sessionStore;
+    }
+
     @Nullable
     public VoiceDispatchInterceptor getVoiceDispatchInterceptor() {
         return interceptor;
     }
 
+    @Nonnull
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
     public boolean isAutoReconnect() {
         return flags.contains(ConfigFlag.AUTO_RECONNECT);
     }
@@ -106,6 +139,14 @@ public class SessionConfig {
         return flags.contains(ConfigFlag.EVENT_PASSTHROUGH);
     }
 
+    public boolean isOrderedEvents() {
+        return flags.contains(ConfigFlag.ORDERED_EVENTS);
+    }
+
+    public boolean isParallelDispatch() {
+        return flags.contains(ConfigFlag.PARALLEL_DISPATCH);
+    }
+
     public boolean isRelativeRateLimit() {
         return flags.contains(ConfigFlag.USE_RELATIVE_RATELIMIT);
     }
@@ -33,6 +33,7 @@ public class ThreadingConfig {
     private ExecutorService callbackPool;
     private ExecutorService eventPool;
     private ScheduledExecutorService audioPool;
+    private ExecutorService dispatchPool;
 
     private boolean shutdownRateLimitScheduler;
     private boolean shutdownRateLimitElastic;
@@ -40,6 +41,7 @@ public class ThreadingConfig {
     private boolean shutdownCallbackPool;
     private boolean shutdownEventPool;
     private boolean shutdownAudioPool;
+    private boolean shutdownDispatchPool;
 
     public ThreadingConfig() {
         this.callbackPool = ForkJoinPool.commonPool();
@@ -81,6 +83,11 @@ public class ThreadingConfig {
         this.shutdownAudioPool = shutdown;
     }
 
+    public void setDispatchPool(@Nullable ExecutorService executor, boolean shutdown) {
+        this.dispatchPool = executor;
+        this.shutdownDispatchPool = shutdown;
+    }
+
     public void init(@Nonnull Supplier<String> identifier) {
         if (this.rateLimitScheduler == null) {
             this.rateLimitScheduler = newScheduler(2, identifier, "RateLimit-Scheduler", false);
@@ -111,6 +118,9 @@ public class ThreadingConfig {
         if (shutdownAudioPool && audioPool != null) {
             audioPool.shutdown();
         }
+        if (shutdownDispatchPool && dispatchPool != null) {
+            dispatchPool.shutdown();
+        }
     }
 
     public void shutdownRequester() {
@@ -141,6 +151,9 @@ public class ThreadingConfig {
         if (shutdownAudioPool && audioPool != null) {
             audioPool.shutdownNow();
         }
+        if (shutdownDispatchPool && dispatchPool != null) {
+            dispatchPool.shutdownNow();
+        }
     }
 
     @Nonnull
@@ -168,6 +181,11 @@ public class ThreadingConfig {
         return eventPool;
     }
 
+    @Nullable
+    public ExecutorService getDispatchPool() {
+        return dispatchPool;
+    }
+
     @Nullable
     public ScheduledExecutorService getAudioPool(@Nonnull Supplier<String> identifier) {
         ScheduledExecutorService pool = audioPool;
@@ -206,6 +224,10 @@ public class ThreadingConfig {
         return shutdownAudioPool;
     }
 
+    public boolean isShutdownDispatchPool() {
+        return shutdownDispatchPool;
+    }
+
     @Nonnull
     public static ScheduledThreadPoolExecutor newScheduler(int coreSize, Supplier<String> identifier, String baseName) {
         return newScheduler(coreSize, identifier, baseName, true);
@@ -217,6 +239,18 @@ public class ThreadingConfig {
         return new ScheduledThreadPoolExecutor(coreSize, new CountingThreadFactory(identifier, baseName, daemon));
     }
 
+    @Nonnull
+    public static ExecutorService newEventPool(Supplier<String> identifier) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, new CountingThreadFactory(identifier, "EventPool"));
+    }
+
+    @Nonnull
+    public static ExecutorService newDispatchPool(Supplier<String> identifier) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, new CountingThreadFactory(identifier, "Dispatch"));
+    }
+
     @Nonnull
     public static ThreadingConfig getDefault() {
         return new ThreadingConfig();
@@ -21,6 +21,8 @@ import java.util.EnumSet;
 public enum ConfigFlag {
     RAW_EVENTS,
     EVENT_PASSTHROUGH,
+    ORDERED_EVENTS,
+    PARALLEL_DISPATCH,
     USE_RELATIVE_RATELIMIT(true),
     RETRY_TIMEOUT(true),
     BULK_DELETE_SPLIT(true),
@@ -17,15 +17,19 @@
 package net.dv8tion.jda.internal.utils.config.sharding;
 
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.sharding.ShardStartupListener;
 import net.dv8tion.jda.api.utils.MemberCachePolicy;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class ShardingConfig {
     private int shardsTotal;
     private int intents;
     private MemberCachePolicy memberCachePolicy;
     private final boolean useShutdownNow;
+    private int startupParallelism = 0;
+    private ShardStartupListener startupListener;
 
     public ShardingConfig(int shardsTotal, boolean useShutdownNow, int intents, MemberCachePolicy memberCachePolicy) {
         this.shardsTotal = shardsTotal;
@@ -42,6 +46,23 @@ public class ShardingConfig {
         return shardsTotal;
     }
 
+    public void setStartupParallelism(int startupParallelism) {
+        this.startupParallelism = startupParallelism;
+    }
+
+    public int getStartupParallelism() {
+        return startupParallelism;
+    }
+
+    public void setStartupListener(@Nullable ShardStartupListener startupListener) {
+        this.startupListener = startupListener;
+    }
+
+    @Nullable
+    public ShardStartupListener getStartupListener() {
+        return startupListener;
+    }
+
     public int getIntents() {
         return intents;
     }
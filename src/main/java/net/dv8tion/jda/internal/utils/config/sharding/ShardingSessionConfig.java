@@ -54,7 +54,7 @@ public class ShardingSessionConfig extends SessionConfig {
     }
 
     public SessionConfig toSessionConfig(OkHttpClient client) {
-        return new SessionConfig(
+        SessionConfig config = new SessionConfig(
                 getSessionController(),
                 client,
                 getWebSocketFactory(),
@@ -62,6 +62,10 @@ public class ShardingSessionConfig extends SessionConfig {
                 getFlags(),
                 getMaxReconnectDelay(),
                 getLargeThreshold());
+        config.setMetricsRecorder(getMetricsRecorder());
+        config.setGatewayTransport(getGatewayTransport());
+        config.setSessionStore(getSessionStore());
+        return config;
     }
 
     public EnumSet<ShardingConfigFlag> getShardingFlags() {
@@ -31,6 +31,7 @@ public class ThreadingProviderConfig {
     private final ThreadPoolProvider<? extends ScheduledExecutorService> gatewayPoolProvider;
     private final ThreadPoolProvider<? extends ExecutorService> callbackPoolProvider;
     private final ThreadPoolProvider<? extends ExecutorService> eventPoolProvider;
+    private final ThreadPoolProvider<? extends ExecutorService> dispatchPoolProvider;
     private final ThreadPoolProvider<? extends ScheduledExecutorService> audioPoolProvider;
     private final ThreadFactory threadFactory;
 
@@ -40,6 +41,7 @@ public class ThreadingProviderConfig {
             @Nullable ThreadPoolProvider<? extends ScheduledExecutorService> gatewayPoolProvider,
             @Nullable ThreadPoolProvider<? extends ExecutorService> callbackPoolProvider,
             @Nullable ThreadPoolProvider<? extends ExecutorService> eventPoolProvider,
+            @Nullable ThreadPoolProvider<? extends ExecutorService> dispatchPoolProvider,
             @Nullable ThreadPoolProvider<? extends ScheduledExecutorService> audioPoolProvider,
             @Nullable ThreadFactory threadFactory) {
         this.rateLimitSchedulerProvider = rateLimitSchedulerProvider;
@@ -47,6 +49,7 @@ public class ThreadingProviderConfig {
         this.gatewayPoolProvider = gatewayPoolProvider;
         this.callbackPoolProvider = callbackPoolProvider;
         this.eventPoolProvider = eventPoolProvider;
+        this.dispatchPoolProvider = dispatchPoolProvider;
         this.audioPoolProvider = audioPoolProvider;
         this.threadFactory = threadFactory;
     }
@@ -74,6 +77,7 @@ public class ThreadingProviderConfig {
         init(gatewayPoolProvider, shardTotal);
         init(callbackPoolProvider, shardTotal);
         init(eventPoolProvider, shardTotal);
+        init(dispatchPoolProvider, shardTotal);
         init(audioPoolProvider, shardTotal);
     }
 
@@ -83,6 +87,7 @@ public class ThreadingProviderConfig {
         shutdown(gatewayPoolProvider);
         shutdown(callbackPoolProvider);
         shutdown(eventPoolProvider);
+        shutdown(dispatchPoolProvider);
         shutdown(audioPoolProvider);
     }
 
@@ -111,6 +116,11 @@ public class ThreadingProviderConfig {
         return eventPoolProvider;
     }
 
+    @Nullable
+    public ThreadPoolProvider<? extends ExecutorService> getDispatchPoolProvider() {
+        return dispatchPoolProvider;
+    }
+
     @Nullable
     public ThreadPoolProvider<? extends ScheduledExecutorService> getAudioPoolProvider() {
         return audioPoolProvider;
@@ -118,6 +128,6 @@ public class ThreadingProviderConfig {
 
     @Nonnull
     public static ThreadingProviderConfig getDefault() {
-        return new ThreadingProviderConfig(null, null, null, null, null, null, null);
+        return new ThreadingProviderConfig(null, null, null, null, null, null, null, null);
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.cacheview;
+
+import net.dv8tion.jda.api.entities.ISnowflake;
+import net.dv8tion.jda.internal.utils.UnlockHook;
+import net.dv8tion.jda.internal.utils.cache.SnowflakeCacheViewImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SnowflakeCacheViewTest {
+    @Test
+    void testReentrantWriteLock() {
+        SnowflakeCacheViewImpl<Entity> view = new SnowflakeCacheViewImpl<>(Entity.class, null);
+        try (UnlockHook outer = view.writeLock()) {
+            view.getMap().put(1, new Entity(1));
+            try (UnlockHook inner = view.writeLock()) {
+                view.getMap().put(2, new Entity(2));
+            }
+            // Reads while holding the write lock must not block
+            assertThat(view.getElementById(2)).isNotNull();
+        }
+
+        assertThat(view.getElementById(1)).isNotNull();
+        assertThat(view.getElementById(2)).isNotNull();
+        try (UnlockHook hook = view.writeLock()) {
+            view.getMap().remove(1);
+        }
+        assertThat(view.getElementById(1)).isNull();
+    }
+
+    @Test
+    void testReadsDuringConcurrentWrites() throws Exception {
+        SnowflakeCacheViewImpl<Entity> view = new SnowflakeCacheViewImpl<>(Entity.class, null);
+        int stable = 1000;
+        try (UnlockHook hook = view.writeLock()) {
+            for (long id = 0; id < stable; id++) {
+                view.getMap().put(id, new Entity(id));
+            }
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = pool.submit(() -> {
+                // Inserting and removing forces the map to rehash repeatedly
+                for (int round = 0; round < 200; round++) {
+                    try (UnlockHook hook = view.writeLock()) {
+                        for (long id = stable; id < stable + 5000; id++) {
+                            view.getMap().put(id, new Entity(id));
+                        }
+                    }
+                    try (UnlockHook hook = view.writeLock()) {
+                        for (long id = stable; id < stable + 5000; id++) {
+                            view.getMap().remove(id);
+                        }
+                        view.getMap().compact();
+                    }
+                }
+                running.set(false);
+            });
+
+            Callable<Long> reader = () -> {
+                long reads = 0;
+                while (running.get()) {
+                    for (long id = 0; id < stable; id++) {
+                        Entity entity = view.getElementById(id);
+                        assertThat(entity).isNotNull();
+                        assertThat(entity.getIdLong()).isEqualTo(id);
+                        reads++;
+                    }
+                }
+                return reads;
+            };
+
+            Future<Long> first = pool.submit(reader);
+            Future<Long> second = pool.submit(reader);
+            writer.get(30, TimeUnit.SECONDS);
+            assertThat(first.get(30, TimeUnit.SECONDS)).isPositive();
+            assertThat(second.get(30, TimeUnit.SECONDS)).isPositive();
+        } finally {
+            running.set(false);
+            pool.shutdownNow();
+        }
+    }
+
+    public static class Entity implements ISnowflake {
+        private final long id;
+
+        public Entity(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public long getIdLong() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "Entity(" + id + ")";
+        }
+    }
+}
@@ -19,9 +19,16 @@ package net.dv8tion.jda.test.data;
 import net.dv8tion.jda.api.exceptions.DataObjectParsingException;
 import net.dv8tion.jda.api.utils.data.DataArray;
 import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.utils.CompactDataMap;
 import net.dv8tion.jda.test.AbstractSnapshotTest;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 public class DataObjectTest extends AbstractSnapshotTest {
@@ -48,4 +55,88 @@ public class DataObjectTest extends AbstractSnapshotTest {
                 .isThrownBy(() -> data.getInt("foo"))
                 .satisfies(exception -> snapshotHandler.compareWithSnapshot(exception.toString(), null));
     }
+
+    @Test
+    void testCompactRepresentation() {
+        DataObject original = DataObject.empty()
+                .put("id", "1234567890123456789")
+                .put("negative", "-5")
+                .put("count", 42)
+                .put("name", "test")
+                .put("nested", DataObject.empty().put("id", "987654321"))
+                .put("list", DataArray.empty().add(DataObject.empty().put("id", "1")));
+
+        for (DataObject compact : new DataObject[] {
+            DataObject.fromJson(ByteBuffer.wrap(original.toJson())),
+            DataObject.fromJson(original.toJson()),
+            DataObject.fromETF(ByteBuffer.wrap(original.toETF()))
+        }) {
+            assertThat(compact.toMap()).isInstanceOf(CompactDataMap.class);
+            assertThat(compact).isEqualTo(original);
+
+            assertThat(compact.getLong("id")).isEqualTo(1234567890123456789L);
+            assertThat(compact.getUnsignedLong("id")).isEqualTo(1234567890123456789L);
+            assertThat(compact.getString("id")).isEqualTo("1234567890123456789");
+            assertThat(compact.getLong("negative")).isEqualTo(-5);
+            assertThat(compact.getLong("count")).isEqualTo(42);
+            assertThat(compact.getLong("missing", 7)).isEqualTo(7);
+            assertThat(compact.getObject("nested").getLong("id")).isEqualTo(987654321L);
+            assertThat(compact.getArray("list").getObject(0).getLong("id")).isEqualTo(1);
+
+            compact.put("id", "5");
+            assertThat(compact.getLong("id")).isEqualTo(5);
+            compact.remove("negative");
+            assertThat(compact.hasKey("negative")).isFalse();
+            assertThat(compact.getLong("id")).isEqualTo(5);
+            assertThat(compact.getInt("count")).isEqualTo(42);
+
+            // Growing the map keeps the parsed values, entries beyond the first 64 are cached as well
+            for (int i = 0; i < 80; i++) {
+                compact.put("extra_" + i, String.valueOf(100 + i));
+            }
+            assertThat(compact.getLong("id")).isEqualTo(5);
+            assertThat(compact.getLong("extra_15")).isEqualTo(115);
+            assertThat(compact.getLong("extra_79")).isEqualTo(179);
+            assertThat(compact.getLong("extra_79")).isEqualTo(179);
+            compact.remove("extra_0");
+            assertThat(compact.getLong("extra_79")).isEqualTo(179);
+            assertThat(compact.getLong("extra_1")).isEqualTo(101);
+
+            assertThatExceptionOfType(NumberFormatException.class).isThrownBy(() -> compact.getLong("name"));
+        }
+    }
+
+    @Test
+    void testCompactConcurrentReads() throws Exception {
+        DataObject original = DataObject.empty();
+        for (int i = 0; i < 100; i++) {
+            original.put("id_" + i, String.valueOf(1000000000000000000L + i));
+        }
+        byte[] json = original.toJson();
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 200; round++) {
+                DataObject compact = DataObject.fromJson(json);
+                CyclicBarrier start = new CyclicBarrier(4);
+                List<Future<?>> readers = new ArrayList<>();
+                for (int reader = 0; reader < 4; reader++) {
+                    int offset = reader;
+                    readers.add(pool.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < 100; i++) {
+                            int key = (i + offset * 25) % 100;
+                            assertThat(compact.getLong("id_" + key)).isEqualTo(1000000000000000000L + key);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : readers) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 }
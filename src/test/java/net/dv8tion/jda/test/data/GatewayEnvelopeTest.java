@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.data;
+
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.requests.GatewayEnvelope;
+import net.dv8tion.jda.internal.requests.WebSocketCode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GatewayEnvelopeTest {
+    private static DataObject dispatch() {
+        return DataObject.empty()
+                .put("op", WebSocketCode.DISPATCH)
+                .put("s", 42)
+                .put("t", "PRESENCE_UPDATE")
+                .put(
+                        "d",
+                        DataObject.empty()
+                                .put("guild_id", "125227483518861312")
+                                .put("status", "online")
+                                .put("activities", DataArray.empty().add(DataObject.empty().put("name", "JDA")))
+                                .put("user", DataObject.empty().put("id", Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testJsonDispatch() {
+        ByteBuffer buffer = ByteBuffer.wrap(dispatch().toJson());
+        GatewayEnvelope envelope = GatewayEnvelope.peekJson(buffer);
+
+        assertThat(envelope).isNotNull();
+        assertThat(envelope.getOp()).isEqualTo(WebSocketCode.DISPATCH);
+        assertThat(envelope.getSequence()).isEqualTo(42);
+        assertThat(envelope.getType()).isEqualTo("PRESENCE_UPDATE");
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void testJsonBodyBeforeEnvelope() {
+        String json = "{\"d\":{\"nested\":[1,2,{\"t\":\"WRONG\"}]},\"op\":0,\"t\":\"TYPING_START\",\"s\":null}";
+        GatewayEnvelope envelope = GatewayEnvelope.peekJson(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(envelope).isNotNull();
+        assertThat(envelope.getType()).isEqualTo("TYPING_START");
+        assertThat(envelope.getSequence()).isEqualTo(-1);
+    }
+
+    @Test
+    void testJsonMalformed() {
+        assertThat(GatewayEnvelope.peekJson(ByteBuffer.wrap("[1,2]".getBytes(StandardCharsets.UTF_8))))
+                .isNull();
+        assertThat(GatewayEnvelope.peekJson(ByteBuffer.wrap("{\"d\":".getBytes(StandardCharsets.UTF_8))))
+                .isNull();
+    }
+
+    @Test
+    void testEtfDispatch() {
+        ByteBuffer buffer = ByteBuffer.wrap(dispatch().toETF());
+        GatewayEnvelope envelope = GatewayEnvelope.peekETF(buffer);
+
+        assertThat(envelope).isNotNull();
+        assertThat(envelope.getOp()).isEqualTo(WebSocketCode.DISPATCH);
+        assertThat(envelope.getSequence()).isEqualTo(42);
+        assertThat(envelope.getType()).isEqualTo("PRESENCE_UPDATE");
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void testEtfHeartbeatAck() {
+        DataObject ack = DataObject.empty().put("op", WebSocketCode.HEARTBEAT_ACK).put("s", null).put("t", null);
+        GatewayEnvelope envelope = GatewayEnvelope.peekETF(ByteBuffer.wrap(ack.toETF()));
+
+        assertThat(envelope).isNotNull();
+        assertThat(envelope.getOp()).isEqualTo(WebSocketCode.HEARTBEAT_ACK);
+        assertThat(envelope.getSequence()).isEqualTo(-1);
+        assertThat(envelope.getType()).isNull();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.test.entities;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.UserSnowflake;
+import net.dv8tion.jda.api.events.user.update.UserUpdateNameEvent;
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.entities.EntityBuilder;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.entities.MemberImpl;
+import net.dv8tion.jda.internal.entities.UserImpl;
+import net.dv8tion.jda.internal.handle.EventCache;
+import net.dv8tion.jda.internal.utils.cache.SnowflakeCacheViewImpl;
+import net.dv8tion.jda.test.Constants;
+import net.dv8tion.jda.test.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class UserCacheConcurrencyTest extends IntegrationTest {
+    private static final int ROUNDS = 500;
+
+    private final List<UserUpdateNameEvent> nameEvents = new CopyOnWriteArrayList<>();
+
+    private ExecutorService executor;
+    private EntityBuilder entityBuilder;
+    private SnowflakeCacheViewImpl<User> usersView;
+    private GuildImpl firstGuild;
+    private GuildImpl secondGuild;
+
+    @BeforeEach
+    void setupCache() {
+        withCacheFlags(EnumSet.noneOf(CacheFlag.class));
+        executor = Executors.newFixedThreadPool(2);
+        entityBuilder = new EntityBuilder(jda);
+        usersView = new SnowflakeCacheViewImpl<>(User.class, User::getName);
+        firstGuild = new GuildImpl(jda, Constants.GUILD_ID);
+        secondGuild = new GuildImpl(jda, Constants.GUILD_ID + 1);
+
+        doReturn(usersView).when(jda).getUsersView();
+        doAnswer(invocation -> usersView.getElementById(invocation.<Long>getArgument(0)))
+                .when(jda)
+                .getUserById(anyLong());
+        doReturn(true).when(jda).cacheMember(any());
+        doReturn(mock(EventCache.class)).when(jda).getEventCache();
+        doAnswer(invocation -> Stream.of(firstGuild, secondGuild)
+                        .filter(guild -> guild.getMemberById(Constants.MINN_USER_ID) != null)
+                        .collect(Collectors.<Guild>toList()))
+                .when(jda)
+                .getMutualGuilds(any(UserSnowflake[].class));
+        doAnswer(invocation -> {
+                    Object event = invocation.getArgument(0);
+                    if (event instanceof UserUpdateNameEvent) {
+                        nameEvents.add((UserUpdateNameEvent) event);
+                    }
+                    return null;
+                })
+                .when(jda)
+                .handleEvent(any());
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSameUserLoadedInTwoGuildsSharesCachedUser() throws Exception {
+        for (int i = 0; i < ROUNDS; i++) {
+            reset();
+
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            Future<MemberImpl> first = executor.submit(() -> loadMember(barrier, firstGuild));
+            Future<MemberImpl> second = executor.submit(() -> loadMember(barrier, secondGuild));
+
+            MemberImpl firstMember = first.get(5, TimeUnit.SECONDS);
+            MemberImpl secondMember = second.get(5, TimeUnit.SECONDS);
+            User cached = usersView.getElementById(Constants.MINN_USER_ID);
+
+            assertThat(usersView.size()).isEqualTo(1);
+            assertThat(cached).isNotNull();
+            assertThat(firstMember.getUser()).isSameAs(cached);
+            assertThat(secondMember.getUser()).isSameAs(cached);
+        }
+    }
+
+    @Test
+    void testUnloadInOtherGuildKeepsUserCached() throws Exception {
+        for (int i = 0; i < ROUNDS; i++) {
+            reset();
+            MemberImpl unloaded = loadMember(null, firstGuild);
+
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            Future<Boolean> unload = executor.submit(() -> {
+                barrier.await(5, TimeUnit.SECONDS);
+                return entityBuilder.updateMemberCache(unloaded, true);
+            });
+            Future<MemberImpl> load = executor.submit(() -> loadMember(barrier, secondGuild));
+
+            assertThat(unload.get(5, TimeUnit.SECONDS)).isFalse();
+            MemberImpl loaded = load.get(5, TimeUnit.SECONDS);
+
+            assertThat(firstGuild.getMemberById(Constants.MINN_USER_ID)).isNull();
+            assertThat(secondGuild.getMemberById(Constants.MINN_USER_ID)).isSameAs(loaded);
+            assertThat(usersView.getElementById(Constants.MINN_USER_ID))
+                    .isNotNull()
+                    .isSameAs(loaded.getUser());
+        }
+    }
+
+    @Test
+    void testConcurrentUpdatesOfSameUserAreSerialized() throws Exception {
+        for (int i = 0; i < ROUNDS; i++) {
+            reset();
+            loadMember(null, firstGuild);
+            nameEvents.clear();
+
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            List<Future<UserImpl>> updates = new ArrayList<>();
+            for (String name : new String[] {"first", "second"}) {
+                updates.add(executor.submit(() -> {
+                    barrier.await(5, TimeUnit.SECONDS);
+                    return entityBuilder.createUser(userJson(name));
+                }));
+            }
+
+            for (Future<UserImpl> update : updates) {
+                update.get(5, TimeUnit.SECONDS);
+            }
+
+            // Each update has to observe the name written by the other one,
+            // the events can still be fired in either order
+            assertThat(nameEvents).hasSize(2);
+            assertThat(nameEvents)
+                    .extracting(UserUpdateNameEvent::getNewName)
+                    .containsExactlyInAnyOrder("first", "second");
+            assertThat(nameEvents)
+                    .extracting(UserUpdateNameEvent::getOldName)
+                    .doesNotHaveDuplicates()
+                    .contains("minn");
+
+            UserUpdateNameEvent last = nameEvents.stream()
+                    .filter(event -> !event.getOldName().equals("minn"))
+                    .findFirst()
+                    .orElseThrow(AssertionError::new);
+            assertThat(usersView.getElementById(Constants.MINN_USER_ID).getName())
+                    .isEqualTo(last.getNewName());
+        }
+    }
+
+    private void reset() {
+        usersView.clear();
+        firstGuild.getMembersView().clear();
+        secondGuild.getMembersView().clear();
+    }
+
+    private MemberImpl loadMember(CyclicBarrier barrier, GuildImpl guild) throws Exception {
+        if (barrier != null) {
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+        UserImpl user = entityBuilder.createUser(userJson("minn"));
+        MemberImpl member = new MemberImpl(guild, user);
+        assertThat(entityBuilder.updateMemberCache(member)).isTrue();
+        return member;
+    }
+
+    private static DataObject userJson(String name) {
+        return DataObject.empty()
+                .put("id", Constants.MINN_USER_ID)
+                .put("username", name)
+                .put("discriminator", "0");
+    }
+}
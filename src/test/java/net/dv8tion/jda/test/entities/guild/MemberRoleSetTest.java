@@ -0,0 +1,162 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.entities.guild;
+
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.entities.MemberImpl;
+import net.dv8tion.jda.internal.entities.RoleImpl;
+import net.dv8tion.jda.internal.entities.SelfUserImpl;
+import net.dv8tion.jda.internal.entities.UserImpl;
+import net.dv8tion.jda.internal.utils.UnlockHook;
+import net.dv8tion.jda.internal.utils.cache.SnowflakeCacheViewImpl;
+import net.dv8tion.jda.internal.utils.cache.SortedSnowflakeCacheViewImpl;
+import net.dv8tion.jda.test.Constants;
+import net.dv8tion.jda.test.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+public class MemberRoleSetTest extends IntegrationTest {
+    @Mock
+    UserImpl user;
+
+    private RoleImpl addRole(GuildImpl guild, long id) {
+        RoleImpl role = new RoleImpl(id, guild);
+        SortedSnowflakeCacheViewImpl<Role> rolesView = guild.getRolesView();
+        try (UnlockHook hook = rolesView.writeLock()) {
+            rolesView.getMap().put(id, role);
+        }
+        return role;
+    }
+
+    @Test
+    void testSizeMatchesIterationAfterRoleDelete() {
+        withCacheFlags(EnumSet.noneOf(CacheFlag.class));
+        when(user.getJDA()).thenReturn(jda);
+        when(user.getIdLong()).thenReturn(Constants.MINN_USER_ID);
+
+        GuildImpl guild = new GuildImpl(jda, random.nextLong());
+        RoleImpl first = addRole(guild, 1L);
+        RoleImpl second = addRole(guild, 2L);
+        MemberImpl member = new MemberImpl(guild, user);
+        Set<Role> roles = member.getRoleSet();
+        roles.add(first);
+        roles.add(second);
+
+        assertThat(roles).hasSize(2).contains(first, second);
+
+        // The role is removed from the guild cache before it is removed from the members
+        guild.getRolesView().remove(second.getIdLong());
+
+        List<Role> iterated = new ArrayList<>(roles);
+        assertThat(iterated).containsExactly(first);
+        assertThat(roles.size()).isEqualTo(iterated.size());
+        assertThat(roles.contains(second)).isFalse();
+
+        guild.getRolesView().remove(first.getIdLong());
+        assertThat(roles.isEmpty()).isTrue();
+        assertThat(roles.iterator().hasNext()).isFalse();
+    }
+
+    @Test
+    void testResolvedRolesFollowUpdates() {
+        withCacheFlags(EnumSet.noneOf(CacheFlag.class));
+        when(user.getJDA()).thenReturn(jda);
+        when(user.getIdLong()).thenReturn(Constants.MINN_USER_ID);
+
+        GuildImpl guild = new GuildImpl(jda, random.nextLong());
+        RoleImpl first = addRole(guild, 1L);
+        RoleImpl second = addRole(guild, 2L);
+        MemberImpl member = new MemberImpl(guild, user);
+        Set<Role> roles = member.getRoleSet();
+        roles.add(second);
+
+        assertThat(roles).containsExactly(second);
+        assertThat(member.getRoles()).containsExactly(second);
+
+        // The resolved roles are reused until the role ids of the member change
+        roles.add(first);
+        assertThat(roles).hasSize(2).containsExactly(first, second);
+        assertThat(member.getUnsortedRoles()).contains(first);
+
+        roles.remove(second);
+        assertThat(roles.contains(second)).isFalse();
+        assertThat(member.getRoles()).containsExactly(first);
+    }
+
+    @Test
+    void testCreateMemberSortsAndDeduplicatesRoles() {
+        withCacheFlags(EnumSet.noneOf(CacheFlag.class));
+        doReturn(new SnowflakeCacheViewImpl<>(User.class, User::getName))
+                .when(jda)
+                .getUsersView();
+        doReturn(new SelfUserImpl(Constants.BUTLER_USER_ID, jda)).when(jda).getSelfUser();
+
+        GuildImpl guild = new GuildImpl(jda, random.nextLong());
+        RoleImpl first = addRole(guild, 1L);
+        RoleImpl second = addRole(guild, 2L);
+        RoleImpl third = addRole(guild, 3L);
+
+        DataObject memberJson = DataObject.empty()
+                .put(
+                        "user",
+                        DataObject.empty()
+                                .put("id", Long.toUnsignedString(Constants.MINN_USER_ID))
+                                .put("username", "minn")
+                                .put("discriminator", "0"))
+                // Unsorted, with a duplicate and a role which is not in the guild cache
+                .put("roles", DataArray.fromCollection(Arrays.asList("3", "1", "3", "99", "2")));
+
+        MemberImpl member = jda.getEntityBuilder().createMember(guild, memberJson);
+
+        assertThat(member.getRoleIdsRaw()).containsExactly(1L, 2L, 3L);
+        assertThat(member.getRoles()).containsExactlyInAnyOrder(first, second, third);
+        assertThat(member.getUnsortedRoles()).hasSize(3);
+    }
+
+    @Test
+    void testClearRemovesAllRoles() {
+        withCacheFlags(EnumSet.noneOf(CacheFlag.class));
+        when(user.getJDA()).thenReturn(jda);
+        when(user.getIdLong()).thenReturn(Constants.MINN_USER_ID);
+
+        GuildImpl guild = new GuildImpl(jda, random.nextLong());
+        MemberImpl member = new MemberImpl(guild, user);
+        Set<Role> roles = member.getRoleSet();
+        roles.add(addRole(guild, 1L));
+        roles.add(addRole(guild, 2L));
+
+        roles.clear();
+
+        assertThat(member.getRoleIdsRaw()).isEmpty();
+        assertThat(member.getRoles()).isEmpty();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.events;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.GatewayPingEvent;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.UpdateEvent;
+import net.dv8tion.jda.api.hooks.AnnotatedEventManager;
+import net.dv8tion.jda.api.hooks.SubscribeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class AnnotatedEventManagerTest {
+    private static final List<String> calls = new ArrayList<>();
+
+    private final GatewayPingEvent event = new GatewayPingEvent(mock(JDA.class), 42);
+
+    @BeforeEach
+    void clearCalls() {
+        calls.clear();
+    }
+
+    @Test
+    void testPublicAndPrivateListeners() {
+        AnnotatedEventManager manager = new AnnotatedEventManager();
+        manager.register(new PublicListener());
+        manager.register(new PrivateListener());
+
+        manager.handle(event);
+
+        assertThat(calls).containsExactlyInAnyOrder("public", "private", "super", "generic");
+    }
+
+    @Test
+    void testStaticListener() {
+        AnnotatedEventManager manager = new AnnotatedEventManager();
+        manager.register(StaticListener.class);
+
+        manager.handle(event);
+
+        assertThat(calls).containsExactly("static");
+    }
+
+    @Test
+    void testUnregister() {
+        AnnotatedEventManager manager = new AnnotatedEventManager();
+        PublicListener listener = new PublicListener();
+        manager.register(listener);
+        manager.handle(event);
+        manager.unregister(listener);
+        manager.handle(event);
+
+        assertThat(calls).containsExactly("public");
+        assertThat(manager.getRegisteredListeners()).isEmpty();
+    }
+
+    @Test
+    void testUnregisterKeepsOtherListeners() {
+        AnnotatedEventManager manager = new AnnotatedEventManager();
+        PublicListener first = new PublicListener();
+        PublicListener second = new PublicListener();
+        manager.register(first);
+        manager.register(second);
+        manager.register(new PrivateListener());
+
+        // Listeners of the same class share their invokers, which must still work for the remaining listeners
+        for (int i = 0; i < 100; i++) {
+            manager.unregister(first);
+            manager.register(first);
+        }
+        manager.unregister(first);
+        manager.handle(event);
+
+        assertThat(calls).containsExactlyInAnyOrder("public", "private", "super", "generic");
+        assertThat(manager.getRegisteredListeners()).hasSize(2).doesNotContain(first);
+    }
+
+    public static class PublicListener {
+        @SubscribeEvent
+        public void onPing(GatewayPingEvent event) {
+            calls.add("public");
+        }
+    }
+
+    public static class StaticListener {
+        @SubscribeEvent
+        public void onIgnoredPing(GatewayPingEvent event) {
+            calls.add("member");
+        }
+
+        @SubscribeEvent
+        public static String onStaticPing(GatewayPingEvent event) {
+            calls.add("static");
+            return "ignored";
+        }
+    }
+
+    private static class PrivateListener {
+        @SubscribeEvent
+        private void onPing(GatewayPingEvent event) {
+            calls.add("private");
+        }
+
+        @SubscribeEvent
+        void onUpdate(UpdateEvent<?, ?> event) {
+            calls.add("super");
+        }
+
+        @SubscribeEvent
+        void onUnrelated(GenericEvent event) {
+            calls.add("generic");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.events;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Activity;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.user.UserActivityStartEvent;
+import net.dv8tion.jda.api.events.user.update.GenericUserPresenceEvent;
+import net.dv8tion.jda.api.hooks.IEventManager;
+import net.dv8tion.jda.internal.hooks.EventManagerProxy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EventManagerProxyTest {
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+    private final JDA jda = mock(JDA.class);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testPresenceEventsOfDifferentGuildsRunInParallel() throws InterruptedException {
+        CountDownLatch otherGuildHandled = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        EventManagerProxy proxy = new EventManagerProxy(
+                new HandlerManager(event -> {
+                    long guildId = ((GenericUserPresenceEvent) event).getGuild().getIdLong();
+                    if (guildId == 1L) {
+                        // Only completes if the event of the other guild is not queued behind this one
+                        try {
+                            if (otherGuildHandled.await(10, TimeUnit.SECONDS)) {
+                                done.countDown();
+                            }
+                        } catch (InterruptedException ignored) {
+                        }
+                    } else {
+                        otherGuildHandled.countDown();
+                        done.countDown();
+                    }
+                }),
+                pool,
+                true);
+
+        proxy.handle(activityStart(1L));
+        proxy.handle(activityStart(2L));
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private GenericEvent activityStart(long guildId) {
+        Guild guild = mock(Guild.class);
+        when(guild.getIdLong()).thenReturn(guildId);
+        Member member = mock(Member.class);
+        when(member.getGuild()).thenReturn(guild);
+        when(member.getUser()).thenReturn(mock(User.class));
+        return new UserActivityStartEvent(jda, 0, member, Activity.playing("test"));
+    }
+
+    private static final class HandlerManager implements IEventManager {
+        private final Consumer<GenericEvent> handler;
+
+        private HandlerManager(Consumer<GenericEvent> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void register(@Nonnull Object listener) {}
+
+        @Override
+        public void unregister(@Nonnull Object listener) {}
+
+        @Override
+        public void handle(@Nonnull GenericEvent event) {
+            handler.accept(event);
+        }
+
+        @Nonnull
+        @Override
+        public List<Object> getRegisteredListeners() {
+            return Collections.emptyList();
+        }
+    }
+}
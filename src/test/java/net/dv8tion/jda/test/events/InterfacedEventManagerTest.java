@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.events;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.GatewayPingEvent;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.StatusChangeEvent;
+import net.dv8tion.jda.api.events.UpdateEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.hooks.InterfacedEventManager;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class InterfacedEventManagerTest {
+    private final JDA jda = mock(JDA.class);
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void testOnlyOverriddenHooksAreCalled() {
+        InterfacedEventManager manager = new InterfacedEventManager();
+        manager.register(new ListenerAdapter() {
+            @Override
+            public void onGatewayPing(@Nonnull GatewayPingEvent event) {
+                calls.add("ping");
+            }
+
+            @Override
+            public void onGenericUpdate(@Nonnull UpdateEvent<?, ?> event) {
+                calls.add("update");
+            }
+
+            @Override
+            public void onGenericEvent(@Nonnull GenericEvent event) {
+                calls.add("generic");
+            }
+        });
+        manager.register(new ListenerAdapter() {
+            @Override
+            public void onStatusChange(@Nonnull StatusChangeEvent event) {
+                calls.add("status");
+            }
+        });
+
+        manager.handle(new GatewayPingEvent(jda, 42));
+        assertThat(calls).containsExactly("generic", "update", "ping");
+
+        calls.clear();
+        manager.handle(new StatusChangeEvent(jda, JDA.Status.CONNECTED, JDA.Status.LOADING_SUBSYSTEMS));
+        assertThat(calls).containsExactly("generic", "update", "status");
+    }
+
+    @Test
+    void testRegistrationUpdatesDispatch() {
+        InterfacedEventManager manager = new InterfacedEventManager();
+        EventListener raw = event -> calls.add("raw");
+        ListenerAdapter adapter = new ListenerAdapter() {
+            @Override
+            public void onGatewayPing(@Nonnull GatewayPingEvent event) {
+                calls.add("ping");
+            }
+        };
+
+        manager.register(raw);
+        manager.handle(new GatewayPingEvent(jda, 42));
+        assertThat(calls).containsExactly("raw");
+
+        calls.clear();
+        manager.register(adapter);
+        manager.handle(new GatewayPingEvent(jda, 42));
+        assertThat(calls).containsExactly("raw", "ping");
+
+        calls.clear();
+        manager.unregister(raw);
+        manager.handle(new GatewayPingEvent(jda, 42));
+        manager.handle(new StatusChangeEvent(jda, JDA.Status.CONNECTED, JDA.Status.LOADING_SUBSYSTEMS));
+        assertThat(calls).containsExactly("ping");
+        assertThat(manager.getRegisteredListeners()).containsExactly(adapter);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.requests;
+
+import net.dv8tion.jda.api.requests.*;
+import net.dv8tion.jda.api.utils.MetricsRecorder;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.requests.Requester;
+import net.dv8tion.jda.internal.requests.RestActionImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+import net.dv8tion.jda.test.IntegrationTest;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+public class AsyncRequesterTest extends IntegrationTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<Long> callTimes = new CopyOnWriteArrayList<>();
+    private final Queue<Integer> responseCodes = new ConcurrentLinkedQueue<>();
+    private final RecordingScheduler rateLimitPool = new RecordingScheduler();
+    private final ExecutorService elastic = Executors.newSingleThreadExecutor();
+    private final ExecutorService callbackPool = Executors.newSingleThreadExecutor();
+    private volatile Runnable hook;
+    private Requester asyncRequester;
+
+    @BeforeEach
+    void setupClient() {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    calls.incrementAndGet();
+                    callTimes.add(System.currentTimeMillis());
+                    Runnable onCall = hook;
+                    if (onCall != null) {
+                        onCall.run();
+                    }
+
+                    Integer code = responseCodes.poll();
+                    okhttp3.Response.Builder response = new okhttp3.Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .header("via", "1.1 google");
+                    if (code != null && code == 429) {
+                        return response.code(429)
+                                .message("Too Many Requests")
+                                .header(RestRateLimiter.RETRY_AFTER_HEADER, "1")
+                                .body(ResponseBody.create("", MediaType.get("text/plain")))
+                                .build();
+                    }
+                    return response.code(200)
+                            .message("OK")
+                            .body(ResponseBody.create("{\"id\":\"1\"}", MediaType.get("application/json")))
+                            .build();
+                })
+                .build();
+
+        when(jda.getHttpClient()).thenReturn(client);
+        when(jda.getMetricsRecorder()).thenReturn(MetricsRecorder.NOOP);
+        when(jda.getRateLimitPool()).thenReturn(rateLimitPool);
+        when(jda.getCallbackPool()).thenReturn(callbackPool);
+    }
+
+    @AfterEach
+    void shutdownPools() {
+        if (asyncRequester != null) {
+            asyncRequester.stop(true, () -> {});
+        }
+        rateLimitPool.shutdownNow();
+        elastic.shutdownNow();
+        callbackPool.shutdownNow();
+    }
+
+    @Test
+    void testBucketStaysSingleFlight() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        hook = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            inFlight.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        };
+
+        Requester requester = createRequester(new SequentialRestRateLimiter(rateLimitConfig()));
+        CompletableFuture<DataObject> first = new CompletableFuture<>();
+        CompletableFuture<DataObject> second = new CompletableFuture<>();
+        requester.request(request(first));
+        requester.request(request(second));
+
+        assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+        // The bucket worker does not wait on the call, so the elastic pool is free while the request is in flight
+        elastic.submit(() -> {}).get(1, TimeUnit.SECONDS);
+        Thread.sleep(200);
+        assertThat(calls.get()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getString("id")).isEqualTo("1");
+        assertThat(second.get(5, TimeUnit.SECONDS).getString("id")).isEqualTo("1");
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testRateLimitRetryIsScheduledOnRateLimitPool() throws Exception {
+        responseCodes.add(429);
+        Requester requester = createRequester(new SequentialRestRateLimiter(rateLimitConfig()));
+        CompletableFuture<DataObject> future = new CompletableFuture<>();
+
+        requester.request(request(future));
+
+        assertThat(future.get(5, TimeUnit.SECONDS).getString("id")).isEqualTo("1");
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(callTimes.get(1) - callTimes.get(0)).isGreaterThanOrEqualTo(900);
+        // The backoff is a scheduled task instead of a sleeping thread
+        assertThat(rateLimitPool.delays).anySatisfy(delay -> assertThat(delay).isBetween(900L, 1000L));
+    }
+
+    @Test
+    void testCancelledRequestIsNotSent() throws Exception {
+        BlockingQueue<RestRateLimiter.Work> queue = new LinkedBlockingQueue<>();
+        Requester requester = createRequester(new QueueRateLimiter(queue));
+        CompletableFuture<DataObject> future = new CompletableFuture<>();
+        Request<DataObject> request = request(future);
+
+        requester.request(request);
+        RestRateLimiter.Work work = queue.poll(5, TimeUnit.SECONDS);
+        assertThat(work).isNotNull();
+
+        request.cancel();
+
+        CompletableFuture<okhttp3.Response> response = work.executeAsync();
+        assertThat(response.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(work.isDone()).isTrue();
+        assertThat(calls.get()).isZero();
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(CancellationException.class);
+        assertThat(requester.getQueueSize()).isZero();
+    }
+
+    private RestRateLimiter.RateLimitConfig rateLimitConfig() {
+        return new RestRateLimiter.RateLimitConfig(
+                rateLimitPool, elastic, RestRateLimiter.GlobalRateLimit.create(), true);
+    }
+
+    private Requester createRequester(RestRateLimiter rateLimiter) {
+        asyncRequester = new Requester(
+                jda, new AuthorizationConfig("token"), new RestConfig().setAsyncRequests(true), rateLimiter);
+        return asyncRequester;
+    }
+
+    private Request<DataObject> request(CompletableFuture<DataObject> future) {
+        Route.CompiledRoute route = Route.Users.GET_USER.compile("1");
+        RestActionImpl<DataObject> action =
+                new RestActionImpl<>(jda, route, (response, request) -> response.getObject());
+        return new Request<>(
+                action,
+                future::complete,
+                future::completeExceptionally,
+                null,
+                true,
+                null,
+                null,
+                0,
+                false,
+                route,
+                null);
+    }
+
+    private static final class RecordingScheduler extends ScheduledThreadPoolExecutor {
+        private final List<Long> delays = new CopyOnWriteArrayList<>();
+
+        private RecordingScheduler() {
+            super(1);
+        }
+
+        @Nonnull
+        @Override
+        public ScheduledFuture<?> schedule(@Nonnull Runnable command, long delay, @Nonnull TimeUnit unit) {
+            delays.add(unit.toMillis(delay));
+            return super.schedule(command, delay, unit);
+        }
+    }
+
+    private static final class QueueRateLimiter implements RestRateLimiter {
+        private final BlockingQueue<Work> queue;
+
+        private QueueRateLimiter(BlockingQueue<Work> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void enqueue(@Nonnull Work task) {
+            queue.add(task);
+        }
+
+        @Override
+        public void stop(boolean shutdown, @Nonnull Runnable callback) {
+            callback.run();
+        }
+
+        @Override
+        public boolean isStopped() {
+            return false;
+        }
+
+        @Override
+        public int cancelRequests() {
+            return 0;
+        }
+    }
+}
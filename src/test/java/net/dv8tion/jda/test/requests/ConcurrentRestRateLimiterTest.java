@@ -0,0 +1,262 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.requests;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.requests.*;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentRestRateLimiterTest {
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private final ExecutorService elastic = Executors.newCachedThreadPool();
+    private final RestRateLimiter.RateLimitConfig config =
+            new RestRateLimiter.RateLimitConfig(scheduler, elastic, RestRateLimiter.GlobalRateLimit.create(), true);
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+        elastic.shutdownNow();
+    }
+
+    @Test
+    void testStoreFailureBacksOff() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        RateLimitStore store = new InMemoryRateLimitStore() {
+            @Override
+            public String getHash(@Nonnull String route) {
+                return "hash";
+            }
+
+            @Nonnull
+            @Override
+            public Lease acquire(@Nonnull String bucket, int tokens, int observedRemaining, long observedReset) {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("Store is unavailable");
+            }
+        };
+        ConcurrentRestRateLimiter limiter = new ConcurrentRestRateLimiter(config, store);
+
+        TestWork work = new TestWork(Route.Messages.SEND_MESSAGE.compile("1"), ok());
+        limiter.enqueue(work);
+
+        Thread.sleep(1500);
+        // The failed store is asked again after the backoff, instead of in a busy loop
+        assertThat(attempts.get()).isBetween(1, 3);
+        assertThat(work.executions).isEmpty();
+    }
+
+    @Test
+    void testConcurrentEnqueueUsesSingleWorker() throws Exception {
+        ConcurrentRestRateLimiter limiter = new ConcurrentRestRateLimiter(config);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Runnable hook = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.yield();
+            running.decrementAndGet();
+        };
+
+        List<TestWork> works = new CopyOnWriteArrayList<>();
+        ExecutorService producers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 8; i++) {
+            producers.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 25; j++) {
+                    TestWork work = new TestWork(Route.Messages.SEND_MESSAGE.compile("1"), ok());
+                    work.onExecute = hook;
+                    works.add(work);
+                    limiter.enqueue(work);
+                }
+            });
+        }
+
+        start.countDown();
+        producers.shutdown();
+        assertThat(producers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.allOf(works.stream().map(work -> work.done).toArray(CompletableFuture[]::new))
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(works).hasSize(200).allSatisfy(work -> assertThat(work.executions).hasSize(1));
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testRateLimitedRequestIsRetriedAfterBackoff() throws Exception {
+        ConcurrentRestRateLimiter limiter = new ConcurrentRestRateLimiter(config);
+        TestWork work = new TestWork(
+                Route.Messages.SEND_MESSAGE.compile("1"),
+                response(429).header(RestRateLimiter.RETRY_AFTER_HEADER, "1").build(),
+                ok());
+
+        limiter.enqueue(work);
+        work.done.get(5, TimeUnit.SECONDS);
+
+        assertThat(work.executions).hasSize(2);
+        assertThat(work.executions.get(1) - work.executions.get(0)).isGreaterThanOrEqualTo(900);
+    }
+
+    @Test
+    void testGlobalRateLimitDelaysOtherRoutes() throws Exception {
+        ConcurrentRestRateLimiter limiter = new ConcurrentRestRateLimiter(config);
+        TestWork limited = new TestWork(
+                Route.Messages.SEND_MESSAGE.compile("1"),
+                response(429)
+                        .header(RestRateLimiter.RETRY_AFTER_HEADER, "1")
+                        .header(RestRateLimiter.GLOBAL_HEADER, "true")
+                        .build(),
+                ok());
+        TestWork other = new TestWork(Route.Channels.MODIFY_CHANNEL.compile("2"), ok());
+
+        limiter.enqueue(limited);
+        while (limited.executions.isEmpty()) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        limiter.enqueue(other);
+
+        other.done.get(5, TimeUnit.SECONDS);
+        limited.done.get(5, TimeUnit.SECONDS);
+        assertThat(other.executions.get(0) - limited.executions.get(0)).isGreaterThanOrEqualTo(900);
+    }
+
+    @Test
+    void testUninitBucketMovesRequestsToHashedBucket() throws Exception {
+        ConcurrentRestRateLimiter limiter = new ConcurrentRestRateLimiter(config);
+        CountDownLatch queued = new CountDownLatch(1);
+        TestWork first = new TestWork(
+                Route.Messages.SEND_MESSAGE.compile("1"),
+                response(200)
+                        .header(RestRateLimiter.HASH_HEADER, "abc")
+                        .header(RestRateLimiter.REMAINING_HEADER, "0")
+                        .header(RestRateLimiter.RESET_AFTER_HEADER, "1")
+                        .build());
+        // Keep the first request in-flight until the second one is queued in the same uninit bucket
+        first.onExecute = () -> {
+            try {
+                queued.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        TestWork second = new TestWork(Route.Messages.SEND_MESSAGE.compile("1"), ok());
+
+        limiter.enqueue(first);
+        limiter.enqueue(second);
+        queued.countDown();
+
+        second.done.get(5, TimeUnit.SECONDS);
+        // The second request is moved to the hashed bucket, which has no remaining uses until the reset
+        assertThat(second.executions.get(0) - first.executions.get(0)).isGreaterThanOrEqualTo(900);
+    }
+
+    static Response ok() {
+        return response(200).build();
+    }
+
+    static Response.Builder response(int code) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("https://discord.com/api/v10/").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message(code == 200 ? "OK" : "Too Many Requests")
+                .header("via", "1.1 google");
+    }
+
+    static class TestWork implements RestRateLimiter.Work {
+        final Route.CompiledRoute route;
+        final Queue<Response> responses = new ConcurrentLinkedQueue<>();
+        final List<Long> executions = new CopyOnWriteArrayList<>();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        volatile Runnable onExecute;
+        volatile boolean cancelled;
+
+        TestWork(Route.CompiledRoute route, Response... responses) {
+            this.route = route;
+            this.responses.addAll(Arrays.asList(responses));
+        }
+
+        @Nonnull
+        @Override
+        public Route.CompiledRoute getRoute() {
+            return route;
+        }
+
+        @Nonnull
+        @Override
+        public JDA getJDA() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Response execute() {
+            executions.add(System.currentTimeMillis());
+            Runnable hook = onExecute;
+            if (hook != null) {
+                hook.run();
+            }
+            Response response = responses.poll();
+            if (response == null || response.code() != 429) {
+                done.complete(null);
+            }
+            return response;
+        }
+
+        @Override
+        public boolean isSkipped() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done.isDone();
+        }
+
+        @Override
+        public boolean isPriority() {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
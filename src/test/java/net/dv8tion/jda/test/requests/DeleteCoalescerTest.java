@@ -0,0 +1,296 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.test.requests;
+
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildMessageChannel;
+import net.dv8tion.jda.api.requests.Request;
+import net.dv8tion.jda.api.requests.RestConfig;
+import net.dv8tion.jda.api.requests.RestRateLimiter;
+import net.dv8tion.jda.api.requests.Route;
+import net.dv8tion.jda.api.utils.MetricsRecorder;
+import net.dv8tion.jda.api.utils.TimeUtil;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.requests.Requester;
+import net.dv8tion.jda.internal.requests.RestActionImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+import net.dv8tion.jda.test.IntegrationTest;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeleteCoalescerTest extends IntegrationTest {
+    private static final String CHANNEL_ID = "1";
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final AtomicLong messageIds = new AtomicLong(TimeUtil.getDiscordTimestamp(System.currentTimeMillis()));
+    private final List<okhttp3.Request> sent = new CopyOnWriteArrayList<>();
+    private final List<DataObject> bulkBodies = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService rateLimitPool = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService callbackPool = Executors.newSingleThreadExecutor();
+    private final ExecutorService limiterPool = Executors.newSingleThreadExecutor();
+
+    private volatile int bulkDeleteStatus = 204;
+    private Member selfMember;
+    private GuildMessageChannel channel;
+
+    @BeforeEach
+    void setupChannel() {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    okhttp3.Request request = chain.request();
+                    sent.add(request);
+                    int code = 204;
+                    if (request.url().encodedPath().endsWith("/bulk-delete")) {
+                        Buffer buffer = new Buffer();
+                        request.body().writeTo(buffer);
+                        bulkBodies.add(DataObject.fromJson(buffer.readUtf8()));
+                        code = bulkDeleteStatus;
+                    }
+                    return new okhttp3.Response.Builder()
+                            .request(request)
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(code)
+                            .message(code == 204 ? "No Content" : "Bad Request")
+                            .body(ResponseBody.create(code == 204 ? "" : "{\"code\":50034}", JSON))
+                            .build();
+                })
+                .build();
+
+        when(jda.getHttpClient()).thenReturn(client);
+        when(jda.getMetricsRecorder()).thenReturn(MetricsRecorder.NOOP);
+        when(jda.getRateLimitPool()).thenReturn(rateLimitPool);
+        when(jda.getCallbackPool()).thenReturn(callbackPool);
+
+        channel = mock(GuildMessageChannel.class);
+        Guild guild = mock(Guild.class);
+        selfMember = mock(Member.class);
+        when(jda.getChannelById(GuildMessageChannel.class, CHANNEL_ID)).thenReturn(channel);
+        when(channel.getGuild()).thenReturn(guild);
+        when(guild.getSelfMember()).thenReturn(selfMember);
+        when(selfMember.hasPermission(channel, Permission.MESSAGE_MANAGE)).thenReturn(true);
+    }
+
+    @AfterEach
+    void shutdownPools() {
+        rateLimitPool.shutdownNow();
+        callbackPool.shutdownNow();
+        limiterPool.shutdownNow();
+    }
+
+    @Test
+    void testMergesDeletesWithinWindow() throws Exception {
+        Requester requester = createRequester(Duration.ofMillis(200));
+
+        List<CompletableFuture<Void>> deletes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            deletes.add(delete(requester, nextMessageId()));
+        }
+        // Nothing is sent until the window ends
+        assertThat(sent).isEmpty();
+
+        awaitAll(deletes);
+
+        assertThat(sent).hasSize(1);
+        assertThat(bulkBodies).hasSize(1);
+        assertThat(bulkBodies.get(0).getArray("messages").length()).isEqualTo(3);
+    }
+
+    @Test
+    void testFlushesAtBatchLimit() throws Exception {
+        Requester requester = createRequester(Duration.ofMinutes(1));
+
+        List<CompletableFuture<Void>> deletes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            deletes.add(delete(requester, nextMessageId()));
+        }
+        CompletableFuture<Void> overflow = delete(requester, nextMessageId());
+
+        // The full batch is sent without waiting for the window, the next delete starts a new batch
+        awaitAll(deletes);
+
+        assertThat(bulkBodies).hasSize(1);
+        assertThat(bulkBodies.get(0).getArray("messages").length()).isEqualTo(100);
+        assertThat(overflow).isNotDone();
+    }
+
+    @Test
+    void testSendsOldMessagesIndividually() throws Exception {
+        Requester requester = createRequester(Duration.ofMillis(200));
+        long fifteenDaysAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(15);
+        String oldMessageId = Long.toUnsignedString(TimeUtil.getDiscordTimestamp(fifteenDaysAgo));
+
+        CompletableFuture<Void> old = delete(requester, oldMessageId);
+        List<CompletableFuture<Void>> deletes = new ArrayList<>();
+        deletes.add(delete(requester, nextMessageId()));
+        deletes.add(delete(requester, nextMessageId()));
+
+        old.get(5, TimeUnit.SECONDS);
+        awaitAll(deletes);
+
+        assertThat(sent).hasSize(2);
+        assertThat(sent.get(0).method()).isEqualTo("DELETE");
+        assertThat(sent.get(0).url().encodedPath()).endsWith("/messages/" + oldMessageId);
+        assertThat(bulkBodies).hasSize(1);
+        assertThat(bulkBodies.get(0).getArray("messages").length()).isEqualTo(2);
+    }
+
+    @Test
+    void testSendsIndividuallyWithoutPermission() throws Exception {
+        when(selfMember.hasPermission(channel, Permission.MESSAGE_MANAGE)).thenReturn(false);
+        Requester requester = createRequester(Duration.ofMillis(200));
+
+        List<CompletableFuture<Void>> deletes = new ArrayList<>();
+        deletes.add(delete(requester, nextMessageId()));
+        deletes.add(delete(requester, nextMessageId()));
+        awaitAll(deletes);
+
+        assertThat(bulkBodies).isEmpty();
+        assertThat(sent).hasSize(2).allSatisfy(request -> assertThat(request.method()).isEqualTo("DELETE"));
+    }
+
+    @Test
+    void testFallsBackToIndividualDeletes() throws Exception {
+        bulkDeleteStatus = 400;
+        Requester requester = createRequester(Duration.ofMillis(200));
+
+        List<CompletableFuture<Void>> deletes = new ArrayList<>();
+        deletes.add(delete(requester, nextMessageId()));
+        deletes.add(delete(requester, nextMessageId()));
+        awaitAll(deletes);
+
+        assertThat(bulkBodies).hasSize(1);
+        assertThat(sent).hasSize(3);
+        assertThat(sent.subList(1, 3)).allSatisfy(request -> assertThat(request.method()).isEqualTo("DELETE"));
+    }
+
+    @Test
+    void testCancelledWhileWaiting() throws Exception {
+        Requester requester = createRequester(Duration.ofMillis(200));
+
+        Request<Void> cancelled = request(nextMessageId(), new CompletableFuture<>(), 0);
+        requester.request(cancelled);
+        CompletableFuture<Void> remaining = delete(requester, nextMessageId());
+
+        cancelled.cancel();
+        remaining.get(5, TimeUnit.SECONDS);
+
+        // Only one message is left, which does not need a bulk delete
+        assertThat(bulkBodies).isEmpty();
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0).method()).isEqualTo("DELETE");
+    }
+
+    @Test
+    void testTimeoutWhileWaiting() throws Exception {
+        Requester requester = createRequester(Duration.ofMillis(300));
+
+        CompletableFuture<Void> timedOut = new CompletableFuture<>();
+        requester.request(request(nextMessageId(), timedOut, System.currentTimeMillis() + 50));
+        List<CompletableFuture<Void>> deletes = new ArrayList<>();
+        deletes.add(delete(requester, nextMessageId()));
+        deletes.add(delete(requester, nextMessageId()));
+
+        awaitAll(deletes);
+
+        assertThatThrownBy(() -> timedOut.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(bulkBodies).hasSize(1);
+        assertThat(bulkBodies.get(0).getArray("messages").length()).isEqualTo(2);
+    }
+
+    private Requester createRequester(Duration window) {
+        RestConfig config = new RestConfig().setDeleteCoalescingWindow(window);
+        Requester requester =
+                new Requester(jda, new AuthorizationConfig("token"), config, new ExecutingRateLimiter());
+        when(jda.getRequester()).thenReturn(requester);
+        return requester;
+    }
+
+    private String nextMessageId() {
+        return Long.toUnsignedString(messageIds.incrementAndGet());
+    }
+
+    private CompletableFuture<Void> delete(Requester requester, String messageId) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        requester.request(request(messageId, future, 0));
+        return future;
+    }
+
+    private Request<Void> request(String messageId, CompletableFuture<Void> future, long deadline) {
+        Route.CompiledRoute route = Route.Messages.DELETE_MESSAGE.compile(CHANNEL_ID, messageId);
+        RestActionImpl<Void> action = new RestActionImpl<>(jda, route);
+        return new Request<>(
+                action,
+                future::complete,
+                future::completeExceptionally,
+                null,
+                true,
+                null,
+                null,
+                deadline,
+                false,
+                route,
+                null);
+    }
+
+    private static void awaitAll(List<CompletableFuture<Void>> futures) throws Exception {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+    }
+
+    private final class ExecutingRateLimiter implements RestRateLimiter {
+        @Override
+        public void enqueue(@Nonnull Work task) {
+            limiterPool.execute(task::execute);
+        }
+
+        @Override
+        public void stop(boolean shutdown, @Nonnull Runnable callback) {
+            callback.run();
+        }
+
+        @Override
+        public boolean isStopped() {
+            return false;
+        }
+
+        @Override
+        public int cancelRequests() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.test.requests;
+
+import net.dv8tion.jda.api.requests.RateLimitStore;
+import net.dv8tion.jda.api.requests.RestRateLimiter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * {@link RateLimitStore} backed by a properties file, which can be shared between processes.
+ * <br>Every operation locks the file, reads the state, and writes back the changes.
+ */
+public class FileRateLimitStore implements RateLimitStore {
+    // File locks are held by the whole JVM, so instances using the same file also have to synchronize locally
+    private static final ConcurrentMap<Path, Object> LOCAL_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final Object localLock;
+    private final RestRateLimiter.GlobalRateLimit globalRateLimit = new FileGlobalRateLimit();
+
+    public FileRateLimitStore(@Nonnull Path path) {
+        this.path = path.toAbsolutePath().normalize();
+        this.localLock = LOCAL_LOCKS.computeIfAbsent(this.path, k -> new Object());
+    }
+
+    @Nullable
+    @Override
+    public String getHash(@Nonnull String route) {
+        return transaction(state -> state.getProperty("hash." + route));
+    }
+
+    @Override
+    public void setHash(@Nonnull String route, @Nonnull String hash) {
+        transaction(state -> state.setProperty("hash." + route, hash));
+    }
+
+    @Nonnull
+    @Override
+    public Lease acquire(@Nonnull String bucket, int tokens, int observedRemaining, long observedReset) {
+        long now = System.currentTimeMillis();
+        return transaction(state -> {
+            long reset = Long.parseLong(state.getProperty("reset." + bucket, "0"));
+            int remaining = Integer.parseInt(state.getProperty("remaining." + bucket, "0"));
+            if (reset <= now) {
+                reset = 0;
+            }
+
+            if (observedReset > now) {
+                if (reset == 0) {
+                    remaining = observedRemaining;
+                } else {
+                    remaining = Math.min(remaining, observedRemaining);
+                }
+                reset = Math.max(reset, observedReset);
+            }
+
+            if (reset == 0) {
+                state.remove("reset." + bucket);
+                state.remove("remaining." + bucket);
+                return new Lease(1, 0);
+            }
+
+            int granted = Math.max(0, Math.min(tokens, remaining));
+            state.setProperty("reset." + bucket, Long.toString(reset));
+            state.setProperty("remaining." + bucket, Integer.toString(remaining - granted));
+            return new Lease(granted, reset);
+        });
+    }
+
+    @Override
+    public void update(@Nonnull String bucket, int remaining, long reset) {
+        transaction(state -> {
+            state.setProperty("reset." + bucket, Long.toString(reset));
+            return state.setProperty("remaining." + bucket, Integer.toString(remaining));
+        });
+    }
+
+    @Nonnull
+    @Override
+    public RestRateLimiter.GlobalRateLimit getGlobalRateLimit() {
+        return globalRateLimit;
+    }
+
+    private <T> T transaction(Function<Properties, T> action) {
+        synchronized (localLock) {
+            try (FileChannel channel = FileChannel.open(
+                            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    FileLock ignored = channel.lock()) {
+                Properties state = new Properties();
+                if (channel.size() > 0) {
+                    state.load(Channels.newInputStream(channel));
+                }
+
+                T result = action.apply(state);
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                state.store(out, null);
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(out.toByteArray()), 0);
+                return result;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private class FileGlobalRateLimit implements RestRateLimiter.GlobalRateLimit {
+        @Override
+        public long getClassic() {
+            return transaction(state -> Long.parseLong(state.getProperty("global.classic", "-1")));
+        }
+
+        @Override
+        public void setClassic(long timestamp) {
+            transaction(state -> state.setProperty("global.classic", Long.toString(timestamp)));
+        }
+
+        @Override
+        public long getCloudflare() {
+            return transaction(state -> Long.parseLong(state.getProperty("global.cloudflare", "-1")));
+        }
+
+        @Override
+        public void setCloudflare(long timestamp) {
+            transaction(state -> state.setProperty("global.cloudflare", Long.toString(timestamp)));
+        }
+    }
+}
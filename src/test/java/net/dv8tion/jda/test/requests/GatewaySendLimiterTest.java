@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.test.requests;
+
+import net.dv8tion.jda.internal.requests.GatewaySendLimiter;
+import org.junit.jupiter.api.Test;
+
+import static net.dv8tion.jda.internal.requests.GatewaySendLimiter.LIMIT;
+import static net.dv8tion.jda.internal.requests.GatewaySendLimiter.RESERVED;
+import static net.dv8tion.jda.internal.requests.GatewaySendLimiter.WINDOW;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GatewaySendLimiterTest {
+    @Test
+    void testReservedPermits() {
+        GatewaySendLimiter limiter = new GatewaySendLimiter();
+
+        for (int i = 0; i < LIMIT - RESERVED; i++) {
+            assertThat(limiter.tryAcquire(1000, false)).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire(1000, false)).isFalse();
+        assertThat(limiter.getDelay(1000, false)).isEqualTo(WINDOW);
+
+        for (int i = 0; i < RESERVED; i++) {
+            assertThat(limiter.tryAcquire(1000, true)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(1000, true)).isFalse();
+    }
+
+    @Test
+    void testSlidingWindow() {
+        GatewaySendLimiter limiter = new GatewaySendLimiter();
+
+        // Spread the messages over the window, one every 100ms
+        long time = 0;
+        for (int i = 0; i < LIMIT - RESERVED; i++) {
+            time = i * 100L;
+            assertThat(limiter.tryAcquire(time, false)).isTrue();
+        }
+
+        // The first message leaves the window first
+        assertThat(limiter.getDelay(time, false)).isEqualTo(WINDOW - time);
+        assertThat(limiter.tryAcquire(WINDOW - 1, false)).isFalse();
+        assertThat(limiter.tryAcquire(WINDOW, false)).isTrue();
+
+        // Only one slot was freed, the next message leaves 100ms later
+        assertThat(limiter.getDelay(WINDOW, false)).isEqualTo(100);
+        assertThat(limiter.tryAcquire(WINDOW + 100, false)).isTrue();
+    }
+
+    @Test
+    void testReset() {
+        GatewaySendLimiter limiter = new GatewaySendLimiter();
+
+        for (int i = 0; i < LIMIT; i++) {
+            limiter.tryAcquire(0, true);
+        }
+        assertThat(limiter.getDelay(0, true)).isEqualTo(WINDOW);
+
+        limiter.reset();
+        assertThat(limiter.getDelay(0, false)).isZero();
+        assertThat(limiter.tryAcquire(0, false)).isTrue();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.test.requests;
+
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.SelfUser;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.requests.MemberChunkManager;
+import net.dv8tion.jda.internal.requests.WebSocketClient;
+import net.dv8tion.jda.internal.utils.cache.SnowflakeCacheViewImpl;
+import net.dv8tion.jda.test.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class MemberChunkManagerTest extends IntegrationTest {
+    @Mock
+    SelfUser selfUser;
+
+    private WebSocketClient client;
+    private MemberChunkManager chunkManager;
+    private GuildImpl guild;
+
+    @BeforeEach
+    void setupClient() {
+        withCacheFlags(EnumSet.noneOf(CacheFlag.class));
+        when(jda.getGatewayPool()).thenReturn(scheduledExecutorService);
+        when(jda.getUsersView()).thenReturn(new SnowflakeCacheViewImpl<>(User.class, User::getName));
+        when(jda.getSelfUser()).thenReturn(selfUser);
+
+        // The queue lock of the client is only used to serialize the payloads, run the tasks directly
+        client = mock(WebSocketClient.class, invocation -> {
+            if (!invocation.getMethod().getName().equals("locked")) {
+                return RETURNS_DEFAULTS.answer(invocation);
+            }
+            Object task = invocation.getArgument(1);
+            if (task instanceof Runnable) {
+                ((Runnable) task).run();
+                return null;
+            }
+            return ((Supplier<?>) task).get();
+        });
+        when(client.getJDA()).thenReturn(jda);
+
+        chunkManager = new MemberChunkManager(client);
+        guild = new GuildImpl(jda, random.nextLong());
+    }
+
+    @Test
+    void testMergesRequestsOfGuild() {
+        chunkManager.chunkGuild(guild, false, new long[] {1, 2}, (last, members) -> {});
+        chunkManager.chunkGuild(guild, false, new long[] {3, 2}, (last, members) -> {});
+
+        DataObject payload = getPayload();
+        assertThat(payload.getString("guild_id")).isEqualTo(guild.getId());
+        assertThat((long[]) payload.get("user_ids")).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void testRoutesChunkToRequests() {
+        List<Long> first = new ArrayList<>();
+        List<Long> second = new ArrayList<>();
+        MemberChunkManager.ChunkRequest firstRequest =
+                chunkManager.chunkGuild(guild, false, new long[] {1, 2}, (last, members) -> collect(first, members));
+        MemberChunkManager.ChunkRequest secondRequest =
+                chunkManager.chunkGuild(guild, false, new long[] {2, 3}, (last, members) -> collect(second, members));
+
+        boolean handled = chunkManager.handleChunk(guild.getIdLong(), chunk(getPayload(), 1, 2, 3));
+
+        assertThat(handled).isTrue();
+        assertThat(first).containsExactly(1L, 2L);
+        assertThat(second).containsExactly(2L, 3L);
+        assertThat(firstRequest).isCompleted();
+        assertThat(secondRequest).isCompleted();
+    }
+
+    @Test
+    void testCancelDoesNotAffectOtherRequests() {
+        List<Long> first = new ArrayList<>();
+        List<Long> second = new ArrayList<>();
+        MemberChunkManager.ChunkRequest firstRequest =
+                chunkManager.chunkGuild(guild, false, new long[] {1}, (last, members) -> collect(first, members));
+        MemberChunkManager.ChunkRequest secondRequest =
+                chunkManager.chunkGuild(guild, false, new long[] {2}, (last, members) -> collect(second, members));
+        DataObject payload = getPayload();
+
+        firstRequest.cancel(false);
+
+        // The shared payload is still queued for the other request
+        verify(client, never()).cancelChunkRequest(anyString());
+        assertThat(chunkManager.handleChunk(guild.getIdLong(), chunk(payload, 1, 2))).isTrue();
+        assertThat(first).isEmpty();
+        assertThat(second).containsExactly(2L);
+        assertThat(firstRequest).isCancelled();
+        assertThat(secondRequest).isCompleted();
+    }
+
+    @Test
+    void testCancelLastRequestCancelsPayload() {
+        MemberChunkManager.ChunkRequest firstRequest =
+                chunkManager.chunkGuild(guild, false, new long[] {1}, (last, members) -> {});
+        MemberChunkManager.ChunkRequest secondRequest =
+                chunkManager.chunkGuild(guild, false, new long[] {2}, (last, members) -> {});
+        DataObject payload = getPayload();
+
+        firstRequest.cancel(false);
+        secondRequest.cancel(false);
+
+        verify(client, times(1)).cancelChunkRequest(payload.getString("nonce"));
+        assertThat(chunkManager.handleChunk(guild.getIdLong(), chunk(payload, 1, 2))).isFalse();
+    }
+
+    private DataObject getPayload() {
+        ArgumentCaptor<DataObject> captor = ArgumentCaptor.forClass(DataObject.class);
+        verify(client, times(1)).sendChunkRequest(captor.capture(), eq(true));
+        return captor.getValue();
+    }
+
+    private static void collect(List<Long> ids, List<Member> members) {
+        members.forEach(member -> ids.add(member.getIdLong()));
+    }
+
+    private static DataObject chunk(DataObject payload, long... userIds) {
+        DataArray members = DataArray.empty();
+        for (long userId : userIds) {
+            members.add(DataObject.empty()
+                    .put("user", DataObject.empty().put("id", userId).put("username", "user" + userId))
+                    .put("roles", DataArray.empty()));
+        }
+        return DataObject.empty()
+                .put("guild_id", payload.getString("guild_id"))
+                .put("nonce", payload.getString("nonce"))
+                .put("chunk_index", 0)
+                .put("chunk_count", 1)
+                .put("members", members);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.requests;
+
+import net.dv8tion.jda.api.requests.GatewayTransport;
+import net.dv8tion.jda.api.requests.NioGatewayTransport;
+import net.dv8tion.jda.internal.requests.NioWebSocket;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import javax.annotation.Nonnull;
+import javax.net.ssl.SSLContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NioGatewayTransportTest {
+    @Test
+    void testAcceptKey() {
+        // Example of RFC 6455
+        assertThat(NioWebSocket.getAccept("dGhlIHNhbXBsZSBub25jZQ==")).isEqualTo("s3pPLMBiTxaQ9kYGzzhZRbK+xOo=");
+    }
+
+    @Test
+    void testExchangeAndServerClose() throws Exception {
+        NioGatewayTransport transport = new NioGatewayTransport(1);
+        try (ServerSocket server = new ServerSocket(0)) {
+            CompletableFuture<String> received = new CompletableFuture<>();
+            Thread serverThread = startServer(server, received);
+
+            RecordingListener listener = new RecordingListener();
+            transport
+                    .connect(
+                            URI.create("ws://localhost:" + server.getLocalPort() + "/?v=10"),
+                            Collections.emptyMap(),
+                            listener)
+                    .get(10, TimeUnit.SECONDS);
+
+            assertThat(listener.messages.poll(10, TimeUnit.SECONDS)).isEqualTo("hello");
+            assertThat(received.get(10, TimeUnit.SECONDS)).isEqualTo("hello 0");
+            assertThat(listener.close.get(10, TimeUnit.SECONDS)).isEqualTo("4000 true");
+            serverThread.join(10000);
+
+            // The event loop only does the I/O, the messages are handled elsewhere
+            assertThat(listener.threads).isNotEmpty().noneMatch(name -> name.startsWith("JDA Gateway-IO"));
+        } finally {
+            transport.shutdown();
+        }
+    }
+
+    @Test
+    void testCallbacksRunOnHandlerPool() throws Exception {
+        ExecutorService handlerPool = Executors.newFixedThreadPool(2, r -> new Thread(r, "Test-Handler"));
+        NioGatewayTransport transport = new NioGatewayTransport(1, SSLContext.getDefault(), handlerPool);
+        try (ServerSocket server = new ServerSocket(0)) {
+            CompletableFuture<String> received = new CompletableFuture<>();
+            Thread serverThread = startServer(server, received);
+
+            RecordingListener listener = new RecordingListener();
+            transport
+                    .connect(
+                            URI.create("ws://localhost:" + server.getLocalPort() + "/?v=10"),
+                            Collections.emptyMap(),
+                            listener)
+                    .get(10, TimeUnit.SECONDS);
+
+            assertThat(listener.messages.poll(10, TimeUnit.SECONDS)).isEqualTo("hello");
+            assertThat(listener.close.get(10, TimeUnit.SECONDS)).isEqualTo("4000 true");
+            serverThread.join(10000);
+
+            // open, message and close
+            assertThat(listener.threads).hasSize(3).containsOnly("Test-Handler");
+        } finally {
+            transport.shutdown();
+            handlerPool.shutdown();
+        }
+    }
+
+    private static Thread startServer(ServerSocket server, CompletableFuture<String> received) {
+        Thread serverThread = new Thread(() -> {
+            try (Socket socket = server.accept()) {
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                OutputStream out = socket.getOutputStream();
+                String key = readHandshake(in);
+                out.write(("HTTP/1.1 101 Switching Protocols\r\n"
+                                + "Upgrade: websocket\r\n"
+                                + "Connection: Upgrade\r\n"
+                                + "Sec-WebSocket-Accept: " + NioWebSocket.getAccept(key) + "\r\n\r\n")
+                        .getBytes(StandardCharsets.ISO_8859_1));
+                // A fragmented text message
+                out.write(new byte[] {0x01, 3, 'h', 'e', 'l'});
+                out.write(new byte[] {(byte) 0x80, 2, 'l', 'o'});
+                out.flush();
+
+                received.complete(readText(in));
+
+                out.write(new byte[] {(byte) 0x88, 2, 0x0F, (byte) 0xA0});
+                out.flush();
+                readText(in); // close response
+            } catch (IOException e) {
+                received.completeExceptionally(e);
+            }
+        });
+        serverThread.start();
+        return serverThread;
+    }
+
+    private static String readHandshake(DataInputStream in) throws IOException {
+        String key = null;
+        StringBuilder line = new StringBuilder();
+        while (true) {
+            char c = (char) in.readByte();
+            if (c != '\n') {
+                line.append(c);
+                continue;
+            }
+            String header = line.toString().trim();
+            line.setLength(0);
+            if (header.isEmpty()) {
+                return key;
+            }
+            if (header.toLowerCase(Locale.ROOT).startsWith("sec-websocket-key:")) {
+                key = header.substring(header.indexOf(':') + 1).trim();
+            }
+        }
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        in.readByte();
+        int length = in.readByte() & 0x7F;
+        byte[] mask = new byte[4];
+        in.readFully(mask);
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        for (int i = 0; i < length; i++) {
+            payload[i] ^= mask[i & 3];
+        }
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    private static class RecordingListener implements GatewayTransport.Listener {
+        private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        private final CompletableFuture<String> close = new CompletableFuture<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onOpen(@Nonnull GatewayTransport.Connection connection, @Nonnull Map<String, List<String>> headers) {
+            threads.add(Thread.currentThread().getName());
+            connection.sendText("hello 0");
+        }
+
+        @Override
+        public void onTextMessage(@Nonnull GatewayTransport.Connection connection, @Nonnull byte[] message) {
+            threads.add(Thread.currentThread().getName());
+            messages.add(new String(message, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void onBinaryMessage(@Nonnull GatewayTransport.Connection connection, @Nonnull byte[] message) {}
+
+        @Override
+        public void onError(@Nonnull GatewayTransport.Connection connection, @Nonnull Throwable error) {
+            close.completeExceptionally(error);
+        }
+
+        @Override
+        public void onClose(
+                @Nonnull GatewayTransport.Connection connection, int code, String reason, boolean closedByServer) {
+            threads.add(Thread.currentThread().getName());
+            close.complete(code + " " + closedByServer);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.test.requests;
+
+import net.dv8tion.jda.api.requests.InMemoryRateLimitStore;
+import net.dv8tion.jda.api.requests.RateLimitStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitStoreTest {
+    private static final String BUCKET = "abc123:channel_id=1";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testInMemoryLeases() {
+        testLeases(new InMemoryRateLimitStore());
+    }
+
+    @Test
+    void testFileLeases() {
+        testLeases(new FileRateLimitStore(directory.resolve("ratelimit.properties")));
+    }
+
+    @Test
+    void testFileSharedBetweenInstances() {
+        Path file = directory.resolve("ratelimit.properties");
+        RateLimitStore first = new FileRateLimitStore(file);
+        RateLimitStore second = new FileRateLimitStore(file);
+        long reset = System.currentTimeMillis() + 60_000;
+
+        first.setHash("POST/channels/{channel_id}/messages", "abc123");
+        assertThat(second.getHash("POST/channels/{channel_id}/messages")).isEqualTo("abc123");
+
+        assertThat(first.acquire(BUCKET, 3, 5, reset).getTokens()).isEqualTo(3);
+        assertThat(second.acquire(BUCKET, 3, 0, 0).getTokens()).isEqualTo(2);
+        assertThat(first.acquire(BUCKET, 3, 0, 0).getTokens()).isZero();
+
+        second.getGlobalRateLimit().setClassic(reset);
+        assertThat(first.getGlobalRateLimit().getClassic()).isEqualTo(reset);
+    }
+
+    private void testLeases(RateLimitStore store) {
+        long reset = System.currentTimeMillis() + 60_000;
+
+        // Unknown window only lets a single request through
+        RateLimitStore.Lease probe = store.acquire(BUCKET, 5, 0, 0);
+        assertThat(probe.getTokens()).isEqualTo(1);
+        assertThat(probe.getReset()).isZero();
+
+        // The observation of the probe establishes the window
+        RateLimitStore.Lease lease = store.acquire(BUCKET, 3, 4, reset);
+        assertThat(lease.getTokens()).isEqualTo(3);
+        assertThat(lease.getReset()).isEqualTo(reset);
+
+        // Another process reports fewer remaining requests in the same window
+        assertThat(store.acquire(BUCKET, 3, 0, reset).getTokens()).isZero();
+
+        // Outdated observations are ignored
+        store.update(BUCKET, 2, reset);
+        assertThat(store.acquire(BUCKET, 5, 10, System.currentTimeMillis() - 1000)
+                        .getTokens())
+                .isEqualTo(2);
+
+        // A rate-limit hit blocks the bucket until the reset
+        store.update(BUCKET, 0, reset);
+        RateLimitStore.Lease blocked = store.acquire(BUCKET, 1, 0, 0);
+        assertThat(blocked.getTokens()).isZero();
+        assertThat(blocked.getReset()).isEqualTo(reset);
+
+        // Expired windows are forgotten
+        store.update(BUCKET, 0, System.currentTimeMillis() - 1);
+        assertThat(store.acquire(BUCKET, 5, 0, 0).getTokens()).isEqualTo(1);
+    }
+}
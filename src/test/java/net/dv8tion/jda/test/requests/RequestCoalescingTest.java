@@ -0,0 +1,202 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.test.requests;
+
+import net.dv8tion.jda.api.requests.Request;
+import net.dv8tion.jda.api.requests.RestConfig;
+import net.dv8tion.jda.api.requests.RestRateLimiter;
+import net.dv8tion.jda.api.requests.Route;
+import net.dv8tion.jda.api.utils.MetricsRecorder;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.requests.Requester;
+import net.dv8tion.jda.internal.requests.RestActionImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+import net.dv8tion.jda.test.IntegrationTest;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+public class RequestCoalescingTest extends IntegrationTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<RestRateLimiter.Work> queue = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService rateLimitPool = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService callbackPool = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void setupClient() {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    calls.incrementAndGet();
+                    return new okhttp3.Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(200)
+                            .message("OK")
+                            .body(ResponseBody.create("{\"id\":\"1\"}", MediaType.get("application/json")))
+                            .build();
+                })
+                .build();
+
+        when(jda.getHttpClient()).thenReturn(client);
+        when(jda.getMetricsRecorder()).thenReturn(MetricsRecorder.NOOP);
+        when(jda.getRateLimitPool()).thenReturn(rateLimitPool);
+        when(jda.getCallbackPool()).thenReturn(callbackPool);
+    }
+
+    @AfterEach
+    void shutdownPools() {
+        rateLimitPool.shutdownNow();
+        callbackPool.shutdownNow();
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        RestConfig config = new RestConfig();
+        assertThat(config.isCoalesceRequests()).isFalse();
+
+        Requester requester = createRequester(config);
+        requester.request(request(new CompletableFuture<>()));
+        requester.request(request(new CompletableFuture<>()));
+
+        assertThat(queue).hasSize(2);
+    }
+
+    @Test
+    void testFollowerReceivesResponseOfLeader() throws Exception {
+        Requester requester = createRequester(new RestConfig().setCoalesceRequests(true));
+        CompletableFuture<DataObject> leader = new CompletableFuture<>();
+        CompletableFuture<DataObject> follower = new CompletableFuture<>();
+
+        requester.request(request(leader));
+        requester.request(request(follower));
+        assertThat(queue).hasSize(1);
+
+        queue.get(0).execute();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(leader.get(5, TimeUnit.SECONDS).getString("id")).isEqualTo("1");
+        assertThat(follower.get(5, TimeUnit.SECONDS).getString("id")).isEqualTo("1");
+
+        // The completed request is no longer in-flight, so the next one is sent on its own
+        requester.request(request(new CompletableFuture<>()));
+        assertThat(queue).hasSize(2);
+    }
+
+    @Test
+    void testSkippedLeaderResubmitsFollower() throws Exception {
+        Requester requester = createRequester(new RestConfig().setCoalesceRequests(true));
+        CompletableFuture<DataObject> leader = new CompletableFuture<>();
+        CompletableFuture<DataObject> follower = new CompletableFuture<>();
+
+        Request<DataObject> leaderRequest = request(leader);
+        requester.request(leaderRequest);
+        requester.request(request(follower));
+
+        leaderRequest.cancel();
+        assertThat(queue.get(0).isSkipped()).isTrue();
+
+        // The follower is sent on its own instead of waiting for a response that never comes
+        long deadline = System.currentTimeMillis() + 5000;
+        while (queue.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(queue).hasSize(2);
+
+        queue.get(1).execute();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS).getString("id")).isEqualTo("1");
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(CancellationException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testCancelledLeaderCancelsFollower() {
+        Requester requester = createRequester(new RestConfig().setCoalesceRequests(true));
+        CompletableFuture<DataObject> leader = new CompletableFuture<>();
+        CompletableFuture<DataObject> follower = new CompletableFuture<>();
+
+        requester.request(request(leader));
+        requester.request(request(follower));
+
+        // Cancelling the queued work, as done by RestRateLimiter#cancelRequests, also cancels its followers
+        queue.get(0).cancel();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(CancellationException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(CancellationException.class);
+        assertThat(queue).hasSize(1);
+        assertThat(calls.get()).isZero();
+    }
+
+    private Requester createRequester(RestConfig config) {
+        return new Requester(jda, new AuthorizationConfig("token"), config, new QueueRateLimiter());
+    }
+
+    private Request<DataObject> request(CompletableFuture<DataObject> future) {
+        Route.CompiledRoute route = Route.Users.GET_USER.compile("1");
+        RestActionImpl<DataObject> action =
+                new RestActionImpl<>(jda, route, (response, request) -> response.getObject());
+        return new Request<>(
+                action,
+                future::complete,
+                future::completeExceptionally,
+                null,
+                true,
+                null,
+                null,
+                0,
+                false,
+                route,
+                null);
+    }
+
+    private final class QueueRateLimiter implements RestRateLimiter {
+        @Override
+        public void enqueue(@Nonnull Work task) {
+            queue.add(task);
+        }
+
+        @Override
+        public void stop(boolean shutdown, @Nonnull Runnable callback) {
+            callback.run();
+        }
+
+        @Override
+        public boolean isStopped() {
+            return false;
+        }
+
+        @Override
+        public int cancelRequests() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.dv8tion.jda.test.requests;
+
+import net.dv8tion.jda.api.requests.Route;
+import net.dv8tion.jda.internal.requests.ResponseCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheTest {
+    private static final byte[] BODY = "{}".getBytes();
+
+    @Test
+    void testOnlyConfiguredRoutes() {
+        ResponseCache cache = createCache(60_000, 10);
+
+        cache.put(Route.Users.GET_USER.compile("1"), null, BODY);
+        cache.put(Route.Guilds.GET_GUILD.compile("1"), null, BODY);
+
+        assertThat(cache.get(Route.Users.GET_USER.compile("1"))).isNotNull();
+        assertThat(cache.get(Route.Guilds.GET_GUILD.compile("1"))).isNull();
+    }
+
+    @Test
+    void testExpiry() {
+        ResponseCache cache = createCache(-1, 10);
+
+        cache.put(Route.Users.GET_USER.compile("1"), null, BODY);
+
+        assertThat(cache.get(Route.Users.GET_USER.compile("1"))).isNull();
+    }
+
+    @Test
+    void testSizeBound() {
+        ResponseCache cache = createCache(60_000, 2);
+
+        cache.put(Route.Users.GET_USER.compile("1"), null, BODY);
+        cache.put(Route.Users.GET_USER.compile("2"), null, BODY);
+        cache.put(Route.Users.GET_USER.compile("3"), null, BODY);
+
+        int cached = 0;
+        for (int i = 1; i <= 3; i++) {
+            if (cache.get(Route.Users.GET_USER.compile(String.valueOf(i))) != null) {
+                cached++;
+            }
+        }
+        assertThat(cached).isEqualTo(2);
+        assertThat(cache.get(Route.Users.GET_USER.compile("3"))).isNotNull();
+    }
+
+    @Test
+    void testInvalidation() {
+        ResponseCache cache = createCache(60_000, 10);
+
+        cache.put(Route.Users.GET_USER.compile("1"), null, BODY);
+        cache.put(Route.Guilds.GET_MEMBER.compile("1", "2"), null, BODY);
+        cache.put(Route.Guilds.GET_MEMBER.compile("1", "3"), null, BODY);
+        cache.put(Route.Guilds.GET_MEMBER.compile("10", "2"), null, BODY);
+
+        cache.invalidate(Route.Users.GET_USER, "1");
+        assertThat(cache.get(Route.Users.GET_USER.compile("1"))).isNull();
+
+        cache.invalidatePrefix("guilds/1/");
+        assertThat(cache.get(Route.Guilds.GET_MEMBER.compile("1", "2"))).isNull();
+        assertThat(cache.get(Route.Guilds.GET_MEMBER.compile("1", "3"))).isNull();
+        assertThat(cache.get(Route.Guilds.GET_MEMBER.compile("10", "2"))).isNotNull();
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        ResponseCache cache = createCache(60_000, 2);
+
+        cache.put(Route.Users.GET_USER.compile("1"), null, BODY);
+        cache.put(Route.Users.GET_USER.compile("2"), null, BODY);
+        // Accessing the first entry makes the second one the least recently used
+        assertThat(cache.get(Route.Users.GET_USER.compile("1"))).isNotNull();
+        cache.put(Route.Users.GET_USER.compile("3"), null, BODY);
+
+        assertThat(cache.get(Route.Users.GET_USER.compile("1"))).isNotNull();
+        assertThat(cache.get(Route.Users.GET_USER.compile("2"))).isNull();
+        assertThat(cache.get(Route.Users.GET_USER.compile("3"))).isNotNull();
+    }
+
+    @Test
+    void testInvalidationIgnoresQuery() {
+        ResponseCache cache = createCache(60_000, 10);
+
+        Route.CompiledRoute member = Route.Guilds.GET_MEMBER.compile("1", "2");
+        Route.CompiledRoute withQuery = member.withQueryParams("with_presence", "true");
+        Route.CompiledRoute otherMember =
+                Route.Guilds.GET_MEMBER.compile("1", "3").withQueryParams("with_presence", "true");
+        cache.put(member, null, BODY);
+        cache.put(withQuery, null, BODY);
+        cache.put(otherMember, null, BODY);
+
+        cache.invalidate(Route.Guilds.GET_MEMBER, "1", "2");
+
+        assertThat(cache.get(member)).isNull();
+        assertThat(cache.get(withQuery)).isNull();
+        assertThat(cache.get(otherMember)).isNotNull();
+
+        // Cached again after the invalidation
+        cache.put(withQuery, null, BODY);
+        assertThat(cache.get(withQuery)).isNotNull();
+        cache.invalidatePrefix("guilds/1/");
+        assertThat(cache.get(withQuery)).isNull();
+        assertThat(cache.get(otherMember)).isNull();
+    }
+
+    private static ResponseCache createCache(long ttl, int size) {
+        Map<Route, Long> ttls = new HashMap<>();
+        ttls.put(Route.Users.GET_USER, ttl);
+        ttls.put(Route.Guilds.GET_MEMBER, ttl);
+        return new ResponseCache(ttls, size);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.requests;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.utils.SessionStore;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.requests.SessionRecorder;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SessionRecorderTest {
+    private static final JDA.ShardInfo SHARD = new JDA.ShardInfo(0, 1);
+
+    @Test
+    void testEntityKeys() {
+        DataObject member = dispatch(DataObject.empty()
+                .put("guild_id", "1")
+                .put("user", DataObject.empty().put("id", "2").put("username", "name")));
+        assertThat(SessionRecorder.getEntityKey("GUILD_MEMBER_UPDATE", member)).isEqualTo("member:1:2");
+
+        DataObject presence = dispatch(
+                DataObject.empty().put("guild_id", "1").put("user", DataObject.empty().put("id", "2")));
+        assertThat(SessionRecorder.getEntityKey("PRESENCE_UPDATE", presence)).isEqualTo("presence:1:2");
+        // The user fields of this presence are not replaced by the next presence, so it has to be kept
+        assertThat(SessionRecorder.getEntityKey("PRESENCE_UPDATE", member)).isNull();
+
+        DataObject voice = dispatch(DataObject.empty().put("guild_id", "1").put("user_id", "2"));
+        assertThat(SessionRecorder.getEntityKey("VOICE_STATE_UPDATE", voice)).isEqualTo("voice:1:2");
+
+        assertThat(SessionRecorder.getEntityKey("GUILD_MEMBER_ADD", member)).isNull();
+        assertThat(SessionRecorder.getEntityKey("GUILD_CREATE", dispatch(DataObject.empty().put("id", "1"))))
+                .isNull();
+    }
+
+    @Test
+    void testRawPayloadIsRecorded() throws Exception {
+        RecordingStore store = new RecordingStore();
+        SessionRecorder recorder = new SessionRecorder(store, SHARD, () -> "test");
+        DataObject ready = dispatch(DataObject.empty());
+        recorder.start(1, ready, null);
+
+        DataObject update = dispatch(
+                DataObject.empty().put("guild_id", "1").put("user", DataObject.empty().put("id", "2")));
+        byte[] raw = "{\"raw\":true}".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer view = ByteBuffer.wrap(raw);
+        recorder.record(2, "GUILD_MEMBER_UPDATE", update, view);
+        // The buffer is reused for the next message, which must not change the recorded payload
+        raw[2] = 'X';
+
+        assertThat(recorder.save("abc", null)).isTrue();
+        assertThat(store.appended).containsExactly("member:1:2 {\"raw\":true}");
+        assertThat(view.position()).isZero();
+    }
+
+    @Test
+    void testSessionIsDiscardedWhenTheStoreCannotKeepUp() throws Exception {
+        RecordingStore store = new RecordingStore();
+        SessionRecorder recorder = new SessionRecorder(store, SHARD, () -> "test");
+        recorder.start(1, dispatch(DataObject.empty()), null);
+        store.block = new CountDownLatch(1);
+
+        DataObject member = dispatch(DataObject.empty().put("guild_id", "1"));
+        for (int i = 2; i < 20000; i++) {
+            recorder.record(i, "GUILD_MEMBER_ADD", member, null);
+        }
+        store.block.countDown();
+
+        // An incomplete session cannot be restored, so it is removed instead of saved
+        assertThat(recorder.save("abc", null)).isFalse();
+        assertThat(store.removed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(store.saved).isZero();
+    }
+
+    private static DataObject dispatch(DataObject content) {
+        return DataObject.empty().put("op", 0).put("s", 1).put("d", content);
+    }
+
+    private static final class RecordingStore implements SessionStore {
+        private final List<String> appended = new CopyOnWriteArrayList<>();
+        private final CountDownLatch removed = new CountDownLatch(1);
+        private volatile CountDownLatch block = new CountDownLatch(0);
+        private volatile int saved;
+
+        @Override
+        public StoredSession load(@Nonnull JDA.ShardInfo shardInfo) {
+            return null;
+        }
+
+        @Override
+        public void start(@Nonnull JDA.ShardInfo shardInfo, @Nonnull byte[] ready) {}
+
+        @Override
+        public void append(@Nonnull JDA.ShardInfo shardInfo, @Nonnull byte[] dispatch) throws IOException {
+            try {
+                block.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            appended.add(new String(dispatch, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void append(@Nonnull JDA.ShardInfo shardInfo, @Nonnull String key, @Nonnull byte[] dispatch) {
+            appended.add(key + " " + new String(dispatch, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void save(@Nonnull JDA.ShardInfo shardInfo, @Nonnull SessionState state) {
+            saved++;
+        }
+
+        @Override
+        public void remove(@Nonnull JDA.ShardInfo shardInfo) {
+            removed.countDown();
+        }
+    }
+}
@@ -105,4 +105,49 @@ class RouteTest {
         assertThat(major).contains("interaction_token=");
         assertThat(major).doesNotContain(longToken);
     }
+
+    @Test
+    void testCompiledRouteString() {
+        Route.CompiledRoute compiled = Route.Messages.GET_MESSAGE_HISTORY
+                .compile("123")
+                .withQueryParams("limit", "100")
+                .withQueryParams("after", "42");
+
+        assertThat(compiled.getCompiledRoute()).isEqualTo("channels/123/messages?limit=100&after=42");
+        assertThat(Route.Users.GET_USER.compile("../test").getCompiledRoute()).isEqualTo("users/..%2Ftest");
+    }
+
+    @Test
+    void testCompileCopiesParameters() {
+        String[] params = {"123", "456"};
+        Route.CompiledRoute compiled = Route.Messages.GET_MESSAGE.compile(params);
+        params[0] = "789";
+
+        assertThat(compiled.getCompiledRoute()).isEqualTo("channels/123/messages/456");
+        assertThat(compiled.getMajorParameters()).isEqualTo("channel_id=123");
+    }
+
+    @Test
+    void testSameMajorParameters() {
+        Route.CompiledRoute message = Route.Messages.GET_MESSAGE.compile("123", "456");
+        Route.CompiledRoute history = Route.Messages.GET_MESSAGE_HISTORY.compile("123");
+        Route.CompiledRoute other = Route.Messages.GET_MESSAGE_HISTORY.compile("789");
+        Route.CompiledRoute user = Route.Users.GET_USER.compile("123");
+
+        assertThat(message.hasSameMajorParameters(history)).isTrue();
+        assertThat(message.getMajorParametersHash()).isEqualTo(history.getMajorParametersHash());
+        assertThat(message.hasSameMajorParameters(other)).isFalse();
+        assertThat(message.hasSameMajorParameters(user)).isFalse();
+        assertThat(user.getMajorParameters()).isEqualTo("n/a");
+    }
+
+    @Test
+    void testEqualityIgnoresQuery() {
+        Route.CompiledRoute history = Route.Messages.GET_MESSAGE_HISTORY.compile("123");
+
+        assertThat(history.withQueryParams("limit", "100"))
+                .isEqualTo(history)
+                .hasSameHashCodeAs(Route.Messages.GET_MESSAGE_HISTORY.compile("123"));
+        assertThat(history).isNotEqualTo(Route.Messages.GET_MESSAGE_HISTORY.compile("456"));
+    }
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.sharding;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.sharding.DefaultShardManager;
+import net.dv8tion.jda.api.sharding.ShardStartupListener;
+import net.dv8tion.jda.api.utils.MemberCachePolicy;
+import net.dv8tion.jda.api.utils.SessionController;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.utils.config.flags.ConfigFlag;
+import net.dv8tion.jda.internal.utils.config.flags.ShardingConfigFlag;
+import net.dv8tion.jda.internal.utils.config.sharding.ShardingConfig;
+import net.dv8tion.jda.internal.utils.config.sharding.ShardingSessionConfig;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ShardStartupTest {
+    private final SessionController sessionController = mock(SessionController.class);
+    private final RecordingListener listener = new RecordingListener();
+    private TestShardManager manager;
+
+    @AfterEach
+    void shutdown() {
+        if (manager != null) {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    void testShardsAreBuiltAndReady() throws Exception {
+        manager = new TestShardManager(4, 2);
+        listener.expectReady(4);
+        connectOnAppend();
+
+        manager.login();
+
+        assertThat(listener.allReady.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(listener.built.get()).isEqualTo(4);
+        assertThat(listener.readyProgress.get().getReady()).isEqualTo(4);
+        assertThat(listener.failed).isEmpty();
+        verify(sessionController, times(4)).appendSession(any());
+    }
+
+    @Test
+    void testRepeatedFailureIsReportedOnce() throws Exception {
+        manager = new TestShardManager(4, 2);
+        manager.failures.put(2, new AtomicInteger(3));
+        listener.expectReady(4);
+        connectOnAppend();
+
+        manager.login();
+
+        assertThat(listener.allReady.await(5, TimeUnit.SECONDS)).isTrue();
+        // The shard is retried until it could be built, but only reported once
+        assertThat(manager.attempts.get(2).get()).isEqualTo(4);
+        assertThat(listener.failed).containsExactly(2);
+        assertThat(listener.readyProgress.get().getFailed()).isEqualTo(1);
+        assertThat(listener.built.get()).isEqualTo(4);
+    }
+
+    @Test
+    void testShardShutdownBeforeReadyIsFailed() {
+        manager = new TestShardManager(1, 1);
+        // The session controller never connects the shard, it is shut down while waiting
+        manager.login();
+
+        manager.statusListeners.get(0).get().accept(JDA.Status.SHUTDOWN);
+
+        assertThat(listener.failed).containsExactly(0);
+        assertThat(listener.built.get()).isEqualTo(1);
+        assertThat(listener.readyProgress.get()).isNull();
+    }
+
+    @Test
+    void testParallelismIsBounded() throws Exception {
+        manager = new TestShardManager(8, 3);
+        manager.buildDelay = 100;
+        listener.expectReady(8);
+        connectOnAppend();
+
+        manager.login();
+
+        assertThat(listener.allReady.await(10, TimeUnit.SECONDS)).isTrue();
+        // The first shard is built by login, the remaining shards by at most 3 threads at once
+        assertThat(manager.maxRunning.get()).isEqualTo(3);
+    }
+
+    private void connectOnAppend() {
+        doAnswer(invocation -> {
+                    invocation.<SessionController.SessionConnectNode>getArgument(0).run(false);
+                    return null;
+                })
+                .when(sessionController)
+                .appendSession(any());
+    }
+
+    private final class TestShardManager extends DefaultShardManager {
+        private final Map<Integer, AtomicInteger> failures = new ConcurrentHashMap<>();
+        private final Map<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        private final Map<Integer, AtomicReference<Consumer<JDA.Status>>> statusListeners =
+                new ConcurrentHashMap<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private volatile long buildDelay;
+
+        private TestShardManager(int shardsTotal, int parallelism) {
+            super(
+                    "token",
+                    null,
+                    shardingConfig(shardsTotal, parallelism),
+                    null,
+                    null,
+                    null,
+                    new ShardingSessionConfig(
+                            sessionController,
+                            null,
+                            new OkHttpClient(),
+                            null,
+                            null,
+                            ConfigFlag.getDefault(),
+                            ShardingConfigFlag.getDefault(),
+                            900,
+                            250),
+                    null,
+                    null,
+                    null,
+                    null);
+        }
+
+        @Override
+        protected JDAImpl buildInstance(int shardId) {
+            attempts.computeIfAbsent(shardId, k -> new AtomicInteger()).incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                if (buildDelay > 0) {
+                    Thread.sleep(buildDelay);
+                }
+
+                AtomicInteger remainingFailures = failures.get(shardId);
+                if (remainingFailures != null && remainingFailures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("Failed to build shard " + shardId);
+                }
+
+                JDAImpl jda = mock(JDAImpl.class);
+                AtomicReference<Consumer<JDA.Status>> statusListener = new AtomicReference<>();
+                statusListeners.put(shardId, statusListener);
+                doAnswer(invocation -> {
+                            statusListener.set(invocation.getArgument(0));
+                            return null;
+                        })
+                        .when(jda)
+                        .setStatusListener(any());
+
+                startupProgress.track(jda, shardId);
+
+                // Like JDAImpl#login, queue the shard in the session controller, which connects it
+                SessionController.SessionConnectNode node = mock(SessionController.SessionConnectNode.class);
+                doAnswer(invocation -> {
+                            Consumer<JDA.Status> current = statusListener.get();
+                            if (current != null) {
+                                current.accept(JDA.Status.CONNECTED);
+                            }
+                            return null;
+                        })
+                        .when(node)
+                        .run(anyBoolean());
+                sessionController.appendSession(node);
+                return jda;
+            } catch (InterruptedException e) {
+                throw new CompletionException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+    private ShardingConfig shardingConfig(int shardsTotal, int parallelism) {
+        ShardingConfig config =
+                new ShardingConfig(shardsTotal, false, GatewayIntent.DEFAULT, MemberCachePolicy.DEFAULT);
+        config.setStartupParallelism(parallelism);
+        config.setStartupListener(listener);
+        return config;
+    }
+
+    private static final class RecordingListener implements ShardStartupListener {
+        private final AtomicInteger built = new AtomicInteger();
+        private final List<Integer> failed = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Progress> readyProgress = new AtomicReference<>();
+        private volatile CountDownLatch allReady = new CountDownLatch(0);
+
+        private void expectReady(int shards) {
+            allReady = new CountDownLatch(shards);
+        }
+
+        @Override
+        public void onShardBuilt(@Nonnull JDA shard, @Nonnull Progress progress) {
+            built.incrementAndGet();
+        }
+
+        @Override
+        public synchronized void onShardReady(@Nonnull JDA shard, @Nonnull Progress progress) {
+            // Keep the most complete snapshot, the callbacks of different shards can run concurrently
+            Progress current = readyProgress.get();
+            if (current == null || progress.getReady() > current.getReady()) {
+                readyProgress.set(progress);
+            }
+            allReady.countDown();
+        }
+
+        @Override
+        public void onShardFailed(int shardId, @Nonnull Throwable error, @Nonnull Progress progress) {
+            failed.add(shardId);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.util;
+
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.handle.EventCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventCacheTest {
+    @Test
+    void testPlaybackInOrder() {
+        EventCache cache = new EventCache();
+        List<Long> replayed = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            cache.cache(EventCache.Type.USER, 42, i, DataObject.empty(), (total, event) -> replayed.add(total));
+        }
+        cache.cache(EventCache.Type.MEMBER, 42, 4, DataObject.empty(), (total, event) -> replayed.add(total));
+
+        cache.playbackCache(EventCache.Type.USER, 42);
+
+        assertThat(replayed).containsExactly(1L, 2L, 3L);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testPlaybackCanCacheAgain() {
+        EventCache cache = new EventCache();
+        List<Long> replayed = new ArrayList<>();
+        cache.cache(EventCache.Type.CHANNEL, 1, 1, DataObject.empty(), (total, event) -> {
+            replayed.add(total);
+            cache.cache(EventCache.Type.CHANNEL, 1, total, event, (t, e) -> replayed.add(-t));
+        });
+
+        cache.playbackCache(EventCache.Type.CHANNEL, 1);
+        cache.playbackCache(EventCache.Type.CHANNEL, 1);
+
+        assertThat(replayed).containsExactly(1L, -1L);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testTimeout() {
+        EventCache cache = new EventCache();
+        List<Long> replayed = new ArrayList<>();
+        for (long i = 0; i < 300; i++) {
+            cache.cache(EventCache.Type.GUILD, i % 7, i, DataObject.empty(), (total, event) -> replayed.add(total));
+        }
+
+        cache.timeout(300);
+
+        assertThat(cache.size()).isEqualTo(100);
+        for (long i = 0; i < 7; i++) {
+            cache.playbackCache(EventCache.Type.GUILD, i);
+        }
+        assertThat(replayed).hasSize(100).allMatch(total -> total >= 200);
+    }
+
+    @Test
+    void testDropOldestWhenFull() {
+        EventCache cache = new EventCache(100);
+        List<Long> replayed = new ArrayList<>();
+        for (long i = 0; i < 250; i++) {
+            cache.cache(EventCache.Type.ROLE, i, i, DataObject.empty(), (total, event) -> replayed.add(total));
+            // Events which were played back do not count towards the limit
+            if (i % 2 == 0) {
+                cache.playbackCache(EventCache.Type.ROLE, i);
+            }
+        }
+
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(cache.getDroppedCount()).isEqualTo(25);
+
+        cache.playbackCache(EventCache.Type.ROLE, 1);
+        cache.playbackCache(EventCache.Type.ROLE, 249);
+        assertThat(replayed).doesNotContain(1L).contains(249L);
+    }
+
+    @Test
+    void testClear() {
+        EventCache cache = new EventCache();
+        List<Long> replayed = new ArrayList<>();
+        cache.cache(EventCache.Type.USER, 1, 1, DataObject.empty(), (total, event) -> replayed.add(total));
+        cache.cache(EventCache.Type.USER, 2, 2, DataObject.empty(), (total, event) -> replayed.add(total));
+
+        cache.clear(EventCache.Type.USER, 1);
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+
+        cache.playbackCache(EventCache.Type.USER, 1);
+        cache.playbackCache(EventCache.Type.USER, 2);
+        assertThat(replayed).isEmpty();
+    }
+}
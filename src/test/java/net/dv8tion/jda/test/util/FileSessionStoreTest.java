@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.util;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.utils.ClosableIterator;
+import net.dv8tion.jda.api.utils.FileSessionStore;
+import net.dv8tion.jda.api.utils.SessionStore;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+public class FileSessionStoreTest {
+    private static final JDA.ShardInfo SHARD = new JDA.ShardInfo(1, 4);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRestoreSession() throws IOException {
+        SessionStore store = new FileSessionStore(directory);
+        store.start(SHARD, dispatch("READY", 1));
+        for (int i = 2; i <= 2000; i++) {
+            store.append(SHARD, dispatch("GUILD_MEMBER_UPDATE", i));
+        }
+        store.save(SHARD, new SessionStore.SessionState("abc", "wss://resume.discord.gg", 2001));
+
+        SessionStore.StoredSession session = new FileSessionStore(directory).load(SHARD);
+        assertThat(session).isNotNull();
+        assertThat(session.getState().getSessionId()).isEqualTo("abc");
+        assertThat(session.getState().getResumeUrl()).isEqualTo("wss://resume.discord.gg");
+        assertThat(session.getState().getSequence()).isEqualTo(2001);
+
+        List<DataObject> dispatches = readAll(session);
+        assertThat(dispatches).hasSize(2000);
+        assertThat(dispatches.get(0).getString("t")).isEqualTo("READY");
+        assertThat(dispatches.get(1999).getInt("s")).isEqualTo(2000);
+        assertThat(dispatches.get(1999).getObject("d").getString("nick")).isEqualTo("member 2000");
+
+        // A session can only be resumed once
+        assertThat(store.load(SHARD)).isNull();
+    }
+
+    @Test
+    void testContinueRestoredSession() throws IOException {
+        SessionStore store = new FileSessionStore(directory);
+        store.start(SHARD, dispatch("READY", 1));
+        store.save(SHARD, new SessionStore.SessionState("abc", null, 1));
+        readAll(store.load(SHARD));
+
+        store.append(SHARD, dispatch("GUILD_MEMBER_ADD", 2));
+        store.save(SHARD, new SessionStore.SessionState("abc", null, 2));
+
+        List<DataObject> dispatches = readAll(store.load(SHARD));
+        assertThat(dispatches).extracting(d -> d.getString("t")).containsExactly("READY", "GUILD_MEMBER_ADD");
+    }
+
+    @Test
+    void testRemoveSession() throws IOException {
+        SessionStore store = new FileSessionStore(directory);
+        store.start(SHARD, dispatch("READY", 1));
+        store.save(SHARD, new SessionStore.SessionState("abc", null, 1));
+        store.remove(SHARD);
+
+        assertThat(store.load(SHARD)).isNull();
+    }
+
+    @Test
+    void testMaxJournalSize() throws IOException {
+        SessionStore store = new FileSessionStore(directory, 1024);
+        store.start(SHARD, dispatch("READY", 1));
+
+        assertThatIOException().isThrownBy(() -> {
+            for (int i = 2; i < 100; i++) {
+                store.append(SHARD, dispatch("GUILD_MEMBER_UPDATE", i));
+            }
+        });
+    }
+
+    @Test
+    void testSupersededDispatchesAreDroppedOnSave() throws IOException {
+        SessionStore store = new FileSessionStore(directory);
+        store.start(SHARD, dispatch("READY", 1));
+        store.append(SHARD, "member:1:2", dispatch("GUILD_MEMBER_UPDATE", 2));
+        store.append(SHARD, dispatch("GUILD_MEMBER_ADD", 3));
+        store.append(SHARD, "member:1:3", dispatch("GUILD_MEMBER_UPDATE", 4));
+        store.append(SHARD, "member:1:2", dispatch("GUILD_MEMBER_UPDATE", 5));
+        store.save(SHARD, new SessionStore.SessionState("abc", null, 5));
+
+        List<DataObject> dispatches = readAll(store.load(SHARD));
+        assertThat(dispatches).extracting(d -> d.getInt("s")).containsExactly(1, 3, 4, 5);
+    }
+
+    @Test
+    void testJournalIsCompactedBeforeReachingMaxSize() throws IOException {
+        SessionStore store = new FileSessionStore(directory, 16 * 1024);
+        store.start(SHARD, dispatch("READY", 1));
+        // Far more than the maximum size, but only the latest dispatch of each member is kept
+        for (int i = 2; i <= 5000; i++) {
+            store.append(SHARD, "member:1:" + (i % 10), dispatch("GUILD_MEMBER_UPDATE", i));
+        }
+        store.save(SHARD, new SessionStore.SessionState("abc", null, 5000));
+
+        List<DataObject> dispatches = readAll(store.load(SHARD));
+        assertThat(dispatches).hasSize(11);
+        assertThat(dispatches).extracting(d -> d.getInt("s")).startsWith(1).endsWith(5000);
+    }
+
+    @Test
+    void testRestoredSessionSupersedesRecordedDispatches() throws IOException {
+        SessionStore store = new FileSessionStore(directory);
+        store.start(SHARD, dispatch("READY", 1));
+        store.append(SHARD, "member:1:2", dispatch("GUILD_MEMBER_UPDATE", 2));
+        store.save(SHARD, new SessionStore.SessionState("abc", null, 2));
+        readAll(store.load(SHARD));
+
+        // A new process continues the journal and knows the keys of the recorded dispatches
+        SessionStore restored = new FileSessionStore(directory);
+        restored.append(SHARD, "member:1:2", dispatch("GUILD_MEMBER_UPDATE", 3));
+        restored.save(SHARD, new SessionStore.SessionState("abc", null, 3));
+
+        List<DataObject> dispatches = readAll(restored.load(SHARD));
+        assertThat(dispatches).extracting(d -> d.getInt("s")).containsExactly(1, 3);
+    }
+
+    @Test
+    void testRestoreEtfDispatches() throws IOException {
+        SessionStore store = new FileSessionStore(directory);
+        store.start(SHARD, DataObject.fromJson(dispatch("READY", 1)).toETF());
+        store.append(SHARD, dispatch("GUILD_MEMBER_ADD", 2));
+        store.save(SHARD, new SessionStore.SessionState("abc", null, 2));
+
+        List<DataObject> dispatches = readAll(store.load(SHARD));
+        assertThat(dispatches).extracting(d -> d.getString("t")).containsExactly("READY", "GUILD_MEMBER_ADD");
+        assertThat(dispatches.get(0).getObject("d").getString("nick")).isEqualTo("member 1");
+    }
+
+    private static List<DataObject> readAll(SessionStore.StoredSession session) {
+        List<DataObject> dispatches = new ArrayList<>();
+        try (ClosableIterator<DataObject> iterator = session.getDispatches()) {
+            iterator.forEachRemaining(dispatches::add);
+        }
+        return dispatches;
+    }
+
+    private static byte[] dispatch(String type, int sequence) {
+        return DataObject.empty()
+                .put("op", 0)
+                .put("t", type)
+                .put("s", sequence)
+                .put("d", DataObject.empty().put("nick", "member " + sequence))
+                .toJson();
+    }
+}
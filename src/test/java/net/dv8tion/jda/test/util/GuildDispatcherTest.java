@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.util;
+
+import net.dv8tion.jda.internal.handle.GuildDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GuildDispatcherTest {
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testOrderPerGuild() {
+        GuildDispatcher dispatcher = new GuildDispatcher(pool);
+        int guilds = 16;
+        int dispatchesPerGuild = 500;
+        List<List<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < guilds; i++) {
+            results.add(new CopyOnWriteArrayList<>());
+        }
+
+        for (int dispatch = 0; dispatch < dispatchesPerGuild; dispatch++) {
+            for (int guild = 0; guild < guilds; guild++) {
+                int value = dispatch;
+                List<Integer> result = results.get(guild);
+                dispatcher.execute(1000L + guild, () -> result.add(value));
+            }
+        }
+
+        dispatcher.awaitIdle();
+        assertThat(dispatcher.getPendingCount()).isZero();
+        for (List<Integer> result : results) {
+            assertThat(result).hasSize(dispatchesPerGuild).isSorted();
+        }
+    }
+
+    @Test
+    void testAwaitIdleWaitsForRunningDispatches() {
+        GuildDispatcher dispatcher = new GuildDispatcher(pool);
+        AtomicInteger finished = new AtomicInteger();
+        for (long guild = 1; guild <= 8; guild++) {
+            dispatcher.execute(guild, () -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ignored) {
+                }
+                finished.incrementAndGet();
+            });
+        }
+
+        dispatcher.awaitIdle();
+        assertThat(finished).hasValue(8);
+    }
+
+    @Test
+    void testParallelTypes() {
+        assertThat(GuildDispatcher.isParallel("MESSAGE_CREATE")).isTrue();
+        assertThat(GuildDispatcher.isParallel("PRESENCE_UPDATE")).isTrue();
+        assertThat(GuildDispatcher.isParallel("GUILD_DELETE")).isFalse();
+        assertThat(GuildDispatcher.isParallel("USER_UPDATE")).isFalse();
+    }
+}
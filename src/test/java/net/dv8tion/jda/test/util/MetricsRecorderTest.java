@@ -0,0 +1,250 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.util;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.requests.*;
+import net.dv8tion.jda.api.utils.Compression;
+import net.dv8tion.jda.api.utils.MetricsRecorder;
+import net.dv8tion.jda.api.utils.SessionController;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.requests.Requester;
+import net.dv8tion.jda.internal.requests.RestActionImpl;
+import net.dv8tion.jda.internal.requests.WebSocketClient;
+import net.dv8tion.jda.internal.utils.compress.ZlibDecompressor;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+import net.dv8tion.jda.internal.utils.config.SessionConfig;
+import net.dv8tion.jda.internal.utils.config.flags.ConfigFlag;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.LongSupplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MetricsRecorderTest {
+    private final RecordingMetricsRecorder metrics = new RecordingMetricsRecorder();
+    private final ScheduledThreadPoolExecutor rateLimitPool = new ScheduledThreadPoolExecutor(1);
+    private final ExecutorService elastic = Executors.newSingleThreadExecutor();
+    private final ExecutorService callbackPool = Executors.newSingleThreadExecutor();
+    private Requester requester;
+    private JDAImpl api;
+
+    @AfterEach
+    void shutdown() {
+        if (requester != null) {
+            requester.stop(true, () -> {});
+        }
+        if (api != null) {
+            api.shutdownNow();
+        }
+        rateLimitPool.shutdownNow();
+        elastic.shutdownNow();
+        callbackPool.shutdownNow();
+    }
+
+    @Test
+    void testRestLatencyAndRateLimitAreRecorded() throws Exception {
+        Queue<Integer> responseCodes = new ConcurrentLinkedQueue<>(Arrays.asList(429, 200));
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    int code = responseCodes.remove();
+                    long sent = System.currentTimeMillis();
+                    okhttp3.Response.Builder response = new okhttp3.Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .header("via", "1.1 google")
+                            .header(RestRateLimiter.HASH_HEADER, "abc")
+                            .sentRequestAtMillis(sent)
+                            .receivedResponseAtMillis(sent + 25);
+                    if (code == 429) {
+                        return response.code(429)
+                                .message("Too Many Requests")
+                                .header(RestRateLimiter.RETRY_AFTER_HEADER, "0.5")
+                                .header(RestRateLimiter.GLOBAL_HEADER, "true")
+                                .body(ResponseBody.create("", MediaType.get("text/plain")))
+                                .build();
+                    }
+                    return response.code(200)
+                            .message("OK")
+                            .body(ResponseBody.create("{\"id\":\"1\"}", MediaType.get("application/json")))
+                            .build();
+                })
+                .build();
+
+        JDAImpl jda = mock(JDAImpl.class);
+        when(jda.getHttpClient()).thenReturn(client);
+        when(jda.getMetricsRecorder()).thenReturn(metrics);
+        when(jda.getRateLimitPool()).thenReturn(rateLimitPool);
+        when(jda.getCallbackPool()).thenReturn(callbackPool);
+
+        RestRateLimiter.RateLimitConfig rateLimitConfig = new RestRateLimiter.RateLimitConfig(
+                rateLimitPool, elastic, RestRateLimiter.GlobalRateLimit.create(), true);
+        requester = new Requester(
+                jda, new AuthorizationConfig("token"), new RestConfig(), new SequentialRestRateLimiter(rateLimitConfig));
+
+        Route.CompiledRoute route = Route.Users.GET_USER.compile("1");
+        CompletableFuture<DataObject> future = new CompletableFuture<>();
+        RestActionImpl<DataObject> action =
+                new RestActionImpl<>(jda, route, (response, request) -> response.getObject());
+        requester.request(new Request<>(
+                action,
+                future::complete,
+                future::completeExceptionally,
+                null,
+                true,
+                null,
+                null,
+                0,
+                false,
+                route,
+                null));
+
+        assertThat(future.get(5, TimeUnit.SECONDS).getString("id")).isEqualTo("1");
+
+        // Every response is reported, including the one that was rate-limited
+        assertThat(metrics.responses).containsExactly("users/{user_id} abc 429 25", "users/{user_id} abc 200 25");
+        assertThat(metrics.rateLimits).containsExactly("users/{user_id} global 500");
+    }
+
+    @Test
+    void testGaugesAreRegisteredOnLoginAndRemovedOnShutdown() throws Exception {
+        api = createApi();
+        api.login("wss://gateway.discord.gg", null, Compression.NONE, false, 0, GatewayEncoding.JSON);
+
+        assertThat(metrics.gauges)
+                .containsOnlyKeys(
+                        MetricsRecorder.GAUGE_REST_QUEUE_SIZE,
+                        MetricsRecorder.GAUGE_GATEWAY_SEND_QUEUE_SIZE,
+                        MetricsRecorder.GAUGE_GATEWAY_CHUNK_QUEUE_SIZE,
+                        MetricsRecorder.GAUGE_EVENT_CACHE_SIZE,
+                        MetricsRecorder.GAUGE_EVENT_CACHE_DROPPED,
+                        MetricsRecorder.GAUGE_GUILD_CACHE_SIZE,
+                        MetricsRecorder.GAUGE_USER_CACHE_SIZE,
+                        MetricsRecorder.GAUGE_CHANNEL_CACHE_SIZE);
+        assertThat(metrics.gauges.values()).allSatisfy(gauge -> assertThat(gauge.getAsLong())
+                .isZero());
+
+        api.shutdownNow();
+
+        assertThat(metrics.unregistered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(metrics.gauges).isEmpty();
+    }
+
+    @Test
+    void testDecompressionIsRecorded() throws DataFormatException {
+        api = createApi();
+        api.login("wss://gateway.discord.gg", null, Compression.NONE, false, 0, GatewayEncoding.JSON);
+        DecompressingClient client = new DecompressingClient(api);
+
+        String payload = "{\"op\":11,\"d\":null}";
+        byte[] compressed = compress(payload);
+        int split = compressed.length / 2;
+        byte[] head = Arrays.copyOfRange(compressed, 0, split);
+        byte[] tail = Arrays.copyOfRange(compressed, split, compressed.length);
+
+        assertThat(client.decompress(head)).isNull();
+        DataObject message = client.decompress(tail);
+
+        assertThat(message.getInt("op")).isEqualTo(11);
+        // An incomplete message has not inflated anything yet, the full message is reported with the last fragment
+        assertThat(metrics.decompressions)
+                .containsExactly(
+                        new long[] {head.length, 0},
+                        new long[] {tail.length, payload.getBytes(StandardCharsets.UTF_8).length});
+    }
+
+    private JDAImpl createApi() {
+        // The mocked session controller never connects, so the client stays offline
+        SessionConfig sessionConfig = new SessionConfig(
+                mock(SessionController.class), new OkHttpClient(), null, null, ConfigFlag.getDefault(), 900, 250);
+        sessionConfig.setMetricsRecorder(metrics);
+        return new JDAImpl(new AuthorizationConfig("token"), sessionConfig, null, null, null, null);
+    }
+
+    private static byte[] compress(String payload) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(payload.getBytes(StandardCharsets.UTF_8));
+        byte[] buffer = new byte[payload.length() * 2 + 64];
+        int length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+        deflater.end();
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static final class DecompressingClient extends WebSocketClient {
+        private DecompressingClient(JDAImpl api) {
+            super(api, Compression.ZLIB, 0, GatewayEncoding.JSON);
+            // Normally created when connecting
+            decompressor = new ZlibDecompressor(api.getMaxBufferSize());
+        }
+
+        private DataObject decompress(byte[] binary) throws DataFormatException {
+            return handleBinary(binary);
+        }
+    }
+
+    private static final class RecordingMetricsRecorder implements MetricsRecorder {
+        private final List<String> responses = new CopyOnWriteArrayList<>();
+        private final List<String> rateLimits = new CopyOnWriteArrayList<>();
+        private final List<long[]> decompressions = new CopyOnWriteArrayList<>();
+        private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+        private final CountDownLatch unregistered = new CountDownLatch(1);
+
+        @Override
+        public void recordRestResponse(
+                @Nonnull JDA api, @Nonnull Route.CompiledRoute route, @Nullable String bucket, int code, long latency) {
+            responses.add(route.getBaseRoute().getRoute() + " " + bucket + " " + code + " " + latency);
+        }
+
+        @Override
+        public void recordRateLimit(
+                @Nonnull JDA api, @Nonnull Route.CompiledRoute route, boolean global, long retryAfter) {
+            rateLimits.add(route.getBaseRoute().getRoute() + " " + (global ? "global" : "bucket") + " " + retryAfter);
+        }
+
+        @Override
+        public void recordDecompression(@Nonnull JDA api, long compressed, long decompressed) {
+            decompressions.add(new long[] {compressed, decompressed});
+        }
+
+        @Override
+        public void registerGauge(@Nonnull JDA api, @Nonnull String name, @Nonnull LongSupplier value) {
+            gauges.put(name, value);
+        }
+
+        @Override
+        public void unregisterGauges(@Nonnull JDA api) {
+            gauges.clear();
+            unregistered.countDown();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.util;
+
+import net.dv8tion.jda.internal.utils.concurrent.OrderedExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderedExecutorTest {
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testOrderPerKey() throws InterruptedException {
+        OrderedExecutor executor = new OrderedExecutor(pool, 8);
+        int keys = 16;
+        int tasksPerKey = 500;
+        List<List<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < keys; i++) {
+            results.add(new CopyOnWriteArrayList<>());
+        }
+
+        CountDownLatch done = new CountDownLatch(keys * tasksPerKey);
+        for (int task = 0; task < tasksPerKey; task++) {
+            for (int key = 0; key < keys; key++) {
+                int value = task;
+                List<Integer> result = results.get(key);
+                executor.execute(1000L + key, () -> {
+                    result.add(value);
+                    done.countDown();
+                });
+            }
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        for (List<Integer> result : results) {
+            assertThat(result).hasSize(tasksPerKey).isSorted();
+        }
+    }
+
+    @Test
+    void testDifferentKeysRunInParallel() throws InterruptedException {
+        OrderedExecutor executor = new OrderedExecutor(pool, OrderedExecutor.DEFAULT_LANES);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // With this many lanes, at least two of these keys end up on different lanes
+        for (long key = 1; key <= 16; key++) {
+            executor.execute(key, () -> {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+            });
+        }
+
+        try {
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testRejectedRunsInline() {
+        ExecutorService shutdown = Executors.newSingleThreadExecutor();
+        shutdown.shutdown();
+        OrderedExecutor executor = new OrderedExecutor(shutdown, 1);
+        List<Integer> result = new ArrayList<>();
+
+        executor.execute(1L, () -> result.add(1));
+        executor.execute(1L, () -> result.add(2));
+
+        assertThat(result).containsExactly(1, 2);
+    }
+}
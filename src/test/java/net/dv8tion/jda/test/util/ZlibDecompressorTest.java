@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.util;
+
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.utils.compress.ZlibDecompressor;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ZlibDecompressorTest {
+    private final Deflater deflater = new Deflater();
+
+    private byte[] compress(String payload) {
+        deflater.setInput(payload.getBytes(StandardCharsets.UTF_8));
+        byte[] buffer = new byte[payload.length() * 2 + 64];
+        int length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static String toString(ByteBuffer buffer) {
+        return new String(
+                buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testContinuousStream() throws DataFormatException {
+        ZlibDecompressor decompressor = new ZlibDecompressor(2048);
+
+        String first = "{\"op\":10,\"d\":{\"heartbeat_interval\":41250}}";
+        String second = "{\"op\":11}";
+
+        assertThat(toString(decompressor.decompress(compress(first)))).isEqualTo(first);
+        assertThat(toString(decompressor.decompress(compress(second)))).isEqualTo(second);
+    }
+
+    @Test
+    void testSplitMessage() throws DataFormatException {
+        ZlibDecompressor decompressor = new ZlibDecompressor(2048);
+
+        StringBuilder builder = new StringBuilder("{\"op\":0,\"d\":{\"content\":\"");
+        for (int i = 0; i < 500; i++) {
+            builder.append(i).append(' ');
+        }
+        String payload = builder.append("\"}}").toString();
+        byte[] compressed = compress(payload);
+
+        int split = compressed.length / 2;
+        assertThat(decompressor.decompress(Arrays.copyOfRange(compressed, 0, split)))
+                .isNull();
+
+        ByteBuffer result = decompressor.decompress(Arrays.copyOfRange(compressed, split, compressed.length));
+        assertThat(result).isNotNull();
+        assertThat(toString(result)).isEqualTo(payload);
+        assertThat(DataObject.fromJson(result).getObject("d").getString("content"))
+                .startsWith("0 1 2");
+    }
+
+    @Test
+    void testBufferGrowsBeyondMaximum() throws DataFormatException {
+        ZlibDecompressor decompressor = new ZlibDecompressor(0);
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        String large = builder.toString();
+
+        assertThat(toString(decompressor.decompress(compress(large)))).isEqualTo(large);
+        assertThat(toString(decompressor.decompress(compress("small")))).isEqualTo("small");
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2015 Austin Keener, Michael Ritter, Florian Spieß, and the JDA contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.test.util;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.api.utils.data.etf.ExTermDecoder;
+import net.dv8tion.jda.internal.utils.compress.ZstdDecompressor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ZstdDecompressorTest {
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    private final ZstdDecompressor decompressor = new ZstdDecompressor(2048);
+
+    @AfterEach
+    void shutdown() {
+        decompressor.shutdown();
+    }
+
+    // Compresses one websocket message of the stream, which always ends with a flush
+    private byte[] compress(ZstdOutputStream stream, byte[] payload) throws IOException {
+        sink.reset();
+        stream.write(payload);
+        stream.flush();
+        return sink.toByteArray();
+    }
+
+    private byte[] compress(ZstdOutputStream stream, String payload) throws IOException {
+        return compress(stream, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testContinuousStream() throws IOException, DataFormatException {
+        String first = "{\"op\":10,\"d\":{\"heartbeat_interval\":41250}}";
+        String second = "{\"op\":11}";
+
+        try (ZstdOutputStream stream = new ZstdOutputStream(sink)) {
+            assertThat(toString(decompressor.decompress(compress(stream, first)))).isEqualTo(first);
+            // The second message references the window of the first one
+            assertThat(toString(decompressor.decompress(compress(stream, second)))).isEqualTo(second);
+            assertThat(toString(decompressor.decompress(compress(stream, first)))).isEqualTo(first);
+        }
+    }
+
+    @Test
+    void testStreamAcrossFrameBoundaries() throws IOException, DataFormatException {
+        String first = "{\"op\":0,\"t\":\"READY\",\"d\":{}}";
+        String second = "{\"op\":11}";
+
+        ZstdOutputStream stream = new ZstdOutputStream(sink);
+        byte[] head = compress(stream, first);
+        // Closing the stream ends the frame, the remaining bytes are the epilogue of the frame
+        sink.reset();
+        stream.close();
+        byte[] epilogue = sink.toByteArray();
+
+        sink.reset();
+        byte[] next;
+        try (ZstdOutputStream nextFrame = new ZstdOutputStream(sink)) {
+            next = compress(nextFrame, second);
+        }
+
+        assertThat(toString(decompressor.decompress(head))).isEqualTo(first);
+        // The end of the first frame and the start of the next frame are received in the same message
+        byte[] joined = Arrays.copyOf(epilogue, epilogue.length + next.length);
+        System.arraycopy(next, 0, joined, epilogue.length, next.length);
+        assertThat(toString(decompressor.decompress(joined))).isEqualTo(second);
+    }
+
+    @Test
+    void testBufferGrowsBeyondMaximum() throws IOException, DataFormatException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        String large = builder.toString();
+
+        try (ZstdOutputStream stream = new ZstdOutputStream(sink)) {
+            assertThat(toString(decompressor.decompress(compress(stream, large)))).isEqualTo(large);
+            assertThat(toString(decompressor.decompress(compress(stream, "small")))).isEqualTo("small");
+        }
+    }
+
+    @Test
+    void testGrownBufferIsRetainedUntilIdle() throws IOException, DataFormatException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        String large = builder.toString();
+
+        try (ZstdOutputStream stream = new ZstdOutputStream(sink)) {
+            ByteBuffer grown = decompressor.decompress(compress(stream, large));
+            assertThat(grown.capacity()).isGreaterThanOrEqualTo(large.length());
+
+            // The grown buffer is reused for the following messages instead of allocating a new one
+            assertThat(decompressor.decompress(compress(stream, "small"))).isSameAs(grown);
+            assertThat(decompressor.decompress(compress(stream, large))).isSameAs(grown);
+
+            ByteBuffer current = grown;
+            for (int i = 0; i <= 256; i++) {
+                current = decompressor.decompress(compress(stream, "small"));
+            }
+
+            // After enough small messages, the grown buffer is released
+            assertThat(current).isNotSameAs(grown);
+            assertThat(current.capacity()).isEqualTo(2048);
+            assertThat(toString(current)).isEqualTo("small");
+        }
+    }
+
+    @Test
+    void testCompressedTermFromDirectBuffer() throws IOException, DataFormatException {
+        byte[] term = DataObject.empty().put("op", 11).put("t", "ACK").toETF();
+
+        // Wrap the term in a zlib compressed term, which the decoder inflates from the decompressed buffer
+        Deflater deflater = new Deflater();
+        deflater.setInput(term, 1, term.length - 1);
+        deflater.finish();
+        byte[] deflated = new byte[term.length * 2 + 64];
+        int length = deflater.deflate(deflated);
+        deflater.end();
+
+        ByteBuffer packed = ByteBuffer.allocate(6 + length);
+        packed.put((byte) 131).put((byte) 80).putInt(term.length - 1).put(deflated, 0, length);
+
+        ByteBuffer decompressed;
+        try (ZstdOutputStream stream = new ZstdOutputStream(sink)) {
+            decompressed = decompressor.decompress(compress(stream, packed.array()));
+        }
+
+        assertThat(decompressed.isDirect()).isTrue();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) ExTermDecoder.unpack(decompressed);
+        assertThat(map).containsEntry("op", 11).containsEntry("t", "ACK");
+    }
+}